@@ -1,9 +1,16 @@
 package com.kett.TicketSystem.analysis;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @RestController
@@ -16,32 +23,61 @@ public class AnalysisController {
         this.analysisService = analysisService;
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/ticket-stats")
-    public ResponseEntity<Map<String, Object>> getTicketStats() {
-        return ResponseEntity.ok(analysisService.calculateTicketStats());
+    public ResponseEntity<Map<String, Object>> getTicketStats(
+            @RequestParam(name = "project-id", required = false) UUID projectId
+    ) {
+        return ResponseEntity.ok(analysisService.calculateTicketStats(projectId));
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/top-users")
-    public ResponseEntity<List<Map<String, Object>>> getTopUsers() {
-        return ResponseEntity.ok(analysisService.getTopUsers());
+    public ResponseEntity<List<Map<String, Object>>> getTopUsers(
+            @RequestParam(name = "project-id", required = false) UUID projectId
+    ) {
+        return ResponseEntity.ok(analysisService.getTopUsers(projectId));
+    }
+
+    @Transactional(readOnly = true)
+    @GetMapping("/resolution-times")
+    public ResponseEntity<Map<String, Object>> getResolutionTimes(
+            @RequestParam(name = "project-id", required = false) UUID projectId
+    ) {
+        return ResponseEntity.ok(analysisService.getResolutionTimes(projectId));
     }
 
-    @GetMapping("/export-csv") 
-    public ResponseEntity<byte[]> exportCsv() {
-        String csvData = analysisService.exportCsv();
-        byte[] csvBytes = csvData.getBytes();
+    @Transactional(readOnly = true)
+    @GetMapping("/cumulative-flow")
+    public ResponseEntity<List<Map<String, Object>>> getCumulativeFlow(
+            @RequestParam(name = "project-id") UUID projectId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(analysisService.getCumulativeFlow(projectId, from, to));
+    }
 
+    @Transactional(readOnly = true)
+    @GetMapping("/export-csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam(name = "project-id", required = false) UUID projectId,
+            @RequestParam(name = "created-after", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(name = "created-before", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore
+    ) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.TEXT_PLAIN);
+        headers.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=ticket_analysis.csv");
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(csvBytes);
+                .body(analysisService.exportCsv(projectId, createdAfter, createdBefore));
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/priority-stats")
-    public ResponseEntity<Map<String, Long>> getTicketStatsByPriority() {
-        return ResponseEntity.ok(analysisService.getTicketStatsByPriority());
+    public ResponseEntity<Map<String, Long>> getTicketStatsByPriority(
+            @RequestParam(name = "project-id", required = false) UUID projectId
+    ) {
+        return ResponseEntity.ok(analysisService.getTicketStatsByPriority(projectId));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Live aggregations behind the analysis dashboard, the counts that do not depend on time are read from
+ * {@link ProjectStatistics} instead. A ticket counts as resolved if its phase is named DONE.
+ */
+@org.springframework.stereotype.Repository
+public interface AnalysisRepository extends Repository<Ticket, UUID> {
+    String NOT_DONE = "(t.phaseId IS NOT NULL AND (ph.name IS NULL OR UPPER(ph.name) <> 'DONE'))";
+
+    // due times change the counts as time passes, so they are not materialized but counted on the due time index
+    @Query("SELECT COUNT(t) FROM Ticket t LEFT JOIN Phase ph ON ph.id = t.phaseId " +
+           "WHERE t.projectId IN :projectIds AND t.dueTime < :before AND " + NOT_DONE)
+    long countOpenTicketsDueBefore(Collection<UUID> projectIds, LocalDateTime before);
+
+    @Query("SELECT COUNT(t) FROM Ticket t LEFT JOIN Phase ph ON ph.id = t.phaseId " +
+           "WHERE t.projectId IN :projectIds AND t.dueTime > :after AND t.dueTime < :before AND " + NOT_DONE)
+    long countOpenTicketsDueBetween(Collection<UUID> projectIds, LocalDateTime after, LocalDateTime before);
+
+    @Query("SELECT new com.kett.TicketSystem.analysis.TicketCountByAssignee(a, COUNT(t)) " +
+           "FROM Ticket t JOIN t.assigneeIds a " +
+           "WHERE t.projectId IN :projectIds " +
+           "GROUP BY a ORDER BY COUNT(t) DESC")
+    List<TicketCountByAssignee> countTicketsByAssignee(Collection<UUID> projectIds);
+
+    // forward-only cursor for the csv export, must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.kett.TicketSystem.analysis.TicketCsvRow(" +
+           "t.id, t.title, t.description, p.name, a, u.name, ph.name, t.priority, t.dueTime, t.creationTime, t.resolvedAt) " +
+           "FROM Ticket t LEFT JOIN t.assigneeIds a " +
+           "LEFT JOIN User u ON u.id = a " +
+           "LEFT JOIN Project p ON p.id = t.projectId " +
+           "LEFT JOIN Phase ph ON ph.id = t.phaseId " +
+           "WHERE t.projectId IN :projectIds " +
+           "AND t.creationTime >= :createdAfter AND t.creationTime < :createdBefore " +
+           "ORDER BY t.projectId, t.creationTime, t.id")
+    Stream<TicketCsvRow> streamTicketCsvRows(
+            Collection<UUID> projectIds,
+            LocalDateTime createdAfter,
+            LocalDateTime createdBefore
+    );
+}
@@ -1,152 +1,308 @@
 package com.kett.TicketSystem.analysis;
 
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
-import com.kett.TicketSystem.ticket.domain.Ticket;
-import com.kett.TicketSystem.ticket.repository.TicketRepository;
-import com.kett.TicketSystem.phase.repository.PhaseRepository;
-import com.kett.TicketSystem.user.repository.UserRepository;
-import com.kett.TicketSystem.project.repository.ProjectRepository;
-import com.kett.TicketSystem.project.domain.Project;    
-import com.kett.TicketSystem.phase.domain.Phase;
-import com.kett.TicketSystem.user.domain.User;
+import java.util.stream.Stream;
 
 @Service
 public class AnalysisService {
-    private final TicketRepository ticketRepository;
-    private final PhaseRepository phaseRepository;
-    private final UserRepository userRepository; 
-    private final ProjectRepository projectRepository; 
-    private final Project project;
-
-    public AnalysisService(TicketRepository ticketRepository, PhaseRepository phaseRepository, UserRepository userRepository, ProjectRepository projectRepository) {
-        this.ticketRepository = ticketRepository;
-        this.phaseRepository = phaseRepository;
-        this.userRepository = userRepository;
-        this.projectRepository = projectRepository;
-        this.project = projectRepository.findAll().get(0); // Assuming you want the first project for analysis
-    }
-
-    public Map<String, Object> calculateTicketStats() {
-        List<Ticket> tickets = ticketRepository.findAll();
-
-        int totalTickets = tickets.size();
-
-        Map<UUID, String> phaseMap = phaseRepository.findAll()
-            .stream().collect(Collectors.toMap(Phase::getId, Phase::getName));
+    public static final int DEFAULT_FLOW_DAYS = 30;
+    public static final int MAX_FLOW_DAYS = 366;
 
-        long resolvedCount = tickets.stream()
-            .filter(t -> t.getPhaseId() != null && "DONE".equalsIgnoreCase(phaseMap.get(t.getPhaseId())))
-            .count();
+    // bounds of an open date filter, both are valid timestamps in h2 and postgres
+    private static final LocalDateTime EARLIEST_CREATION_TIME = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_CREATION_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
 
-        double avgResolutionTime = tickets.stream()
-            .filter(t -> t.getPhaseId() != null && "DONE".equalsIgnoreCase(phaseMap.get(t.getPhaseId())))
-            .mapToLong(Ticket::getResolutionTimeInHours)
-            .average()
-            .orElse(0.0);
+    private static final String[] CSV_HEADER = {
+            "Title", "Description", "Project Name", "Assignee Name", "Phase", "Priority", "Due Date", "Created At", "Resolved At"
+    };
 
-        long overDueTickets = tickets.stream()
-            .filter(t -> {
-            boolean isDueDatePassed = t.getDueTime() != null && t.getDueTime().isBefore(LocalDate.now().atStartOfDay());
-            boolean isNotDone = t.getPhaseId() != null && ! "DONE".equalsIgnoreCase(phaseMap.get(t.getPhaseId()));
-            return isDueDatePassed && isNotDone;
-        })
-        .count();
+    private final AnalysisRepository analysisRepository;
+    private final ProjectStatisticsService projectStatisticsService;
+    private final ResolutionTimeService resolutionTimeService;
+    private final CumulativeFlowService cumulativeFlowService;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
-        long DueIn24Hours = tickets.stream()
-            .filter(t -> {
-            boolean isDueSoon = t.getDueTime() != null && t.getDueTime().isAfter(LocalDateTime.now()) && t.getDueTime().isBefore(LocalDateTime.now().plusHours(24));
-            boolean isNotDone = t.getPhaseId() != null && !"DONE".equalsIgnoreCase(phaseMap.getOrDefault(t.getPhaseId(), ""));
-            return isDueSoon && isNotDone;
-        })
-        .count();
+    public AnalysisService(
+            AnalysisRepository analysisRepository,
+            ProjectStatisticsService projectStatisticsService,
+            ResolutionTimeService resolutionTimeService,
+            CumulativeFlowService cumulativeFlowService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.analysisRepository = analysisRepository;
+        this.projectStatisticsService = projectStatisticsService;
+        this.resolutionTimeService = resolutionTimeService;
+        this.cumulativeFlowService = cumulativeFlowService;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
-        long UnAssignedTickets = tickets.stream()
-            .filter(t -> t.getAssigneeId() == null && t.getPhaseId() != null && !"DONE".equalsIgnoreCase(phaseMap.get(t.getPhaseId())))
-            .count();
+    // without a project id, the statistics cover all projects of the current user
+    @PreAuthorize("#projectId == null or hasAnyAuthority(" +
+            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
+            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @Transactional(readOnly = true)
+    public Map<String, Object> calculateTicketStats(UUID projectId) {
+        Set<UUID> projectIds = projectId != null ? Set.of(projectId) : getProjectIdsOfCurrentUser();
+        Map<String, Object> stats = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            stats.put("totalTickets", 0);
+            stats.put("openTickets", 0L);
+            stats.put("resolvedTickets", 0L);
+            stats.put("avgResolutionTime", 0.0);
+            stats.put("overdueTickets", 0L);
+            stats.put("Ticketsduein24", 0L);
+            stats.put("unassignedTickets", 0L);
+            stats.put("urgentTickets", 0L);
+            return stats;
+        }
 
-        long UrgentOpenTickets = tickets.stream()
-            .filter(t -> t.getPriority() != null && t.getPriority().toString().equalsIgnoreCase("URGENT") && t.getPhaseId() != null && !"DONE".equalsIgnoreCase(phaseMap.get(t.getPhaseId())))
-            .count();
+        long totalTickets = projectStatisticsService
+                .getProjectStatistics(projectIds)
+                .stream()
+                .mapToLong(ProjectStatistics::getTotalTickets)
+                .sum();
+        PhaseStatisticsSummary phaseStatistics = projectStatisticsService.summarizePhaseStatistics(projectIds);
+        LocalDateTime now = LocalDateTime.now();
 
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalTickets", totalTickets);
-        stats.put("openTickets", totalTickets - resolvedCount);
-        stats.put("resolvedTickets", resolvedCount);
-        stats.put("avgResolutionTime", avgResolutionTime);
-        stats.put("overdueTickets", overDueTickets);
-        stats.put("Ticketsduein24", DueIn24Hours);
-        stats.put("unassignedTickets", UnAssignedTickets);
-        stats.put("urgentTickets", UrgentOpenTickets);
+        stats.put("totalTickets", (int) totalTickets);
+        stats.put("openTickets", totalTickets - phaseStatistics.getResolvedTickets());
+        stats.put("resolvedTickets", phaseStatistics.getResolvedTickets());
+        stats.put("avgResolutionTime", phaseStatistics.getAverageResolutionHours());
+        stats.put("overdueTickets", analysisRepository.countOpenTicketsDueBefore(projectIds, LocalDate.now().atStartOfDay()));
+        stats.put("Ticketsduein24", analysisRepository.countOpenTicketsDueBetween(projectIds, now, now.plusHours(24)));
+        stats.put("unassignedTickets", phaseStatistics.getUnassignedOpenTickets());
+        stats.put("urgentTickets", phaseStatistics.getUrgentOpenTickets());
         return stats; 
     }
 
-    public List<Map<String, Object>> getTopUsers() {
-        List<Ticket> tickets = ticketRepository.findAll();
-
-        Map<UUID, Long> userTicketCount = tickets.stream()
-                .filter(ticket -> ticket.getAssigneeId() != null) 
-                .collect(Collectors.groupingBy(Ticket::getAssigneeId, Collectors.counting()));
+    @PreAuthorize("#projectId == null or hasAnyAuthority(" +
+            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
+            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTopUsers(UUID projectId) {
+        Set<UUID> projectIds = projectId != null ? Set.of(projectId) : getProjectIdsOfCurrentUser();
+        if (projectIds.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        return userTicketCount.entrySet().stream()
-                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
-                .map(entry -> {
+        return analysisRepository.countTicketsByAssignee(projectIds).stream()
+                .map(count -> {
                     Map<String, Object> userMap = new HashMap<>();
-                    userMap.put("userId", entry.getKey().toString());
-                    userMap.put("ticketCount", entry.getValue());
+                    userMap.put("userId", count.getAssigneeId().toString());
+                    userMap.put("ticketCount", count.getTicketCount());
                     return userMap;
                 })
                 .collect(Collectors.toList());
     }
-    
-
-    public String exportCsv() {
-        List<Ticket> tickets = ticketRepository.findAll();
-    
-        // Preload users and phases for quick lookup
-        Map<UUID, String> userMap = userRepository.findAll()
-                .stream().collect(Collectors.toMap(User::getId, User::getName));
-    
-        Map<UUID, String> phaseMap = phaseRepository.findAll()
-                .stream().collect(Collectors.toMap(Phase::getId, Phase::getName));
-    
-        // Create CSV header
-        StringBuilder csv = new StringBuilder("Title,Description,Project Name,Assignee Name,Phase,Priority,Due Date,Created At,Resolved At\n");
-    
-        for (Ticket ticket : tickets) {
-            String title = ticket.getTitle() != null ? ticket.getTitle() : "No Title";
-            String description = ticket.getDescription() != null ? ticket.getDescription() : "No Description";
-            String projectName = project.getName() != null ? project.getName().toString() : "No Project";
-            String assigneeName = ticket.getAssigneeId() != null ? userMap.getOrDefault(ticket.getAssigneeId(), "Unknown") : "Unassigned";
-            String phaseName = ticket.getPhaseId() != null ? phaseMap.getOrDefault(ticket.getPhaseId(), "No Phase") : "No Phase";
-            String Priority = ticket.getPriority() != null ? ticket.getPriority().toString() : "No Priority";
-            String dueTime = ticket.getDueTime() != null ? ticket.getDueTime().toString() : "No Due Time";
-            String resolvedAt = ticket.getResolvedAt() != null ? ticket.getResolvedAt().toString() : "Not Resolved";
-    
-            csv.append(ticket.getTitle()).append(",")
-               .append(ticket.getDescription()).append(",")
-               .append(projectName).append(",")
-               .append(assigneeName).append(",")
-               .append(phaseName).append(",")
-               .append(Priority).append(",")
-               .append(ticket.getDueTime()).append(",")
-               .append(ticket.getCreationTime()).append(",")
-               .append(resolvedAt).append("\n");
+
+    @PreAuthorize("#projectId == null or hasAnyAuthority(" +
+            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
+            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @Transactional(readOnly = true)
+    public Map<String, Long> getTicketStatsByPriority(UUID projectId) {
+        Set<UUID> projectIds = projectId != null ? Set.of(projectId) : getProjectIdsOfCurrentUser();
+        if (projectIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        List<ProjectStatistics> projectStatistics = projectStatisticsService.getProjectStatistics(projectIds);
+        Map<String, Long> stats = new HashMap<>();
+        for (Ticket.TicketPriority priority : Ticket.TicketPriority.values()) {
+            long ticketCount = projectStatistics
+                    .stream()
+                    .mapToLong(statistics -> statistics.getTicketsWithPriority(priority))
+                    .sum();
+            if (ticketCount > 0) {
+                stats.put(priority.toString(), ticketCount);
+            }
         }
-        return csv.toString();
-    }    
-
-    public Map<String, Long> getTicketStatsByPriority() {
-        List<Ticket> tickets = ticketRepository.findAll();
-        return tickets.stream()
-            .filter(ticket -> ticket.getPriority() != null)
-            .collect(Collectors.groupingBy(
-                ticket -> ticket.getPriority().toString().toUpperCase(),
-                Collectors.counting()
-            ));
+        return stats;
+    }
+
+    /**
+     * Returns count and p50, p90 and p99 resolution times in hours, overall and by priority and assignee.
+     */
+    @PreAuthorize("#projectId == null or hasAnyAuthority(" +
+            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
+            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @Transactional(readOnly = true)
+    public Map<String, Object> getResolutionTimes(UUID projectId) {
+        Set<UUID> projectIds = projectId != null ? Set.of(projectId) : getProjectIdsOfCurrentUser();
+        Map<ResolutionTimeSketch.Dimension, Map<String, QuantileSketch>> sketches = projectIds.isEmpty()
+                ? Map.of()
+                : resolutionTimeService.getMergedSketches(projectIds);
+
+        QuantileSketch projectSketch = sketches
+                .getOrDefault(ResolutionTimeSketch.Dimension.PROJECT, Map.of())
+                .getOrDefault("", new QuantileSketch());
+        Map<String, Object> resolutionTimes = toResolutionTimes(projectSketch);
+        resolutionTimes.put("byPriority", toResolutionTimes(sketches.get(ResolutionTimeSketch.Dimension.PRIORITY)));
+        resolutionTimes.put("byAssignee", toResolutionTimes(sketches.get(ResolutionTimeSketch.Dimension.ASSIGNEE)));
+        return resolutionTimes;
+    }
+
+    private Map<String, Object> toResolutionTimes(Map<String, QuantileSketch> sketches) {
+        Map<String, Object> resolutionTimes = new TreeMap<>();
+        if (sketches != null) {
+            sketches.forEach((value, sketch) -> resolutionTimes.put(value, toResolutionTimes(sketch)));
+        }
+        return resolutionTimes;
+    }
+
+    private Map<String, Object> toResolutionTimes(QuantileSketch sketch) {
+        Map<String, Object> resolutionTimes = new LinkedHashMap<>();
+        resolutionTimes.put("count", sketch.getCount());
+        resolutionTimes.put("p50", sketch.getCount() > 0 ? sketch.getQuantile(0.5) / 3600 : 0.0);
+        resolutionTimes.put("p90", sketch.getCount() > 0 ? sketch.getQuantile(0.9) / 3600 : 0.0);
+        resolutionTimes.put("p99", sketch.getCount() > 0 ? sketch.getQuantile(0.99) / 3600 : 0.0);
+        return resolutionTimes;
+    }
+
+    /**
+     * Returns one entry per day of the range with the tickets per phase at the end of the day and the tickets created
+     * and resolved on it. The range defaults to the last 30 days and is cut to its last 366 days.
+     */
+    @PreAuthorize("hasAnyAuthority(" +
+            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
+            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getCumulativeFlow(UUID projectId, LocalDate from, LocalDate to) {
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        LocalDate firstDay = from != null ? from : lastDay.minusDays(DEFAULT_FLOW_DAYS - 1);
+        if (firstDay.isBefore(lastDay.minusDays(MAX_FLOW_DAYS - 1))) {
+            firstDay = lastDay.minusDays(MAX_FLOW_DAYS - 1);
+        }
+
+        Map<UUID, Long> ticketsByPhase = cumulativeFlowService.getTicketsByPhaseBefore(projectId, firstDay);
+        Iterator<DailyFlowSnapshot> snapshots = cumulativeFlowService.getSnapshots(projectId, firstDay, lastDay).iterator();
+        DailyFlowSnapshot snapshot = snapshots.hasNext() ? snapshots.next() : null;
+        List<Map<String, Object>> flow = new ArrayList<>();
+
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            long createdTickets = 0;
+            long resolvedTickets = 0;
+            while (snapshot != null && !snapshot.getDay().isAfter(day)) {
+                ticketsByPhase.merge(snapshot.getPhaseId(), snapshot.getTicketDelta(), Long::sum);
+                if (snapshot.getDay().equals(day)) {
+                    createdTickets += snapshot.getCreatedTickets();
+                    resolvedTickets += snapshot.getResolvedTickets();
+                }
+                snapshot = snapshots.hasNext() ? snapshots.next() : null;
+            }
+
+            Map<String, Long> ticketsByPhaseOfDay = new TreeMap<>();
+            ticketsByPhase.forEach((phaseId, tickets) -> {
+                if (tickets != 0) {
+                    ticketsByPhaseOfDay.put(phaseId.toString(), tickets);
+                }
+            });
+            Map<String, Object> dayMap = new LinkedHashMap<>();
+            dayMap.put("day", day.toString());
+            dayMap.put("ticketsByPhase", ticketsByPhaseOfDay);
+            dayMap.put("createdTickets", createdTickets);
+            dayMap.put("resolvedTickets", resolvedTickets);
+            flow.add(dayMap);
+        }
+        return flow;
+    }
+
+    private Set<UUID> getProjectIdsOfCurrentUser() {
+        // project authorities look like ROLE_PROJECT_<ROLE>_<projectId>
+        return SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_PROJECT_"))
+                .map(authority -> UUID.fromString(authority.substring(authority.lastIndexOf('_') + 1)))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns a body that writes the tickets to the response while scrolling through them, so memory use does not
+     * depend on the size of the export. Access is checked and the projects are resolved here, in the request thread.
+     */
+    @PreAuthorize("#projectId == null or hasAnyAuthority(" +
+            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
+            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportCsv(UUID projectId, LocalDateTime createdAfter, LocalDateTime createdBefore) {
+        Set<UUID> projectIds = projectId != null ? Set.of(projectId) : getProjectIdsOfCurrentUser();
+        LocalDateTime from = createdAfter != null ? createdAfter : EARLIEST_CREATION_TIME;
+        LocalDateTime to = createdBefore != null ? createdBefore : LATEST_CREATION_TIME;
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            CsvWriter csvWriter = new CsvWriter(writer);
+            csvWriter.writeRow(CSV_HEADER);
+            writer.flush();
+
+            if (!projectIds.isEmpty()) {
+                try {
+                    readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                        try (Stream<TicketCsvRow> rows = analysisRepository.streamTicketCsvRows(projectIds, from, to)) {
+                            writeTickets(rows.iterator(), csvWriter);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+            writer.flush();
+        };
+    }
+
+    // rows of the same ticket are consecutive, their assignees are merged into one record
+    private void writeTickets(Iterator<TicketCsvRow> rows, CsvWriter csvWriter) throws IOException {
+        TicketCsvRow ticket = null;
+        List<String> assigneeNames = new ArrayList<>();
+
+        while (rows.hasNext()) {
+            TicketCsvRow row = rows.next();
+            if (ticket != null && !ticket.getTicketId().equals(row.getTicketId())) {
+                writeTicket(ticket, assigneeNames, csvWriter);
+                assigneeNames.clear();
+            }
+            ticket = row;
+            if (row.getAssigneeId() != null) {
+                assigneeNames.add(row.getAssigneeName() != null ? row.getAssigneeName() : "Unknown");
+            }
+        }
+        if (ticket != null) {
+            writeTicket(ticket, assigneeNames, csvWriter);
+        }
+    }
+
+    private void writeTicket(TicketCsvRow ticket, List<String> assigneeNames, CsvWriter csvWriter) throws IOException {
+        csvWriter.writeRow(
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getProjectName() != null ? ticket.getProjectName() : "No Project",
+                assigneeNames.isEmpty() ? "Unassigned" : String.join("; ", assigneeNames),
+                ticket.getPhaseName() != null ? ticket.getPhaseName() : "No Phase",
+                ticket.getPriority() != null ? ticket.getPriority().toString() : "No Priority",
+                ticket.getDueTime() != null ? ticket.getDueTime().toString() : "No Due Time",
+                ticket.getCreationTime() != null ? ticket.getCreationTime().toString() : "",
+                ticket.getResolvedAt() != null ? ticket.getResolvedAt().toString() : "Not Resolved"
+        );
     }
-}
\ No newline at end of file
+}
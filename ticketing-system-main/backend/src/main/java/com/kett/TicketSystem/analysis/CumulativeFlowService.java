@@ -0,0 +1,180 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.events.TicketCreatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketPhaseUpdatedEvent;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Records the daily ticket flow of every project. Ticket events are compacted into one pending snapshot per project,
+ * day and phase in memory and added to the stored snapshots every few seconds, so a busy day costs one row per phase.
+ * Reads only see the stored snapshots.
+ */
+@Service
+public class CumulativeFlowService {
+    public static final int MAX_MERGE_ATTEMPTS = 3;
+
+    private static final Logger logger = LoggerFactory.getLogger(CumulativeFlowService.class);
+
+    private final DailyFlowSnapshotRepository dailyFlowSnapshotRepository;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private Map<DailyFlowSnapshot.Key, DailyFlowSnapshot> pendingSnapshots = new HashMap<>();
+
+    public CumulativeFlowService(
+            DailyFlowSnapshotRepository dailyFlowSnapshotRepository,
+            TicketRepository ticketRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.dailyFlowSnapshotRepository = dailyFlowSnapshotRepository;
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    private synchronized void record(UUID projectId, LocalDate day, UUID phaseId, long ticketDelta, long created, long resolved) {
+        if (projectId == null || phaseId == null) {
+            return;
+        }
+        pendingSnapshots
+                .computeIfAbsent(new DailyFlowSnapshot.Key(projectId, day, phaseId), DailyFlowSnapshot::new)
+                .add(ticketDelta, created, resolved);
+    }
+
+    /**
+     * Adds the pending snapshots to the stored ones, every snapshot in its own transaction.
+     * A snapshot that cannot be added is kept pending for the next run.
+     */
+    @Scheduled(fixedDelay = 10_000)
+    @PreDestroy
+    public void flushPendingSnapshots() {
+        Map<DailyFlowSnapshot.Key, DailyFlowSnapshot> flushed;
+        synchronized (this) {
+            if (pendingSnapshots.isEmpty()) {
+                return;
+            }
+            flushed = pendingSnapshots;
+            pendingSnapshots = new HashMap<>();
+        }
+
+        flushed.values().forEach(pending -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        int updated = dailyFlowSnapshotRepository.increment(
+                                pending.getProjectId(),
+                                pending.getDay(),
+                                pending.getPhaseId(),
+                                pending.getTicketDelta(),
+                                pending.getCreatedTickets(),
+                                pending.getResolvedTickets()
+                        );
+                        if (updated == 0) {
+                            dailyFlowSnapshotRepository.save(pending);
+                        }
+                    });
+                    return;
+                } catch (DataIntegrityViolationException e) {
+                    // another instance inserted the snapshot first, it is incremented on the next attempt
+                    if (attempt >= MAX_MERGE_ATTEMPTS) {
+                        logger.warn("Kept flow of phase {} of project {} on {} pending, adding it failed {} times",
+                                pending.getPhaseId(), pending.getProjectId(), pending.getDay(), attempt);
+                        this.record(
+                                pending.getProjectId(),
+                                pending.getDay(),
+                                pending.getPhaseId(),
+                                pending.getTicketDelta(),
+                                pending.getCreatedTickets(),
+                                pending.getResolvedTickets()
+                        );
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the tickets per phase of the project at the start of the day.
+     */
+    public Map<UUID, Long> getTicketsByPhaseBefore(UUID projectId, LocalDate day) {
+        Map<UUID, Long> ticketsByPhase = new HashMap<>();
+        dailyFlowSnapshotRepository
+                .sumTicketDeltasBefore(projectId, day)
+                .forEach(ticketCount -> ticketsByPhase.put(ticketCount.getPhaseId(), ticketCount.getTicketCount()));
+        return ticketsByPhase;
+    }
+
+    /**
+     * Returns the snapshots of the project from the first up to and including the last day, ordered by day.
+     */
+    public List<DailyFlowSnapshot> getSnapshots(UUID projectId, LocalDate from, LocalDate to) {
+        return dailyFlowSnapshotRepository.findByProjectIdAndDayBetweenOrderByDay(projectId, from, to);
+    }
+
+    // event listeners, run after the ticket change commits and dated by the event
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketCreatedEvent(TicketCreatedEvent ticketCreatedEvent) {
+        ticketRepository.findById(ticketCreatedEvent.getTicketId()).ifPresent(ticket -> this.record(
+                ticket.getProjectId(), ticketCreatedEvent.getTimeStamp().toLocalDate(), ticket.getPhaseId(), 1, 1, 0
+        ));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketPhaseUpdatedEvent(TicketPhaseUpdatedEvent ticketPhaseUpdatedEvent) {
+        if (Objects.equals(ticketPhaseUpdatedEvent.getOldPhaseId(), ticketPhaseUpdatedEvent.getNewPhaseId())) {
+            return; // patched into the phase it is in, the ticket did not move
+        }
+        UUID projectId = ticketPhaseUpdatedEvent.getProjectId();
+        LocalDate day = ticketPhaseUpdatedEvent.getTimeStamp().toLocalDate();
+        // resolvedAt is set when a ticket is moved into the DONE phase
+        boolean resolved = ticketRepository
+                .findById(ticketPhaseUpdatedEvent.getTicketId())
+                .map(Ticket::getResolvedAt)
+                .isPresent();
+
+        this.record(projectId, day, ticketPhaseUpdatedEvent.getOldPhaseId(), -1, 0, 0);
+        this.record(projectId, day, ticketPhaseUpdatedEvent.getNewPhaseId(), 1, 0, resolved ? 1 : 0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketDeletedEvent(TicketDeletedEvent ticketDeletedEvent) {
+        this.record(
+                ticketDeletedEvent.getProjectId(), ticketDeletedEvent.getTimeStamp().toLocalDate(), ticketDeletedEvent.getPhaseId(), -1, 0, 0
+        );
+    }
+
+    @EventListener
+    @Async
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        synchronized (this) {
+            pendingSnapshots.keySet().removeIf(key -> key.getProjectId().equals(projectDeletedEvent.getProjectId()));
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                dailyFlowSnapshotRepository.deleteByProjectId(projectDeletedEvent.getProjectId())
+        );
+    }
+}
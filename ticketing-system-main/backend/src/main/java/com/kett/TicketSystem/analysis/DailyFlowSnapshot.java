@@ -0,0 +1,58 @@
+package com.kett.TicketSystem.analysis;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * What happened in a phase on one day: how many tickets it gained (entered minus left), how many tickets were created
+ * in it and how many resolved tickets entered it. Summing the deltas up to a day gives the tickets per phase at the
+ * end of that day, which is one column of a cumulative flow diagram. Tickets that existed before the flow was
+ * recorded are one baseline snapshot per phase, written by the migration that created the table.
+ */
+@Entity
+@IdClass(DailyFlowSnapshot.Key.class)
+@Table(indexes = @Index(name = "idx_daily_flow_snapshot_project_day", columnList = "projectId, day"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailyFlowSnapshot {
+    @Id
+    @Column(length = 16)
+    private UUID projectId;
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(length = 16)
+    private UUID phaseId;
+
+    private long ticketDelta;
+    private long createdTickets;
+    private long resolvedTickets;
+
+    public DailyFlowSnapshot(Key key) {
+        this.projectId = key.getProjectId();
+        this.day = key.getDay();
+        this.phaseId = key.getPhaseId();
+    }
+
+    public void add(long ticketDelta, long createdTickets, long resolvedTickets) {
+        this.ticketDelta += ticketDelta;
+        this.createdTickets += createdTickets;
+        this.resolvedTickets += resolvedTickets;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        private UUID projectId;
+        private LocalDate day;
+        private UUID phaseId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.kett.TicketSystem.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyFlowSnapshotRepository extends JpaRepository<DailyFlowSnapshot, DailyFlowSnapshot.Key> {
+    @Modifying
+    @Query("UPDATE DailyFlowSnapshot s SET " +
+           "s.ticketDelta = s.ticketDelta + :ticketDelta, " +
+           "s.createdTickets = s.createdTickets + :createdTickets, " +
+           "s.resolvedTickets = s.resolvedTickets + :resolvedTickets " +
+           "WHERE s.projectId = :projectId AND s.day = :day AND s.phaseId = :phaseId")
+    int increment(UUID projectId, LocalDate day, UUID phaseId, long ticketDelta, long createdTickets, long resolvedTickets);
+
+    // the ticket counts at the start of a range, the days before it are summed up by the database
+    @Query("SELECT new com.kett.TicketSystem.analysis.TicketCountByPhase(s.phaseId, SUM(s.ticketDelta)) " +
+           "FROM DailyFlowSnapshot s " +
+           "WHERE s.projectId = :projectId AND s.day < :day " +
+           "GROUP BY s.phaseId")
+    List<TicketCountByPhase> sumTicketDeltasBefore(UUID projectId, LocalDate day);
+
+    List<DailyFlowSnapshot> findByProjectIdAndDayBetweenOrderByDay(UUID projectId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyFlowSnapshot s WHERE s.projectId = :projectId")
+    int deleteByProjectId(UUID projectId);
+}
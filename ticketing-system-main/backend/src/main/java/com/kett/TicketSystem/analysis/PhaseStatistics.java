@@ -0,0 +1,51 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.util.UUID;
+
+/**
+ * Ticket counts of a phase. Whether they are open or resolved depends on the phase name,
+ * which is looked up when the statistics are read.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_phase_statistics_project", columnList = "projectId"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PhaseStatistics {
+    @Id
+    @Column(length = 16)
+    private UUID phaseId;
+
+    @Column(length = 16)
+    private UUID projectId;
+
+    private long ticketCount;
+    private long unassignedTickets;
+    private long urgentTickets;
+    private long resolutionHoursSum;
+    private long resolutionCount;
+
+    public PhaseStatistics(UUID phaseId, UUID projectId) {
+        this.phaseId = phaseId;
+        this.projectId = projectId;
+    }
+
+    public void count(TicketStatisticsEntry entry) {
+        this.ticketCount++;
+        if (!entry.isAssigned()) {
+            this.unassignedTickets++;
+        }
+        if (entry.getPriority() == Ticket.TicketPriority.URGENT) {
+            this.urgentTickets++;
+        }
+        if (entry.getResolutionHours() != null) {
+            this.resolutionHoursSum += entry.getResolutionHours();
+            this.resolutionCount++;
+        }
+    }
+}
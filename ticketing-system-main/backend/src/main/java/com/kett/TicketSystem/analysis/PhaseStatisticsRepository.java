@@ -0,0 +1,37 @@
+package com.kett.TicketSystem.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface PhaseStatisticsRepository extends JpaRepository<PhaseStatistics, UUID> {
+    @Modifying
+    @Query("UPDATE PhaseStatistics s SET " +
+           "s.ticketCount = s.ticketCount + :tickets, " +
+           "s.unassignedTickets = s.unassignedTickets + :unassigned, " +
+           "s.urgentTickets = s.urgentTickets + :urgent, " +
+           "s.resolutionHoursSum = s.resolutionHoursSum + :resolutionHours, " +
+           "s.resolutionCount = s.resolutionCount + :resolutions " +
+           "WHERE s.phaseId = :phaseId")
+    int increment(UUID phaseId, long tickets, long unassigned, long urgent, long resolutionHours, long resolutions);
+
+    // a phase counts as resolved if it is named DONE, same as for the live aggregations
+    @Query("SELECT new com.kett.TicketSystem.analysis.PhaseStatisticsSummary(" +
+           "SUM(CASE WHEN UPPER(ph.name) = 'DONE' THEN s.ticketCount ELSE 0 END), " +
+           "SUM(CASE WHEN UPPER(ph.name) = 'DONE' THEN s.resolutionHoursSum ELSE 0 END), " +
+           "SUM(CASE WHEN UPPER(ph.name) = 'DONE' THEN s.resolutionCount ELSE 0 END), " +
+           "SUM(CASE WHEN ph.name IS NULL OR UPPER(ph.name) <> 'DONE' THEN s.unassignedTickets ELSE 0 END), " +
+           "SUM(CASE WHEN ph.name IS NULL OR UPPER(ph.name) <> 'DONE' THEN s.urgentTickets ELSE 0 END)) " +
+           "FROM PhaseStatistics s LEFT JOIN Phase ph ON ph.id = s.phaseId " +
+           "WHERE s.projectId IN :projectIds")
+    PhaseStatisticsSummary summarize(Collection<UUID> projectIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PhaseStatistics s WHERE s.projectId = :projectId")
+    int deleteByProjectId(UUID projectId);
+}
@@ -0,0 +1,55 @@
+package com.kett.TicketSystem.analysis;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+public class PhaseStatisticsSummary {
+    private final long resolvedTickets;
+    private final long resolutionHoursSum;
+    private final long resolutionCount;
+    private final long unassignedOpenTickets;
+    private final long urgentOpenTickets;
+
+    // sums over an empty set are null
+    public PhaseStatisticsSummary(
+            Long resolvedTickets,
+            Long resolutionHoursSum,
+            Long resolutionCount,
+            Long unassignedOpenTickets,
+            Long urgentOpenTickets
+    ) {
+        this.resolvedTickets = resolvedTickets != null ? resolvedTickets : 0;
+        this.resolutionHoursSum = resolutionHoursSum != null ? resolutionHoursSum : 0;
+        this.resolutionCount = resolutionCount != null ? resolutionCount : 0;
+        this.unassignedOpenTickets = unassignedOpenTickets != null ? unassignedOpenTickets : 0;
+        this.urgentOpenTickets = urgentOpenTickets != null ? urgentOpenTickets : 0;
+    }
+
+    // adds phase statistics that are not stored, a phase counts as resolved if it is one of the done phases
+    public PhaseStatisticsSummary plus(Collection<PhaseStatistics> phaseStatistics, Set<UUID> donePhaseIds) {
+        long resolved = resolvedTickets;
+        long hoursSum = resolutionHoursSum;
+        long resolutions = resolutionCount;
+        long unassigned = unassignedOpenTickets;
+        long urgent = urgentOpenTickets;
+        for (PhaseStatistics statistics : phaseStatistics) {
+            if (donePhaseIds.contains(statistics.getPhaseId())) {
+                resolved += statistics.getTicketCount();
+                hoursSum += statistics.getResolutionHoursSum();
+                resolutions += statistics.getResolutionCount();
+            } else {
+                unassigned += statistics.getUnassignedTickets();
+                urgent += statistics.getUrgentTickets();
+            }
+        }
+        return new PhaseStatisticsSummary(resolved, hoursSum, resolutions, unassigned, urgent);
+    }
+
+    public double getAverageResolutionHours() {
+        return resolutionCount > 0 ? (double) resolutionHoursSum / resolutionCount : 0.0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ticket counts of a project, kept up to date with every ticket change. A project without a row has not been
+ * counted yet and is reconciled from its tickets when its statistics are first read.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProjectStatistics {
+    @Id
+    @Column(length = 16)
+    private UUID projectId;
+
+    private long totalTickets;
+    private long lowPriorityTickets;
+    private long mediumPriorityTickets;
+    private long highPriorityTickets;
+    private long urgentPriorityTickets;
+
+    @Setter
+    private LocalDateTime reconciledAt;
+
+    public ProjectStatistics(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public void count(TicketStatisticsEntry entry) {
+        this.totalTickets++;
+        if (entry.getPriority() == null) {
+            return;
+        }
+        switch (entry.getPriority()) {
+            case LOW:
+                this.lowPriorityTickets++;
+                break;
+            case MEDIUM:
+                this.mediumPriorityTickets++;
+                break;
+            case HIGH:
+                this.highPriorityTickets++;
+                break;
+            case URGENT:
+                this.urgentPriorityTickets++;
+                break;
+        }
+    }
+
+    public long getTicketsWithPriority(Ticket.TicketPriority priority) {
+        switch (priority) {
+            case LOW:
+                return lowPriorityTickets;
+            case MEDIUM:
+                return mediumPriorityTickets;
+            case HIGH:
+                return highPriorityTickets;
+            case URGENT:
+                return urgentPriorityTickets;
+            default:
+                return 0;
+        }
+    }
+}
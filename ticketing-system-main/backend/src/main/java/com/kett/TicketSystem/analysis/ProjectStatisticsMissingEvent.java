@@ -0,0 +1,14 @@
+package com.kett.TicketSystem.analysis;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class ProjectStatisticsMissingEvent {
+    private final UUID projectId;
+
+    public ProjectStatisticsMissingEvent(UUID projectId) {
+        this.projectId = projectId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.kett.TicketSystem.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProjectStatisticsRepository extends JpaRepository<ProjectStatistics, UUID> {
+    @Query("SELECT s.projectId FROM ProjectStatistics s")
+    List<UUID> findAllProjectIds();
+
+    @Query("SELECT s.projectId FROM ProjectStatistics s WHERE s.projectId IN :projectIds")
+    List<UUID> findProjectIdsIn(Collection<UUID> projectIds);
+
+    // serializes the ticket changes of a project with its reconciliation
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProjectStatistics s WHERE s.projectId = :projectId")
+    Optional<ProjectStatistics> findByIdForUpdate(UUID projectId);
+
+    // relative update, concurrent ticket changes of a project do not overwrite each other
+    @Modifying
+    @Query("UPDATE ProjectStatistics s SET " +
+           "s.totalTickets = s.totalTickets + :total, " +
+           "s.lowPriorityTickets = s.lowPriorityTickets + :low, " +
+           "s.mediumPriorityTickets = s.mediumPriorityTickets + :medium, " +
+           "s.highPriorityTickets = s.highPriorityTickets + :high, " +
+           "s.urgentPriorityTickets = s.urgentPriorityTickets + :urgent " +
+           "WHERE s.projectId = :projectId")
+    int increment(UUID projectId, long total, long low, long medium, long high, long urgent);
+}
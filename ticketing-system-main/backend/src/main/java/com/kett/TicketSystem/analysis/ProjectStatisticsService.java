@@ -0,0 +1,336 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.events.PhaseCreatedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhaseDeletedEvent;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.events.*;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the project and phase statistics of the analysis dashboard. Every ticket event compares the ticket
+ * with the state it is counted with and applies the difference, right before the ticket change commits.
+ * A project is counted as a whole in the background when its statistics are first read, until then reads count it
+ * from its tickets. A nightly reconciliation recounts every counted project from its tickets and repairs any drift.
+ * Ticket changes and the reconciliation of a project take the lock of its statistics row first, so that a recount
+ * never overwrites the difference of a concurrent ticket change.
+ */
+@Service
+public class ProjectStatisticsService {
+    public static final int RECONCILIATION_CHUNK_SIZE = 500;
+    private static final int RECONCILIATION_BATCH_SIZE = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectStatisticsService.class);
+
+    private final ProjectStatisticsRepository projectStatisticsRepository;
+    private final PhaseStatisticsRepository phaseStatisticsRepository;
+    private final TicketStatisticsEntryRepository ticketStatisticsEntryRepository;
+    private final TicketRepository ticketRepository;
+    private final PhaseRepository phaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate afterCommitTransactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // projects whose first count is pending, so that repeated reads do not count a project more than once
+    private final Set<UUID> countingProjectIds = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProjectStatisticsService(
+            ProjectStatisticsRepository projectStatisticsRepository,
+            PhaseStatisticsRepository phaseStatisticsRepository,
+            TicketStatisticsEntryRepository ticketStatisticsEntryRepository,
+            TicketRepository ticketRepository,
+            PhaseRepository phaseRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.projectStatisticsRepository = projectStatisticsRepository;
+        this.phaseStatisticsRepository = phaseStatisticsRepository;
+        this.ticketStatisticsEntryRepository = ticketStatisticsEntryRepository;
+        this.ticketRepository = ticketRepository;
+        this.phaseRepository = phaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterCommitTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterCommitTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+    }
+
+    // read
+
+    /**
+     * Returns the statistics of the projects. Projects that were not counted yet are counted from their tickets
+     * for this read, and stored by a count in the background.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectStatistics> getProjectStatistics(Collection<UUID> projectIds) {
+        List<ProjectStatistics> projectStatistics = new ArrayList<>(projectStatisticsRepository.findAllById(projectIds));
+        Set<UUID> countedProjectIds = projectStatistics
+                .stream()
+                .map(ProjectStatistics::getProjectId)
+                .collect(Collectors.toSet());
+        for (UUID projectId : this.countUncounted(projectIds, countedProjectIds)) {
+            projectStatistics.add(this.countProject(projectId, new HashMap<>()));
+        }
+        return projectStatistics;
+    }
+
+    @Transactional(readOnly = true)
+    public PhaseStatisticsSummary summarizePhaseStatistics(Collection<UUID> projectIds) {
+        Set<UUID> countedProjectIds = new HashSet<>(projectStatisticsRepository.findProjectIdsIn(projectIds));
+        PhaseStatisticsSummary summary = countedProjectIds.isEmpty()
+                ? new PhaseStatisticsSummary(null, null, null, null, null)
+                : phaseStatisticsRepository.summarize(countedProjectIds);
+        for (UUID projectId : this.countUncounted(projectIds, countedProjectIds)) {
+            Map<UUID, PhaseStatistics> phaseStatistics = new HashMap<>();
+            this.countProject(projectId, phaseStatistics);
+            Set<UUID> donePhaseIds = phaseRepository
+                    .findByProjectId(projectId)
+                    .stream()
+                    .filter(phase -> "DONE".equalsIgnoreCase(phase.getName()))
+                    .map(Phase::getId)
+                    .collect(Collectors.toSet());
+            summary = summary.plus(phaseStatistics.values(), donePhaseIds);
+        }
+        return summary;
+    }
+
+    // the projects without stored statistics, a count in the background is started for each of them once
+    private List<UUID> countUncounted(Collection<UUID> projectIds, Set<UUID> countedProjectIds) {
+        List<UUID> uncountedProjectIds = projectIds
+                .stream()
+                .filter(projectId -> !countedProjectIds.contains(projectId))
+                .toList();
+        uncountedProjectIds
+                .stream()
+                .filter(countingProjectIds::add)
+                .forEach(projectId -> eventPublisher.publishEvent(new ProjectStatisticsMissingEvent(projectId)));
+        return uncountedProjectIds;
+    }
+
+    // counts the tickets of a project without storing the counts
+    private ProjectStatistics countProject(UUID projectId, Map<UUID, PhaseStatistics> phaseStatistics) {
+        ProjectStatistics projectStatistics = new ProjectStatistics(projectId);
+        try (Stream<TicketStatisticsEntry> entries = ticketStatisticsEntryRepository.streamEntriesOfTicketsOfProject(projectId)) {
+            entries.forEach(entry -> count(entry, projectStatistics, phaseStatistics));
+        }
+        return projectStatistics;
+    }
+
+    private static void count(TicketStatisticsEntry entry, ProjectStatistics projectStatistics, Map<UUID, PhaseStatistics> phaseStatistics) {
+        projectStatistics.count(entry);
+        if (entry.getPhaseId() != null) {
+            phaseStatistics
+                    .computeIfAbsent(entry.getPhaseId(), phaseId -> new PhaseStatistics(phaseId, projectStatistics.getProjectId()))
+                    .count(entry);
+        }
+    }
+
+    // incremental maintenance
+
+    private void synchronizeTicket(UUID ticketId, UUID projectId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (projectStatisticsRepository.findByIdForUpdate(projectId).isEmpty()) {
+                return; // counted as a whole after the project's statistics are first read
+            }
+
+            TicketStatisticsEntry counted = ticketStatisticsEntryRepository.findById(ticketId).orElse(null);
+            TicketStatisticsEntry current = ticketRepository.findById(ticketId).map(TicketStatisticsEntry::new).orElse(null);
+            if (counted == null && current == null) {
+                return;
+            }
+            if (counted != null && current != null && counted.isCountedLike(current)) {
+                return;
+            }
+
+            if (counted != null) {
+                this.increment(counted, -1);
+            }
+            if (current != null) {
+                this.increment(current, 1);
+                ticketStatisticsEntryRepository.save(current);
+            } else {
+                ticketStatisticsEntryRepository.delete(counted);
+            }
+        });
+    }
+
+    private void increment(TicketStatisticsEntry entry, long sign) {
+        Ticket.TicketPriority priority = entry.getPriority();
+        projectStatisticsRepository.increment(
+                entry.getProjectId(),
+                sign,
+                priority == Ticket.TicketPriority.LOW ? sign : 0,
+                priority == Ticket.TicketPriority.MEDIUM ? sign : 0,
+                priority == Ticket.TicketPriority.HIGH ? sign : 0,
+                priority == Ticket.TicketPriority.URGENT ? sign : 0
+        );
+
+        if (entry.getPhaseId() == null) {
+            return;
+        }
+        int updated = phaseStatisticsRepository.increment(
+                entry.getPhaseId(),
+                sign,
+                entry.isAssigned() ? 0 : sign,
+                priority == Ticket.TicketPriority.URGENT ? sign : 0,
+                entry.getResolutionHours() != null ? sign * entry.getResolutionHours() : 0,
+                entry.getResolutionHours() != null ? sign : 0
+        );
+        if (updated == 0) {
+            logger.warn("No statistics of phase {} of project {}, left to reconciliation", entry.getPhaseId(), entry.getProjectId());
+        }
+    }
+
+    // reconciliation
+
+    /**
+     * Recounts the statistics of a project from its tickets, in one transaction.
+     */
+    public void reconcileProject(UUID projectId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // ticket changes of the project wait for the recount, or the recount waits for them and sees them
+            projectStatisticsRepository.findByIdForUpdate(projectId);
+            ticketStatisticsEntryRepository.deleteByProjectId(projectId);
+            phaseStatisticsRepository.deleteByProjectId(projectId);
+            entityManager.unwrap(Session.class).setJdbcBatchSize(RECONCILIATION_BATCH_SIZE);
+
+            ProjectStatistics projectStatistics = new ProjectStatistics(projectId);
+            Map<UUID, PhaseStatistics> phaseStatistics = new HashMap<>();
+            for (Phase phase : phaseRepository.findByProjectId(projectId)) {
+                phaseStatistics.put(phase.getId(), new PhaseStatistics(phase.getId(), projectId));
+            }
+
+            long entryCount = 0;
+            try (Stream<TicketStatisticsEntry> entries = ticketStatisticsEntryRepository.streamEntriesOfTicketsOfProject(projectId)) {
+                Iterator<TicketStatisticsEntry> iterator = entries.iterator();
+                while (iterator.hasNext()) {
+                    TicketStatisticsEntry entry = iterator.next();
+                    count(entry, projectStatistics, phaseStatistics);
+                    entityManager.persist(entry);
+                    if (++entryCount % RECONCILIATION_CHUNK_SIZE == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            }
+
+            projectStatistics.setReconciledAt(LocalDateTime.now());
+            projectStatisticsRepository.save(projectStatistics);
+            // the rows were deleted above, persist inserts them without merging (selecting) each one first
+            phaseStatistics.values().forEach(entityManager::persist);
+        });
+    }
+
+    @Scheduled(cron = "0 45 3 * * *") // Runs daily
+    public void reconcileAllProjects() {
+        List<UUID> projectIds = projectStatisticsRepository.findAllProjectIds();
+        for (UUID projectId : projectIds) {
+            this.reconcileProject(projectId);
+        }
+        logger.info("Reconciled statistics of {} projects", projectIds.size());
+    }
+
+    // event listeners, run right before the ticket change commits so that they see the final state of the ticket
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTicketCreatedEvent(TicketCreatedEvent ticketCreatedEvent) {
+        this.synchronizeTicket(ticketCreatedEvent.getTicketId(), ticketCreatedEvent.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTicketPhaseUpdatedEvent(TicketPhaseUpdatedEvent ticketPhaseUpdatedEvent) {
+        this.synchronizeTicket(ticketPhaseUpdatedEvent.getTicketId(), ticketPhaseUpdatedEvent.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTicketPriorityUpdatedEvent(TicketPriorityUpdatedEvent ticketPriorityUpdatedEvent) {
+        this.synchronizeTicket(ticketPriorityUpdatedEvent.getTicketId(), ticketPriorityUpdatedEvent.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTicketAssignedEvent(TicketAssignedEvent ticketAssignedEvent) {
+        this.synchronizeTicket(ticketAssignedEvent.getTicketId(), ticketAssignedEvent.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTicketUnassignedEvent(TicketUnassignedEvent ticketUnassignedEvent) {
+        this.synchronizeTicket(ticketUnassignedEvent.getTicketId(), ticketUnassignedEvent.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTicketDeletedEvent(TicketDeletedEvent ticketDeletedEvent) {
+        this.synchronizeTicket(ticketDeletedEvent.getTicketId(), ticketDeletedEvent.getProjectId());
+    }
+
+    // phases are counted after they commit, so that creating a phase does not wait for its statistics
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handlePhaseCreatedEvent(PhaseCreatedEvent phaseCreatedEvent) {
+        afterCommitTransactionTemplate.executeWithoutResult(status -> {
+            if (projectStatisticsRepository.existsById(phaseCreatedEvent.getProjectId())
+                    && !phaseStatisticsRepository.existsById(phaseCreatedEvent.getPhaseId())) {
+                phaseStatisticsRepository.save(new PhaseStatistics(phaseCreatedEvent.getPhaseId(), phaseCreatedEvent.getProjectId()));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handlePhaseDeletedEvent(PhaseDeletedEvent phaseDeletedEvent) {
+        afterCommitTransactionTemplate.executeWithoutResult(status -> {
+            if (phaseStatisticsRepository.existsById(phaseDeletedEvent.getPhaseId())) {
+                phaseStatisticsRepository.deleteById(phaseDeletedEvent.getPhaseId());
+            }
+        });
+    }
+
+    @EventListener
+    @Async
+    public void handleProjectStatisticsMissingEvent(ProjectStatisticsMissingEvent projectStatisticsMissingEvent) {
+        UUID projectId = projectStatisticsMissingEvent.getProjectId();
+        try {
+            if (!projectStatisticsRepository.existsById(projectId)) {
+                this.reconcileProject(projectId);
+            }
+        } finally {
+            countingProjectIds.remove(projectId);
+        }
+    }
+
+    @EventListener
+    @Async
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        UUID projectId = projectDeletedEvent.getProjectId();
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketStatisticsEntryRepository.deleteByProjectId(projectId);
+            phaseStatisticsRepository.deleteByProjectId(projectId);
+            if (projectStatisticsRepository.existsById(projectId)) {
+                projectStatisticsRepository.deleteById(projectId);
+            }
+        });
+    }
+}
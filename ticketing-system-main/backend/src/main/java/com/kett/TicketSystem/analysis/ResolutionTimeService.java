@@ -0,0 +1,164 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.events.TicketPhaseUpdatedEvent;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Feeds the resolution time of every ticket that enters the DONE phase into the sketches of its project, its priority
+ * and its assignees. Resolution times are collected in memory and merged into the stored sketches every few seconds,
+ * so resolving a ticket never waits for a sketch to be rewritten. Reads only see the stored sketches.
+ */
+@Service
+public class ResolutionTimeService {
+    public static final int MAX_MERGE_ATTEMPTS = 3;
+
+    private static final Logger logger = LoggerFactory.getLogger(ResolutionTimeService.class);
+
+    private final ResolutionTimeSketchRepository resolutionTimeSketchRepository;
+    private final TicketRepository ticketRepository;
+    private final PhaseRepository phaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private Map<ResolutionTimeSketch.Key, QuantileSketch> pendingSketches = new HashMap<>();
+
+    public ResolutionTimeService(
+            ResolutionTimeSketchRepository resolutionTimeSketchRepository,
+            TicketRepository ticketRepository,
+            PhaseRepository phaseRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.resolutionTimeSketchRepository = resolutionTimeSketchRepository;
+        this.ticketRepository = ticketRepository;
+        this.phaseRepository = phaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void recordResolution(Ticket ticket) {
+        if (ticket.getResolvedAt() == null || ticket.getCreationTime() == null) {
+            return;
+        }
+        long seconds = Math.max(0, Duration.between(ticket.getCreationTime(), ticket.getResolvedAt()).getSeconds());
+
+        List<ResolutionTimeSketch.Key> keys = new ArrayList<>();
+        keys.add(new ResolutionTimeSketch.Key(ticket.getProjectId(), ResolutionTimeSketch.Dimension.PROJECT, ""));
+        if (ticket.getPriority() != null) {
+            keys.add(new ResolutionTimeSketch.Key(
+                    ticket.getProjectId(), ResolutionTimeSketch.Dimension.PRIORITY, ticket.getPriority().toString()
+            ));
+        }
+        ticket.getAssigneeIds().forEach(assigneeId -> keys.add(
+                new ResolutionTimeSketch.Key(ticket.getProjectId(), ResolutionTimeSketch.Dimension.ASSIGNEE, assigneeId.toString())
+        ));
+
+        synchronized (this) {
+            keys.forEach(key -> pendingSketches.computeIfAbsent(key, k -> new QuantileSketch()).add(seconds));
+        }
+    }
+
+    /**
+     * Merges the collected resolution times into the stored sketches, every sketch in its own transaction.
+     * A sketch that cannot be merged is kept pending for the next run.
+     */
+    @Scheduled(fixedDelay = 10_000)
+    @PreDestroy
+    public void flushPendingSketches() {
+        Map<ResolutionTimeSketch.Key, QuantileSketch> flushed;
+        synchronized (this) {
+            if (pendingSketches.isEmpty()) {
+                return;
+            }
+            flushed = pendingSketches;
+            pendingSketches = new HashMap<>();
+        }
+
+        flushed.forEach((key, sketch) -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        ResolutionTimeSketch stored = resolutionTimeSketchRepository
+                                .findById(key)
+                                .orElseGet(() -> new ResolutionTimeSketch(key));
+                        stored.merge(sketch);
+                        resolutionTimeSketchRepository.save(stored);
+                    });
+                    return;
+                } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+                    if (attempt >= MAX_MERGE_ATTEMPTS) {
+                        logger.warn("Kept {} resolution times of {} {} of project {} pending, merge failed {} times",
+                                sketch.getCount(), key.getDimension(), key.getDimensionValue(), key.getProjectId(), attempt);
+                        synchronized (this) {
+                            pendingSketches.computeIfAbsent(key, k -> new QuantileSketch()).merge(sketch);
+                        }
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Merges the stored sketches of the projects into one sketch per dimension value,
+     * keyed by the dimension and then the dimension value.
+     */
+    public Map<ResolutionTimeSketch.Dimension, Map<String, QuantileSketch>> getMergedSketches(Collection<UUID> projectIds) {
+        Map<ResolutionTimeSketch.Dimension, Map<String, QuantileSketch>> merged = new EnumMap<>(ResolutionTimeSketch.Dimension.class);
+        for (ResolutionTimeSketch.Dimension dimension : ResolutionTimeSketch.Dimension.values()) {
+            merged.put(dimension, new TreeMap<>());
+        }
+        for (ResolutionTimeSketch stored : resolutionTimeSketchRepository.findByProjectIdIn(projectIds)) {
+            merged.get(stored.getDimension())
+                    .computeIfAbsent(stored.getDimensionValue(), value -> new QuantileSketch())
+                    .merge(stored.getQuantileSketch());
+        }
+        return merged;
+    }
+
+    // event listeners
+
+    // resolvedAt is set when a ticket is moved into the DONE phase, moves within DONE do not resolve it again
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketPhaseUpdatedEvent(TicketPhaseUpdatedEvent ticketPhaseUpdatedEvent) {
+        if (isDone(ticketPhaseUpdatedEvent.getOldPhaseId()) || !isDone(ticketPhaseUpdatedEvent.getNewPhaseId())) {
+            return;
+        }
+        ticketRepository.findById(ticketPhaseUpdatedEvent.getTicketId()).ifPresent(this::recordResolution);
+    }
+
+    private boolean isDone(UUID phaseId) {
+        return phaseId != null && phaseRepository
+                .findById(phaseId)
+                .map(phase -> "DONE".equalsIgnoreCase(phase.getName()))
+                .orElse(false);
+    }
+
+    @EventListener
+    @Async
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        synchronized (this) {
+            pendingSketches.keySet().removeIf(key -> key.getProjectId().equals(projectDeletedEvent.getProjectId()));
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                resolutionTimeSketchRepository.deleteByProjectId(projectDeletedEvent.getProjectId())
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.kett.TicketSystem.analysis;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * The resolution times of the tickets of a project, as a {@link QuantileSketch} of seconds. One sketch covers the
+ * whole project, one each priority and one each assignee; sketches of several projects merge into a combined view.
+ */
+@Entity
+@IdClass(ResolutionTimeSketch.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ResolutionTimeSketch {
+    @Id
+    @Column(length = 16)
+    private UUID projectId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Dimension dimension;
+
+    // empty for the project, the priority or the id of the assignee
+    @Id
+    @Column(length = 36)
+    private String dimensionValue;
+
+    // sketches are merged by read-modify-write, concurrent writers retry
+    @Version
+    private Long version;
+
+    private long resolvedTickets;
+
+    @Column(length = 16384)
+    private byte[] sketch;
+
+    public ResolutionTimeSketch(Key key) {
+        this.projectId = key.getProjectId();
+        this.dimension = key.getDimension();
+        this.dimensionValue = key.getDimensionValue();
+    }
+
+    public QuantileSketch getQuantileSketch() {
+        return QuantileSketch.fromBytes(sketch);
+    }
+
+    public void merge(QuantileSketch other) {
+        QuantileSketch merged = this.getQuantileSketch();
+        merged.merge(other);
+        this.sketch = merged.toBytes();
+        this.resolvedTickets = merged.getCount();
+    }
+
+    public enum Dimension {
+        PROJECT, PRIORITY, ASSIGNEE
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        private UUID projectId;
+        private Dimension dimension;
+        private String dimensionValue;
+    }
+}
@@ -0,0 +1,19 @@
+package com.kett.TicketSystem.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ResolutionTimeSketchRepository extends JpaRepository<ResolutionTimeSketch, ResolutionTimeSketch.Key> {
+    List<ResolutionTimeSketch> findByProjectIdIn(Collection<UUID> projectIds);
+
+    @Modifying
+    @Query("DELETE FROM ResolutionTimeSketch s WHERE s.projectId = :projectId")
+    int deleteByProjectId(UUID projectId);
+}
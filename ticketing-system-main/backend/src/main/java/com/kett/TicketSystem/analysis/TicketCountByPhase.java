@@ -0,0 +1,13 @@
+package com.kett.TicketSystem.analysis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class TicketCountByPhase {
+    private final UUID phaseId;
+    private final Long ticketCount;
+}
@@ -0,0 +1,27 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the csv export. A ticket with several assignees spans several consecutive rows, one per assignee.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketCsvRow {
+    private final UUID ticketId;
+    private final String title;
+    private final String description;
+    private final String projectName;
+    private final UUID assigneeId;
+    private final String assigneeName;
+    private final String phaseName;
+    private final Ticket.TicketPriority priority;
+    private final LocalDateTime dueTime;
+    private final LocalDateTime creationTime;
+    private final LocalDateTime resolvedAt;
+}
@@ -0,0 +1,74 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The state of a ticket as it is currently counted in the project and phase statistics. Comparing it with the
+ * ticket yields the increments to apply, so handling the events of a ticket twice does not count it twice.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_ticket_statistics_entry_project", columnList = "projectId"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TicketStatisticsEntry {
+    @Id
+    @Column(length = 16)
+    private UUID ticketId;
+
+    @Column(length = 16)
+    private UUID projectId;
+
+    @Column(length = 16)
+    private UUID phaseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Ticket.TicketPriority priority;
+
+    private boolean assigned;
+
+    private Long resolutionHours;
+
+    // used by the reconciliation query
+    public TicketStatisticsEntry(
+            UUID ticketId,
+            UUID projectId,
+            UUID phaseId,
+            Ticket.TicketPriority priority,
+            Integer assigneeCount,
+            Long resolutionHours
+    ) {
+        this.ticketId = ticketId;
+        this.projectId = projectId;
+        this.phaseId = phaseId;
+        this.priority = priority;
+        this.assigned = assigneeCount != null && assigneeCount > 0;
+        this.resolutionHours = resolutionHours;
+    }
+
+    public TicketStatisticsEntry(Ticket ticket) {
+        this(
+                ticket.getId(),
+                ticket.getProjectId(),
+                ticket.getPhaseId(),
+                ticket.getPriority(),
+                ticket.getAssigneeIds().size(),
+                ticket.getResolutionHours()
+        );
+    }
+
+    public boolean isCountedLike(TicketStatisticsEntry other) {
+        return Objects.equals(projectId, other.projectId)
+                && Objects.equals(phaseId, other.phaseId)
+                && priority == other.priority
+                && assigned == other.assigned
+                && Objects.equals(resolutionHours, other.resolutionHours);
+    }
+}
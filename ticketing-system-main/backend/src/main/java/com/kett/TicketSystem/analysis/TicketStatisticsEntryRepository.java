@@ -0,0 +1,25 @@
+package com.kett.TicketSystem.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface TicketStatisticsEntryRepository extends JpaRepository<TicketStatisticsEntry, UUID> {
+    // the entries as they should be, read from the tickets of the project
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.kett.TicketSystem.analysis.TicketStatisticsEntry(" +
+           "t.id, t.projectId, t.phaseId, t.priority, SIZE(t.assigneeIds), t.resolutionHours) " +
+           "FROM Ticket t WHERE t.projectId = :projectId")
+    Stream<TicketStatisticsEntry> streamEntriesOfTicketsOfProject(UUID projectId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TicketStatisticsEntry e WHERE e.projectId = :projectId")
+    int deleteByProjectId(UUID projectId);
+}
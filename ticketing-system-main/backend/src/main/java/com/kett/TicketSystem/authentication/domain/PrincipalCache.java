@@ -0,0 +1,191 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.membership.domain.events.MembershipAcceptedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipRoleUpdatedEvent;
+import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
+import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of the principals (user details with authorities) that JwtAuthenticationFilter needs on
+ * every request, keyed by the email in the token. Entries are dropped by user id as soon as a membership,
+ * role or user change happens and again when it commits. The time to live only guards against changes that
+ * publish no event.
+ */
+@Component
+public class PrincipalCache {
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private static final String USER_AUTHORITY_PREFIX = "ROLE_USER_";
+
+    private final int maxSize;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final LinkedHashMap<String, CachedPrincipal> principalsByEmail;
+    private final Map<UUID, String> emailsByUserId = new HashMap<>();
+
+    // bumped by every invalidation, so that a principal loaded before an invalidation is not cached afterwards
+    private long generation = 0;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public PrincipalCache(MeterRegistry meterRegistry) {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE, Clock.systemUTC(), meterRegistry);
+    }
+
+    public PrincipalCache(int maxSize, Duration timeToLive, Clock clock, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.principalsByEmail = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                if (size() <= PrincipalCache.this.maxSize) {
+                    return false;
+                }
+                emailsByUserId.remove(eldest.getValue().userId);
+                evictions.increment();
+                return true;
+            }
+        };
+
+        this.hits = Counter.builder("cache.gets").tag("cache", "principals").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "principals").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", "principals").register(meterRegistry);
+        Gauge.builder("cache.size", this, PrincipalCache::size).tag("cache", "principals").register(meterRegistry);
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            CachedPrincipal cachedPrincipal = principalsByEmail.get(email);
+            if (cachedPrincipal != null && cachedPrincipal.expiresAt.isAfter(clock.instant())) {
+                hits.increment();
+                return cachedPrincipal.userDetails;
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        // load outside the lock, the loader hits the database
+        UserDetails userDetails = loader.apply(email);
+        UUID userId = userIdOf(userDetails);
+        if (userId == null) {
+            return userDetails;
+        }
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                String previousEmail = emailsByUserId.put(userId, email);
+                if (previousEmail != null && !previousEmail.equals(email)) {
+                    principalsByEmail.remove(previousEmail);
+                }
+                principalsByEmail.put(email, new CachedPrincipal(userId, userDetails, clock.instant().plus(timeToLive)));
+            }
+        }
+        return userDetails;
+    }
+
+    public synchronized void invalidate(UUID userId) {
+        generation++;
+        String email = emailsByUserId.remove(userId);
+        if (email != null) {
+            principalsByEmail.remove(email);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        emailsByUserId.clear();
+        principalsByEmail.clear();
+    }
+
+    public synchronized int size() {
+        return principalsByEmail.size();
+    }
+
+    private static UUID userIdOf(UserDetails userDetails) {
+        if (userDetails == null) {
+            return null;
+        }
+        for (GrantedAuthority authority : userDetails.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(USER_AUTHORITY_PREFIX)) {
+                return UUID.fromString(name.substring(USER_AUTHORITY_PREFIX.length()));
+            }
+        }
+        return null;
+    }
+
+    // invalidated right away, so that the changing transaction itself loads the new authorities, and again after
+    // commit, so that a principal loaded by another request before the commit does not stay cached
+    private void invalidateNowAndAfterCommit(UUID userId) {
+        this.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    // event listeners
+    @EventListener
+    public void handleMembershipAcceptedEvent(MembershipAcceptedEvent membershipAcceptedEvent) {
+        this.invalidateNowAndAfterCommit(membershipAcceptedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleMembershipDeletedEvent(MembershipDeletedEvent membershipDeletedEvent) {
+        this.invalidateNowAndAfterCommit(membershipDeletedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleMembershipRoleUpdatedEvent(MembershipRoleUpdatedEvent membershipRoleUpdatedEvent) {
+        this.invalidateNowAndAfterCommit(membershipRoleUpdatedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
+        this.invalidateNowAndAfterCommit(userPatchedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
+        this.invalidateNowAndAfterCommit(userDeletedEvent.getUserId());
+    }
+
+    private static class CachedPrincipal {
+        private final UUID userId;
+        private final UserDetails userDetails;
+        private final Instant expiresAt;
+
+        private CachedPrincipal(UUID userId, UserDetails userDetails, Instant expiresAt) {
+            this.userId = userId;
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
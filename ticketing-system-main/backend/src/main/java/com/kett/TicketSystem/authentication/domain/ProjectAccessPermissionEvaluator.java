@@ -0,0 +1,242 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.membership.domain.MembershipDomainService;
+import com.kett.TicketSystem.membership.domain.MembershipOwnerIds;
+import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.notification.domain.NotificationDomainService;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.events.PhaseDeletedEvent;
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
+import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Resolves the project and the user that own a ticket, phase, membership or notification, so that
+ * {@code @PreAuthorize} can check access with {@code hasPermission(#id, 'ticket', 'PROJECT_MEMBER')}.
+ * The owners are looked up with an id-only query, memoized for the current request and cached across requests.
+ * Owners never change, so the shared cache only drops entries of deleted resources.
+ *
+ * Permissions: PROJECT_ADMIN (admin of the owning project), PROJECT_MEMBER (admin or member of the owning project)
+ * and OWNER (the user the membership or notification belongs to).
+ */
+@Component
+public class ProjectAccessPermissionEvaluator implements PermissionEvaluator {
+    public static final int MAX_CACHED_OWNERS = 10_000;
+
+    private static final String REQUEST_MEMO_ATTRIBUTE = ProjectAccessPermissionEvaluator.class.getName() + ".owners";
+
+    private final TicketDomainService ticketDomainService;
+    private final PhaseDomainService phaseDomainService;
+    private final MembershipDomainService membershipDomainService;
+    private final NotificationDomainService notificationDomainService;
+
+    private final LinkedHashMap<ResourceKey, ResourceOwner> owners = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ResourceKey, ResourceOwner> eldest) {
+            return size() > MAX_CACHED_OWNERS;
+        }
+    };
+
+    // lazy, the evaluator is picked up by the method security configuration before the domain services exist
+    @Autowired
+    public ProjectAccessPermissionEvaluator(
+            @Lazy TicketDomainService ticketDomainService,
+            @Lazy PhaseDomainService phaseDomainService,
+            @Lazy MembershipDomainService membershipDomainService,
+            @Lazy NotificationDomainService notificationDomainService
+    ) {
+        this.ticketDomainService = ticketDomainService;
+        this.phaseDomainService = phaseDomainService;
+        this.membershipDomainService = membershipDomainService;
+        this.notificationDomainService = notificationDomainService;
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        return false;
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        if (authentication == null || targetId == null) {
+            return false;
+        }
+        ResourceOwner owner = this.getOwner(new ResourceKey(targetType, toUUID(targetId)));
+
+        switch (String.valueOf(permission)) {
+            case "PROJECT_ADMIN":
+                return owner.projectId != null && hasAnyAuthority(authentication, "ROLE_PROJECT_ADMIN_" + owner.projectId);
+            case "PROJECT_MEMBER":
+                return owner.projectId != null && hasAnyAuthority(
+                        authentication,
+                        "ROLE_PROJECT_ADMIN_" + owner.projectId,
+                        "ROLE_PROJECT_MEMBER_" + owner.projectId
+                );
+            case "OWNER":
+                return owner.userId != null && hasAnyAuthority(authentication, "ROLE_USER_" + owner.userId);
+            default:
+                throw new IllegalArgumentException("unknown permission: " + permission);
+        }
+    }
+
+    public int countCachedOwners() {
+        synchronized (owners) {
+            return owners.size();
+        }
+    }
+
+    private ResourceOwner getOwner(ResourceKey key) {
+        Map<ResourceKey, ResourceOwner> requestMemo = this.getRequestMemo();
+        ResourceOwner owner = requestMemo != null ? requestMemo.get(key) : null;
+        if (owner != null) {
+            return owner;
+        }
+
+        synchronized (owners) {
+            owner = owners.get(key);
+        }
+        if (owner == null) {
+            // throws the resource's not found exception, which is mapped to 404 as before
+            owner = this.loadOwner(key);
+            synchronized (owners) {
+                owners.put(key, owner);
+            }
+        }
+
+        if (requestMemo != null) {
+            requestMemo.put(key, owner);
+        }
+        return owner;
+    }
+
+    private ResourceOwner loadOwner(ResourceKey key) {
+        switch (key.type) {
+            case "ticket":
+                return new ResourceOwner(ticketDomainService.getProjectIdByTicketId(key.id), null);
+            case "phase":
+                return new ResourceOwner(phaseDomainService.getProjectIdByPhaseId(key.id), null);
+            case "membership":
+                MembershipOwnerIds ownerIds = membershipDomainService.getOwnerIdsByMembershipId(key.id);
+                return new ResourceOwner(ownerIds.getProjectId(), ownerIds.getUserId());
+            case "notification":
+                return new ResourceOwner(null, notificationDomainService.getGetRecipientIdByNotificationId(key.id));
+            default:
+                throw new IllegalArgumentException("unknown target type: " + key.type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<ResourceKey, ResourceOwner> getRequestMemo() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Object memo = requestAttributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<ResourceKey, ResourceOwner>();
+            requestAttributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<ResourceKey, ResourceOwner>) memo;
+    }
+
+    private static boolean hasAnyAuthority(Authentication authentication, String... authorities) {
+        List<String> wanted = Arrays.asList(authorities);
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            if (wanted.contains(grantedAuthority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static UUID toUUID(Serializable targetId) {
+        return targetId instanceof UUID ? (UUID) targetId : UUID.fromString(targetId.toString());
+    }
+
+    private void evict(String type, UUID id) {
+        synchronized (owners) {
+            owners.remove(new ResourceKey(type, id));
+        }
+    }
+
+    private void evictIf(Predicate<Map.Entry<ResourceKey, ResourceOwner>> predicate) {
+        synchronized (owners) {
+            owners.entrySet().removeIf(predicate);
+        }
+    }
+
+    // event listeners; deleted notifications have no event and simply age out
+    @EventListener
+    public void handleTicketDeletedEvent(TicketDeletedEvent ticketDeletedEvent) {
+        this.evict("ticket", ticketDeletedEvent.getTicketId());
+    }
+
+    @EventListener
+    public void handlePhaseDeletedEvent(PhaseDeletedEvent phaseDeletedEvent) {
+        this.evict("phase", phaseDeletedEvent.getPhaseId());
+    }
+
+    @EventListener
+    public void handleMembershipDeletedEvent(MembershipDeletedEvent membershipDeletedEvent) {
+        this.evict("membership", membershipDeletedEvent.getMembershipId());
+    }
+
+    @EventListener
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        UUID projectId = projectDeletedEvent.getProjectId();
+        this.evictIf(entry -> projectId.equals(entry.getValue().projectId));
+    }
+
+    @EventListener
+    public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
+        UUID userId = userDeletedEvent.getUserId();
+        this.evictIf(entry -> userId.equals(entry.getValue().userId));
+    }
+
+    private static class ResourceKey {
+        private final String type;
+        private final UUID id;
+
+        private ResourceKey(String type, UUID id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ResourceKey)) return false;
+            ResourceKey that = (ResourceKey) o;
+            return type.equals(that.type) && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id);
+        }
+    }
+
+    private static class ResourceOwner {
+        private final UUID projectId;
+        private final UUID userId;
+
+        private ResourceOwner(UUID projectId, UUID userId) {
+            this.projectId = projectId;
+            this.userId = userId;
+        }
+    }
+}
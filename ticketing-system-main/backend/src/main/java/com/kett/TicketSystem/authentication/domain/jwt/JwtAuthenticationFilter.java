@@ -1,5 +1,6 @@
 package com.kett.TicketSystem.authentication.domain.jwt;
 
+import com.kett.TicketSystem.authentication.domain.PrincipalCache;
 import com.kett.TicketSystem.user.domain.UserDomainService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,6 +15,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,6 +26,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDomainService userDomainService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     private static final Logger logger = Logger.getLogger(JwtAuthenticationFilter.class.getName());
 
     @Override
@@ -33,11 +38,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @SuppressWarnings("null") FilterChain filterChain
     ) throws ServletException, IOException {
         String jwt = getJwtFromRequest(request);
-        logger.info("Extracted JWT Token: " + jwt);
 
-        if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-            String email = jwtTokenProvider.getEmailFromToken(jwt);
-            UserDetails userDetails = userDomainService.loadUserByUsername(email);
+        Optional<JwtClaims> jwtClaims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseToken(jwt) : Optional.empty();
+        if (jwtClaims.isPresent()) {
+            String email = jwtClaims.get().getEmail();
+            UserDetails userDetails = principalCache.get(email, userDomainService::loadUserByUsername);
 
             if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authenticationToken =
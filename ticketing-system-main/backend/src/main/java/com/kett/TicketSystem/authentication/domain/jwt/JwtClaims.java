@@ -0,0 +1,18 @@
+package com.kett.TicketSystem.authentication.domain.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+    private final String email;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public boolean isExpiredAt(Instant instant) {
+        return !expiresAt.isAfter(instant);
+    }
+}
@@ -2,32 +2,69 @@ package com.kett.TicketSystem.authentication.domain.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Base64;
-import java.util.Date;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.*;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.logging.Logger;
 
 @Component
 public class JwtTokenProvider {
+    public static final int VERIFIED_TOKEN_CACHE_SIZE = 1024;
 
     private static final Logger logger = Logger.getLogger(JwtTokenProvider.class.getName());
 
+    private static final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     private final Key jwtKey;
+    private final Clock clock;
 
+    // immutable and thread-safe, built once instead of once per check
+    private final JwtParser jwtParser;
+
+    // sha-256 digests of tokens whose signature was already verified, so a token is verified once, not per request
+    private final LinkedHashMap<ByteBuffer, JwtClaims> verifiedTokens =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteBuffer, JwtClaims> eldest) {
+                    return size() > VERIFIED_TOKEN_CACHE_SIZE;
+                }
+            };
+
+    @Autowired
     public JwtTokenProvider() {
+        this(Clock.systemUTC());
+    }
+
+    public JwtTokenProvider(Clock clock) {
         String secretKey = "your_super_secret_key_that_should_be_very_long";  // Replace with actual long key
         byte[] keyBytes = Base64.getEncoder().encode(secretKey.getBytes());
         this.jwtKey = Keys.hmacShaKeyFor(keyBytes);
+        this.clock = clock;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(jwtKey)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
     }
 
     public String generateToken(String email) {
-        Instant now = Instant.now();
+        Instant now = clock.instant();
         Instant expiration = now.plus(1, ChronoUnit.DAYS);
 
         return Jwts.builder()
@@ -43,22 +80,63 @@ public class JwtTokenProvider {
         return generateToken(user.getUsername());
     }
 
+    /**
+     * Verifies signature and expiry of the token and returns its claims, or an empty optional if the token
+     * is invalid. Verified tokens are remembered by digest until they expire.
+     */
+    public Optional<JwtClaims> parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ByteBuffer digest = ByteBuffer.wrap(sha256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        Instant now = clock.instant();
+        synchronized (verifiedTokens) {
+            JwtClaims cachedClaims = verifiedTokens.get(digest);
+            if (cachedClaims != null) {
+                if (!cachedClaims.isExpiredAt(now)) {
+                    return Optional.of(cachedClaims);
+                }
+                verifiedTokens.remove(digest);
+            }
+        }
+
+        JwtClaims jwtClaims;
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                logger.warning("Invalid JWT Token: subject or expiration missing");
+                return Optional.empty();
+            }
+            jwtClaims = new JwtClaims(
+                    claims.getSubject(),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration().toInstant()
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warning("Invalid JWT Token: " + e.getMessage());
+            return Optional.empty();
+        }
+
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(digest, jwtClaims);
+        }
+        return Optional.of(jwtClaims);
+    }
+
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(jwtKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return parseToken(token)
+                .map(JwtClaims::getEmail)
+                .orElseThrow(() -> new MalformedJwtException("invalid JWT token"));
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(jwtKey).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            logger.warning("Invalid JWT Token: " + e.getMessage());
-            return false;
+        return parseToken(token).isPresent();
+    }
+
+    public int countVerifiedTokens() {
+        synchronized (verifiedTokens) {
+            return verifiedTokens.size();
         }
     }
 }
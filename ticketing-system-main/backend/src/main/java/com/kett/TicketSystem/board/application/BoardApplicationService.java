@@ -0,0 +1,39 @@
+package com.kett.TicketSystem.board.application;
+
+import com.kett.TicketSystem.board.application.dto.BoardResponseDto;
+import com.kett.TicketSystem.common.DtoMapper;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.TicketPage;
+import com.kett.TicketSystem.ticket.domain.TicketSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class BoardApplicationService {
+    private final PhaseDomainService phaseDomainService;
+    private final TicketDomainService ticketDomainService;
+    private final DtoMapper dtoMapper;
+
+    @Autowired
+    public BoardApplicationService(PhaseDomainService phaseDomainService, TicketDomainService ticketDomainService, DtoMapper dtoMapper) {
+        this.phaseDomainService = phaseDomainService;
+        this.ticketDomainService = ticketDomainService;
+        this.dtoMapper = dtoMapper;
+    }
+
+    @PreAuthorize("hasAnyAuthority(" +
+            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
+            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    public BoardResponseDto getBoardByProjectId(UUID projectId, Integer ticketsPerPhase) {
+        Map<UUID, TicketPage<TicketSummary>> ticketPagesByPhase = ticketDomainService.getFirstTicketPagesByPhase(projectId, ticketsPerPhase);
+        List<Phase> phases = phaseDomainService.getPhasesByProjectId(projectId);
+        return dtoMapper.mapToBoardResponseDto(projectId, phases, ticketPagesByPhase);
+    }
+}
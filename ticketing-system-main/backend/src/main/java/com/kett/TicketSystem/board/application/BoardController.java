@@ -0,0 +1,34 @@
+package com.kett.TicketSystem.board.application;
+
+import com.kett.TicketSystem.board.application.dto.BoardResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@Transactional
+@CrossOrigin(origins = {"http://localhost:5173"}, allowCredentials = "true")
+@RequestMapping("/board")
+public class BoardController {
+    private final BoardApplicationService boardApplicationService;
+
+    @Autowired
+    public BoardController(BoardApplicationService boardApplicationService) {
+        this.boardApplicationService = boardApplicationService;
+    }
+
+    // the ordered phases of the project with their ticket counts and first tickets
+    @Transactional(readOnly = true)
+    @GetMapping
+    public ResponseEntity<BoardResponseDto> getBoard(
+            @RequestParam(name = "project-id") UUID projectId,
+            @RequestParam(name = "tickets-per-phase", required = false) Integer ticketsPerPhase
+    ) {
+        BoardResponseDto boardResponseDto = boardApplicationService.getBoardByProjectId(projectId, ticketsPerPhase);
+        return new ResponseEntity<>(boardResponseDto, HttpStatus.OK);
+    }
+}
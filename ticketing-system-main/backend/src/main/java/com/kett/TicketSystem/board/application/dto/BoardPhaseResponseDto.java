@@ -0,0 +1,21 @@
+package com.kett.TicketSystem.board.application.dto;
+
+import com.kett.TicketSystem.phase.application.dto.PhaseResponseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardPhaseResponseDto {
+    private PhaseResponseDto phase;
+    private List<TicketResponseDto> tickets = new ArrayList<>();
+    private String nextCursor; // continues the phase as cursor of GET /tickets?phase-id=, null if there are no further tickets
+}
@@ -45,7 +45,6 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         .authorizeRequests()
         .antMatchers("/authentications/**").permitAll()
         .antMatchers(HttpMethod.POST, "/users").permitAll()
-        .antMatchers(HttpMethod.GET, "/api/analysis/export-csv").permitAll() 
         .anyRequest().authenticated();
 
     http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
@@ -1,97 +1,94 @@
 package com.kett.TicketSystem.common;
 
+import com.kett.TicketSystem.board.application.dto.BoardPhaseResponseDto;
+import com.kett.TicketSystem.board.application.dto.BoardResponseDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipPostDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipResponseDto;
 import com.kett.TicketSystem.membership.domain.Membership;
+import com.kett.TicketSystem.membership.domain.MembershipSummary;
 import com.kett.TicketSystem.notification.application.dto.NotificationResponseDto;
 import com.kett.TicketSystem.notification.domain.Notification;
+import com.kett.TicketSystem.notification.domain.NotificationSummary;
 import com.kett.TicketSystem.phase.application.dto.PhasePostDto;
 import com.kett.TicketSystem.phase.application.dto.PhaseResponseDto;
 import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.ticket.application.dto.TicketPageResponseDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketQueryDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
 import com.kett.TicketSystem.project.application.dto.ProjectPostDto;
 import com.kett.TicketSystem.project.application.dto.ProjectResponseDto;
 import com.kett.TicketSystem.project.domain.Project;
 import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
+import com.kett.TicketSystem.ticket.domain.TicketPage;
+import com.kett.TicketSystem.ticket.domain.TicketQuery;
+import com.kett.TicketSystem.ticket.domain.TicketSortKey;
+import com.kett.TicketSystem.ticket.domain.TicketSummary;
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
 import com.kett.TicketSystem.user.application.dto.UserPostDto;
 import com.kett.TicketSystem.user.application.dto.UserResponseDto;
 import com.kett.TicketSystem.user.domain.User;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class DtoMapper {
-    private final ModelMapper modelMapper = new ModelMapper();
-
-    public DtoMapper() {
-        modelMapper.typeMap(Membership.class, MembershipResponseDto.class).addMappings(mapper -> {
-            mapper.map(Membership::getId, MembershipResponseDto::setId);
-            mapper.map(Membership::getProjectId, MembershipResponseDto::setProjectId);
-            mapper.map(Membership::getUserId, MembershipResponseDto::setUserId);
-            mapper.map(Membership::getRole, MembershipResponseDto::setRole);
-            mapper.map(Membership::getState, MembershipResponseDto::setState);
-        });
-        modelMapper.typeMap(Notification.class, NotificationResponseDto.class).addMappings(mapper -> {
-            mapper.map(Notification::getId, NotificationResponseDto::setId);
-            mapper.map(Notification::getCreationTime, NotificationResponseDto::setCreationTime);
-            mapper.map(Notification::getRecipientId, NotificationResponseDto::setRecipientId);
-            mapper.map(Notification::getIsRead, NotificationResponseDto::setIsRead);
-            mapper.map(Notification::getContent, NotificationResponseDto::setContent);
-        });
-        modelMapper.typeMap(Phase.class, PhaseResponseDto.class).addMappings(mapper -> {
-            mapper.map(Phase::getId, PhaseResponseDto::setId);
-            mapper.map(Phase::getProjectId, PhaseResponseDto::setProjectId);
-            mapper.map(Phase::getName, PhaseResponseDto::setName);
-            mapper.map(phase -> {
-                Phase previousPhase = phase.getPreviousPhase();
-                return (previousPhase == null) ? null : previousPhase.getId();
-            }, PhaseResponseDto::setPreviousPhaseId);
-            mapper.map(phase -> {
-                Phase nextPhase = phase.getNextPhase();
-                return (nextPhase == null) ? null : nextPhase.getId();
-            }, PhaseResponseDto::setNextPhaseId);
-            mapper.map(Phase::getTicketCount, PhaseResponseDto::setTicketCount);
-        });
-        modelMapper.typeMap(Project.class, ProjectResponseDto.class).addMappings(mapper -> {
-            mapper.map(Project::getId, ProjectResponseDto::setId);
-            mapper.map(Project::getName, ProjectResponseDto::setName);
-            mapper.map(Project::getDescription, ProjectResponseDto::setDescription);
-            mapper.map(Project::getCreationTime, ProjectResponseDto::setCreationTime);
-        });
-        modelMapper.typeMap(Ticket.class, TicketResponseDto.class).addMappings(mapper -> {
-            mapper.map(Ticket::getId, TicketResponseDto::setId);
-            mapper.map(Ticket::getTitle, TicketResponseDto::setTitle);
-            mapper.map(Ticket::getDescription, TicketResponseDto::setDescription);
-            mapper.map(Ticket::getCreationTime, TicketResponseDto::setCreationTime);
-            mapper.map(Ticket::getDueTime, TicketResponseDto::setDueTime);
-            mapper.map(Ticket::getPhaseId, TicketResponseDto::setPhaseId);
-            mapper.map(Ticket::getProjectId, TicketResponseDto::setProjectId);
-            mapper.map(Ticket::getAssigneeIds, TicketResponseDto::setAssigneeIds);
-            mapper.map(Ticket::getPriority, TicketResponseDto::setPriority); // Map priority
-        });
-        modelMapper.typeMap(User.class, UserResponseDto.class).addMappings(mapper -> {
-            mapper.map(User::getId, UserResponseDto::setId);
-            mapper.map(User::getName, UserResponseDto::setName);
-            mapper.map(user -> user.getEmail().toString(), UserResponseDto::setEmail);
-        });
+    // board
+    public BoardResponseDto mapToBoardResponseDto(UUID projectId, List<Phase> orderedPhasesOfProject, Map<UUID, TicketPage<TicketSummary>> ticketPagesByPhase) {
+        List<BoardPhaseResponseDto> boardPhaseResponseDtos = this
+                .mapPhaseListToPhaseResponseDtoList(orderedPhasesOfProject)
+                .stream()
+                .map(phaseResponseDto -> {
+                    TicketPage<TicketSummary> ticketPage = ticketPagesByPhase.get(phaseResponseDto.getId());
+                    if (ticketPage == null) {
+                        return new BoardPhaseResponseDto(phaseResponseDto, new ArrayList<>(), null);
+                    }
+                    TicketPageResponseDto ticketPageResponseDto = this.mapTicketPageToTicketPageResponseDto(ticketPage);
+                    return new BoardPhaseResponseDto(phaseResponseDto, ticketPageResponseDto.getTickets(), ticketPageResponseDto.getNextCursor());
+                })
+                .toList();
+        return new BoardResponseDto(projectId, boardPhaseResponseDtos);
     }
 
     // membership
     public MembershipResponseDto mapMembershipToMembershipResponseDto(Membership membership) {
-        return modelMapper.map(membership, MembershipResponseDto.class);
+        return new MembershipResponseDto(
+                membership.getId(),
+                membership.getProjectId(),
+                membership.getUserId(),
+                membership.getRole(),
+                membership.getState(),
+                null
+        );
     }
 
     public List<MembershipResponseDto> mapMembershipListToMembershipResponseDtoList(List<Membership> memberships) {
         return memberships
                 .stream()
-                .map(membership -> modelMapper.map(membership, MembershipResponseDto.class))
+                .map(this::mapMembershipToMembershipResponseDto)
                 .toList();
     }
 
+    public List<MembershipResponseDto> mapMembershipSummaryListToMembershipResponseDtoList(List<MembershipSummary> memberships) {
+        List<MembershipResponseDto> membershipResponseDtos = new ArrayList<>(memberships.size());
+        for (MembershipSummary membership : memberships) {
+            membershipResponseDtos.add(new MembershipResponseDto(
+                    membership.getId(),
+                    membership.getProjectId(),
+                    membership.getUserId(),
+                    membership.getRole(),
+                    membership.getState(),
+                    null
+            ));
+        }
+        return membershipResponseDtos;
+    }
+
     public Membership mapMembershipPostDtoToMembership(MembershipPostDto membershipPostDto) {
         return new Membership(
                 membershipPostDto.getProjectId(),
@@ -102,40 +99,72 @@ public class DtoMapper {
 
     // notification
     public NotificationResponseDto mapNotificationToNotificationResponseDto(Notification notification) {
-        return modelMapper.map(notification, NotificationResponseDto.class);
+        return new NotificationResponseDto(
+                notification.getId(),
+                notification.getCreationTime(),
+                notification.getRecipientId(),
+                notification.getIsRead(),
+                notification.getContent()
+        );
     }
 
-    public List<NotificationResponseDto> mapNotificationListToNotificationResponseDtoList(List<Notification> notifications) {
-        return notifications
-                .stream()
-                .map(notification -> modelMapper.map(notification, NotificationResponseDto.class))
-                .toList();
+    public List<NotificationResponseDto> mapNotificationSummaryListToNotificationResponseDtoList(List<NotificationSummary> notifications) {
+        List<NotificationResponseDto> notificationResponseDtos = new ArrayList<>(notifications.size());
+        for (NotificationSummary notification : notifications) {
+            notificationResponseDtos.add(new NotificationResponseDto(
+                    notification.getId(),
+                    notification.getCreationTime(),
+                    notification.getRecipientId(),
+                    notification.getIsRead(),
+                    notification.getContent()
+            ));
+        }
+        return notificationResponseDtos;
     }
 
     // phase
-    public PhaseResponseDto mapPhaseToPhaseResponseDto(Phase phase) {
-        return modelMapper.map(phase, PhaseResponseDto.class);
+    // previousPhaseId and nextPhaseId are the neighbours of the phase within the phases of its project ordered by rank
+    public PhaseResponseDto mapPhaseToPhaseResponseDto(Phase phase, List<Phase> orderedPhasesOfProject) {
+        int index = orderedPhasesOfProject.stream().map(Phase::getId).toList().indexOf(phase.getId());
+        return mapPhaseToPhaseResponseDto(phase, orderedPhasesOfProject, index);
     }
 
-    public List<PhaseResponseDto> mapPhaseListToPhaseResponseDtoList(List<Phase> phases) {
-        return phases
-                .stream()
-                .map(phase -> modelMapper.map(phase, PhaseResponseDto.class))
-                .toList();
+    public List<PhaseResponseDto> mapPhaseListToPhaseResponseDtoList(List<Phase> orderedPhasesOfProject) {
+        List<PhaseResponseDto> phaseResponseDtos = new ArrayList<>(orderedPhasesOfProject.size());
+        for (int i = 0; i < orderedPhasesOfProject.size(); i++) {
+            phaseResponseDtos.add(mapPhaseToPhaseResponseDto(orderedPhasesOfProject.get(i), orderedPhasesOfProject, i));
+        }
+        return phaseResponseDtos;
+    }
+
+    private PhaseResponseDto mapPhaseToPhaseResponseDto(Phase phase, List<Phase> orderedPhasesOfProject, int index) {
+        UUID previousPhaseId = index > 0 ? orderedPhasesOfProject.get(index - 1).getId() : null;
+        UUID nextPhaseId = index >= 0 && index < orderedPhasesOfProject.size() - 1 ? orderedPhasesOfProject.get(index + 1).getId() : null;
+        return new PhaseResponseDto(
+                phase.getId(),
+                phase.getProjectId(),
+                phase.getName(),
+                previousPhaseId,
+                nextPhaseId,
+                phase.getTicketCount()
+        );
     }
 
     public Phase mapPhasePostDtoToPhase(PhasePostDto phasePostDto) {
         return new Phase(
                 phasePostDto.getProjectId(),
-                phasePostDto.getName(),
-                null,
-                null
+                phasePostDto.getName()
         );
     }
 
     // project
     public ProjectResponseDto mapProjectToProjectResponseDto(Project project) {
-        return modelMapper.map(project, ProjectResponseDto.class);
+        return new ProjectResponseDto(
+                project.getId(),
+                project.getName(),
+                project.getDescription(),
+                project.getCreationTime()
+        );
     }
 
     public Project mapProjectPostDtoToProject(ProjectPostDto projectPostDto) {
@@ -143,15 +172,64 @@ public class DtoMapper {
     }
 
     // ticket
+    // the assignee ids are copied, the response must not hold on to the persistent collection of the entity
     public TicketResponseDto mapTicketToTicketResponseDto(Ticket ticket) {
-        return modelMapper.map(ticket, TicketResponseDto.class);
+        return new TicketResponseDto(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getCreationTime(),
+                ticket.getDueTime(),
+                ticket.getPhaseId(),
+                ticket.getProjectId(),
+                new ArrayList<>(ticket.getAssigneeIds()),
+                ticket.getPriority()
+        );
     }
 
-    public List<TicketResponseDto> mapTicketListToTicketResponseDtoList(List<Ticket> tickets) {
-        return tickets
-                .stream()
-                .map(ticket -> modelMapper.map(ticket, TicketResponseDto.class))
-                .toList();
+    public TicketResponseDto mapTicketSummaryToTicketResponseDto(TicketSummary ticket) {
+        return new TicketResponseDto(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getCreationTime(),
+                ticket.getDueTime(),
+                ticket.getPhaseId(),
+                ticket.getProjectId(),
+                new ArrayList<>(ticket.getAssigneeIds()),
+                ticket.getPriority()
+        );
+    }
+
+    public TicketPageResponseDto mapTicketPageToTicketPageResponseDto(TicketPage<TicketSummary> ticketPage) {
+        List<TicketResponseDto> ticketResponseDtos = new ArrayList<>(ticketPage.getTickets().size());
+        for (TicketSummary ticket : ticketPage.getTickets()) {
+            ticketResponseDtos.add(mapTicketSummaryToTicketResponseDto(ticket));
+        }
+        return new TicketPageResponseDto(
+                ticketResponseDtos,
+                ticketPage.hasNext() ? ticketPage.getNextCursor().encode() : null
+        );
+    }
+
+    public TicketQuery mapTicketQueryDtoToTicketQuery(TicketQueryDto ticketQueryDto) throws TicketException {
+        String direction = ticketQueryDto.getDirection();
+        if (direction != null && !direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+            throw new TicketException("direction must be either asc or desc but was: " + direction);
+        }
+        String cursor = ticketQueryDto.getCursor();
+
+        return new TicketQuery()
+                .withProjectId(ticketQueryDto.getProjectId())
+                .withPhaseIds(ticketQueryDto.getPhaseIds())
+                .withAssigneeIds(ticketQueryDto.getAssigneeIds())
+                .withPriorities(ticketQueryDto.getPriorities())
+                .withStatuses(ticketQueryDto.getStatuses())
+                .withDueTimeBetween(ticketQueryDto.getDueAfter(), ticketQueryDto.getDueBefore())
+                .withText(ticketQueryDto.getText())
+                .sortedBy(TicketSortKey.fromString(ticketQueryDto.getSort()), "desc".equalsIgnoreCase(direction))
+                .withPageSize(ticketQueryDto.getPageSize())
+                .after(cursor == null || cursor.isEmpty() ? null : TicketCursor.decode(cursor));
     }
 
     public Ticket mapTicketPostDtoToTicket(TicketPostDto ticketPostDto, UUID phaseId) {
@@ -171,7 +249,11 @@ public class DtoMapper {
 
     // user
     public UserResponseDto mapUserToUserResponseDto(User user) {
-        return modelMapper.map(user, UserResponseDto.class);
+        return new UserResponseDto(
+                user.getId(),
+                user.getName(),
+                user.getEmail().toString()
+        );
     }
 
     public User mapUserPostDtoToUser(UserPostDto userPostDto) {
@@ -77,7 +77,7 @@ public class EventLogger {
         logger.trace(
                 "phase created -> " +
                         "phaseId:" + phaseCreatedEvent.getPhaseId() +
-                        ", previousPhaseId:" + phaseCreatedEvent.getPreviousPhaseId() +
+                        ", rank:" + phaseCreatedEvent.getRank() +
                         ", projectId:" + phaseCreatedEvent.getProjectId()
         );
     }
@@ -94,7 +94,7 @@ public class EventLogger {
         logger.trace(
                 "phase position updated -> " +
                         "phaseId:" + phasePositionUpdatedEvent.getPhaseId() +
-                        ", previousPhaseId:" + phasePositionUpdatedEvent.getPreviousPhaseId() +
+                        ", rank:" + phasePositionUpdatedEvent.getRank() +
                         ", projectId:" + phasePositionUpdatedEvent.getProjectId()
         );
     }
@@ -172,6 +172,16 @@ public class EventLogger {
                         ", projectId:" + ticketPhaseUpdatedEvent.getProjectId()
         );
     }
+    @EventListener
+    public void handleTicketPriorityUpdatedEvent(TicketPriorityUpdatedEvent ticketPriorityUpdatedEvent) {
+        logger.trace(
+                "ticket priority updated -> " +
+                        "ticketId:" + ticketPriorityUpdatedEvent.getTicketId() +
+                        ", oldPriority:" + ticketPriorityUpdatedEvent.getOldPriority() +
+                        ", newPriority:" + ticketPriorityUpdatedEvent.getNewPriority() +
+                        ", projectId:" + ticketPriorityUpdatedEvent.getProjectId()
+        );
+    }
 
     // user
     @EventListener
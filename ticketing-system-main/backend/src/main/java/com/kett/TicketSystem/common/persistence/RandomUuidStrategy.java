@@ -0,0 +1,13 @@
+package com.kett.TicketSystem.common.persistence;
+
+import java.util.UUID;
+
+/**
+ * Random version 4 uuids, the ids hibernate generates by default.
+ */
+public class RandomUuidStrategy implements UuidStrategy {
+    @Override
+    public UUID nextUuid() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,82 @@
+package com.kett.TicketSystem.common.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Adds a read replica when ticketsystem.datasource.replica.url is set: the primary keeps the spring.datasource
+ * settings, the replica pool is configured with ticketsystem.datasource.replica.* (username and password default to
+ * the primary's, pool settings under .hikari) and read-only transactions are routed by {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ticketsystem.datasource.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+    // zero while the replica has replayed everything it received, so an idle primary does not look like lag
+    public static final String DEFAULT_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("ticketsystem.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${ticketsystem.datasource.replica.url}") String url,
+            @Value("${ticketsystem.datasource.replica.username:#{null}}") String username,
+            @Value("${ticketsystem.datasource.replica.password:#{null}}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder
+                .create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username != null ? username : properties.determineUsername())
+                .password(password != null ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${ticketsystem.datasource.replica.max-lag:5s}") Duration maxLag
+    ) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, maxLag, Clock.systemUTC());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${ticketsystem.datasource.replica.lag-query:" + DEFAULT_LAG_QUERY + "}") String lagQuery,
+            @Value("${ticketsystem.datasource.replica.max-lag:5s}") Duration maxLag
+    ) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, replicaDataSource, lagQuery, maxLag);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kett.TicketSystem.common.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Queries the lag of the replica in seconds and takes the replica out of the read routing while the lag is above
+ * the allowed lag or cannot be determined.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, DataSource replica, String lagQuery, Duration maxLag) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.replicaJdbcTemplate.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${ticketsystem.datasource.replica.lag-check-interval:5000}")
+    public void checkReplicaLag() {
+        boolean available;
+        try {
+            Double lagSeconds = replicaJdbcTemplate.queryForObject(lagQuery, Double.class);
+            available = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+            if (!available && replicaRoutingDataSource.isReplicaAvailable()) {
+                logger.warn("Replica lags {} seconds, reading from the primary", lagSeconds);
+            }
+        } catch (DataAccessException e) {
+            available = false;
+            if (replicaRoutingDataSource.isReplicaAvailable()) {
+                logger.warn("Could not determine the replica lag, reading from the primary: {}", e.getMessage());
+            }
+        }
+
+        if (available && !replicaRoutingDataSource.isReplicaAvailable()) {
+            logger.info("Replica caught up, reading from the replica");
+        }
+        replicaRoutingDataSource.setReplicaAvailable(available);
+        replicaRoutingDataSource.forgetExpiredWrites();
+    }
+}
@@ -0,0 +1,96 @@
+package com.kett.TicketSystem.common.persistence;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes read-only transactions of authenticated callers to the replica and everything else to the primary. Reads
+ * stay on the primary while the replica is unavailable or lags more than {@code maxLag}, and for a caller whose last
+ * write is more recent than {@code maxLag}, so that callers read their own writes. Work without a principal (event
+ * listeners, reconcilers, scheduled jobs) cannot be tracked that way and always runs on the primary.
+ * Must be wrapped in a {@link LazyConnectionDataSourceProxy}: the transaction manager takes the connection before
+ * the transaction is marked read-only, the proxy defers choosing the target to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final Duration maxLag;
+    private final Clock clock;
+    private final Map<String, Instant> lastWriteByPrincipal = new ConcurrentHashMap<>();
+    private volatile boolean replicaAvailable = false;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag, Clock clock) {
+        this.maxLag = maxLag;
+        this.clock = clock;
+        this.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        this.setDefaultTargetDataSource(primary);
+        this.afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteByPrincipal.put(principal, clock.instant());
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+        if (!replicaAvailable || wroteRecently(principal)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private boolean wroteRecently(String principal) {
+        Instant lastWrite = lastWriteByPrincipal.get(principal);
+        return lastWrite != null && lastWrite.plus(maxLag).isAfter(clock.instant());
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    /**
+     * Forgets the writes that the replica has caught up with.
+     */
+    public void forgetExpiredWrites() {
+        Instant expiry = clock.instant().minus(maxLag);
+        lastWriteByPrincipal.values().removeIf(lastWrite -> !lastWrite.isAfter(expiry));
+    }
+}
@@ -0,0 +1,50 @@
+package com.kett.TicketSystem.common.persistence;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * Version 7 uuids: 48 bits of unix milliseconds, a 12 bit counter and 62 random bits. Ids of one strategy are strictly
+ * increasing in byte order, so new rows are appended to the right edge of the primary key index instead of splitting
+ * pages all over it. The counter starts at a random value every millisecond; if it runs out or the clock goes back,
+ * the timestamp is moved forward instead, so ordering survives both.
+ */
+public class TimeOrderedUuidStrategy implements UuidStrategy {
+    private static final int COUNTER_BITS = 12;
+    private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastMillis = Long.MIN_VALUE;
+    private long counter;
+
+    public TimeOrderedUuidStrategy() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedUuidStrategy(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextUuid() {
+        long randomBits = random.nextLong();
+        long mostSignificantBits;
+        synchronized (this) {
+            long now = clock.millis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // the upper half is left free, so that a burst within one millisecond rarely exhausts the counter
+                counter = random.nextInt(1 << (COUNTER_BITS - 1));
+            } else if (++counter > MAX_COUNTER) {
+                lastMillis++;
+                counter = 0;
+            }
+            mostSignificantBits = (lastMillis << 16) | (0x7L << COUNTER_BITS) | counter;
+        }
+        long leastSignificantBits = (randomBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // variant 2
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
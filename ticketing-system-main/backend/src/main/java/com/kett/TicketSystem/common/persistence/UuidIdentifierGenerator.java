@@ -0,0 +1,54 @@
+package com.kett.TicketSystem.common.persistence;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Generates the uuid ids of the entities with the strategy set by the hibernate setting {@link #STRATEGY_SETTING}:
+ * time-ordered (default), random, or the class name of a {@link UuidStrategy}. Used as
+ * {@code @GeneratedValue(generator = NAME) @GenericGenerator(name = NAME, strategy = STRATEGY)}.
+ */
+public class UuidIdentifierGenerator implements IdentifierGenerator {
+    public static final String NAME = "uuid";
+    public static final String STRATEGY = "com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator";
+    public static final String STRATEGY_SETTING = "ticketsystem.uuid-strategy";
+
+    private UuidStrategy uuidStrategy;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object setting = serviceRegistry
+                .getService(ConfigurationService.class)
+                .getSettings()
+                .getOrDefault(STRATEGY_SETTING, "time-ordered");
+        this.uuidStrategy = createUuidStrategy(setting.toString().trim());
+    }
+
+    public static UuidStrategy createUuidStrategy(String setting) {
+        switch (setting) {
+            case "time-ordered":
+                return new TimeOrderedUuidStrategy();
+            case "random":
+                return new RandomUuidStrategy();
+            default:
+                try {
+                    return (UuidStrategy) Class.forName(setting).getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new MappingException("unknown uuid strategy: " + setting, e);
+                }
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        return uuidStrategy.nextUuid();
+    }
+}
@@ -0,0 +1,11 @@
+package com.kett.TicketSystem.common.persistence;
+
+import java.util.UUID;
+
+/**
+ * Creates the ids of new entities, see {@link UuidIdentifierGenerator}. Implementations must be thread-safe and
+ * have a public no-argument constructor.
+ */
+public interface UuidStrategy {
+    UUID nextUuid();
+}
@@ -0,0 +1,104 @@
+package com.kett.TicketSystem.common.reconciliation;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A projection that a module keeps of the table of another module: every row of the source table (that meets the
+ * source condition) has exactly one row with the same key and the same values in the projection table. The source
+ * and projection columns are compared pairwise, in the given order.
+ */
+@Getter
+public class ProjectionCheck {
+    private final String name;
+    private final String sourceTable;
+    private final String sourceKey;
+    private final List<String> sourceColumns;
+    private final String sourceCondition;
+    private final String projectionTable;
+    private final String projectionKey;
+    private final List<String> projectionColumns;
+
+    public ProjectionCheck(
+            String name,
+            String sourceTable,
+            String sourceKey,
+            List<String> sourceColumns,
+            String sourceCondition,
+            String projectionTable,
+            String projectionKey,
+            List<String> projectionColumns
+    ) {
+        if (sourceColumns.size() != projectionColumns.size()) {
+            throw new IllegalArgumentException("the projection " + name + " has to compare as many columns as it projects");
+        }
+        this.name = name;
+        this.sourceTable = sourceTable;
+        this.sourceKey = sourceKey;
+        this.sourceColumns = sourceColumns;
+        this.sourceCondition = sourceCondition;
+        this.projectionTable = projectionTable;
+        this.projectionKey = projectionKey;
+        this.projectionColumns = projectionColumns;
+    }
+
+    public static ProjectionCheck ofProjectIds(String projectionTable) {
+        return new ProjectionCheck(
+                projectionTable, "project", "id", List.of(), null, projectionTable, "project_id", List.of()
+        );
+    }
+
+    public static ProjectionCheck ofUsers(String projectionTable) {
+        return new ProjectionCheck(
+                projectionTable,
+                "user", "id", List.of("local_part", "domain"), null,
+                projectionTable, "user_id", List.of("local_part", "domain")
+        );
+    }
+
+    // key first, then the compared columns
+
+    String selectSourceChunk(boolean afterCursor) {
+        String condition = Stream.of(afterCursor ? quote(sourceKey) + " > ?" : null, sourceCondition)
+                .filter(part -> part != null)
+                .collect(Collectors.joining(" AND "));
+        return "SELECT " + quote(sourceKey) + prefixed(sourceColumns) + " FROM " + quote(sourceTable)
+                + (condition.isEmpty() ? "" : " WHERE " + condition)
+                + " ORDER BY " + quote(sourceKey) + " LIMIT ?";
+    }
+
+    // id, key, then the compared columns
+
+    String selectProjectionChunk(boolean afterCursor) {
+        return "SELECT \"id\", " + quote(projectionKey) + prefixed(projectionColumns) + " FROM " + quote(projectionTable)
+                + (afterCursor ? " WHERE " + quote(projectionKey) + " > ?" : "")
+                + " ORDER BY " + quote(projectionKey) + ", \"id\" LIMIT ?";
+    }
+
+    String insertProjection() {
+        String parameters = Stream.generate(() -> "?").limit(projectionColumns.size() + 2L).collect(Collectors.joining(", "));
+        return "INSERT INTO " + quote(projectionTable) + " (\"id\", " + quote(projectionKey) + prefixed(projectionColumns) + ")"
+                + " VALUES (" + parameters + ")";
+    }
+
+    String updateProjection() {
+        return "UPDATE " + quote(projectionTable)
+                + " SET " + projectionColumns.stream().map(column -> quote(column) + " = ?").collect(Collectors.joining(", "))
+                + " WHERE \"id\" = ?";
+    }
+
+    String deleteProjection() {
+        return "DELETE FROM " + quote(projectionTable) + " WHERE \"id\" = ?";
+    }
+
+    private static String prefixed(List<String> columns) {
+        return columns.stream().map(column -> ", " + quote(column)).collect(Collectors.joining());
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier + "\"";
+    }
+}
@@ -0,0 +1,325 @@
+package com.kett.TicketSystem.common.reconciliation;
+
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
+import com.kett.TicketSystem.common.persistence.UuidStrategy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares the phase ticket counts and the consumed data of the modules with their source tables and repairs the
+ * drift that failed event listeners leave behind. Every projection is walked in chunks ordered by key, each chunk
+ * is compared and repaired in a transaction of its own, and the walk sleeps between chunks so that it reads and
+ * writes no more than ticketsystem.reconciliation.max-rows-per-second.
+ * A difference is only repaired when the previous run found it as well, so that changes whose events are still
+ * being handled are not mistaken for drift.
+ */
+@Service
+public class ProjectionReconciler {
+    public static final String TICKET_COUNT = "phase.ticket_count";
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionReconciler.class);
+
+    private static final List<ProjectionCheck> PROJECTION_CHECKS = List.of(
+            ProjectionCheck.ofProjectIds("project_data_of_ticket"),
+            ProjectionCheck.ofProjectIds("project_data_of_phase"),
+            ProjectionCheck.ofProjectIds("project_data_of_membership"),
+            new ProjectionCheck(
+                    "phase_data_of_ticket",
+                    "phase", "id", List.of("rank", "project_id"), null,
+                    "phase_data_of_ticket", "phase_id", List.of("rank", "project_id")
+            ),
+            new ProjectionCheck(
+                    "membership_data_of_ticket",
+                    "membership", "id", List.of("user_id", "project_id"), "\"state\" = 'ACCEPTED'",
+                    "membership_data_of_ticket", "membership_id", List.of("user_id", "project_id")
+            ),
+            ProjectionCheck.ofUsers("user_data_of_ticket"),
+            ProjectionCheck.ofUsers("user_data_of_project"),
+            ProjectionCheck.ofUsers("user_data_of_membership"),
+            ProjectionCheck.ofUsers("user_data_of_notification")
+    );
+
+    private static final String SELECT_TICKET_COUNTS = "SELECT \"id\", \"ticket_count\", " +
+            "(SELECT COUNT(*) FROM \"ticket\" WHERE \"ticket\".\"phase_id\" = \"phase\".\"id\") FROM \"phase\"";
+    // only if no ticket change committed since the count was taken, otherwise it is left to the next run
+    private static final String UPDATE_TICKET_COUNT = "UPDATE \"phase\" SET \"ticket_count\" = ? WHERE \"id\" = ? AND \"ticket_count\" = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final UuidStrategy uuidStrategy;
+    private final int chunkSize;
+    private final int maxRowsPerSecond;
+
+    private final Map<String, ReconciliationProgress> progress = new LinkedHashMap<>();
+    private final Map<String, Set<String>> driftOfLastRun = new HashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ProjectionReconciler(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${spring.jpa.properties.ticketsystem.uuid-strategy:time-ordered}") String uuidStrategy,
+            @Value("${ticketsystem.reconciliation.chunk-size:500}") int chunkSize,
+            @Value("${ticketsystem.reconciliation.max-rows-per-second:2000}") int maxRowsPerSecond
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.uuidStrategy = UuidIdentifierGenerator.createUuidStrategy(uuidStrategy.trim());
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+
+        progress.put(TICKET_COUNT, new ReconciliationProgress(TICKET_COUNT));
+        PROJECTION_CHECKS.forEach(check -> progress.put(check.getName(), new ReconciliationProgress(check.getName())));
+        Gauge.builder("reconciliation.running", running, isRunning -> isRunning.get() ? 1 : 0).register(meterRegistry);
+    }
+
+    public List<ReconciliationProgress> getProgress() {
+        return new ArrayList<>(progress.values());
+    }
+
+    @Scheduled(
+            initialDelayString = "${ticketsystem.reconciliation.interval:3600000}",
+            fixedDelayString = "${ticketsystem.reconciliation.interval:3600000}"
+    )
+    public void reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.reconcile(TICKET_COUNT, this::reconcileTicketCountChunk);
+            for (ProjectionCheck check : PROJECTION_CHECKS) {
+                this.reconcile(check.getName(), (cursor, drift, lastDrift) -> this.reconcileChunk(check, cursor, drift, lastDrift));
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void reconcile(String name, ChunkReconciliation chunkReconciliation) {
+        ReconciliationProgress projectionProgress = progress.get(name);
+        Set<String> lastDrift = driftOfLastRun.getOrDefault(name, Set.of());
+        Set<String> drift = new HashSet<>();
+        projectionProgress.start();
+        try {
+            UUID cursor = null;
+            do {
+                long startedAt = System.nanoTime();
+                UUID chunkCursor = cursor;
+                ChunkResult result = transactionTemplate.execute(status -> chunkReconciliation.reconcile(chunkCursor, drift, lastDrift));
+                projectionProgress.count(result.getRowsChecked(), result.getDriftFound(), result.getDriftRepaired());
+                meterRegistry.counter("reconciliation.rows.checked", "projection", name).increment(result.getRowsChecked());
+                meterRegistry.counter("reconciliation.drift.found", "projection", name).increment(result.getDriftFound());
+                meterRegistry.counter("reconciliation.drift.repaired", "projection", name).increment(result.getDriftRepaired());
+                this.throttle(result.getRowsChecked() + result.getDriftRepaired(), startedAt);
+                cursor = result.getNextCursor();
+            } while (cursor != null && !Thread.currentThread().isInterrupted());
+            driftOfLastRun.put(name, drift);
+        } catch (RuntimeException e) {
+            logger.warn("Reconciliation of {} stopped: {}", name, e.getMessage());
+        } finally {
+            projectionProgress.finish();
+        }
+        if (projectionProgress.getLastRunDriftFound() > 0) {
+            logger.info(
+                    "Reconciliation of {} found {} differences and repaired {}",
+                    name, projectionProgress.getLastRunDriftFound(), projectionProgress.getLastRunDriftRepaired()
+            );
+        }
+    }
+
+    private void throttle(long rows, long startedAt) {
+        long sleepNanos = rows * TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond - (System.nanoTime() - startedAt);
+        if (sleepNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // chunks
+
+    private ChunkResult reconcileTicketCountChunk(UUID cursor, Set<String> drift, Set<String> lastDrift) {
+        // the counts and the tickets are read by one statement, so they are consistent with each other
+        List<Object[]> phases = jdbcTemplate.query(
+                SELECT_TICKET_COUNTS + (cursor != null ? " WHERE \"id\" > ?" : "") + " ORDER BY \"id\" LIMIT ?",
+                (resultSet, rowNumber) -> new Object[] {
+                        resultSet.getObject(1, UUID.class),
+                        resultSet.getLong(2),
+                        resultSet.getLong(3)
+                },
+                cursor != null ? new Object[] { cursor, chunkSize } : new Object[] { chunkSize }
+        );
+
+        List<Object[]> repairs = new ArrayList<>();
+        long found = 0;
+        for (Object[] phase : phases) {
+            if (phase[1].equals(phase[2])) {
+                continue;
+            }
+            found++;
+            String difference = "different:" + phase[0];
+            drift.add(difference);
+            if (lastDrift.contains(difference)) {
+                repairs.add(new Object[] { phase[2], phase[0], phase[1] });
+            }
+        }
+
+        long repaired = this.batchUpdate(UPDATE_TICKET_COUNT, repairs);
+        UUID nextCursor = phases.size() < chunkSize ? null : (UUID) phases.get(phases.size() - 1)[0];
+        return new ChunkResult(phases.size(), found, repaired, nextCursor);
+    }
+
+    private ChunkResult reconcileChunk(ProjectionCheck check, UUID cursor, Set<String> drift, Set<String> lastDrift) {
+        Object[] chunkArguments = cursor != null ? new Object[] { cursor, chunkSize } : new Object[] { chunkSize };
+        List<Row> sourceRows = jdbcTemplate.query(
+                check.selectSourceChunk(cursor != null),
+                (resultSet, rowNumber) -> new Row(null, resultSet.getObject(1, UUID.class), readValues(resultSet, 2, check.getSourceColumns().size())),
+                chunkArguments
+        );
+        List<Row> projectionRows = jdbcTemplate.query(
+                check.selectProjectionChunk(cursor != null),
+                (resultSet, rowNumber) -> new Row(
+                        resultSet.getObject(1, UUID.class),
+                        resultSet.getObject(2, UUID.class),
+                        readValues(resultSet, 3, check.getProjectionColumns().size())
+                ),
+                chunkArguments
+        );
+
+        // both sides are compared up to the smaller of their last keys, the rest is read again by the next chunk
+        UUID nextCursor = null;
+        if (sourceRows.size() == chunkSize) {
+            nextCursor = sourceRows.get(sourceRows.size() - 1).getKey();
+        }
+        if (projectionRows.size() == chunkSize) {
+            // duplicates of the last key may continue beyond the chunk, so that key is left to the next chunk
+            UUID lastProjectionKey = projectionRows.get(projectionRows.size() - 1).getKey();
+            UUID projectionUpperKey = projectionRows
+                    .stream()
+                    .map(Row::getKey)
+                    .filter(key -> !key.equals(lastProjectionKey))
+                    .reduce((first, second) -> second)
+                    .orElse(lastProjectionKey);
+            if (nextCursor == null || compareKeys(projectionUpperKey, nextCursor) < 0) {
+                nextCursor = projectionUpperKey;
+            }
+        }
+        UUID upperKey = nextCursor;
+        sourceRows.removeIf(row -> upperKey != null && compareKeys(row.getKey(), upperKey) > 0);
+        projectionRows.removeIf(row -> upperKey != null && compareKeys(row.getKey(), upperKey) > 0);
+
+        Map<UUID, Row> sourceByKey = new HashMap<>();
+        sourceRows.forEach(row -> sourceByKey.put(row.getKey(), row));
+        Map<UUID, Row> projectionByKey = new HashMap<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        long found = 0;
+
+        for (Row projectionRow : projectionRows) {
+            Row sourceRow = sourceByKey.get(projectionRow.getKey());
+            if (sourceRow == null || projectionByKey.containsKey(projectionRow.getKey())) {
+                // the source is gone, or the row duplicates another one
+                found++;
+                if (this.confirm("orphaned:" + projectionRow.getId(), drift, lastDrift)) {
+                    deletes.add(new Object[] { projectionRow.getId() });
+                }
+                continue;
+            }
+            projectionByKey.put(projectionRow.getKey(), projectionRow);
+            if (!projectionRow.getValues().equals(sourceRow.getValues())) {
+                found++;
+                if (this.confirm("different:" + projectionRow.getId(), drift, lastDrift)) {
+                    List<Object> parameters = new ArrayList<>(sourceRow.getValues());
+                    parameters.add(projectionRow.getId());
+                    updates.add(parameters.toArray());
+                }
+            }
+        }
+        for (Row sourceRow : sourceRows) {
+            if (projectionByKey.containsKey(sourceRow.getKey())) {
+                continue;
+            }
+            found++;
+            if (this.confirm("missing:" + sourceRow.getKey(), drift, lastDrift)) {
+                List<Object> parameters = new ArrayList<>(List.of(uuidStrategy.nextUuid(), sourceRow.getKey()));
+                parameters.addAll(sourceRow.getValues());
+                inserts.add(parameters.toArray());
+            }
+        }
+
+        long repaired = this.batchUpdate(check.deleteProjection(), deletes)
+                + this.batchUpdate(check.insertProjection(), inserts)
+                + (updates.isEmpty() ? 0 : this.batchUpdate(check.updateProjection(), updates));
+        return new ChunkResult(sourceRows.size() + projectionRows.size(), found, repaired, nextCursor);
+    }
+
+    private boolean confirm(String difference, Set<String> drift, Set<String> lastDrift) {
+        drift.add(difference);
+        return lastDrift.contains(difference);
+    }
+
+    private long batchUpdate(String sql, List<Object[]> batchArguments) {
+        if (batchArguments.isEmpty()) {
+            return 0;
+        }
+        // drivers that rewrite batches report SUCCESS_NO_INFO instead of the row count
+        return Arrays.stream(jdbcTemplate.batchUpdate(sql, batchArguments)).filter(count -> count != 0).count();
+    }
+
+    private static List<Object> readValues(ResultSet resultSet, int firstColumn, int columns) throws SQLException {
+        List<Object> values = new ArrayList<>(columns);
+        for (int i = 0; i < columns; i++) {
+            values.add(resultSet.getObject(firstColumn + i));
+        }
+        return values;
+    }
+
+    // postgres and h2 order uuids by their bytes, i.e. both halves unsigned, unlike UUID.compareTo
+    static int compareKeys(UUID a, UUID b) {
+        int mostSignificant = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return mostSignificant != 0 ? mostSignificant : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private interface ChunkReconciliation {
+        ChunkResult reconcile(UUID cursor, Set<String> drift, Set<String> lastDrift);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ChunkResult {
+        private final long rowsChecked;
+        private final long driftFound;
+        private final long driftRepaired;
+        private final UUID nextCursor;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Row {
+        private final UUID id;
+        private final UUID key;
+        private final List<Object> values;
+    }
+}
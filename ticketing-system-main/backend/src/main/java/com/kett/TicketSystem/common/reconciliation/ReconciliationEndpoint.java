@@ -0,0 +1,25 @@
+package com.kett.TicketSystem.common.reconciliation;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The progress of the {@link ProjectionReconciler} per projection, at /actuator/reconciliation.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+    private final ProjectionReconciler projectionReconciler;
+
+    public ReconciliationEndpoint(ProjectionReconciler projectionReconciler) {
+        this.projectionReconciler = projectionReconciler;
+    }
+
+    @ReadOperation
+    public List<ReconciliationProgress> progress() {
+        return projectionReconciler.getProgress();
+    }
+}
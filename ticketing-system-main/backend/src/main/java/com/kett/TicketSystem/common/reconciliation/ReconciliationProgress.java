@@ -0,0 +1,47 @@
+package com.kett.TicketSystem.common.reconciliation;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the current (or last) run over one projection. The drift counts of the last finished run are kept
+ * until the next run finishes.
+ */
+@Getter
+public class ReconciliationProgress {
+    private final String projection;
+    private volatile boolean running;
+    private volatile long rowsChecked;
+    private volatile long driftFound;
+    private volatile long driftRepaired;
+    private volatile long lastRunDriftFound;
+    private volatile long lastRunDriftRepaired;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public ReconciliationProgress(String projection) {
+        this.projection = projection;
+    }
+
+    synchronized void start() {
+        running = true;
+        rowsChecked = 0;
+        driftFound = 0;
+        driftRepaired = 0;
+        startedAt = LocalDateTime.now();
+    }
+
+    synchronized void count(long checked, long found, long repaired) {
+        rowsChecked += checked;
+        driftFound += found;
+        driftRepaired += repaired;
+    }
+
+    synchronized void finish() {
+        running = false;
+        lastRunDriftFound = driftFound;
+        lastRunDriftRepaired = driftRepaired;
+        finishedAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,6 @@
 package com.kett.TicketSystem.config;
 
+import com.kett.TicketSystem.ticket.application.TicketController;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -18,6 +19,7 @@ public class CorsConfig {
                         .allowedOriginPatterns("*")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders(TicketController.NEXT_CURSOR_HEADER)
                         .allowCredentials(true);
             }
         };
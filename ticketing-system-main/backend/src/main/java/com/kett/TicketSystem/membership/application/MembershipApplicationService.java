@@ -9,6 +9,7 @@ import com.kett.TicketSystem.membership.application.dto.MembershipPutStateDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipResponseDto;
 import com.kett.TicketSystem.membership.domain.Membership;
 import com.kett.TicketSystem.membership.domain.MembershipDomainService;
+import com.kett.TicketSystem.membership.domain.MembershipSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -27,9 +28,7 @@ public class MembershipApplicationService {
         this.dtoMapper = dtoMapper;
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@membershipDomainService.getProjectIdByMembershipId(#id))," +
-            "'ROLE_USER_'.concat(@membershipDomainService.getUserIdByMembershipId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'membership', 'PROJECT_ADMIN') or hasPermission(#id, 'membership', 'OWNER')")
     public MembershipResponseDto getMembershipById(UUID id) {
         Membership membership = membershipDomainService.getMembershipById(id);
         return dtoMapper.mapMembershipToMembershipResponseDto(membership);
@@ -51,8 +50,8 @@ public class MembershipApplicationService {
             "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
             "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
     public List<MembershipResponseDto> getMembershipsByProjectId(UUID projectId) {
-        List<Membership> memberships = membershipDomainService.getMembershipsByProjectId(projectId);
-        return dtoMapper.mapMembershipListToMembershipResponseDtoList(memberships);
+        List<MembershipSummary> memberships = membershipDomainService.getMembershipSummariesByProjectId(projectId);
+        return dtoMapper.mapMembershipSummaryListToMembershipResponseDtoList(memberships);
     }
 
     @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(#membershipPostDto.projectId))")
@@ -63,19 +62,17 @@ public class MembershipApplicationService {
         return dtoMapper.mapMembershipToMembershipResponseDto(membership);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@membershipDomainService.getUserIdByMembershipId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'membership', 'OWNER')")
     public void updateMembershipState(UUID id, MembershipPutStateDto membershipPutStateDto) {
         membershipDomainService.updateMemberShipState(id, membershipPutStateDto.getState());
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@membershipDomainService.getProjectIdByMembershipId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'membership', 'PROJECT_ADMIN')")
     public void updateMembershipRole(UUID id, MembershipPutRoleDto membershipPutRoleDto) {
         membershipDomainService.updateMembershipRole(id, membershipPutRoleDto.getRole());
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@membershipDomainService.getProjectIdByMembershipId(#id))," +
-            "'ROLE_USER_'.concat(@membershipDomainService.getUserIdByMembershipId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'membership', 'PROJECT_ADMIN') or hasPermission(#id, 'membership', 'OWNER')")
     public void deleteMembershipById(UUID id) {
         membershipDomainService.deleteMembershipById(id);
     }
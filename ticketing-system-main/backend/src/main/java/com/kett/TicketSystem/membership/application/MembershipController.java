@@ -8,6 +8,8 @@ import com.kett.TicketSystem.membership.application.dto.MembershipPutStateDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipPostDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipResponseDto;
 import com.kett.TicketSystem.project.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,14 +18,20 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @Transactional
 @CrossOrigin(origins = {"http://localhost:5173"}, allowCredentials = "true")
 @RequestMapping("/memberships")
 public class MembershipController {
+    private static final Logger logger = LoggerFactory.getLogger(MembershipController.class);
+
     private final MembershipApplicationService membershipApplicationService;
     private final ProjectRepository projectRepository;
 
@@ -36,12 +44,14 @@ public class MembershipController {
         this.projectRepository = projectRepository;
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<MembershipResponseDto> getMembershipById(@PathVariable UUID id) {
         MembershipResponseDto membershipResponseDto = membershipApplicationService.getMembershipById(id);
         return new ResponseEntity<>(membershipResponseDto, HttpStatus.OK);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<List<MembershipResponseDto>> getMembershipsByQuery(
             @RequestParam(name = "user-id", required = false) UUID userId,
@@ -61,23 +71,37 @@ public class MembershipController {
             membershipResponseDtos = membershipApplicationService.getMembershipsByProjectId(projectId);
         } else if (email != null) {
             membershipResponseDtos = membershipApplicationService.getMembershipsByEmail(EmailAddress.fromString(email));
-            // Enrich with project name
-            for (MembershipResponseDto dto : membershipResponseDtos) {
-                try {
-                    String projectName = projectRepository.findNameById(dto.getProjectId());
-                    dto.setProjectName(projectName != null ? projectName : "Unknown Project");
-                } catch (Exception e) {
-                    System.err.println("Error fetching project name for " + dto.getProjectId() + ": " + e.getMessage());
-                    dto.setProjectName("Unknown Project");
-                }
-            }
         } else {
             throw new NoParametersException("cannot query if no parameters are specified");
         }
 
+        this.addProjectNames(membershipResponseDtos);
         return new ResponseEntity<>(membershipResponseDtos, HttpStatus.OK);
     }
 
+    // one lookup for all listed memberships, whichever parameter found them
+    private void addProjectNames(List<MembershipResponseDto> membershipResponseDtos) {
+        Set<UUID> projectIds = membershipResponseDtos
+                .stream()
+                .map(MembershipResponseDto::getProjectId)
+                .collect(Collectors.toSet());
+        Map<UUID, String> projectNames = new HashMap<>();
+        if (!projectIds.isEmpty()) {
+            projectRepository
+                    .findNamesByIdIn(projectIds)
+                    .forEach(row -> projectNames.put((UUID) row[0], (String) row[1]));
+        }
+
+        for (MembershipResponseDto dto : membershipResponseDtos) {
+            String projectName = projectNames.get(dto.getProjectId());
+            if (projectName == null) {
+                logger.warn("no project name found for project {}", dto.getProjectId());
+                projectName = "Unknown Project";
+            }
+            dto.setProjectName(projectName);
+        }
+    }
+
     @PostMapping
     public ResponseEntity<MembershipResponseDto> postMembership(@RequestBody MembershipPostDto membershipPostDto) {
         MembershipResponseDto membershipResponseDto = membershipApplicationService.addMembership(membershipPostDto);
@@ -1,8 +1,10 @@
 package com.kett.TicketSystem.membership.domain;
 
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
 import com.kett.TicketSystem.common.exceptions.IllegalStateUpdateException;
 import com.kett.TicketSystem.membership.domain.exceptions.MembershipException;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.security.core.GrantedAuthority;
 
 import javax.persistence.*;
@@ -13,7 +15,8 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Membership implements GrantedAuthority {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidIdentifierGenerator.NAME)
+    @GenericGenerator(name = UuidIdentifierGenerator.NAME, strategy = UuidIdentifierGenerator.STRATEGY)
     @Getter
     @Setter(AccessLevel.PROTECTED)
     @Column(length = 16)
@@ -6,6 +6,7 @@ import com.kett.TicketSystem.membership.domain.consumedData.UserDataOfMembership
 import com.kett.TicketSystem.membership.domain.events.LastProjectMemberDeletedEvent;
 import com.kett.TicketSystem.membership.domain.events.MembershipAcceptedEvent;
 import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipRoleUpdatedEvent;
 import com.kett.TicketSystem.membership.domain.events.UnacceptedProjectMembershipCreatedEvent;
 import com.kett.TicketSystem.membership.domain.exceptions.AlreadyLastAdminException;
 import com.kett.TicketSystem.membership.domain.exceptions.MembershipAlreadyExistsException;
@@ -128,12 +129,14 @@ public class MembershipDomainService {
 
     // read
 
+    @Transactional(readOnly = true)
     public Membership getMembershipById(UUID id) throws NoMembershipFoundException {
         return membershipRepository
                 .findById(id)
                 .orElseThrow(() -> new NoMembershipFoundException("could not find membership with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<Membership> getMembershipsByUserId(UUID userId) throws NoMembershipFoundException {
         List<Membership> memberships = membershipRepository.findByUserId(userId);
         if (memberships.isEmpty()) {
@@ -142,12 +145,14 @@ public class MembershipDomainService {
         return memberships;
     }
 
+    @Transactional(readOnly = true)
     public List<Membership> getMembershipsByUserEmail(EmailAddress emailAddress) {
         return getMembershipsByUserId(
                 getUserIdByUserEmailAddress(emailAddress)
         );
     }
 
+    @Transactional(readOnly = true)
     public List<GrantedAuthority> getProjectAuthoritiesByUserId(UUID userId) {
         return membershipRepository
                 .findByUserIdAndStateEquals(userId, State.ACCEPTED)
@@ -156,6 +161,7 @@ public class MembershipDomainService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<Membership> getMembershipsByProjectId(UUID projectId) throws NoMembershipFoundException {
         List<Membership> memberships = membershipRepository.findByProjectId(projectId);
         if (memberships.isEmpty()) {
@@ -164,14 +170,33 @@ public class MembershipDomainService {
         return memberships;
     }
 
+    @Transactional(readOnly = true)
+    public List<MembershipSummary> getMembershipSummariesByProjectId(UUID projectId) throws NoMembershipFoundException {
+        List<MembershipSummary> memberships = membershipRepository.findSummariesByProjectId(projectId);
+        if (memberships.isEmpty()) {
+            throw new NoMembershipFoundException("could not find memberships with projectId: " + projectId);
+        }
+        return memberships;
+    }
+
+    @Transactional(readOnly = true)
+    public MembershipOwnerIds getOwnerIdsByMembershipId(UUID id) throws NoMembershipFoundException {
+        return membershipRepository
+                .findOwnerIdsById(id)
+                .orElseThrow(() -> new NoMembershipFoundException("could not find membership with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
     public UUID getUserIdByMembershipId(UUID id) throws NoMembershipFoundException {
-        return this.getMembershipById(id).getUserId();
+        return this.getOwnerIdsByMembershipId(id).getUserId();
     }
 
+    @Transactional(readOnly = true)
     public UUID getProjectIdByMembershipId(UUID id) throws NoMembershipFoundException {
-        return this.getMembershipById(id).getProjectId();
+        return this.getOwnerIdsByMembershipId(id).getProjectId();
     }
 
+    @Transactional(readOnly = true)
     public UUID getUserIdByUserEmailAddress(EmailAddress emailAddress) {
         List<UserDataOfMembership> userData = userDataOfMembershipRepository.findByUserEmailEquals(emailAddress);
         if (userData.isEmpty()) {
@@ -228,6 +253,7 @@ public class MembershipDomainService {
         }
         existingMembership.setRole(role);
         membershipRepository.save(existingMembership);
+        eventPublisher.publishEvent(new MembershipRoleUpdatedEvent(id, projectId, userId, role));
     }
 
     // delete
@@ -279,12 +305,16 @@ public class MembershipDomainService {
         Membership newAdmin = memberships.get(new Random().nextInt(memberships.size()));
         newAdmin.setRole(Role.ADMIN);
         membershipRepository.save(newAdmin);
+        eventPublisher.publishEvent(
+                new MembershipRoleUpdatedEvent(newAdmin.getId(), newAdmin.getProjectId(), newAdmin.getUserId(), Role.ADMIN)
+        );
     }
 
     // event listeners
 
+    // synchronous, the creator is the admin of the project as soon as the project exists,
+    // an async listener ran outside the creating transaction and raced the first request of the creator
     @EventListener
-    @Async
     public void handleProjectCreatedEvent(ProjectCreatedEvent projectCreatedEvent) {
         projectDataOfMembershipRepository.save(new ProjectDataOfMembership(projectCreatedEvent.getProjectId()));
         Membership defaultMembership = new Membership(
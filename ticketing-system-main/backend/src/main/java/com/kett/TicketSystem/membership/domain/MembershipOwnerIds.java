@@ -0,0 +1,13 @@
+package com.kett.TicketSystem.membership.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class MembershipOwnerIds {
+    private final UUID projectId;
+    private final UUID userId;
+}
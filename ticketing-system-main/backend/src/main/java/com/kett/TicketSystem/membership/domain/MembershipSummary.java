@@ -0,0 +1,19 @@
+package com.kett.TicketSystem.membership.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Read-only view of a membership for listings, selected without loading the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class MembershipSummary {
+    private final UUID id;
+    private final UUID projectId;
+    private final UUID userId;
+    private final Role role;
+    private final State state;
+}
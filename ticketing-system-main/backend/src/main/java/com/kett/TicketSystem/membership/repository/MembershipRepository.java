@@ -1,6 +1,8 @@
 package com.kett.TicketSystem.membership.repository;
 
 import com.kett.TicketSystem.membership.domain.Membership;
+import com.kett.TicketSystem.membership.domain.MembershipOwnerIds;
+import com.kett.TicketSystem.membership.domain.MembershipSummary;
 import com.kett.TicketSystem.membership.domain.Role;
 import com.kett.TicketSystem.membership.domain.State;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -20,6 +23,14 @@ public interface MembershipRepository extends JpaRepository<Membership, UUID> {
     @Query("SELECT m FROM Membership m WHERE m.projectId = :projectId AND m.role = :role AND m.state = 'ACCEPTED'")
     List<Membership> findByProjectIdAndRoleAndAccepted(UUID projectId, Role role);
 
+    @Query("SELECT new com.kett.TicketSystem.membership.domain.MembershipSummary(m.id, m.projectId, m.userId, m.role, m.state) " +
+           "FROM Membership m WHERE m.projectId = :projectId")
+    List<MembershipSummary> findSummariesByProjectId(UUID projectId);
+
+    @Query("SELECT new com.kett.TicketSystem.membership.domain.MembershipOwnerIds(m.projectId, m.userId) " +
+           "FROM Membership m WHERE m.id = :id")
+    Optional<MembershipOwnerIds> findOwnerIdsById(UUID id);
+
     Boolean existsByUserIdAndProjectId(UUID userId, UUID projectId);
 
     Integer countMembershipByProjectIdAndStateEqualsAndRoleEquals(UUID projectId, State state, Role role);
@@ -6,6 +6,7 @@ import com.kett.TicketSystem.notification.application.dto.NotificationPatchDto;
 import com.kett.TicketSystem.notification.application.dto.NotificationResponseDto;
 import com.kett.TicketSystem.notification.domain.Notification;
 import com.kett.TicketSystem.notification.domain.NotificationDomainService;
+import com.kett.TicketSystem.notification.domain.NotificationSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -27,7 +28,7 @@ public class NotificationApplicationService {
         this.dtoMapper = dtoMapper;
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getGetRecipientIdByNotificationId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'notification', 'OWNER')")
     public NotificationResponseDto getNotificationById(UUID id) {
         Notification notification = notificationDomainService.getNotificationById(id);
         return dtoMapper.mapNotificationToNotificationResponseDto(notification);
@@ -35,22 +36,22 @@ public class NotificationApplicationService {
 
     @PreAuthorize("hasAuthority('ROLE_USER_'.concat(#recipientId))")
     public List<NotificationResponseDto> getNotificationsByRecipientId(UUID recipientId) {
-        List<Notification> notifications = notificationDomainService.getNotificationsByRecipientId(recipientId);
-        return dtoMapper.mapNotificationListToNotificationResponseDtoList(notifications);
+        List<NotificationSummary> notifications = notificationDomainService.getNotificationSummariesByRecipientId(recipientId);
+        return dtoMapper.mapNotificationSummaryListToNotificationResponseDtoList(notifications);
     }
 
     @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getUserIdByUserEmailAddress(#email)))")
     public List<NotificationResponseDto> getNotificationsByEmail(EmailAddress email) {
-        List<Notification> notifications = notificationDomainService.getNotificationsByUserEmail(email);
-        return dtoMapper.mapNotificationListToNotificationResponseDtoList(notifications);
+        List<NotificationSummary> notifications = notificationDomainService.getUnreadNotificationSummariesByUserEmail(email);
+        return dtoMapper.mapNotificationSummaryListToNotificationResponseDtoList(notifications);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getGetRecipientIdByNotificationId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'notification', 'OWNER')")
     public void patchNotification(UUID id, NotificationPatchDto notificationPatchDto) {
         notificationDomainService.patchById(id, notificationPatchDto.getIsRead());
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getGetRecipientIdByNotificationId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'notification', 'OWNER')")
     public void deleteNotificationById(UUID id) {
         notificationDomainService.deleteById(id);
     }
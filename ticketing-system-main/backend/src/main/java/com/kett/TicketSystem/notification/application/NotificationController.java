@@ -27,12 +27,14 @@ public class NotificationController {
     }
 
 
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<NotificationResponseDto> getNotificationById(@PathVariable UUID id) {
         NotificationResponseDto notificationResponseDto = notificationApplicationService.getNotificationById(id);
         return new ResponseEntity<>(notificationResponseDto, HttpStatus.OK);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<List<NotificationResponseDto>> getNotificationsByQuery(
             @RequestParam(name = "recipientId", required = false) UUID recipientId,
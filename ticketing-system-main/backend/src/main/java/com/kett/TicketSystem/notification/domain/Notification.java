@@ -1,8 +1,10 @@
 package com.kett.TicketSystem.notification.domain;
 
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
 import com.kett.TicketSystem.common.exceptions.IllegalStateUpdateException;
 import com.kett.TicketSystem.notification.domain.exceptions.NotificationException;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -13,7 +15,8 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidIdentifierGenerator.NAME)
+    @GenericGenerator(name = UuidIdentifierGenerator.NAME, strategy = UuidIdentifierGenerator.STRATEGY)
     @Getter
     @Setter(AccessLevel.PROTECTED)
     @Column(length = 16)
@@ -3,15 +3,12 @@ package com.kett.TicketSystem.notification.domain;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.common.exceptions.IllegalStateUpdateException;
 import com.kett.TicketSystem.common.exceptions.ImpossibleException;
-import com.kett.TicketSystem.membership.domain.Membership;
-import com.kett.TicketSystem.membership.domain.Role;
-import com.kett.TicketSystem.membership.domain.State;
 import com.kett.TicketSystem.membership.domain.events.UnacceptedProjectMembershipCreatedEvent;
-import com.kett.TicketSystem.membership.repository.MembershipRepository;
 import com.kett.TicketSystem.notification.domain.consumedData.UserDataOfNotification;
 import com.kett.TicketSystem.notification.domain.exceptions.NoNotificationFoundException;
 import com.kett.TicketSystem.notification.domain.exceptions.NotificationException;
 import com.kett.TicketSystem.notification.repository.NotificationRepository;
+import com.kett.TicketSystem.notification.repository.ReminderLedgerRepository;
 import com.kett.TicketSystem.notification.repository.UserDataOfNotificationRepository;
 import com.kett.TicketSystem.project.domain.Project;
 import com.kett.TicketSystem.project.repository.ProjectRepository;
@@ -19,92 +16,109 @@ import com.kett.TicketSystem.ticket.domain.Ticket;
 import com.kett.TicketSystem.ticket.domain.events.TicketAssignedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketUnassignedEvent;
 import com.kett.TicketSystem.ticket.repository.TicketRepository;
-import com.kett.TicketSystem.phase.domain.Phase;
-import com.kett.TicketSystem.phase.repository.PhaseRepository;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class NotificationDomainService {
+    public static final int REMINDER_CHUNK_SIZE = 1000;
+    public static final int REMINDER_LEDGER_RETENTION_DAYS = 7;
+    private static final int REMINDER_BATCH_SIZE = 100;
     private static final Logger logger = LoggerFactory.getLogger(NotificationDomainService.class);
 
     private final NotificationRepository notificationRepository;
     private final UserDataOfNotificationRepository userDataOfNotificationRepository;
     private final ProjectRepository projectRepository;
     private final TicketRepository ticketRepository;
-    private final MembershipRepository membershipRepository;
-    private final PhaseRepository phaseRepository;
+    private final ReminderLedgerRepository reminderLedgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public NotificationDomainService(
             NotificationRepository notificationRepository,
             UserDataOfNotificationRepository userDataOfNotificationRepository,
             ProjectRepository projectRepository,
             TicketRepository ticketRepository,
-            MembershipRepository membershipRepository,
-            PhaseRepository phaseRepository
+            ReminderLedgerRepository reminderLedgerRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
     ) {
         this.notificationRepository = notificationRepository;
         this.userDataOfNotificationRepository = userDataOfNotificationRepository;
         this.projectRepository = projectRepository;
         this.ticketRepository = ticketRepository;
-        this.membershipRepository = membershipRepository;
-        this.phaseRepository = phaseRepository;
+        this.reminderLedgerRepository = reminderLedgerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
     }
 
+    @Transactional(readOnly = true)
     public Notification getNotificationById(UUID id) throws NoNotificationFoundException {
         return notificationRepository
                 .findById(id)
                 .orElseThrow(() -> new NoNotificationFoundException("could not find notification with id: " + id));
     }
 
-    public List<Notification> getNotificationsByRecipientId(UUID recipientId) throws NoNotificationFoundException {
-        List<Notification> notifications = notificationRepository.findByRecipientId(recipientId);
+    @Transactional(readOnly = true)
+    public List<NotificationSummary> getNotificationSummariesByRecipientId(UUID recipientId) throws NoNotificationFoundException {
+        List<NotificationSummary> notifications = notificationRepository.findSummariesByRecipientId(recipientId);
         if (notifications.isEmpty()) {
             throw new NoNotificationFoundException("could not find notifications with recipientId: " + recipientId);
         }
         return notifications;
     }
 
-    public List<Notification> getNotificationsByUserEmail(EmailAddress emailAddress) throws NotificationException {
+    @Transactional(readOnly = true)
+    public List<NotificationSummary> getUnreadNotificationSummariesByUserEmail(EmailAddress emailAddress) throws NotificationException {
         logger.info("Fetching unread notifications for email: {}", emailAddress);
-        List<Notification> notifications = getUnreadNotificationsByRecipientId(
-                getUserIdByUserEmailAddress(emailAddress)
-        );
-        logger.info("Found {} unread notifications", notifications.size());
-        return notifications;
-    }
-
-    public List<Notification> getUnreadNotificationsByRecipientId(UUID recipientId) throws NoNotificationFoundException {
-        List<Notification> notifications = notificationRepository.findByRecipientIdAndIsReadFalse(recipientId);
+        UUID recipientId = getUserIdByUserEmailAddress(emailAddress);
+        List<NotificationSummary> notifications = notificationRepository.findUnreadSummariesByRecipientId(recipientId);
         if (notifications.isEmpty()) {
             throw new NoNotificationFoundException("could not find notifications with recipientId: " + recipientId);
         }
+        logger.info("Found {} unread notifications", notifications.size());
         return notifications;
     }
 
+    @Transactional(readOnly = true)
     public UUID getGetRecipientIdByNotificationId(UUID id) throws NoNotificationFoundException {
-        return this
-                .getNotificationById(id)
-                .getRecipientId();
+        return notificationRepository
+                .findRecipientIdById(id)
+                .orElseThrow(() -> new NoNotificationFoundException("could not find notification with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public UUID getUserIdByUserEmailAddress(EmailAddress emailAddress) {
         List<UserDataOfNotification> userData = userDataOfNotificationRepository.findByUserEmailEquals(emailAddress);
         if (userData.isEmpty()) {
@@ -215,192 +229,200 @@ public class NotificationDomainService {
     @Scheduled(cron = "0 0 * * * *") // Runs every hour
     // @Scheduled(cron = "0 */1 * * * *") 
     @Async
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void sendDueDateNotifications() {
         try {
-            logger.info("Starting due date notification task at {}", LocalDateTime.now());
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime startOfDay = now.truncatedTo(ChronoUnit.DAYS);
-            LocalDateTime endOfDay = startOfDay.plusDays(1).minusNanos(1);
-            logger.info("Checking tickets due between {} and {}", startOfDay, endOfDay);
-
-            // Fetch tickets using repository query
-            List<Ticket> dueTickets;
-            try {
-                dueTickets = ticketRepository.findByDueTimeBetweenAndNotResolved(startOfDay, endOfDay);
-                logger.info("Found {} tickets with due date today using repository query", dueTickets.size());
-            } catch (Exception e) {
-                logger.error("Error fetching tickets with repository query: {}", e.getMessage(), e);
-                dueTickets = new ArrayList<>();
-            }
-
-            // Filter tickets with assignees
-            dueTickets = dueTickets.stream()
-                    .filter(ticket -> ticket.getAssigneeIds() != null && !ticket.getAssigneeIds().isEmpty())
-                    .toList();
-            logger.info("Filtered to {} tickets with non-empty assigneeIds", dueTickets.size());
-
-            // Process each ticket
-            for (Ticket ticket : dueTickets) {
-                logger.info("Processing ticket {}: title={}, dueTime={}, assigneeIds={}",
-                        ticket.getId(), ticket.getTitle(), ticket.getDueTime(), ticket.getAssigneeIds());
-
-                List<UUID> assigneeIds = ticket.getAssigneeIds();
-                UUID projectId = ticket.getProjectId();
-                String ticketTitle = ticket.getTitle();
-                String projectName = projectRepository.findById(projectId)
-                        .map(Project::getName)
-                        .orElse("Unknown Project (ID: " + projectId + ")");
-                String message = "Reminder: Today is the due date for ticket (" + ticketTitle + ") in project " + projectName + ".";
-
-                // Create notifications for valid assignees
-                List<Notification> notifications = new ArrayList<>();
-                for (UUID assigneeId : assigneeIds) {
-                    if (assigneeId == null) {
-                        logger.warn("Null assigneeId found for ticket {}, skipping", ticket.getId());
-                        continue;
-                    }
-                    // Validate assignee exists in user_data_of_notification
-                    List<UserDataOfNotification> userData = userDataOfNotificationRepository.findByUserId(assigneeId);
-                    if (userData.isEmpty()) {
-                        logger.warn("No user data found for assigneeId {} for ticket {}, skipping notification", assigneeId, ticket.getId());
-                        continue;
-                    }
-                    logger.info("Creating notification for assignee {} for ticket {} with message: {}", assigneeId, ticket.getId(), message);
-                    notifications.add(new Notification(assigneeId, message));
-                }
-
-                // Save notifications
-                if (!notifications.isEmpty()) {
-                    try {
-                        notificationRepository.saveAll(notifications);
-                        logger.info("Successfully saved {} notifications for ticket {}", notifications.size(), ticket.getId());
-                    } catch (Exception e) {
-                        logger.error("Failed to save notifications for ticket {}: {}", ticket.getId(), e.getMessage(), e);
-                    }
-                } else {
-                    logger.warn("No valid notifications created for ticket {}", ticket.getId());
-                }
-            }
-
-            if (dueTickets.isEmpty()) {
-                logger.warn("No tickets found with due date today and valid assignees, no notifications sent");
-            }
-            logger.info("Completed due date notification task at {}", LocalDateTime.now());
+            this.sendDueDateNotifications(LocalDateTime.now());
         } catch (Exception e) {
             logger.error("Unexpected error in sendDueDateNotifications: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Reminds assignees of tickets due on the day of {@code now}, at most once per day.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReminderRunStatistics sendDueDateNotifications(LocalDateTime now) {
+        LocalDateTime startOfDay = now.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime endOfDay = startOfDay.plusDays(1).minusNanos(1);
+        logger.info("Starting due date notification task for tickets due between {} and {}", startOfDay, endOfDay);
+
+        return runReminderJob(
+                ReminderKind.DUE_DATE,
+                startOfDay.toLocalDate(),
+                last -> last == null
+                        ? notificationRepository.findDueTicketAssignees(startOfDay, endOfDay, PageRequest.of(0, REMINDER_CHUNK_SIZE))
+                        : notificationRepository.findDueTicketAssigneesAfter(
+                                startOfDay, endOfDay, last.getTicketId(), last.getRecipientId(), PageRequest.of(0, REMINDER_CHUNK_SIZE)
+                        ),
+                candidate -> "Reminder: Today is the due date for ticket (" + candidate.getTicketTitle() + ") " +
+                        "in project " + projectNameOf(candidate) + "."
+        );
+    }
+
     @Scheduled(cron = "0 0 * * * *") // Runs every hour
     // @Scheduled(cron = "0 */1 * * * *") 
     @Async
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void sendOverdueNotificationsToAdmin() {
         try {
-            logger.info("Starting overdue notification task for admins at {}", LocalDateTime.now());
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime startOfToday = now.truncatedTo(ChronoUnit.DAYS);
-            logger.info("Checking tickets overdue before {}", startOfToday);
-
-            // Fetch overdue tickets
-            List<Ticket> overdueTickets;
-            try {
-                overdueTickets = ticketRepository.findOverdueAndNotResolved(startOfToday);
-                logger.info("Found {} overdue tickets using repository query", overdueTickets.size());
-            } catch (Exception e) {
-                logger.error("Error fetching overdue tickets with repository query: {}", e.getMessage(), e);
-                overdueTickets = new ArrayList<>();
+            this.sendOverdueNotificationsToAdmin(LocalDateTime.now());
+        } catch (Exception e) {
+            logger.error("Unexpected error in sendOverdueNotificationsToAdmin: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Alerts the accepted admins of a project about assigned tickets that are overdue and not in the DONE phase,
+     * at most once per day.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReminderRunStatistics sendOverdueNotificationsToAdmin(LocalDateTime now) {
+        LocalDateTime startOfToday = now.truncatedTo(ChronoUnit.DAYS);
+        logger.info("Starting overdue notification task for admins for tickets overdue before {}", startOfToday);
+
+        return runReminderJob(
+                ReminderKind.OVERDUE,
+                startOfToday.toLocalDate(),
+                last -> last == null
+                        ? notificationRepository.findOverdueTicketAdmins(startOfToday, PageRequest.of(0, REMINDER_CHUNK_SIZE))
+                        : notificationRepository.findOverdueTicketAdminsAfter(
+                                startOfToday, last.getTicketId(), last.getRecipientId(), PageRequest.of(0, REMINDER_CHUNK_SIZE)
+                        ),
+                candidate -> "Alert: Ticket (" + candidate.getTicketTitle() + ") in project " + projectNameOf(candidate) +
+                        " passed its due date (" + candidate.getDueTime().toLocalDate() + ") and remains unresolved."
+        );
+    }
+
+    /**
+     * Reads reminder candidates in keyset chunks of (ticketId, recipientId) and writes and commits every chunk
+     * in its own transaction. Candidates without user data or already in the ledger for this period are skipped.
+     */
+    private ReminderRunStatistics runReminderJob(
+            ReminderKind kind,
+            LocalDate period,
+            Function<TicketReminderCandidate, List<TicketReminderCandidate>> nextChunk,
+            Function<TicketReminderCandidate, String> message
+    ) {
+        long startTime = System.nanoTime();
+        long ticketsScanned = 0;
+        long recipientsSkipped = 0;
+        long alreadyReminded = 0;
+        long notificationsWritten = 0;
+        int chunks = 0;
+        TicketReminderCandidate last = null;
+        List<TicketReminderCandidate> chunk;
+        do {
+            chunk = nextChunk.apply(last);
+            if (chunk.isEmpty()) {
+                break;
             }
 
-            // Filter tickets with assignees and phase name not DONE
-            overdueTickets = overdueTickets.stream()
-                    .filter(ticket -> ticket.getAssigneeIds() != null && !ticket.getAssigneeIds().isEmpty())
-                    .filter(ticket -> {
-                        UUID phaseId = ticket.getPhaseId();
-                        if (phaseId == null) {
-                            logger.warn("Null phaseId for ticket {}, skipping", ticket.getId());
-                            return false;
-                        }
-                        return phaseRepository.findById(phaseId)
-                                .map(phase -> !phase.getName().equals("DONE"))
-                                .orElseGet(() -> {
-                                    logger.warn("No phase found for phaseId {} for ticket {}, skipping", phaseId, ticket.getId());
-                                    return false;
-                                });
-                    })
-                    .toList();
-            logger.info("Filtered to {} overdue tickets with non-empty assigneeIds and phase not DONE", overdueTickets.size());
-
-            // Process each ticket
-            for (Ticket ticket : overdueTickets) {
-                UUID phaseId = ticket.getPhaseId();
-                String phaseName = phaseRepository.findById(phaseId)
-                        .map(Phase::getName)
-                        .orElse("Unknown Phase (ID: " + phaseId + ")");
-                logger.info("Processing overdue ticket {}: title={}, dueTime={}, phase={}, assigneeIds={}",
-                        ticket.getId(), ticket.getTitle(), ticket.getDueTime(), phaseName, ticket.getAssigneeIds());
-
-                UUID projectId = ticket.getProjectId();
-                String ticketTitle = ticket.getTitle();
-
-                // Fetch project
-                Project project = projectRepository.findById(projectId)
-                        .orElse(null);
-                if (project == null) {
-                    logger.warn("No project found for ticket {} with projectId {}, skipping", ticket.getId(), projectId);
-                    continue;
-                }
-                String projectName = project.getName();
-
-                // Fetch admin from membership
-                // Fetch admin from membership
-                List<Membership> adminMemberships = membershipRepository.findByProjectIdAndRoleAndAccepted(projectId, Role.ADMIN);
-                if (adminMemberships.isEmpty()) {
-                    logger.warn("No accepted admin found for project {} (ID: {}) for ticket {}, skipping", projectName, projectId, ticket.getId());
-                    continue;
-                }
-                logger.info("Found {} accepted admin memberships for project {} (ID: {}) for ticket {}",
-                        adminMemberships.size(), projectName, projectId, ticket.getId());
-
-                // Create notifications for all admins
-                for (Membership adminMembership : adminMemberships) {
-                    UUID adminId = adminMembership.getUserId();
-                    logger.info("Processing adminId {} for project {} (ID: {}) for ticket {}", adminId, projectName, projectId, ticket.getId());
-
-                    // Validate admin exists in user_data_of_notification
-                    List<UserDataOfNotification> adminData = userDataOfNotificationRepository.findByUserId(adminId);
-                    if (adminData.isEmpty()) {
-                        logger.warn("No user data found for adminId {} for project {} (ID: {}) for ticket {}, skipping notification", 
-                                adminId, projectName, projectId, ticket.getId());
-                        continue;
-                    }
-                    logger.info("Validated user data for adminId {} with email {}", adminId, adminData.get(0).getUserEmail());
-
-                    // Create notification
-                    String message = "Alert: Ticket (" + ticketTitle + ") in project " + projectName + 
-                            " passed its due date (" + ticket.getDueTime().toLocalDate() + ") and remains unresolved.";
-                    Notification notification = new Notification(adminId, message);
-                    logger.info("Creating notification for admin {} for overdue ticket {} with message: {}", 
-                            adminId, ticket.getId(), message);
-
-                    // Save notification
-                    try {
-                        notificationRepository.save(notification);
-                        logger.info("Successfully saved notification for admin {} for overdue ticket {}", adminId, ticket.getId());
-                    } catch (Exception e) {
-                        logger.error("Failed to save notification for admin {} for overdue ticket {}: {}", 
-                                adminId, ticket.getId(), e.getMessage(), e);
-                    }
+            // rows are ordered by ticket, so a ticket is new whenever its id differs from the previous row
+            UUID previousTicketId = last == null ? null : last.getTicketId();
+            for (TicketReminderCandidate candidate : chunk) {
+                if (!candidate.getTicketId().equals(previousTicketId)) {
+                    ticketsScanned++;
+                    previousTicketId = candidate.getTicketId();
                 }
             }
 
-            if (overdueTickets.isEmpty()) {
-                logger.warn("No overdue tickets found with valid assignees and phase not DONE, no admin notifications sent");
+            List<TicketReminderCandidate> currentChunk = chunk;
+            ReminderChunkResult result = transactionTemplate.execute(status -> writeReminders(kind, period, currentChunk, message));
+            if (result != null) {
+                notificationsWritten += result.written;
+                recipientsSkipped += result.unknownRecipients;
+                alreadyReminded += result.alreadyReminded;
             }
-            logger.info("Completed overdue notification task for admins at {}", LocalDateTime.now());
-        } catch (Exception e) {
-            logger.error("Unexpected error in sendOverdueNotificationsToAdmin: {}", e.getMessage(), e);
+            chunks++;
+            last = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == REMINDER_CHUNK_SIZE);
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startTime);
+        ReminderRunStatistics statistics = new ReminderRunStatistics(
+                ticketsScanned, recipientsSkipped, alreadyReminded, notificationsWritten, chunks, duration
+        );
+        recordReminderRun(kind, statistics);
+        logger.info(
+                "Completed {} reminder task: {} tickets scanned, {} notifications written, {} already reminded, {} recipients skipped, {} chunks in {} ms",
+                kind, ticketsScanned, notificationsWritten, alreadyReminded, recipientsSkipped, chunks, duration.toMillis()
+        );
+        return statistics;
+    }
+
+    private ReminderChunkResult writeReminders(
+            ReminderKind kind,
+            LocalDate period,
+            List<TicketReminderCandidate> candidates,
+            Function<TicketReminderCandidate, String> message
+    ) {
+        Set<UUID> recipientIds = candidates
+                .stream()
+                .map(TicketReminderCandidate::getRecipientId)
+                .collect(Collectors.toSet());
+        Set<UUID> knownRecipientIds = new HashSet<>(userDataOfNotificationRepository.findUserIdsByUserIdIn(recipientIds));
+
+        Set<UUID> ticketIds = candidates
+                .stream()
+                .map(TicketReminderCandidate::getTicketId)
+                .collect(Collectors.toSet());
+        Set<ReminderLedgerEntry.Key> reminded = reminderLedgerRepository
+                .findByKindAndPeriodAndTicketIdIn(kind, period, ticketIds)
+                .stream()
+                .map(entry -> new ReminderLedgerEntry.Key(entry.getTicketId(), entry.getRecipientId(), kind, period))
+                .collect(Collectors.toSet());
+
+        ReminderChunkResult result = new ReminderChunkResult();
+        List<Notification> notifications = new ArrayList<>();
+        List<ReminderLedgerEntry> ledgerEntries = new ArrayList<>();
+        for (TicketReminderCandidate candidate : candidates) {
+            if (!knownRecipientIds.contains(candidate.getRecipientId())) {
+                result.unknownRecipients++;
+                continue;
+            }
+            if (!reminded.add(new ReminderLedgerEntry.Key(candidate.getTicketId(), candidate.getRecipientId(), kind, period))) {
+                result.alreadyReminded++;
+                continue;
+            }
+            notifications.add(new Notification(candidate.getRecipientId(), message.apply(candidate)));
+            ledgerEntries.add(new ReminderLedgerEntry(candidate.getTicketId(), candidate.getRecipientId(), kind, period));
         }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(REMINDER_BATCH_SIZE);
+        notificationRepository.saveAll(notifications);
+        // ledger entries have assigned ids, saveAll would merge them and select every entry before inserting it
+        ledgerEntries.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+        result.written = notifications.size();
+        return result;
+    }
+
+    private static String projectNameOf(TicketReminderCandidate candidate) {
+        return candidate.getProjectName() != null
+                ? candidate.getProjectName()
+                : "Unknown Project (ID: " + candidate.getProjectId() + ")";
+    }
+
+    private void recordReminderRun(ReminderKind kind, ReminderRunStatistics statistics) {
+        String kindTag = kind.name().toLowerCase();
+        meterRegistry.counter("notification.reminder.tickets.scanned", "kind", kindTag).increment(statistics.getTicketsScanned());
+        meterRegistry.counter("notification.reminder.recipients.skipped", "kind", kindTag).increment(statistics.getRecipientsSkipped());
+        meterRegistry.counter("notification.reminder.already.reminded", "kind", kindTag).increment(statistics.getAlreadyReminded());
+        meterRegistry.counter("notification.reminder.notifications.written", "kind", kindTag).increment(statistics.getNotificationsWritten());
+        meterRegistry.timer("notification.reminder.run", "kind", kindTag).record(statistics.getDuration());
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // Runs daily
+    public void purgeReminderLedger() {
+        LocalDate oldestKeptPeriod = LocalDate.now().minusDays(REMINDER_LEDGER_RETENTION_DAYS);
+        Integer purged = reminderLedgerRepository.deleteByPeriodBefore(oldestKeptPeriod);
+        logger.info("Purged {} reminder ledger entries older than {}", purged, oldestKeptPeriod);
+    }
+
+    private static class ReminderChunkResult {
+        private long written;
+        private long unknownRecipients;
+        private long alreadyReminded;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.kett.TicketSystem.notification.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a notification for listings, selected without loading the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationSummary {
+    private final UUID id;
+    private final LocalDateTime creationTime;
+    private final UUID recipientId;
+    private final Boolean isRead;
+    private final String content;
+}
@@ -0,0 +1,6 @@
+package com.kett.TicketSystem.notification.domain;
+
+public enum ReminderKind {
+    DUE_DATE,
+    OVERDUE
+}
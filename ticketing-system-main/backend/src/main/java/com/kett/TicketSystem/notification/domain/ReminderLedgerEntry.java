@@ -0,0 +1,50 @@
+package com.kett.TicketSystem.notification.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Records that a reminder of a kind was sent to a recipient for a ticket within a period (a day),
+ * so that the hourly reminder jobs write each reminder at most once per period.
+ */
+@Entity
+@IdClass(ReminderLedgerEntry.Key.class)
+@Table(indexes = {
+        @Index(name = "idx_reminder_ledger_lookup", columnList = "kind, period, ticketId"),
+        @Index(name = "idx_reminder_ledger_period", columnList = "period")
+})
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReminderLedgerEntry {
+    @Id
+    @Column(length = 16)
+    private UUID ticketId;
+
+    @Id
+    @Column(length = 16)
+    private UUID recipientId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ReminderKind kind;
+
+    @Id
+    private LocalDate period;
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        private UUID ticketId;
+        private UUID recipientId;
+        private ReminderKind kind;
+        private LocalDate period;
+    }
+}
@@ -0,0 +1,17 @@
+package com.kett.TicketSystem.notification.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public class ReminderRunStatistics {
+    private final long ticketsScanned;
+    private final long recipientsSkipped;
+    private final long alreadyReminded;
+    private final long notificationsWritten;
+    private final int chunks;
+    private final Duration duration;
+}
@@ -0,0 +1,21 @@
+package com.kett.TicketSystem.notification.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One (ticket, recipient) row of a reminder job, read together with the project name in a single query.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketReminderCandidate {
+    private final UUID ticketId;
+    private final UUID recipientId;
+    private final String ticketTitle;
+    private final LocalDateTime dueTime;
+    private final UUID projectId;
+    private final String projectName;
+}
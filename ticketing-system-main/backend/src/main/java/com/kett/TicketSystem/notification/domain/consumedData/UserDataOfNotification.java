@@ -1,7 +1,9 @@
 package com.kett.TicketSystem.notification.domain.consumedData;
 
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.util.UUID;
@@ -12,7 +14,8 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class UserDataOfNotification {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidIdentifierGenerator.NAME)
+    @GenericGenerator(name = UuidIdentifierGenerator.NAME, strategy = UuidIdentifierGenerator.STRATEGY)
     @Setter(AccessLevel.PROTECTED)
     @Column(length = 16)
     UUID id;
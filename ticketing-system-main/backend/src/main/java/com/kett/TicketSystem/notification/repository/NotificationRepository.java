@@ -1,16 +1,73 @@
 package com.kett.TicketSystem.notification.repository;
 
 import com.kett.TicketSystem.notification.domain.Notification;
+import com.kett.TicketSystem.notification.domain.NotificationSummary;
+import com.kett.TicketSystem.notification.domain.TicketReminderCandidate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     List<Notification> findByRecipientId(UUID recipientId);
-    List<Notification> findByRecipientIdAndIsReadFalse(UUID recipientId);
     Long removeById(UUID id);
+
+    @Query("SELECT new com.kett.TicketSystem.notification.domain.NotificationSummary(n.id, n.creationTime, n.recipientId, n.isRead, n.content) " +
+           "FROM Notification n WHERE n.recipientId = :recipientId")
+    List<NotificationSummary> findSummariesByRecipientId(UUID recipientId);
+
+    @Query("SELECT new com.kett.TicketSystem.notification.domain.NotificationSummary(n.id, n.creationTime, n.recipientId, n.isRead, n.content) " +
+           "FROM Notification n WHERE n.recipientId = :recipientId AND n.isRead = false")
+    List<NotificationSummary> findUnreadSummariesByRecipientId(UUID recipientId);
+
+    @Query("SELECT n.recipientId FROM Notification n WHERE n.id = :id")
+    Optional<UUID> findRecipientIdById(UUID id);
     void deleteByRecipientId(UUID recipientId);
+
+    @Query("SELECT new com.kett.TicketSystem.notification.domain.TicketReminderCandidate(t.id, a, t.title, t.dueTime, t.projectId, p.name) " +
+           "FROM Ticket t JOIN t.assigneeIds a LEFT JOIN Project p ON p.id = t.projectId " +
+           "WHERE t.dueTime >= :startOfDay AND t.dueTime <= :endOfDay AND t.status != 'DONE' AND a IS NOT NULL " +
+           "ORDER BY t.id, a")
+    List<TicketReminderCandidate> findDueTicketAssignees(LocalDateTime startOfDay, LocalDateTime endOfDay, Pageable pageable);
+
+    @Query("SELECT new com.kett.TicketSystem.notification.domain.TicketReminderCandidate(t.id, a, t.title, t.dueTime, t.projectId, p.name) " +
+           "FROM Ticket t JOIN t.assigneeIds a LEFT JOIN Project p ON p.id = t.projectId " +
+           "WHERE t.dueTime >= :startOfDay AND t.dueTime <= :endOfDay AND t.status != 'DONE' AND a IS NOT NULL " +
+           "AND (t.id > :afterTicketId OR (t.id = :afterTicketId AND a > :afterRecipientId)) " +
+           "ORDER BY t.id, a")
+    List<TicketReminderCandidate> findDueTicketAssigneesAfter(
+            LocalDateTime startOfDay,
+            LocalDateTime endOfDay,
+            UUID afterTicketId,
+            UUID afterRecipientId,
+            Pageable pageable
+    );
+
+    @Query("SELECT new com.kett.TicketSystem.notification.domain.TicketReminderCandidate(t.id, m.userId, t.title, t.dueTime, t.projectId, p.name) " +
+           "FROM Ticket t JOIN Project p ON p.id = t.projectId JOIN Phase ph ON ph.id = t.phaseId " +
+           "JOIN Membership m ON m.projectId = t.projectId " +
+           "WHERE t.dueTime < :beforeDate AND t.status != 'DONE' AND t.assigneeIds IS NOT EMPTY AND ph.name != 'DONE' " +
+           "AND m.role = 'ADMIN' AND m.state = 'ACCEPTED' " +
+           "ORDER BY t.id, m.userId")
+    List<TicketReminderCandidate> findOverdueTicketAdmins(LocalDateTime beforeDate, Pageable pageable);
+
+    @Query("SELECT new com.kett.TicketSystem.notification.domain.TicketReminderCandidate(t.id, m.userId, t.title, t.dueTime, t.projectId, p.name) " +
+           "FROM Ticket t JOIN Project p ON p.id = t.projectId JOIN Phase ph ON ph.id = t.phaseId " +
+           "JOIN Membership m ON m.projectId = t.projectId " +
+           "WHERE t.dueTime < :beforeDate AND t.status != 'DONE' AND t.assigneeIds IS NOT EMPTY AND ph.name != 'DONE' " +
+           "AND m.role = 'ADMIN' AND m.state = 'ACCEPTED' " +
+           "AND (t.id > :afterTicketId OR (t.id = :afterTicketId AND m.userId > :afterRecipientId)) " +
+           "ORDER BY t.id, m.userId")
+    List<TicketReminderCandidate> findOverdueTicketAdminsAfter(
+            LocalDateTime beforeDate,
+            UUID afterTicketId,
+            UUID afterRecipientId,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,22 @@
+package com.kett.TicketSystem.notification.repository;
+
+import com.kett.TicketSystem.notification.domain.ReminderKind;
+import com.kett.TicketSystem.notification.domain.ReminderLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReminderLedgerRepository extends JpaRepository<ReminderLedgerEntry, ReminderLedgerEntry.Key> {
+    List<ReminderLedgerEntry> findByKindAndPeriodAndTicketIdIn(ReminderKind kind, LocalDate period, Collection<UUID> ticketIds);
+
+    @Modifying
+    @Query("DELETE FROM ReminderLedgerEntry e WHERE e.period < :period")
+    Integer deleteByPeriodBefore(LocalDate period);
+}
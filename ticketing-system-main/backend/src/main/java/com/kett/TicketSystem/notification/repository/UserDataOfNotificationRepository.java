@@ -3,8 +3,10 @@ package com.kett.TicketSystem.notification.repository;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.notification.domain.consumedData.UserDataOfNotification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,4 +15,7 @@ public interface UserDataOfNotificationRepository extends JpaRepository<UserData
     List<UserDataOfNotification> findByUserId(UUID userId);
     List<UserDataOfNotification> findByUserEmailEquals(EmailAddress emailAddress);
     Integer deleteByUserId(UUID userId);
+
+    @Query("SELECT u.userId FROM UserDataOfNotification u WHERE u.userId IN :userIds")
+    List<UUID> findUserIdsByUserIdIn(Collection<UUID> userIds);
 }
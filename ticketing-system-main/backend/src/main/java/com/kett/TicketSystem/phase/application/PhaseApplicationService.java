@@ -8,14 +8,18 @@ import com.kett.TicketSystem.phase.application.dto.PhaseResponseDto;
 import com.kett.TicketSystem.phase.domain.Phase;
 import com.kett.TicketSystem.phase.domain.PhaseDomainService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 public class PhaseApplicationService {
+    public static final int MAX_RANK_ATTEMPTS = 3;
+
     private final PhaseDomainService phaseDomainService;
     private final DtoMapper dtoMapper;
 
@@ -25,12 +29,10 @@ public class PhaseApplicationService {
         this.dtoMapper = dtoMapper;
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'phase', 'PROJECT_MEMBER')")
     public PhaseResponseDto getPhaseById(UUID id) {
         Phase phase = phaseDomainService.getPhaseById(id);
-        return dtoMapper.mapPhaseToPhaseResponseDto(phase);
+        return dtoMapper.mapPhaseToPhaseResponseDto(phase, phaseDomainService.getPhasesByProjectId(phase.getProjectId()));
     }
 
     @PreAuthorize("hasAnyAuthority(" +
@@ -43,25 +45,45 @@ public class PhaseApplicationService {
 
     @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(#phasePostDto.projectId))")
     public PhaseResponseDto addPhase(PhasePostDto phasePostDto) {
-        Phase phase = phaseDomainService.createPhase(
+        Phase phase = retryOnRankConflict(() -> phaseDomainService.createPhase(
                 dtoMapper.mapPhasePostDtoToPhase(phasePostDto), phasePostDto.getPreviousPhaseId()
-        );
-        return dtoMapper.mapPhaseToPhaseResponseDto(phase);
+        ));
+        return dtoMapper.mapPhaseToPhaseResponseDto(phase, phaseDomainService.getPhasesByProjectId(phase.getProjectId()));
     }
 
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'phase', 'PROJECT_ADMIN')")
     public void patchPhaseName(UUID id, PhasePutNameDto phasePutNameDto) {
         phaseDomainService.patchPhaseName(id, phasePutNameDto.getName());
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'phase', 'PROJECT_ADMIN')")
     public void patchPhasePosition(UUID id, PhasePutPositionDto phasePutPositionDto) {
-        phaseDomainService.patchPhasePosition(id, phasePutPositionDto.getPreviousPhase());
+        retryOnRankConflict(() -> {
+            phaseDomainService.patchPhasePosition(id, phasePutPositionDto.getPreviousPhase());
+            return null;
+        });
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'phase', 'PROJECT_ADMIN')")
     public void deletePhaseById(UUID id) {
         phaseDomainService.deleteById(id);
     }
+
+    /**
+     * Concurrent changes to the phases of a project can pick the same rank, the unique (projectId, rank) constraint
+     * rejects the later transaction. Every call of the domain service is its own transaction, so it is repeated with
+     * the ranks committed in the meantime.
+     */
+    private <T> T retryOnRankConflict(Supplier<T> rankChange) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return rankChange.get();
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_RANK_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
 }
@@ -28,12 +28,14 @@ public class PhaseController {
         this.phaseApplicationService = phaseApplicationService;
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<PhaseResponseDto> getPhaseById(@PathVariable UUID id) {
         PhaseResponseDto phaseResponseDto = phaseApplicationService.getPhaseById(id);
         return new ResponseEntity<>(phaseResponseDto, HttpStatus.OK);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<List<PhaseResponseDto>> getPhasesByQuery(
             @RequestParam(name = "project-id", required = true) UUID projectId
@@ -1,18 +1,21 @@
 package com.kett.TicketSystem.phase.domain;
 
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
 import com.kett.TicketSystem.phase.domain.exceptions.PhaseException;
-import com.kett.TicketSystem.common.exceptions.UnrelatedPhaseException;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_phase_project_rank", columnNames = {"projectId", "rank"}))
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Phase {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidIdentifierGenerator.NAME)
+    @GenericGenerator(name = UuidIdentifierGenerator.NAME, strategy = UuidIdentifierGenerator.STRATEGY)
     @Getter
     @Setter(AccessLevel.PROTECTED)
     @Column(length = 16)
@@ -25,13 +28,10 @@ public class Phase {
     @Getter
     private String name;
 
+    // position within the project, phases are ordered by ascending rank with gaps between neighbours, unique per project
     @Getter
-    @OneToOne(fetch = FetchType.LAZY)
-    private Phase previousPhase;
-
-    @Getter
-    @OneToOne(fetch = FetchType.LAZY)
-    private Phase nextPhase;
+    @Setter(AccessLevel.PROTECTED)
+    private Long rank;
 
     @Getter
     private Integer ticketCount;
@@ -50,26 +50,6 @@ public class Phase {
         this.name = name;
     }
 
-    public void setPreviousPhase(Phase phase) {
-        if (phase != null && !this.projectId.equals(phase.getProjectId())) {
-            throw new UnrelatedPhaseException(
-                    "The new previousPhase with id: " + phase.getId() + " belongs to the project with id: " + phase.getProjectId() +
-                    " but the phase with id: " + this.id + " does not. It belongs to the project with id: " + this.projectId + "."
-            );
-        }
-        this.previousPhase = phase;
-    }
-
-    public void setNextPhase(Phase phase) {
-        if (phase != null && !this.projectId.equals(phase.getProjectId())) {
-            throw new UnrelatedPhaseException(
-                    "The new nextPhase with id: " + phase.getId() + " belongs to the project with id: " + phase.getProjectId() +
-                    " but the phase with id: " + this.id + " does not. It belongs to the project with id: " + this.projectId + "."
-            );
-        }
-        this.nextPhase = phase;
-    }
-
     public void setTicketCount(int ticketCount) throws PhaseException {
         if (ticketCount < 0) {
             throw new PhaseException("ticketCount cannot be negative");
@@ -77,31 +57,10 @@ public class Phase {
         this.ticketCount = ticketCount;
     }
 
-    public void increaseTicketCount() throws PhaseException {
-        this.setTicketCount(
-                this.getTicketCount() + 1
-        );
-    }
-
-    public void decreaseTicketCount() throws PhaseException {
-        this.setTicketCount(
-                this.getTicketCount() - 1
-        );
-    }
-
-    public Boolean isFirst() {
-        return previousPhase == null;
-    }
-
-    public Boolean isLast() {
-        return nextPhase == null;
-    }
-
-    public Phase(UUID projectId, String name, Phase previousPhase, Phase nextPhase) {
+    public Phase(UUID projectId, String name) {
         this.setProjectId(projectId);
         this.setName(name);
-        this.setPreviousPhase(previousPhase);
-        this.setNextPhase(nextPhase);
+        this.setRank(0L);
         this.setTicketCount(0);
     }
 }
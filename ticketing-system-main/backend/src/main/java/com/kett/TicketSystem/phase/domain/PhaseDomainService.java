@@ -19,6 +19,7 @@ import com.kett.TicketSystem.phase.domain.exceptions.PhaseIsNotEmptyException;
 import com.kett.TicketSystem.ticket.domain.events.TicketCreatedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketPhaseUpdatedEvent;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
@@ -26,7 +27,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,10 +36,16 @@ import java.util.UUID;
 @Service
 @Transactional
 public class PhaseDomainService {
+    // initial distance between the ranks of neighbouring phases
+    public static final long RANK_GAP = 1L << 20;
+
     private final PhaseRepository phaseRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public PhaseDomainService(
             PhaseRepository phaseRepository,
@@ -53,108 +61,117 @@ public class PhaseDomainService {
     // create
 
     public Phase createPhase(Phase phase, UUID previousPhaseId) throws NoPhaseFoundException, UnrelatedPhaseException  {
-        Phase initializedPhase = addPhase(phase, previousPhaseId);
+        if (!projectDataOfPhaseRepository.existsByProjectId(phase.getProjectId())) {
+            throw new NoProjectFoundException("could not find project with id: " + phase.getProjectId());
+        }
+        List<Phase> orderedPhases = phaseRepository.findByProjectIdOrderByRank(phase.getProjectId());
+        phase.setRank(rankAfter(phase, previousPhaseId, orderedPhases));
+
+        Phase initializedPhase = phaseRepository.save(phase);
         eventPublisher.publishEvent(
                 new PhaseCreatedEvent(
                         initializedPhase.getId(),
-                        initializedPhase.getPreviousPhase(),
+                        initializedPhase.getRank(),
                         initializedPhase.getProjectId()
                 )
         );
         return initializedPhase;
     }
 
-    private Phase addPhase(Phase phase, UUID previousPhaseId) throws NoPhaseFoundException, UnrelatedPhaseException {
-        if (!projectDataOfPhaseRepository.existsByProjectId(phase.getProjectId())) {
-            throw new NoProjectFoundException("could not find project with id: " + phase.getProjectId());
-        }
-
-        Phase previousPhase = null;
+    /**
+     * Determines the rank that places the phase right after the phase with previousPhaseId, or first if
+     * previousPhaseId is null. Only when the neighbours have no gap left, the other phases of the project are
+     * spread out again.
+     */
+    private Long rankAfter(Phase phase, UUID previousPhaseId, List<Phase> orderedPhases) throws NoPhaseFoundException, UnrelatedPhaseException {
+        List<Phase> otherPhases = orderedPhases
+                .stream()
+                .filter(otherPhase -> !otherPhase.getId().equals(phase.getId()))
+                .toList();
+
+        int position = 0;
         if (previousPhaseId != null) {
-            previousPhase = this.getPhaseById(previousPhaseId);
+            Phase previousPhase = this.getPhaseById(previousPhaseId);
+            if (!previousPhase.getProjectId().equals(phase.getProjectId())) {
+                throw new UnrelatedPhaseException(
+                        "previous phase with id: " + previousPhase.getId() +
+                                " does not belong to project with id: " + phase.getProjectId()
+                );
+            }
+            if (previousPhase.getId().equals(phase.getId())) {
+                return phase.getRank();
+            }
+            position = otherPhases.stream().map(Phase::getId).toList().indexOf(previousPhaseId) + 1;
         }
 
-        UUID projectId = phase.getProjectId();
-        if (previousPhase != null && !previousPhase.getProjectId().equals(projectId)) {
-            throw new UnrelatedPhaseException(
-                    "previous phase with id: " + previousPhase.getId() +
-                            " does not belong to project with id: " + projectId
-            );
+        if (otherPhases.isEmpty()) {
+            return 0L;
         }
-
-        Phase initializedPhase;
-        if (previousPhase == null) {
-            initializedPhase = addFirst(phase);
-        } else {
-            // get phase this way because of weird transient transaction behaviour regarding IDs
-            addAfterPrevious(phase, previousPhase);
-            Phase updatedPreviousPhase = this.getPhaseById(previousPhaseId);
-            initializedPhase = this.getPhaseById(updatedPreviousPhase.getNextPhase().getId());
+        if (position == 0) {
+            return otherPhases.get(0).getRank() - RANK_GAP;
         }
-
-        return initializedPhase;
-    }
-
-    private Phase addFirst(Phase phase) {
-        Optional<Phase> nextPhase = getFirstPhaseByProjectId(phase.getProjectId());
-
-        phaseRepository.save(phase);    // make sure that phase has an id, may be redundant
-
-        if (nextPhase.isPresent()) {
-            phase.setNextPhase(nextPhase.get());
-            nextPhase.get().setPreviousPhase(phase);
-
-            phaseRepository.save(nextPhase.get());
-            eventPublisher.publishEvent(new PhasePositionUpdatedEvent(nextPhase.get().getId(), nextPhase.get().getPreviousPhase(), nextPhase.get().getProjectId()));
+        if (position == otherPhases.size()) {
+            return otherPhases.get(position - 1).getRank() + RANK_GAP;
         }
 
-        return phaseRepository.save(phase);
+        long lowerRank = otherPhases.get(position - 1).getRank();
+        long upperRank = otherPhases.get(position).getRank();
+        if (upperRank - lowerRank < 2) {
+            rebalance(orderedPhases, otherPhases);
+            lowerRank = otherPhases.get(position - 1).getRank();
+            upperRank = otherPhases.get(position).getRank();
+        }
+        return lowerRank + (upperRank - lowerRank) / 2;
     }
 
-    private void addAfterPrevious(Phase phase, Phase previousPhase) {
-        phaseRepository.save(phase);
-        phase.setPreviousPhase(previousPhase); // may be redundant
-
-        Phase nextPhase = previousPhase.getNextPhase();
-        if (nextPhase != null) {
-            phase.setNextPhase(nextPhase);
-            nextPhase.setPreviousPhase(phase);
-            phaseRepository.save(nextPhase);
-            eventPublisher.publishEvent(new PhasePositionUpdatedEvent(nextPhase.getId(), nextPhase.getPreviousPhase(), nextPhase.getProjectId()));
-        } else {
-            phase.setNextPhase(null);
+    /**
+     * Spreads out the ranks of the other phases again. All phases of the project are parked below every current and
+     * new rank first, so that no update hits a rank that another phase still holds.
+     */
+    private void rebalance(List<Phase> orderedPhases, List<Phase> otherPhases) {
+        long parkingRank = Math.min(orderedPhases.get(0).getRank(), 0L);
+        for (Phase phase : orderedPhases) {
+            phase.setRank(--parkingRank);
         }
+        phaseRepository.saveAllAndFlush(orderedPhases);
 
-        previousPhase.setNextPhase(phase);
-        phaseRepository.save(previousPhase);
-
-        // probably redundant because parent (previous phase) saves all transient children and the second save delivers the wrong id;
-        phaseRepository.save(phase);
+        for (int i = 0; i < otherPhases.size(); i++) {
+            Phase phase = otherPhases.get(i);
+            phase.setRank((i + 1) * RANK_GAP);
+            phaseRepository.save(phase);
+            eventPublisher.publishEvent(new PhasePositionUpdatedEvent(phase.getId(), phase.getRank(), phase.getProjectId()));
+        }
     }
 
 
     // read
 
+    @Transactional(readOnly = true)
     public Phase getPhaseById(UUID id) throws NoPhaseFoundException {
         return phaseRepository
                 .findById(id)
                 .orElseThrow(() -> new NoPhaseFoundException("could not find phase with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<Phase> getPhasesByProjectId(UUID projectId) throws NoPhaseFoundException {
-        List<Phase> phases = phaseRepository.findByProjectId(projectId);
+        List<Phase> phases = phaseRepository.findByProjectIdOrderByRank(projectId);
         if (phases.isEmpty()) {
             throw new NoPhaseFoundException("could not find phases with projectId: " + projectId);
         }
         return phases;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Phase> getFirstPhaseByProjectId(UUID projectId) {
-        return phaseRepository.findByProjectIdAndPreviousPhaseIsNull(projectId);
+        return phaseRepository.findFirstByProjectIdOrderByRank(projectId);
     }
 
+    @Transactional(readOnly = true)
     public UUID getProjectIdByPhaseId(UUID phaseId) throws NoPhaseFoundException {
-        return this.getPhaseById(phaseId).getProjectId();
+        return phaseRepository
+                .findProjectIdById(phaseId)
+                .orElseThrow(() -> new NoPhaseFoundException("could not find phase with id: " + phaseId));
     }
 
 
@@ -168,22 +185,11 @@ public class PhaseDomainService {
 
     public void patchPhasePosition(UUID id, UUID previousPhaseId) throws PhaseException, NoPhaseFoundException {
         Phase patchedPhase = this.getPhaseById(id);
-        Phase oldNextPhase = patchedPhase.getNextPhase();
-        Phase oldPreviousPhase = patchedPhase.getPreviousPhase();
+        List<Phase> orderedPhases = phaseRepository.findByProjectIdOrderByRank(patchedPhase.getProjectId());
+        patchedPhase.setRank(rankAfter(patchedPhase, previousPhaseId, orderedPhases));
 
-        this.removePhaseFromCurrentPosition(patchedPhase);
-        this.addPhase(patchedPhase, previousPhaseId);
-
-        // up to three positions updated -> up to three events published
-        List<PhasePositionUpdatedEvent> events = new ArrayList<>();
-        events.add(new PhasePositionUpdatedEvent(patchedPhase.getId(), previousPhaseId, patchedPhase.getProjectId()));
-        if (oldNextPhase != null) {
-            events.add(new PhasePositionUpdatedEvent(oldNextPhase.getId(), oldPreviousPhase, patchedPhase.getProjectId()));
-        }
-        if (previousPhaseId != null) {
-            events.add(new PhasePositionUpdatedEvent(previousPhaseId, patchedPhase.getId(), patchedPhase.getProjectId()));
-        }
-        events.forEach(eventPublisher::publishEvent);
+        phaseRepository.save(patchedPhase);
+        eventPublisher.publishEvent(new PhasePositionUpdatedEvent(patchedPhase.getId(), patchedPhase.getRank(), patchedPhase.getProjectId()));
     }
 
 
@@ -191,7 +197,7 @@ public class PhaseDomainService {
 
     public void deleteById(UUID id) throws NoPhaseFoundException, LastPhaseException {
         Phase phase = this.getPhaseById(id);
-        if (phase.isFirst() && phase.isLast()) {
+        if (phaseRepository.countByProjectId(phase.getProjectId()) == 1) {
             throw new LastPhaseException(
                     "The phase with id: " + phase.getId() +
                     " is already the last phase of the project with id: " + phase.getProjectId() +
@@ -202,41 +208,8 @@ public class PhaseDomainService {
             throw new PhaseIsNotEmptyException("phase with id: \"" + id + "\" is not empty and can not be deleted");
         }
 
-        UUID nextPhaseId = null;
-        if (!phase.isLast()) {
-            nextPhaseId = phase.getNextPhase().getId();
-        }
-
-        this.removePhaseFromCurrentPosition(phase);
         phaseRepository.removeById(id);
         eventPublisher.publishEvent(new PhaseDeletedEvent(phase.getId(), phase.getProjectId()));
-        if (nextPhaseId != null) {
-            eventPublisher.publishEvent(
-                    new PhasePositionUpdatedEvent(
-                            nextPhaseId,
-                            phase.getPreviousPhase(),
-                            phase.getProjectId()
-                    )
-            );
-        }
-    }
-
-    private void removePhaseFromCurrentPosition(Phase phase) {
-        Phase previousPhase = phase.getPreviousPhase();
-        Phase nextPhase = phase.getNextPhase();
-
-        if (previousPhase != null) {
-            previousPhase.setNextPhase(nextPhase);
-            phase.setPreviousPhase(null);
-            phaseRepository.save(previousPhase);
-        }
-        if (nextPhase != null) {
-            nextPhase.setPreviousPhase(previousPhase);
-            phase.setNextPhase(null);
-            phaseRepository.save(nextPhase);
-        }
-
-        phaseRepository.save(phase);
     }
 
     public void deletePhasesByProjectId(UUID projectId) {
@@ -254,10 +227,10 @@ public class PhaseDomainService {
     public void handleDefaultProjectCreated(DefaultProjectCreatedEvent defaultProjectCreatedEvent) {
         projectDataOfPhaseRepository.save(new ProjectDataOfPhase(defaultProjectCreatedEvent.getProjectId()));
 
-        Phase backlog = new Phase(defaultProjectCreatedEvent.getProjectId(), "BACKLOG", null, null);
-        Phase assigned = new Phase(defaultProjectCreatedEvent.getProjectId(), "ASSIGNED", null, null);
-        Phase review = new Phase(defaultProjectCreatedEvent.getProjectId(), "REVIEW", null, null);
-        Phase done = new Phase(defaultProjectCreatedEvent.getProjectId(), "DONE", null, null);
+        Phase backlog = new Phase(defaultProjectCreatedEvent.getProjectId(), "BACKLOG");
+        Phase assigned = new Phase(defaultProjectCreatedEvent.getProjectId(), "ASSIGNED");
+        Phase review = new Phase(defaultProjectCreatedEvent.getProjectId(), "REVIEW");
+        Phase done = new Phase(defaultProjectCreatedEvent.getProjectId(), "DONE");
 
         this.createPhase(done, null);
         this.createPhase(review, null);
@@ -277,7 +250,7 @@ public class PhaseDomainService {
     public void handleProjectCreatedEvent(ProjectCreatedEvent projectCreatedEvent) {
         projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectCreatedEvent.getProjectId()));
         this.createPhase(
-                new Phase(projectCreatedEvent.getProjectId(), "BACKLOG", null, null),
+                new Phase(projectCreatedEvent.getProjectId(), "BACKLOG"),
                 null
         );
     }
@@ -290,36 +263,53 @@ public class PhaseDomainService {
                     new ImpossibleException("The project with id: " + ticketCreatedEvent.getProjectId() + " has no phases.")
                 );
 
-        firstPhaseOfProject.increaseTicketCount();
-        phaseRepository.save(firstPhaseOfProject);
+        this.addToTicketCount(firstPhaseOfProject.getId(), 1);
     }
 
     @EventListener
     public void handleTicketPhaseUpdatedEvent(TicketPhaseUpdatedEvent ticketPhaseUpdatedEvent) {
-        Phase oldPhase = this.getPhaseById(ticketPhaseUpdatedEvent.getOldPhaseId());
-        Phase newPhase = this.getPhaseById(ticketPhaseUpdatedEvent.getNewPhaseId());
+        UUID oldPhaseId = ticketPhaseUpdatedEvent.getOldPhaseId();
+        UUID newPhaseId = ticketPhaseUpdatedEvent.getNewPhaseId();
+        UUID oldProjectId = this.getProjectIdByPhaseId(oldPhaseId);
+        UUID newProjectId = this.getProjectIdByPhaseId(newPhaseId);
 
         // TODO: publish event to initiate rollback ?
-        if (!oldPhase.getProjectId().equals(newPhase.getProjectId())) {
+        if (!oldProjectId.equals(newProjectId)) {
             throw new UnrelatedPhaseException(
                     "The update of ticket: " + ticketPhaseUpdatedEvent.getTicketId() + " caused a conflict: " +
-                    "the old phase (id: " + oldPhase.getId() + ", projectId: " + oldPhase.getProjectId() + ") " +
-                    "and new phase (id: " + newPhase.getId() + ", projectId: " + newPhase.getProjectId() + ") " +
+                    "the old phase (id: " + oldPhaseId + ", projectId: " + oldProjectId + ") " +
+                    "and new phase (id: " + newPhaseId + ", projectId: " + newProjectId + ") " +
                     "are not related."
             );
         }
 
-        oldPhase.decreaseTicketCount();
-        newPhase.increaseTicketCount();
-
-        phaseRepository.save(oldPhase);
-        phaseRepository.save(newPhase);
+        // lock the two rows in the same order in every transaction, so that opposite moves cannot deadlock
+        if (oldPhaseId.compareTo(newPhaseId) < 0) {
+            this.addToTicketCount(oldPhaseId, -1);
+            this.addToTicketCount(newPhaseId, 1);
+        } else {
+            this.addToTicketCount(newPhaseId, 1);
+            this.addToTicketCount(oldPhaseId, -1);
+        }
     }
 
     @EventListener
     public void handleTicketDeletedEvent(TicketDeletedEvent ticketDeletedEvent) {
-        Phase phase = this.getPhaseById(ticketDeletedEvent.getPhaseId());
-        phase.decreaseTicketCount();
-        phaseRepository.save(phase);
+        this.addToTicketCount(ticketDeletedEvent.getPhaseId(), -1);
+    }
+
+    private void addToTicketCount(UUID phaseId, int delta) throws NoPhaseFoundException, PhaseException {
+        if (phaseRepository.addToTicketCount(phaseId, delta) == 0) {
+            if (!phaseRepository.existsById(phaseId)) {
+                throw new NoPhaseFoundException("could not find phase with id: " + phaseId);
+            }
+            throw new PhaseException("ticketCount cannot be negative");
+        }
+
+        // the update bypasses the persistence context, a phase loaded earlier in the transaction has to be reloaded
+        Phase phase = entityManager.getReference(Phase.class, phaseId);
+        if (Hibernate.isInitialized(phase)) {
+            entityManager.refresh(phase);
+        }
     }
 }
@@ -1,6 +1,8 @@
 package com.kett.TicketSystem.phase.domain.consumedData;
 
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.util.UUID;
@@ -11,7 +13,8 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ProjectDataOfPhase {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidIdentifierGenerator.NAME)
+    @GenericGenerator(name = UuidIdentifierGenerator.NAME, strategy = UuidIdentifierGenerator.STRATEGY)
     @Setter(AccessLevel.PROTECTED)
     @Column(length = 16)
     UUID id;
@@ -1,7 +1,6 @@
 package com.kett.TicketSystem.phase.domain.events;
 
 import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
-import com.kett.TicketSystem.phase.domain.Phase;
 import lombok.Getter;
 
 import java.util.UUID;
@@ -9,20 +8,13 @@ import java.util.UUID;
 @Getter
 public class PhasePositionUpdatedEvent extends DomainEvent {
     private final UUID phaseId;
-    private final UUID previousPhaseId;
+    private final Long rank;
     private final UUID projectId;
 
-    public PhasePositionUpdatedEvent(UUID phaseId, Phase previousPhase, UUID projectId) {
+    public PhasePositionUpdatedEvent(UUID phaseId, Long rank, UUID projectId) {
         super();
         this.phaseId = phaseId;
-        this.previousPhaseId = previousPhase == null ? null: previousPhase.getId();
-        this.projectId = projectId;
-    }
-
-    public PhasePositionUpdatedEvent(UUID phaseId, UUID previousPhaseId, UUID projectId) {
-        super();
-        this.phaseId = phaseId;
-        this.previousPhaseId = previousPhaseId;
+        this.rank = rank;
         this.projectId = projectId;
     }
 }
@@ -2,6 +2,8 @@ package com.kett.TicketSystem.phase.repository;
 
 import com.kett.TicketSystem.phase.domain.Phase;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +13,17 @@ import java.util.UUID;
 @Repository
 public interface PhaseRepository extends JpaRepository<Phase, UUID> {
     List<Phase> findByProjectId(UUID projectId);
-    Optional<Phase> findByProjectIdAndPreviousPhaseIsNull(UUID projectId);
+    List<Phase> findByProjectIdOrderByRank(UUID projectId);
+    Optional<Phase> findFirstByProjectIdOrderByRank(UUID projectId);
+    Long countByProjectId(UUID projectId);
+
+    @Query("SELECT p.projectId FROM Phase p WHERE p.id = :id")
+    Optional<UUID> findProjectIdById(UUID id);
+
+    // atomic, so that concurrent ticket changes do not overwrite each other's counts; never lets the count go negative
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Phase p SET p.ticketCount = p.ticketCount + :delta WHERE p.id = :id AND p.ticketCount + :delta >= 0")
+    int addToTicketCount(UUID id, int delta);
 
     Long removeById(UUID id);
     List<Phase> deleteByProjectId(UUID projectId);
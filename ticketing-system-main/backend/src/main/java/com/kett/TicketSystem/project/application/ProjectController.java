@@ -26,6 +26,7 @@ public class ProjectController {
     }
 
 
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponseDto> getProjectById(@PathVariable UUID id) {
         ProjectResponseDto projectResponseDto = projectApplicationService.fetchProjectById(id);
@@ -58,6 +58,7 @@ public class ProjectDomainService {
 
     // read
 
+    @Transactional(readOnly = true)
     public Project getProjectById(UUID id) throws NoProjectFoundException {
         return projectRepository
                 .findById(id)
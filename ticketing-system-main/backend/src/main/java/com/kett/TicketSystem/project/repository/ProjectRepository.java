@@ -5,11 +5,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
     Long removeById(UUID id);
-    @Query("SELECT p.name FROM Project p WHERE p.id = :id")
-    String findNameById(UUID id);
+    // pairs of id and name
+    @Query("SELECT p.id, p.name FROM Project p WHERE p.id IN :ids")
+    List<Object[]> findNamesByIdIn(Collection<UUID> ids);
 }
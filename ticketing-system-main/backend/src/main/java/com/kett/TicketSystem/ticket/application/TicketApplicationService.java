@@ -2,21 +2,29 @@ package com.kett.TicketSystem.ticket.application;
 
 import com.kett.TicketSystem.common.DtoMapper;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.ticket.application.dto.TicketPageResponseDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPatchDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketQueryDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
 import com.kett.TicketSystem.ticket.domain.Ticket;
 import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.TicketPage;
+import com.kett.TicketSystem.ticket.domain.TicketQuery;
+import com.kett.TicketSystem.ticket.domain.TicketSummary;
 import com.kett.TicketSystem.user.domain.User;
 import com.kett.TicketSystem.user.repository.UserRepository;
 import com.kett.TicketSystem.ticket.repository.TicketRepository;
 import com.kett.TicketSystem.user.domain.exceptions.UserException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -40,34 +48,43 @@ public class TicketApplicationService {
         this.ticketRepository = ticketRepository;
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'ticket', 'PROJECT_MEMBER')")
     public TicketResponseDto getTicketById(UUID id) {
         Ticket ticket = ticketDomainService.getTicketById(id);
         return dtoMapper.mapTicketToTicketResponseDto(ticket);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByPhaseIdOfTicket(#phaseId)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByPhaseIdOfTicket(#phaseId)))")
-    public List<TicketResponseDto> getTicketsByPhaseId(UUID phaseId) {
-        List<Ticket> tickets = ticketDomainService.getTicketsByPhaseId(phaseId);
-        return dtoMapper.mapTicketListToTicketResponseDtoList(tickets);
+    @PreAuthorize("@ticketDomainService.isQueryPermitted(" +
+            "#ticketQueryDto.projectId, #ticketQueryDto.phaseIds, #ticketQueryDto.assigneeIds, authentication.authorities)")
+    public TicketPageResponseDto getTicketsByQuery(TicketQueryDto ticketQueryDto) {
+        TicketQuery ticketQuery = dtoMapper.mapTicketQueryDtoToTicketQuery(ticketQueryDto);
+        TicketPage<TicketSummary> ticketPage = ticketDomainService.getTicketSummaryPage(ticketQuery);
+        return dtoMapper.mapTicketPageToTicketPageResponseDto(ticketPage);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(#assigneeId))")
-    public List<TicketResponseDto> getTicketsByAssigneeId(UUID assigneeId) {
-        List<Ticket> tickets = ticketDomainService.getTicketsByAssigneeId(assigneeId);
-        return dtoMapper.mapTicketListToTicketResponseDtoList(tickets);
-    }
-
-    @PreAuthorize("hasAnyAuthority(" +
+    @PreAuthorize("#projectId == null or hasAnyAuthority(" +
             "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
             "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
-    public List<TicketResponseDto> getTicketsByProjectId(UUID projectId) {
-        List<Ticket> tickets = ticketDomainService.getTicketsByProjectId(projectId);
-        return dtoMapper.mapTicketListToTicketResponseDtoList(tickets);
+    public List<TicketResponseDto> searchTickets(String text, UUID projectId, Integer limit) {
+        Set<UUID> projectIds = projectId != null ? Set.of(projectId) : getProjectIdsOfCurrentUser();
+        return ticketDomainService
+                .searchTickets(text, projectIds, limit)
+                .stream()
+                .map(dtoMapper::mapTicketToTicketResponseDto)
+                .toList();
+    }
+
+    private Set<UUID> getProjectIdsOfCurrentUser() {
+        // project authorities look like ROLE_PROJECT_<ROLE>_<projectId>
+        return SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_PROJECT_"))
+                .map(authority -> UUID.fromString(authority.substring(authority.lastIndexOf('_') + 1)))
+                .collect(Collectors.toSet());
     }
 
     @PreAuthorize("hasAnyAuthority(" +
@@ -81,9 +98,7 @@ public class TicketApplicationService {
         return dtoMapper.mapTicketToTicketResponseDto(ticket);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'ticket', 'PROJECT_MEMBER')")
     public void patchTicketById(UUID id, TicketPatchDto ticketPatchDto) {
         ticketDomainService.patchTicket(
                 id,
@@ -96,9 +111,7 @@ public class TicketApplicationService {
         );
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)))")
+    @PreAuthorize("hasPermission(#id, 'ticket', 'PROJECT_MEMBER')")
     public void deleteTicketById(UUID id) {
         ticketDomainService.deleteTicketById(id);
     }
@@ -2,11 +2,15 @@ package com.kett.TicketSystem.ticket.application;
 
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.common.exceptions.NoParametersException;
-import com.kett.TicketSystem.common.exceptions.TooManyParametersException;
+import com.kett.TicketSystem.ticket.application.dto.TicketPageResponseDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPatchDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketQueryDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
+import com.kett.TicketSystem.ticket.domain.Ticket;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,6 +29,8 @@ import java.util.UUID;
 @CrossOrigin(origins = {"http://localhost:5173"}, allowCredentials = "true")
 @RequestMapping("/tickets")
 public class TicketController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TicketApplicationService ticketApplicationService;
 
     @Autowired
@@ -31,36 +39,70 @@ public class TicketController {
     }
 
 
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<TicketResponseDto> getTicketById(@PathVariable UUID id) {
         TicketResponseDto ticketResponseDto = ticketApplicationService.getTicketById(id);
         return new ResponseEntity<>(ticketResponseDto, HttpStatus.OK);
     }
 
+    @Transactional(readOnly = true)
+    @GetMapping("/search")
+    public ResponseEntity<List<TicketResponseDto>> searchTickets(
+            @RequestParam(name = "q") String text,
+            @RequestParam(name = "project-id", required = false) UUID projectId,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        List<TicketResponseDto> ticketResponseDtos = ticketApplicationService.searchTickets(text, projectId, limit);
+        return new ResponseEntity<>(ticketResponseDtos, HttpStatus.OK);
+    }
+
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<List<TicketResponseDto>> getTicketsByQuery(
-            @RequestParam(name = "phase-id", required = false) UUID phaseId,
-            @RequestParam(name = "assignee-id", required = false) UUID assigneeId,
-            @RequestParam(name = "project-id", required = false) UUID projectId
+            @RequestParam(name = "project-id", required = false) UUID projectId,
+            @RequestParam(name = "phase-id", required = false) List<UUID> phaseIds,
+            @RequestParam(name = "assignee-id", required = false) List<UUID> assigneeIds,
+            @RequestParam(name = "priority", required = false) List<Ticket.TicketPriority> priorities,
+            @RequestParam(name = "status", required = false) List<Ticket.TicketStatus> statuses,
+            @RequestParam(name = "due-after", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @RequestParam(name = "due-before", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @RequestParam(name = "text", required = false) String text,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "direction", required = false) String direction,
+            @RequestParam(name = "page-size", required = false) Integer pageSize,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
-
-        // TODO: use proper check for too many parameters with map
-        if (phaseId != null && assigneeId != null) {
-            throw new TooManyParametersException("cannot query by more than one parameter yet");
+        // every query needs a scope the caller can be authorized for: a project, phases or assignees
+        if (projectId == null && isNullOrEmpty(phaseIds) && isNullOrEmpty(assigneeIds)) {
+            throw new NoParametersException("cannot query without project-id, phase-id or assignee-id");
         }
 
-        List<TicketResponseDto> ticketResponseDtos;
-        if (phaseId != null) {
-            ticketResponseDtos = ticketApplicationService.getTicketsByPhaseId(phaseId);
-        } else if (assigneeId != null) {
-            ticketResponseDtos = ticketApplicationService.getTicketsByAssigneeId(assigneeId);
-        } else if (projectId != null) {
-            ticketResponseDtos = ticketApplicationService.getTicketsByProjectId(projectId);
-        } else {
-            throw new NoParametersException("cannot query if no parameters are specified");
+        TicketQueryDto ticketQueryDto = new TicketQueryDto(
+                projectId,
+                phaseIds == null ? new ArrayList<>() : phaseIds,
+                assigneeIds == null ? new ArrayList<>() : assigneeIds,
+                priorities == null ? new ArrayList<>() : priorities,
+                statuses == null ? new ArrayList<>() : statuses,
+                dueAfter,
+                dueBefore,
+                text,
+                sort,
+                direction,
+                pageSize,
+                cursor
+        );
+        TicketPageResponseDto ticketPageResponseDto = ticketApplicationService.getTicketsByQuery(ticketQueryDto);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (ticketPageResponseDto.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, ticketPageResponseDto.getNextCursor());
         }
+        return new ResponseEntity<>(ticketPageResponseDto.getTickets(), headers, HttpStatus.OK);
+    }
 
-        return new ResponseEntity<>(ticketResponseDtos, HttpStatus.OK);
+    private static boolean isNullOrEmpty(List<?> values) {
+        return values == null || values.isEmpty();
     }
 
     @PostMapping
@@ -89,6 +131,7 @@ public class TicketController {
         ticketApplicationService.deleteTicketById(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+    @Transactional(readOnly = true)
     @GetMapping("/due-today")
     public ResponseEntity<List<TicketResponseDto>> getDueTodayTicketsForAssignee() {
         EmailAddress userEmail = EmailAddress.fromString(SecurityContextHolder.getContext().getAuthentication().getName());
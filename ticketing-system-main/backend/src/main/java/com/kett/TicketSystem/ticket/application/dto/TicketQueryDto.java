@@ -0,0 +1,34 @@
+package com.kett.TicketSystem.ticket.application.dto;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketQueryDto {
+    // filters
+    private UUID projectId;
+    private List<UUID> phaseIds = new ArrayList<>();
+    private List<UUID> assigneeIds = new ArrayList<>();
+    private List<Ticket.TicketPriority> priorities = new ArrayList<>();
+    private List<Ticket.TicketStatus> statuses = new ArrayList<>();
+    private LocalDateTime dueAfter;
+    private LocalDateTime dueBefore;
+    private String text;
+
+    // pagination
+    private String sort;
+    private String direction;
+    private Integer pageSize;
+    private String cursor;
+}
@@ -1,8 +1,10 @@
 package com.kett.TicketSystem.ticket.domain;
 
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
 import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
 import lombok.*;
-import org.hibernate.annotations.Type;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.time.Duration;
@@ -12,11 +14,21 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_ticket_project_creation", columnList = "projectId, creationTime, id"),
+        @Index(name = "idx_ticket_project_due", columnList = "projectId, dueTime, id"),
+        @Index(name = "idx_ticket_project_priority", columnList = "projectId, priorityRank, id"),
+        @Index(name = "idx_ticket_phase_creation", columnList = "phaseId, creationTime, id"),
+        @Index(name = "idx_ticket_phase_due", columnList = "phaseId, dueTime, id"),
+        @Index(name = "idx_ticket_phase_priority", columnList = "phaseId, priorityRank, id"),
+        @Index(name = "idx_ticket_project_phase", columnList = "projectId, phaseId")
+})
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Ticket {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidIdentifierGenerator.NAME)
+    @GenericGenerator(name = UuidIdentifierGenerator.NAME, strategy = UuidIdentifierGenerator.STRATEGY)
     @Getter
     @Setter(AccessLevel.PROTECTED)
     @Column(length = 16)
@@ -45,9 +57,20 @@ public class Ticket {
     @Column(length = 16)
     private UUID phaseId;
 
+    // the assignees of tickets loaded together are fetched with one select per batch, not one per ticket
     @Getter
-    @Type(type = "uuid-char")
     @ElementCollection(targetClass = UUID.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
+    @CollectionTable(
+            name = "ticket_assignee",
+            joinColumns = @JoinColumn(name = "ticket_id"),
+            indexes = {
+                    @Index(name = "idx_ticket_assignee_assignee_ticket", columnList = "assignee_id, ticket_id"),
+                    @Index(name = "idx_ticket_assignee_ticket", columnList = "ticket_id")
+            }
+    )
+    @OrderColumn(name = "assignee_order")
+    @Column(name = "assignee_id", length = 16, nullable = false)
     private List<UUID> assigneeIds = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
@@ -57,10 +80,18 @@ public class Ticket {
     @Column(name = "resolved_at")
     private LocalDateTime resolvedAt;
 
+    // derived from resolvedAt, stored so that averages can be computed by the database
+    @Getter
+    private Long resolutionHours;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "priority")
     private TicketPriority priority;
 
+    // ordinal of priority, so tickets can be sorted by urgency via an index
+    @Getter
+    private Integer priorityRank;
+
     // Enums
     public enum TicketStatus {
         OPEN, IN_PROGRESS, DONE, CLOSED
@@ -80,7 +111,7 @@ public class Ticket {
         this.setProjectId(projectId);
         this.setAssigneeIds(assigneeIds);
         this.status = TicketStatus.OPEN;
-        this.priority = TicketPriority.MEDIUM;
+        this.setPriority(TicketPriority.MEDIUM);
     }
 
     // Validation and setters
@@ -128,9 +159,9 @@ public class Ticket {
     public void setStatus(TicketStatus status) {
         this.status = status;
         if (status == TicketStatus.DONE) {
-            this.resolvedAt = LocalDateTime.now();
+            this.setResolvedAt(LocalDateTime.now());
         } else {
-            this.resolvedAt = null;
+            this.setResolvedAt(null);
         }
     }
 
@@ -140,6 +171,7 @@ public class Ticket {
 
     public void setResolvedAt(LocalDateTime resolvedAt) {
         this.resolvedAt = resolvedAt;
+        this.resolutionHours = resolvedAt != null ? this.getResolutionTimeInHours() : null;
     }
 
     public boolean isResolved() {
@@ -166,6 +198,7 @@ public class Ticket {
             throw new TicketException("Priority must not be null");
         }
         this.priority = priority;
+        this.priorityRank = priority.ordinal();
     }
 
 }
@@ -0,0 +1,13 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class TicketAssignee {
+    private final UUID ticketId;
+    private final UUID assigneeId;
+}
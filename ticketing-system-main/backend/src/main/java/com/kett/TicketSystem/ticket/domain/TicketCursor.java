@@ -0,0 +1,76 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token of a keyset-paginated ticket listing.
+ * It remembers the sort value and id of the last delivered ticket, so the next page
+ * continues with an index range scan instead of an offset.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TicketCursor {
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "~";
+
+    private final TicketSortKey sortKey;
+    private final boolean descending;
+    private final Comparable<?> value;  // null -> cursor is positioned among the tickets without a sort value
+    private final UUID id;
+
+    public static TicketCursor after(TicketSummary ticket, TicketSortKey sortKey, boolean descending) {
+        return after(ticket.getId(), ticket.getCreationTime(), ticket.getDueTime(), ticket.getPriorityRank(), sortKey, descending);
+    }
+
+    private static TicketCursor after(
+            UUID id,
+            LocalDateTime creationTime,
+            LocalDateTime dueTime,
+            Integer priorityRank,
+            TicketSortKey sortKey,
+            boolean descending
+    ) {
+        Comparable<?> value = switch (sortKey) {
+            case CREATION_TIME -> creationTime;
+            case DUE_TIME -> dueTime;
+            case PRIORITY -> priorityRank;
+        };
+        return new TicketCursor(sortKey, descending, value, id);
+    }
+
+    public boolean isInNullSegment() {
+        return value == null;
+    }
+
+    public String encode() {
+        String plain = sortKey.name() + SEPARATOR +
+                (descending ? "d" : "a") + SEPARATOR +
+                (value == null ? NULL_VALUE : value.toString()) + SEPARATOR +
+                id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketCursor decode(String token) throws TicketException {
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = plain.split("\\" + SEPARATOR, 4);
+            TicketSortKey sortKey = TicketSortKey.valueOf(parts[0]);
+            boolean descending = parts[1].equals("d");
+            Comparable<?> value = parts[2].equals(NULL_VALUE) ? null : switch (sortKey) {
+                case CREATION_TIME, DUE_TIME -> LocalDateTime.parse(parts[2]);
+                case PRIORITY -> Integer.valueOf(parts[2]);
+            };
+            return new TicketCursor(sortKey, descending, value, UUID.fromString(parts[3]));
+        } catch (RuntimeException e) {
+            throw new TicketException("invalid continuation token: " + token);
+        }
+    }
+}
@@ -19,24 +19,38 @@ import com.kett.TicketSystem.ticket.domain.consumedData.*;
 import com.kett.TicketSystem.ticket.domain.events.*;
 import com.kett.TicketSystem.ticket.domain.exceptions.NoTicketFoundException;
 import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import com.kett.TicketSystem.ticket.domain.search.TicketSearchIndex;
 import com.kett.TicketSystem.ticket.repository.*;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TicketDomainService {
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int DEFAULT_TICKETS_PER_PHASE = 20;
+    public static final int MAX_TICKETS_PER_PHASE = 100;
+    public static final int RESOLUTION_BACKFILL_CHUNK_SIZE = 500;
+
     private final TicketRepository ticketRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
@@ -44,6 +58,8 @@ public class TicketDomainService {
     private final PhaseDataOfTicketRepository phaseDataOfTicketRepository;
     private final UserDataOfTicketRepository userDataOfTicketRepository;
     private final PhaseRepository phaseRepository; // Add this line
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public TicketDomainService(
@@ -53,7 +69,9 @@ public class TicketDomainService {
             MembershipDataOfTicketRepository membershipDataOfTicketRepository,
             PhaseDataOfTicketRepository phaseDataOfTicketRepository,
             UserDataOfTicketRepository userDataOfTicketRepository, 
-            PhaseRepository phaseRepository
+            PhaseRepository phaseRepository,
+            TicketSearchIndex ticketSearchIndex,
+            PlatformTransactionManager transactionManager
     ) {
         this.ticketRepository = ticketRepository;
         this.eventPublisher = eventPublisher;
@@ -62,6 +80,8 @@ public class TicketDomainService {
         this.phaseDataOfTicketRepository = phaseDataOfTicketRepository;
         this.userDataOfTicketRepository = userDataOfTicketRepository;
         this.phaseRepository = phaseRepository;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // create
@@ -78,8 +98,8 @@ public class TicketDomainService {
 
         // Set phaseId of ticket
         UUID firstPhaseOfProjectId = phaseDataOfTicketRepository
-                .findByProjectIdAndPreviousPhaseIdIsNull(ticket.getProjectId())
-                .get(0)
+                .findFirstByProjectIdOrderByRank(ticket.getProjectId())
+                .orElseThrow(() -> new ImpossibleException("The project with id: " + ticket.getProjectId() + " has no phases."))
                 .getPhaseId();
         ticket.setPhaseId(firstPhaseOfProjectId);
 
@@ -110,40 +130,114 @@ public class TicketDomainService {
     }
 
     // read
+    @Transactional(readOnly = true)
     public Ticket getTicketById(UUID id) throws NoTicketFoundException {
         return ticketRepository
                 .findById(id)
                 .orElseThrow(() -> new NoTicketFoundException("could not find ticket with id: " + id));
     }
 
-    public List<Ticket> getTicketsByPhaseId(UUID phaseId) throws NoTicketFoundException {
-        List<Ticket> tickets = ticketRepository.findByPhaseId(phaseId);
+    @Transactional(readOnly = true)
+    public List<Ticket> getTicketsByAssigneeId(UUID assigneeId) throws NoTicketFoundException {
+        List<Ticket> tickets = ticketRepository.findByAssigneeIdsContaining(assigneeId);
         if (tickets.isEmpty()) {
-            throw new NoTicketFoundException("could not find tickets with phaseId: " + phaseId);
+            throw new NoTicketFoundException("could not find tickets with assigneeId: " + assigneeId);
         }
         return tickets;
     }
 
-    public List<Ticket> getTicketsByProjectId(UUID projectId) throws NoTicketFoundException {
-        List<Ticket> tickets = ticketRepository.findByProjectId(projectId);
-        if (tickets.isEmpty()) {
-            throw new NoTicketFoundException("could not find tickets with projectId: " + projectId);
+    // read without materializing the tickets
+    @Transactional(readOnly = true)
+    public TicketPage<TicketSummary> getTicketSummaryPage(TicketQuery ticketQuery) throws NoTicketFoundException {
+        int pageSize = ticketQuery.getPageSize();
+        List<TicketSummary> tickets = ticketRepository.findSummariesByQuery(ticketQuery, pageSize + 1);
+        if (tickets.isEmpty() && ticketQuery.getCursor() == null) {
+            throw new NoTicketFoundException("could not find tickets matching the query");
         }
-        return tickets;
+        return toTicketPage(tickets, pageSize, ticket -> TicketCursor.after(ticket, ticketQuery.getSortKey(), ticketQuery.isDescending()));
     }
 
-    public List<Ticket> getTicketsByAssigneeId(UUID assigneeId) throws NoTicketFoundException {
-        List<Ticket> tickets = ticketRepository.findByAssigneeIdsContaining(assigneeId);
+    /**
+     * Returns the first tickets of every phase of the project that has tickets, in the default order of
+     * {@link #getTicketSummaryPage}. The cursor of each page continues the phase with a query of its phase id.
+     * Three queries, however many phases the project has.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, TicketPage<TicketSummary>> getFirstTicketPagesByPhase(UUID projectId, Integer ticketsPerPhase) throws TicketException {
+        int pageSize = ticketsPerPhase == null ? DEFAULT_TICKETS_PER_PHASE : ticketsPerPhase;
+        if (pageSize < 1 || pageSize > MAX_TICKETS_PER_PHASE) {
+            throw new TicketException("tickets per phase must be between 1 and " + MAX_TICKETS_PER_PHASE + " but was: " + pageSize);
+        }
+
+        // one more ticket per phase tells whether the phase continues
+        List<UUID> ticketIds = ticketRepository.findFirstTicketIdsOfPhases(projectId, pageSize + 1);
+        if (ticketIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<UUID, TicketSummary> ticketsById = ticketRepository
+                .findSummariesByIdIn(ticketIds)
+                .stream()
+                .collect(Collectors.toMap(TicketSummary::getId, ticket -> ticket));
+
+        Map<UUID, List<TicketSummary>> ticketsByPhase = new LinkedHashMap<>();
+        for (UUID ticketId : ticketIds) {
+            TicketSummary ticket = ticketsById.get(ticketId);
+            if (ticket != null && ticket.getPhaseId() != null) {
+                ticketsByPhase.computeIfAbsent(ticket.getPhaseId(), phaseId -> new ArrayList<>()).add(ticket);
+            }
+        }
+
+        Map<UUID, TicketPage<TicketSummary>> ticketPages = new LinkedHashMap<>();
+        ticketsByPhase.forEach((phaseId, tickets) -> ticketPages.put(
+                phaseId,
+                toTicketPage(tickets, pageSize, ticket -> TicketCursor.after(ticket, TicketSortKey.CREATION_TIME, false))
+        ));
+        return ticketPages;
+    }
+
+    // tickets holds one ticket more than the page if there is a next page
+    private static <T> TicketPage<T> toTicketPage(List<T> tickets, int pageSize, Function<T, TicketCursor> cursorAfter) {
+        if (tickets.size() <= pageSize) {
+            return new TicketPage<>(tickets, null);
+        }
+        List<T> page = tickets.subList(0, pageSize);
+        return new TicketPage<>(page, cursorAfter.apply(page.get(pageSize - 1)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Ticket> searchTickets(String text, Collection<UUID> projectIds, Integer limit) throws TicketException, NoTicketFoundException {
+        if (text == null || text.isBlank()) {
+            throw new TicketException("search text must not be empty");
+        }
+        int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (maxResults < 1 || maxResults > MAX_SEARCH_LIMIT) {
+            throw new TicketException("search limit must be between 1 and " + MAX_SEARCH_LIMIT + " but was: " + maxResults);
+        }
+
+        List<UUID> rankedTicketIds = ticketSearchIndex.search(text, projectIds, maxResults);
+        Map<UUID, Ticket> ticketsById = ticketRepository
+                .findAllById(rankedTicketIds)
+                .stream()
+                .collect(Collectors.toMap(Ticket::getId, ticket -> ticket));
+        List<Ticket> tickets = rankedTicketIds
+                .stream()
+                .map(ticketsById::get)
+                .filter(Objects::nonNull)
+                .toList();
         if (tickets.isEmpty()) {
-            throw new NoTicketFoundException("could not find tickets with assigneeId: " + assigneeId);
+            throw new NoTicketFoundException("could not find tickets matching: " + text);
         }
         return tickets;
     }
 
+    @Transactional(readOnly = true)
     public UUID getProjectIdByTicketId(UUID ticketId) throws NoTicketFoundException {
-        return this.getTicketById(ticketId).getProjectId();
+        return ticketRepository
+                .findProjectIdById(ticketId)
+                .orElseThrow(() -> new NoTicketFoundException("could not find ticket with id: " + ticketId));
     }
 
+    @Transactional(readOnly = true)
     public UUID getProjectIdByPhaseIdOfTicket(UUID phaseId) throws NoTicketFoundException {
         List<PhaseDataOfTicket> phaseData = phaseDataOfTicketRepository.findByPhaseId(phaseId);
         if (phaseData.isEmpty()) {
@@ -152,6 +246,43 @@ public class TicketDomainService {
         return phaseData.get(0).getProjectId();
     }
 
+    /**
+     * A query scoped to a project (directly or via phases) is permitted for admins and members of every
+     * involved project. Without project scope, callers may only query the tickets assigned to themselves.
+     */
+    @Transactional(readOnly = true)
+    public Boolean isQueryPermitted(
+            UUID projectId,
+            Collection<UUID> phaseIds,
+            Collection<UUID> assigneeIds,
+            Collection<? extends GrantedAuthority> authorities
+    ) throws TicketException {
+        Set<String> grantedAuthorities = authorities
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+
+        Set<UUID> projectIds = new HashSet<>();
+        if (projectId != null) {
+            projectIds.add(projectId);
+        }
+        if (phaseIds != null) {
+            phaseIds.forEach(phaseId -> projectIds.add(this.getProjectIdByPhaseIdOfTicket(phaseId)));
+        }
+
+        if (!projectIds.isEmpty()) {
+            return projectIds
+                    .stream()
+                    .allMatch(id ->
+                            grantedAuthorities.contains("ROLE_PROJECT_ADMIN_" + id) ||
+                            grantedAuthorities.contains("ROLE_PROJECT_MEMBER_" + id)
+                    );
+        }
+        return assigneeIds != null && !assigneeIds.isEmpty() && assigneeIds
+                .stream()
+                .allMatch(assigneeId -> grantedAuthorities.contains("ROLE_USER_" + assigneeId));
+    }
+
     // update
     public void patchTicket(
             UUID id,
@@ -163,6 +294,7 @@ public class TicketDomainService {
             Ticket.TicketPriority priority // New parameter for priority
     ) throws NoTicketFoundException, InvalidProjectMembersException, UnrelatedPhaseException {
         Ticket ticket = this.getTicketById(id);
+        UUID oldPhaseId = ticket.getPhaseId();
 
         if (title != null) {
             ticket.setTitle(title);
@@ -182,7 +314,6 @@ public class TicketDomainService {
                 );
             }
 
-            UUID oldPhaseId = ticket.getPhaseId();
             ticket.setPhaseId(phaseId);
 
             // Build phaseMap from repository
@@ -190,11 +321,13 @@ public class TicketDomainService {
             Map<UUID, String> phaseMap = phases.stream()
                 .collect(Collectors.toMap(Phase::getId, Phase::getName));
 
-            String phaseName = phaseMap.get(phaseId);
+            boolean wasDone = "DONE".equalsIgnoreCase(phaseMap.get(oldPhaseId));
+            boolean isDone = "DONE".equalsIgnoreCase(phaseMap.get(phaseId));
 
-            if ("DONE".equalsIgnoreCase(phaseName)) {
+            // only a move into DONE resolves the ticket, a ticket that stays in DONE keeps its resolution time
+            if (isDone && !wasDone) {
                 ticket.setResolvedAt(LocalDateTime.now());
-            } else {
+            } else if (!isDone) {
                 ticket.setResolvedAt(null);
             }
         }
@@ -209,15 +342,23 @@ public class TicketDomainService {
             publishAssignmentEvents(ticket, assigneeIds, ticket.getAssigneeIds());
             ticket.setAssigneeIds(assigneeIds);
         }
+        Ticket.TicketPriority oldPriority = ticket.getPriority();
         if (priority != null) {
             ticket.setPriority(priority); // Update priority if provided
         }
 
         ticketRepository.save(ticket);
+        if (title != null || description != null) {
+            eventPublisher.publishEvent(
+                    new TicketContentUpdatedEvent(ticket.getId(), ticket.getProjectId(), ticket.getTitle(), ticket.getDescription())
+            );
+        }
         if (phaseId != null) {
-            UUID oldPhaseId = ticket.getPhaseId();
             eventPublisher.publishEvent(new TicketPhaseUpdatedEvent(ticket.getId(), ticket.getProjectId(), oldPhaseId, phaseId));
         }
+        if (priority != null && priority != oldPriority) {
+            eventPublisher.publishEvent(new TicketPriorityUpdatedEvent(ticket.getId(), ticket.getProjectId(), oldPriority, priority));
+        }
     }
 
     private Boolean phaseBelongsToProject(UUID phaseId, UUID projectIdCandidate) {
@@ -256,18 +397,47 @@ public class TicketDomainService {
         ticketRepository.deleteByProjectId(projectId);
     }
 
+    // maintenance
+
+    /**
+     * Fills the stored resolution time of tickets that were resolved before it was persisted.
+     * Every chunk is loaded and updated in its own transaction, so the updates are flushed as jdbc batches.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillResolutionHours() {
+        boolean backfilled;
+        do {
+            backfilled = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<Ticket> chunk = ticketRepository.findByResolvedAtIsNotNullAndResolutionHoursIsNull(
+                        PageRequest.of(0, RESOLUTION_BACKFILL_CHUNK_SIZE)
+                );
+                chunk.forEach(ticket -> ticket.setResolvedAt(ticket.getResolvedAt()));
+                return !chunk.isEmpty();
+            }));
+        } while (backfilled);
+    }
+
     // event listeners
+    @EventListener
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void handleApplicationReadyEvent(ApplicationReadyEvent applicationReadyEvent) {
+        this.backfillResolutionHours();
+    }
+
     @EventListener
     @Async
     public void handleMembershipDeletedEvent(MembershipDeletedEvent membershipDeletedEvent) {
-        List<Ticket> tickets = ticketRepository
-                .findByProjectId(membershipDeletedEvent.getProjectId())
-                .stream()
-                .filter(ticket -> ticket.isAssignee(membershipDeletedEvent.getUserId()))
-                .toList();
+        List<Ticket> tickets = ticketRepository.findByProjectIdAndAssigneeIdsContaining(
+                membershipDeletedEvent.getProjectId(),
+                membershipDeletedEvent.getUserId()
+        );
 
         tickets.forEach(ticket -> ticket.removeAssignee(membershipDeletedEvent.getUserId()));
         ticketRepository.saveAll(tickets);
+        tickets.forEach(ticket -> eventPublisher.publishEvent(
+                new TicketUnassignedEvent(ticket.getId(), ticket.getProjectId(), membershipDeletedEvent.getUserId())
+        ));
 
         membershipDataOfTicketRepository.deleteByMembershipId(membershipDeletedEvent.getMembershipId());
     }
@@ -308,7 +478,7 @@ public class TicketDomainService {
         phaseDataOfTicketRepository.save(
                 new PhaseDataOfTicket(
                         phaseCreatedEvent.getPhaseId(),
-                        phaseCreatedEvent.getPreviousPhaseId(),
+                        phaseCreatedEvent.getRank(),
                         phaseCreatedEvent.getProjectId()
                 )
         );
@@ -318,7 +488,7 @@ public class TicketDomainService {
     public void handlePhasePositionUpdatedEvent(PhasePositionUpdatedEvent phasePositionUpdatedEvent) {
         List<PhaseDataOfTicket> foundPhaseData = phaseDataOfTicketRepository.findByPhaseId(phasePositionUpdatedEvent.getPhaseId());
         PhaseDataOfTicket phaseDataOfTicket = foundPhaseData.get(0);
-        phaseDataOfTicket.setPreviousPhaseId(phasePositionUpdatedEvent.getPreviousPhaseId());
+        phaseDataOfTicket.setRank(phasePositionUpdatedEvent.getRank());
         phaseDataOfTicketRepository.save(phaseDataOfTicket);
     }
 
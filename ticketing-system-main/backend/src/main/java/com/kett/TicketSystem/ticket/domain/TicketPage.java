@@ -0,0 +1,18 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+// T is the ticket entity or its read-only summary
+public class TicketPage<T> {
+    private final List<T> tickets;
+    private final TicketCursor nextCursor; // null if there are no further tickets
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,117 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Combination of ticket filters plus sort order and page position.
+ * All filters are optional and combined with AND; set-valued filters match any of their values.
+ */
+@Getter
+public class TicketQuery {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_TEXT_LENGTH = 200;
+
+    private UUID projectId;
+    private final Set<UUID> phaseIds = new LinkedHashSet<>();
+    private final Set<UUID> assigneeIds = new LinkedHashSet<>();
+    private final Set<Ticket.TicketPriority> priorities = new LinkedHashSet<>();
+    private final Set<Ticket.TicketStatus> statuses = new LinkedHashSet<>();
+    private LocalDateTime dueAfter;
+    private LocalDateTime dueBefore;
+    private String text;
+
+    private TicketSortKey sortKey = TicketSortKey.CREATION_TIME;
+    private boolean descending = false;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private TicketCursor cursor;
+
+    public TicketQuery withProjectId(UUID projectId) {
+        this.projectId = projectId;
+        return this;
+    }
+
+    public TicketQuery withPhaseIds(Collection<UUID> phaseIds) {
+        if (phaseIds != null) {
+            this.phaseIds.addAll(phaseIds);
+        }
+        return this;
+    }
+
+    public TicketQuery withAssigneeIds(Collection<UUID> assigneeIds) {
+        if (assigneeIds != null) {
+            this.assigneeIds.addAll(assigneeIds);
+        }
+        return this;
+    }
+
+    public TicketQuery withPriorities(Collection<Ticket.TicketPriority> priorities) {
+        if (priorities != null) {
+            this.priorities.addAll(priorities);
+        }
+        return this;
+    }
+
+    public TicketQuery withStatuses(Collection<Ticket.TicketStatus> statuses) {
+        if (statuses != null) {
+            this.statuses.addAll(statuses);
+        }
+        return this;
+    }
+
+    public TicketQuery withDueTimeBetween(LocalDateTime dueAfter, LocalDateTime dueBefore) throws TicketException {
+        if (dueAfter != null && dueBefore != null && dueAfter.isAfter(dueBefore)) {
+            throw new TicketException("due-after (" + dueAfter + ") must not be later than due-before (" + dueBefore + ")");
+        }
+        this.dueAfter = dueAfter;
+        this.dueBefore = dueBefore;
+        return this;
+    }
+
+    public TicketQuery withText(String text) throws TicketException {
+        if (text == null || text.isBlank()) {
+            this.text = null;
+            return this;
+        }
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new TicketException("text filter must not be longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        this.text = text.trim();
+        return this;
+    }
+
+    public TicketQuery sortedBy(TicketSortKey sortKey, boolean descending) {
+        if (sortKey == null) {
+            throw new TicketException("sortKey must not be null");
+        }
+        this.sortKey = sortKey;
+        this.descending = descending;
+        return this;
+    }
+
+    public TicketQuery withPageSize(Integer pageSize) throws TicketException {
+        if (pageSize == null) {
+            return this;
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new TicketException("page size must be between 1 and " + MAX_PAGE_SIZE + " but was: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public TicketQuery after(TicketCursor cursor) throws TicketException {
+        if (cursor != null && (cursor.getSortKey() != this.sortKey || cursor.isDescending() != this.descending)) {
+            throw new TicketException("continuation token does not match the requested sort order");
+        }
+        this.cursor = cursor;
+        return this;
+    }
+}
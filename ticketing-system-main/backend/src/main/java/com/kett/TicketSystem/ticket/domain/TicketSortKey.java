@@ -0,0 +1,33 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import lombok.Getter;
+
+@Getter
+public enum TicketSortKey {
+    CREATION_TIME("creation-time", "creationTime", false),
+    DUE_TIME("due-time", "dueTime", true),
+    PRIORITY("priority", "priorityRank", true);
+
+    private final String parameterName;
+    private final String attributeName;
+    private final boolean nullable;
+
+    TicketSortKey(String parameterName, String attributeName, boolean nullable) {
+        this.parameterName = parameterName;
+        this.attributeName = attributeName;
+        this.nullable = nullable;
+    }
+
+    public static TicketSortKey fromString(String value) throws TicketException {
+        if (value == null || value.isEmpty()) {
+            return CREATION_TIME;
+        }
+        for (TicketSortKey sortKey : values()) {
+            if (sortKey.parameterName.equalsIgnoreCase(value)) {
+                return sortKey;
+            }
+        }
+        throw new TicketException("cannot sort tickets by: " + value);
+    }
+}
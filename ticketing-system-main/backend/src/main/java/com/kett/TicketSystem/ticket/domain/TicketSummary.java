@@ -0,0 +1,48 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only view of a ticket for listings. Selected column by column, so listing tickets neither fills the
+ * persistence context nor loads the assignees ticket by ticket.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketSummary {
+    private final UUID id;
+    private final String title;
+    private final String description;
+    private final LocalDateTime creationTime;
+    private final LocalDateTime dueTime;
+    private final UUID phaseId;
+    private final UUID projectId;
+    private final Ticket.TicketPriority priority;
+    private final List<UUID> assigneeIds;
+
+    // the assignees are read separately for all tickets of a listing
+    public TicketSummary(
+            UUID id,
+            String title,
+            String description,
+            LocalDateTime creationTime,
+            LocalDateTime dueTime,
+            UUID phaseId,
+            UUID projectId,
+            Ticket.TicketPriority priority
+    ) {
+        this(id, title, description, creationTime, dueTime, phaseId, projectId, priority, List.of());
+    }
+
+    public TicketSummary withAssigneeIds(List<UUID> assigneeIds) {
+        return new TicketSummary(id, title, description, creationTime, dueTime, phaseId, projectId, priority, List.copyOf(assigneeIds));
+    }
+
+    public Integer getPriorityRank() {
+        return priority == null ? null : priority.ordinal();
+    }
+}
@@ -1,6 +1,8 @@
 package com.kett.TicketSystem.ticket.domain.consumedData;
 
+import com.kett.TicketSystem.common.persistence.UuidIdentifierGenerator;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.util.UUID;
@@ -11,7 +13,8 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PhaseDataOfTicket {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = UuidIdentifierGenerator.NAME)
+    @GenericGenerator(name = UuidIdentifierGenerator.NAME, strategy = UuidIdentifierGenerator.STRATEGY)
     @Setter(AccessLevel.PROTECTED)
     @Column(length = 16)
     UUID id;
@@ -20,15 +23,14 @@ public class PhaseDataOfTicket {
     UUID phaseId;
 
     @Setter
-    @Column(length = 16)
-    UUID previousPhaseId;
+    Long rank;
 
     @Column(length = 16)
     UUID projectId;
 
-    public PhaseDataOfTicket(@NonNull UUID phaseId, UUID previousPhaseId, @NonNull UUID projectId) {
+    public PhaseDataOfTicket(@NonNull UUID phaseId, @NonNull Long rank, @NonNull UUID projectId) {
         this.phaseId = phaseId;
-        this.previousPhaseId = previousPhaseId;
+        this.rank = rank;
         this.projectId = projectId;
     }
 }
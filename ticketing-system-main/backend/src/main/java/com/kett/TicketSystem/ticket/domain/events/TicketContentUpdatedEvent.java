@@ -0,0 +1,22 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class TicketContentUpdatedEvent extends DomainEvent {
+    private final UUID ticketId;
+    private final UUID projectId;
+    private final String title;
+    private final String description;
+
+    public TicketContentUpdatedEvent(UUID ticketId, UUID projectId, String title, String description) {
+        super();
+        this.ticketId = ticketId;
+        this.projectId = projectId;
+        this.title = title;
+        this.description = description;
+    }
+}
@@ -0,0 +1,23 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class TicketPriorityUpdatedEvent extends DomainEvent {
+    private final UUID ticketId;
+    private final UUID projectId;
+    private final Ticket.TicketPriority oldPriority;
+    private final Ticket.TicketPriority newPriority;
+
+    public TicketPriorityUpdatedEvent(UUID ticketId, UUID projectId, Ticket.TicketPriority oldPriority, Ticket.TicketPriority newPriority) {
+        super();
+        this.ticketId = ticketId;
+        this.projectId = projectId;
+        this.oldPriority = oldPriority;
+        this.newPriority = newPriority;
+    }
+}
@@ -0,0 +1,15 @@
+package com.kett.TicketSystem.ticket.domain.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class TicketSearchDocument {
+    private final UUID ticketId;
+    private final UUID projectId;
+    private final String title;
+    private final String description;
+}
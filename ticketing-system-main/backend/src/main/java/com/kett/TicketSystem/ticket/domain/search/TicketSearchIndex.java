@@ -0,0 +1,292 @@
+package com.kett.TicketSystem.ticket.domain.search;
+
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketContentUpdatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketCreatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node inverted index over ticket titles and descriptions, partitioned by project so that a search
+ * only touches the posting lists of the projects the caller may see. Results are ranked with BM25,
+ * title terms count twice. The index is rebuilt from the database on startup and kept up to date by
+ * ticket events after they commit. Deletes that arrive while the index is rebuilt are applied again
+ * after the rebuild, which may have read the deleted tickets before.
+ */
+@Service
+public class TicketSearchIndex {
+    public static final int REBUILD_CHUNK_SIZE = 5000;
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketSearchIndex.class);
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // rough per-entry sizes of the concurrent maps, used for the memory gauge only
+    private static final long BYTES_PER_POSTING = 96;
+    private static final long BYTES_PER_TERM = 120;
+    private static final long BYTES_PER_DOCUMENT = 200;
+
+    private final TicketRepository ticketRepository;
+    private final Map<UUID, ProjectPartition> partitions = new ConcurrentHashMap<>();
+    private final Map<UUID, IndexedTicket> documents = new ConcurrentHashMap<>();
+
+    // tickets and projects deleted while the index is rebuilt
+    private final Set<UUID> deletedTicketIds = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> deletedProjectIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding = false;
+
+    @Getter
+    private volatile boolean ready = false;
+
+    @Autowired
+    public TicketSearchIndex(TicketRepository ticketRepository, MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+
+        Gauge.builder("ticket.search.index.documents", documents, Map::size)
+                .description("tickets in the full-text index")
+                .register(meterRegistry);
+        Gauge.builder("ticket.search.index.terms", this, TicketSearchIndex::countTerms)
+                .description("distinct terms summed over all project partitions")
+                .register(meterRegistry);
+        Gauge.builder("ticket.search.index.memory", this, TicketSearchIndex::estimateMemoryInBytes)
+                .description("estimated heap used by the full-text index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("ticket.search.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .description("1 once the startup rebuild has finished")
+                .register(meterRegistry);
+    }
+
+    // search
+    public List<UUID> search(String text, Collection<UUID> projectIds, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TicketTokenizer.tokenize(text));
+        if (terms.isEmpty() || limit < 1) {
+            return new ArrayList<>();
+        }
+
+        Map<UUID, Double> scores = new HashMap<>();
+        for (UUID projectId : projectIds) {
+            ProjectPartition partition = partitions.get(projectId);
+            if (partition != null) {
+                partition.score(terms, scores);
+            }
+        }
+
+        PriorityQueue<Map.Entry<UUID, Double>> best = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<UUID, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<UUID> ticketIds = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ticketIds.add(best.poll().getKey());
+        }
+        Collections.reverse(ticketIds);
+        return ticketIds;
+    }
+
+    // maintenance
+    public void index(TicketSearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        TicketTokenizer.tokenize(document.getTitle()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        TicketTokenizer.tokenize(document.getDescription()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        IndexedTicket indexedTicket = new IndexedTicket(document.getProjectId(), frequencies);
+
+        // compute serializes concurrent updates of the same ticket
+        documents.compute(document.getTicketId(), (ticketId, previous) -> {
+            if (previous != null) {
+                partitionOf(previous.projectId).remove(ticketId, previous);
+            }
+            partitionOf(indexedTicket.projectId).add(ticketId, indexedTicket);
+            return indexedTicket;
+        });
+    }
+
+    public void remove(UUID ticketId) {
+        if (rebuilding) {
+            deletedTicketIds.add(ticketId);
+        }
+        documents.computeIfPresent(ticketId, (id, previous) -> {
+            partitionOf(previous.projectId).remove(id, previous);
+            return null;
+        });
+    }
+
+    public void removeProject(UUID projectId) {
+        if (rebuilding) {
+            deletedProjectIds.add(projectId);
+        }
+        ProjectPartition partition = partitions.remove(projectId);
+        if (partition != null) {
+            partition.documentLengths.keySet().forEach(documents::remove);
+        }
+    }
+
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        long indexedTickets = 0;
+        rebuilding = true;
+        try {
+            List<TicketSearchDocument> chunk = ticketRepository.findSearchDocuments(PageRequest.of(0, REBUILD_CHUNK_SIZE));
+            while (!chunk.isEmpty()) {
+                chunk.parallelStream().forEach(this::index);
+                indexedTickets += chunk.size();
+                if (chunk.size() < REBUILD_CHUNK_SIZE) {
+                    break;
+                }
+                UUID lastTicketId = chunk.get(chunk.size() - 1).getTicketId();
+                chunk = ticketRepository.findSearchDocumentsAfter(lastTicketId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+            }
+        } finally {
+            rebuilding = false;
+            // a delete seen after this point removes its ticket itself, after everything the rebuild indexed
+            for (UUID ticketId : deletedTicketIds) {
+                deletedTicketIds.remove(ticketId);
+                this.remove(ticketId);
+            }
+            for (UUID projectId : deletedProjectIds) {
+                deletedProjectIds.remove(projectId);
+                this.removeProject(projectId);
+            }
+        }
+        ready = true;
+        logger.info("indexed {} tickets for full-text search in {} ms", indexedTickets, System.currentTimeMillis() - startTime);
+    }
+
+    public long countTerms() {
+        return partitions.values().stream().mapToLong(partition -> partition.postings.size()).sum();
+    }
+
+    public long estimateMemoryInBytes() {
+        long postings = 0;
+        for (ProjectPartition partition : partitions.values()) {
+            for (Map<UUID, Integer> posting : partition.postings.values()) {
+                postings += posting.size();
+            }
+        }
+        return postings * BYTES_PER_POSTING * 2 // postings are mirrored in the per-ticket term frequencies
+                + countTerms() * BYTES_PER_TERM
+                + documents.size() * BYTES_PER_DOCUMENT;
+    }
+
+    private ProjectPartition partitionOf(UUID projectId) {
+        return partitions.computeIfAbsent(projectId, id -> new ProjectPartition());
+    }
+
+    // event listeners
+    @EventListener
+    @Async
+    public void handleApplicationReadyEvent(ApplicationReadyEvent applicationReadyEvent) {
+        this.rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketCreatedEvent(TicketCreatedEvent ticketCreatedEvent) {
+        ticketRepository
+                .findById(ticketCreatedEvent.getTicketId())
+                .ifPresent(ticket -> this.index(
+                        new TicketSearchDocument(ticket.getId(), ticket.getProjectId(), ticket.getTitle(), ticket.getDescription())
+                ));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketContentUpdatedEvent(TicketContentUpdatedEvent ticketContentUpdatedEvent) {
+        this.index(
+                new TicketSearchDocument(
+                        ticketContentUpdatedEvent.getTicketId(),
+                        ticketContentUpdatedEvent.getProjectId(),
+                        ticketContentUpdatedEvent.getTitle(),
+                        ticketContentUpdatedEvent.getDescription()
+                )
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketDeletedEvent(TicketDeletedEvent ticketDeletedEvent) {
+        this.remove(ticketDeletedEvent.getTicketId());
+    }
+
+    @EventListener
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        this.removeProject(projectDeletedEvent.getProjectId());
+    }
+
+    private static class IndexedTicket {
+        private final UUID projectId;
+        private final Map<String, Integer> frequencies;
+        private final int length;
+
+        private IndexedTicket(UUID projectId, Map<String, Integer> frequencies) {
+            this.projectId = projectId;
+            this.frequencies = frequencies;
+            this.length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    private static class ProjectPartition {
+        private final Map<String, Map<UUID, Integer>> postings = new ConcurrentHashMap<>();
+        private final Map<UUID, Integer> documentLengths = new ConcurrentHashMap<>();
+        private final AtomicLong totalLength = new AtomicLong();
+
+        private void add(UUID ticketId, IndexedTicket indexedTicket) {
+            indexedTicket.frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(ticketId, frequency)
+            );
+            documentLengths.put(ticketId, indexedTicket.length);
+            totalLength.addAndGet(indexedTicket.length);
+        }
+
+        private void remove(UUID ticketId, IndexedTicket indexedTicket) {
+            indexedTicket.frequencies.keySet().forEach(term ->
+                    postings.computeIfPresent(term, (t, posting) -> {
+                        posting.remove(ticketId);
+                        return posting.isEmpty() ? null : posting;
+                    })
+            );
+            if (documentLengths.remove(ticketId) != null) {
+                totalLength.addAndGet(-indexedTicket.length);
+            }
+        }
+
+        private void score(Set<String> terms, Map<UUID, Double> scores) {
+            int documentCount = documentLengths.size();
+            if (documentCount == 0) {
+                return;
+            }
+            double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+
+            for (String term : terms) {
+                Map<UUID, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                int documentFrequency = posting.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                posting.forEach((ticketId, frequency) -> {
+                    int length = documentLengths.getOrDefault(ticketId, (int) averageLength);
+                    double norm = K1 * (1 - B + B * length / averageLength);
+                    scores.merge(ticketId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -12,7 +13,7 @@ public interface PhaseDataOfTicketRepository extends JpaRepository<PhaseDataOfTi
     List<PhaseDataOfTicket> findByPhaseId(UUID phaseId);
     Integer deleteByPhaseId(UUID projectId);
     List<PhaseDataOfTicket> findByProjectId(UUID projectId);
-    List<PhaseDataOfTicket> findByProjectIdAndPreviousPhaseIdIsNull(UUID projectId);
+    Optional<PhaseDataOfTicket> findFirstByProjectIdOrderByRank(UUID projectId);
     Integer deleteByProjectId(UUID projectId);
 
     Boolean existsByPhaseId(UUID phaseId);
@@ -1,30 +1,40 @@
 package com.kett.TicketSystem.ticket.repository;
 
 import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.search.TicketSearchDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, TicketRepositoryCustom {
     List<Ticket> findByPhaseId(UUID phaseId);
     List<Ticket> findByProjectId(UUID projectId);
-    List<Ticket> findByAssigneeIdsContaining(UUID assigneeId);
-    List<Ticket> findByPhaseIdInAndAssigneeIdsContaining(List<UUID> phaseIds, UUID assigneeId);
-    List<Ticket> findByAssigneeIdsContainingAndDueTimeBetween(UUID assigneeId, LocalDateTime startOfDay, LocalDateTime endOfDay);
+    List<Ticket> findByResolvedAtIsNotNullAndResolutionHoursIsNull(Pageable pageable);
     Boolean existsByPhaseIdEquals(UUID phaseId);
     void deleteByProjectId(UUID projectId);
     Long removeById(UUID id);
 
-    @Query("SELECT DISTINCT t FROM Ticket t JOIN t.assigneeIds ai " +
-           "WHERE t.dueTime >= :startOfDay AND t.dueTime <= :endOfDay AND t.status != 'DONE'")
-    List<Ticket> findByDueTimeBetweenAndNotResolved(LocalDateTime startOfDay, LocalDateTime endOfDay);
+    // joined from the assignee, so that the (assignee_id, ticket_id) index is used instead of a scan of all assignees
+    @Query("SELECT t FROM Ticket t JOIN t.assigneeIds a WHERE a = :assigneeId")
+    List<Ticket> findByAssigneeIdsContaining(UUID assigneeId);
+
+    @Query("SELECT t FROM Ticket t JOIN t.assigneeIds a WHERE a = :assigneeId AND t.projectId = :projectId")
+    List<Ticket> findByProjectIdAndAssigneeIdsContaining(UUID projectId, UUID assigneeId);
+
+    @Query("SELECT t.projectId FROM Ticket t WHERE t.id = :id")
+    Optional<UUID> findProjectIdById(UUID id);
+
+    @Query("SELECT new com.kett.TicketSystem.ticket.domain.search.TicketSearchDocument(t.id, t.projectId, t.title, t.description) " +
+           "FROM Ticket t ORDER BY t.id")
+    List<TicketSearchDocument> findSearchDocuments(Pageable pageable);
 
-    @Query("SELECT t FROM Ticket t " +
-           "WHERE t.dueTime < :beforeDate AND t.status != 'DONE'")
-    List<Ticket> findOverdueAndNotResolved(LocalDateTime beforeDate);
-}
\ No newline at end of file
+    @Query("SELECT new com.kett.TicketSystem.ticket.domain.search.TicketSearchDocument(t.id, t.projectId, t.title, t.description) " +
+           "FROM Ticket t WHERE t.id > :afterId ORDER BY t.id")
+    List<TicketSearchDocument> findSearchDocumentsAfter(UUID afterId, Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import com.kett.TicketSystem.ticket.domain.TicketQuery;
+import com.kett.TicketSystem.ticket.domain.TicketSummary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TicketRepositoryCustom {
+    List<TicketSummary> findSummariesByQuery(TicketQuery ticketQuery, int limit);
+    List<TicketSummary> findSummariesByIdIn(Collection<UUID> ids);
+    List<UUID> findFirstTicketIdsOfPhases(UUID projectId, int ticketsPerPhase);
+}
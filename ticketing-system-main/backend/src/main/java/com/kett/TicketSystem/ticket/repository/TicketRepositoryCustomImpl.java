@@ -0,0 +1,228 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketAssignee;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
+import com.kett.TicketSystem.ticket.domain.TicketQuery;
+import com.kett.TicketSystem.ticket.domain.TicketSummary;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.UUIDCharType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * Keyset pagination over tickets. Tickets with a sort value are delivered first (value segment),
+ * tickets without one last (null segment). Each segment is read with its own range query on
+ * (sort value, id), so paging stays index-backed regardless of the dialect's null ordering.
+ * All filters of the query are applied to both segments. The tickets are read as summaries selected
+ * column by column.
+ */
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+    private static final char LIKE_ESCAPE = '!';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketSummary> findSummariesByQuery(TicketQuery ticketQuery, int limit) {
+        return withAssignees(findByQuery(ticketQuery, limit, TicketSummary.class, this::selectSummary));
+    }
+
+    @Override
+    public List<TicketSummary> findSummariesByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketSummary> cq = cb.createQuery(TicketSummary.class);
+        Root<Ticket> ticket = cq.from(Ticket.class);
+        cq.select(selectSummary(cb, ticket)).where(ticket.get("id").in(ids));
+        return withAssignees(entityManager.createQuery(cq).getResultList());
+    }
+
+    private <T> List<T> findByQuery(
+            TicketQuery ticketQuery,
+            int limit,
+            Class<T> resultClass,
+            BiFunction<CriteriaBuilder, Root<Ticket>, Selection<T>> selection
+    ) {
+        TicketCursor cursor = ticketQuery.getCursor();
+        List<T> tickets = new ArrayList<>();
+
+        if (cursor == null || !cursor.isInNullSegment()) {
+            tickets.addAll(findValueSegment(ticketQuery, cursor, limit, resultClass, selection));
+        }
+        if (ticketQuery.getSortKey().isNullable() && tickets.size() < limit) {
+            TicketCursor nullSegmentCursor = (cursor != null && cursor.isInNullSegment()) ? cursor : null;
+            tickets.addAll(findNullSegment(ticketQuery, nullSegmentCursor, limit - tickets.size(), resultClass, selection));
+        }
+        return tickets;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private <T> List<T> findValueSegment(
+            TicketQuery ticketQuery,
+            TicketCursor cursor,
+            int limit,
+            Class<T> resultClass,
+            BiFunction<CriteriaBuilder, Root<Ticket>, Selection<T>> selection
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(resultClass);
+        Root<Ticket> ticket = cq.from(Ticket.class);
+        Path<Comparable> sortValue = ticket.get(ticketQuery.getSortKey().getAttributeName());
+        Path<UUID> id = ticket.get("id");
+        boolean descending = ticketQuery.isDescending();
+
+        List<Predicate> predicates = filterPredicates(cb, ticket, cq, ticketQuery);
+        predicates.add(cb.isNotNull(sortValue));
+        if (cursor != null) {
+            Comparable value = cursor.getValue();
+            predicates.add(cb.or(
+                    descending ? cb.lessThan(sortValue, value) : cb.greaterThan(sortValue, value),
+                    cb.and(cb.equal(sortValue, value), descending ? cb.lessThan(id, cursor.getId()) : cb.greaterThan(id, cursor.getId()))
+            ));
+        }
+
+        cq.select(selection.apply(cb, ticket))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order(cb, sortValue, descending), order(cb, id, descending));
+        return entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+
+    private <T> List<T> findNullSegment(
+            TicketQuery ticketQuery,
+            TicketCursor cursor,
+            int limit,
+            Class<T> resultClass,
+            BiFunction<CriteriaBuilder, Root<Ticket>, Selection<T>> selection
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(resultClass);
+        Root<Ticket> ticket = cq.from(Ticket.class);
+        Path<UUID> id = ticket.get("id");
+        boolean descending = ticketQuery.isDescending();
+
+        List<Predicate> predicates = filterPredicates(cb, ticket, cq, ticketQuery);
+        predicates.add(cb.isNull(ticket.get(ticketQuery.getSortKey().getAttributeName())));
+        if (cursor != null) {
+            predicates.add(descending ? cb.lessThan(id, cursor.getId()) : cb.greaterThan(id, cursor.getId()));
+        }
+
+        cq.select(selection.apply(cb, ticket))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order(cb, id, descending));
+        return entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Ids of the first tickets of every phase of the project in the order of {@link #findByQuery} with the default sort,
+     * phase by phase. Window functions are not part of jpql, hence the native query.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> findFirstTicketIdsOfPhases(UUID projectId, int ticketsPerPhase) {
+        return entityManager
+                .createNativeQuery("SELECT \"id\" FROM (" +
+                        "SELECT \"id\", \"phase_id\", ROW_NUMBER() OVER (PARTITION BY \"phase_id\" ORDER BY \"creation_time\", \"id\") AS \"position\" " +
+                        "FROM \"ticket\" WHERE \"project_id\" = :projectId) AS \"ranked\" " +
+                        "WHERE \"position\" <= :ticketsPerPhase ORDER BY \"phase_id\", \"position\"")
+                .setParameter("projectId", projectId)
+                .setParameter("ticketsPerPhase", ticketsPerPhase)
+                .unwrap(NativeQuery.class)
+                // read as text, the dialects disagree on the jdbc type of uuid columns
+                .addScalar("id", UUIDCharType.INSTANCE)
+                .getResultList();
+    }
+
+    private Selection<TicketSummary> selectSummary(CriteriaBuilder cb, Root<Ticket> ticket) {
+        return cb.construct(
+                TicketSummary.class,
+                ticket.get("id"),
+                ticket.get("title"),
+                ticket.get("description"),
+                ticket.get("creationTime"),
+                ticket.get("dueTime"),
+                ticket.get("phaseId"),
+                ticket.get("projectId"),
+                ticket.get("priority")
+        );
+    }
+
+    // the assignees of all summaries in one query, in the order of the list
+    private List<TicketSummary> withAssignees(List<TicketSummary> tickets) {
+        if (tickets.isEmpty()) {
+            return tickets;
+        }
+        Map<UUID, List<UUID>> assigneeIdsByTicket = new HashMap<>();
+        entityManager
+                .createQuery("SELECT new com.kett.TicketSystem.ticket.domain.TicketAssignee(t.id, a) " +
+                        "FROM Ticket t JOIN t.assigneeIds a WHERE t.id IN :ticketIds ORDER BY INDEX(a)", TicketAssignee.class)
+                .setParameter("ticketIds", tickets.stream().map(TicketSummary::getId).toList())
+                .getResultList()
+                .forEach(ticketAssignee -> assigneeIdsByTicket
+                        .computeIfAbsent(ticketAssignee.getTicketId(), ticketId -> new ArrayList<>())
+                        .add(ticketAssignee.getAssigneeId())
+                );
+
+        List<TicketSummary> ticketsWithAssignees = new ArrayList<>(tickets.size());
+        for (TicketSummary ticket : tickets) {
+            List<UUID> assigneeIds = assigneeIdsByTicket.get(ticket.getId());
+            ticketsWithAssignees.add(assigneeIds == null ? ticket : ticket.withAssigneeIds(assigneeIds));
+        }
+        return ticketsWithAssignees;
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Ticket> ticket, CriteriaQuery<?> cq, TicketQuery ticketQuery) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (ticketQuery.getProjectId() != null) {
+            predicates.add(cb.equal(ticket.get("projectId"), ticketQuery.getProjectId()));
+        }
+        if (!ticketQuery.getPhaseIds().isEmpty()) {
+            predicates.add(ticket.get("phaseId").in(ticketQuery.getPhaseIds()));
+        }
+        if (!ticketQuery.getAssigneeIds().isEmpty()) {
+            // subquery instead of a join, so tickets with several matching assignees are not returned twice
+            Subquery<UUID> assigned = cq.subquery(UUID.class);
+            Root<Ticket> assignedTicket = assigned.from(Ticket.class);
+            Join<Ticket, UUID> assigneeIds = assignedTicket.join("assigneeIds");
+            assigned.select(assignedTicket.get("id")).where(assigneeIds.in(ticketQuery.getAssigneeIds()));
+            predicates.add(ticket.get("id").in(assigned));
+        }
+        if (!ticketQuery.getPriorities().isEmpty()) {
+            predicates.add(ticket.get("priority").in(ticketQuery.getPriorities()));
+        }
+        if (!ticketQuery.getStatuses().isEmpty()) {
+            predicates.add(ticket.get("status").in(ticketQuery.getStatuses()));
+        }
+        if (ticketQuery.getDueAfter() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(ticket.get("dueTime"), ticketQuery.getDueAfter()));
+        }
+        if (ticketQuery.getDueBefore() != null) {
+            predicates.add(cb.lessThanOrEqualTo(ticket.get("dueTime"), ticketQuery.getDueBefore()));
+        }
+        if (ticketQuery.getText() != null) {
+            String pattern = "%" + escapeLikePattern(ticketQuery.getText().toLowerCase()) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(ticket.get("title")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(ticket.get("description")), pattern, LIKE_ESCAPE)
+            ));
+        }
+        return predicates;
+    }
+
+    private static String escapeLikePattern(String text) {
+        return text
+                .replace(String.valueOf(LIKE_ESCAPE), String.valueOf(LIKE_ESCAPE) + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+    }
+
+    private Order order(CriteriaBuilder cb, Expression<?> expression, boolean descending) {
+        return descending ? cb.desc(expression) : cb.asc(expression);
+    }
+}
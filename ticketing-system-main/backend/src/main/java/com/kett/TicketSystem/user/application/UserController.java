@@ -29,12 +29,14 @@ public class UserController {
     }
 
 
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDto> getUser(@PathVariable UUID id) {
         UserResponseDto userResponseDto = userApplicationService.getUserById(id);
         return new ResponseEntity<>(userResponseDto, HttpStatus.OK);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<UserResponseDto> getUserByQuery(
             @RequestParam(name = "email", required = true) String email
@@ -62,31 +62,37 @@ public class UserDomainService implements UserDetailsService {
 
     // read
 
+    @Transactional(readOnly = true)
     public User getUserById(UUID id) throws NoUserFoundException {
         return userRepository
                 .findById(id)
                 .orElseThrow(() -> new NoUserFoundException("could not find user with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public User getUserByEMailAddress(EmailAddress eMailAddress) throws NoUserFoundException {
         return userRepository
                 .findByEmailEquals(eMailAddress)
                 .orElseThrow(() -> new NoUserFoundException("could not find user with eMailAddress: " + eMailAddress));
     }
 
+    @Transactional(readOnly = true)
     public UUID getUserIdByEmail(EmailAddress postingUserEmail) throws NoUserFoundException {
         return this.getUserByEMailAddress(postingUserEmail).getId();
     }
 
+    @Transactional(readOnly = true)
     public UUID getUserIdByEmail(String postingUserEmail) throws NoUserFoundException {
         return this.getUserIdByEmail(EmailAddress.fromString(postingUserEmail));
     }
 
+    @Transactional(readOnly = true)
     public boolean isExistentById(UUID id) {
         return userRepository.existsById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws NoUserFoundException, UsernameNotFoundException {
         User user = this.getUserByEMailAddress(EmailAddress.fromString(email));
         List<GrantedAuthority> grantedAuthorities = this.getAllUserAuthoritiesByUserId(user.getId());
@@ -0,0 +1,10 @@
+-- Makes the email address of a user unique. Not a flyway migration, it is run by hand once the duplicates are resolved.
+-- Databases created with baseline-on-migrate may hold several accounts with the same email address. They cannot be
+-- merged automatically, because memberships, tickets and notifications refer to the user id.
+
+-- 1. list the duplicate accounts, then merge or delete them in the application
+SELECT "local_part", "domain", COUNT(*) FROM "user" GROUP BY "local_part", "domain" HAVING COUNT(*) > 1;
+
+-- 2. add the constraint, the index of V9 then is redundant
+ALTER TABLE "user" ADD CONSTRAINT uk_user_email UNIQUE ("local_part", "domain");
+DROP INDEX idx_user_email;
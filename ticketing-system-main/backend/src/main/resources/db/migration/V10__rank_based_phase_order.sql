@@ -0,0 +1,52 @@
+-- Phases are ordered by a rank instead of a linked list. The existing lists are walked from their heads and the
+-- phases get ranks with a gap of 1048576 between neighbours, phases that are not reachable from a head go last.
+-- No two phases of a project share a rank.
+
+ALTER TABLE "phase" ADD COLUMN "rank" int8;
+
+-- the lists of all projects are walked once, each phase is numbered by its position within its project
+CREATE TABLE "phase_position" (
+    "id" uuid NOT NULL,
+    "position" int8 NOT NULL,
+    PRIMARY KEY ("id")
+);
+
+INSERT INTO "phase_position" ("id", "position")
+WITH RECURSIVE "chain" ("id", "position") AS (
+    SELECT "id", 1 FROM "phase" WHERE "previous_phase_id" IS NULL
+    UNION ALL
+    SELECT "next"."id", "chain"."position" + 1
+    FROM "phase" "next" JOIN "chain" ON "next"."previous_phase_id" = "chain"."id"
+    WHERE "chain"."position" < 10000
+)
+SELECT "phase"."id", ROW_NUMBER() OVER (PARTITION BY "phase"."project_id" ORDER BY "walked"."position" NULLS LAST, "phase"."id")
+FROM "phase"
+LEFT JOIN (SELECT "id", MIN("position") AS "position" FROM "chain" GROUP BY "id") "walked" ON "walked"."id" = "phase"."id";
+
+UPDATE "phase" SET "rank" = (
+    SELECT "phase_position"."position" * 1048576 FROM "phase_position" WHERE "phase_position"."id" = "phase"."id"
+);
+
+DROP TABLE "phase_position";
+
+ALTER TABLE "phase" ALTER COLUMN "rank" SET NOT NULL;
+
+ALTER TABLE "phase" DROP CONSTRAINT "FK35nrnfy63l3uuvfbr309ugcn7";
+ALTER TABLE "phase" DROP CONSTRAINT "FKmk2svl3tyslsf5c6r4l1wumtx";
+ALTER TABLE "phase" DROP COLUMN "previous_phase_id";
+ALTER TABLE "phase" DROP COLUMN "next_phase_id";
+
+DROP INDEX idx_phase_project;
+ALTER TABLE "phase" ADD CONSTRAINT uk_phase_project_rank UNIQUE ("project_id", "rank");
+
+-- the ticket module keeps the rank of the phases to find the first phase of a project
+ALTER TABLE "phase_data_of_ticket" ADD COLUMN "rank" int8;
+
+UPDATE "phase_data_of_ticket" SET "rank" = COALESCE(
+    (SELECT "phase"."rank" FROM "phase" WHERE "phase"."id" = "phase_data_of_ticket"."phase_id"),
+    0
+);
+
+DROP INDEX idx_phase_data_of_ticket_project;
+ALTER TABLE "phase_data_of_ticket" DROP COLUMN "previous_phase_id";
+CREATE INDEX idx_phase_data_of_ticket_project ON "phase_data_of_ticket" ("project_id", "rank");
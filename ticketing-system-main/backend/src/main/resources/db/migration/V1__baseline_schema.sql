@@ -0,0 +1,136 @@
+-- Schema as created by hibernate (ddl-auto = update) before migrations were introduced.
+-- Existing databases are baselined at this version, so this script only runs on empty databases.
+
+CREATE TABLE "membership" (
+    "id" uuid NOT NULL,
+    "project_id" uuid,
+    "role" varchar(255),
+    "state" varchar(255),
+    "user_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "membership_data_of_ticket" (
+    "id" uuid NOT NULL,
+    "membership_id" uuid,
+    "project_id" uuid,
+    "user_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "notification" (
+    "id" uuid NOT NULL,
+    "content" varchar(1000),
+    "creation_time" timestamp,
+    "is_read" boolean,
+    "recipient_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "phase" (
+    "id" uuid NOT NULL,
+    "name" varchar(255),
+    "project_id" uuid,
+    "ticket_count" int4,
+    "next_phase_id" uuid,
+    "previous_phase_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "phase_data_of_ticket" (
+    "id" uuid NOT NULL,
+    "phase_id" uuid,
+    "previous_phase_id" uuid,
+    "project_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "project" (
+    "id" uuid NOT NULL,
+    "creation_time" timestamp,
+    "description" varchar(1000),
+    "name" varchar(255),
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "project_data_of_membership" (
+    "id" uuid NOT NULL,
+    "project_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "project_data_of_phase" (
+    "id" uuid NOT NULL,
+    "project_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "project_data_of_ticket" (
+    "id" uuid NOT NULL,
+    "project_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "ticket" (
+    "id" uuid NOT NULL,
+    "creation_time" timestamp,
+    "description" varchar(255),
+    "due_time" timestamp,
+    "phase_id" uuid,
+    "priority" varchar(255),
+    "project_id" uuid,
+    "resolved_at" timestamp,
+    "status" varchar(255),
+    "title" varchar(255),
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "ticket_assignee_ids" (
+    "ticket_id" uuid NOT NULL,
+    "assignee_ids" varchar(255)
+);
+
+CREATE TABLE "user" (
+    "id" uuid NOT NULL,
+    "domain" varchar(255),
+    "local_part" varchar(255),
+    "name" varchar(255),
+    "password" varchar(255),
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "user_data_of_membership" (
+    "id" uuid NOT NULL,
+    "domain" varchar(255),
+    "local_part" varchar(255),
+    "user_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "user_data_of_notification" (
+    "id" uuid NOT NULL,
+    "domain" varchar(255),
+    "local_part" varchar(255),
+    "user_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "user_data_of_project" (
+    "id" uuid NOT NULL,
+    "domain" varchar(255),
+    "local_part" varchar(255),
+    "user_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+CREATE TABLE "user_data_of_ticket" (
+    "id" uuid NOT NULL,
+    "domain" varchar(255),
+    "local_part" varchar(255),
+    "user_id" uuid,
+    PRIMARY KEY ("id")
+);
+
+ALTER TABLE "phase" ADD CONSTRAINT "FK35nrnfy63l3uuvfbr309ugcn7" FOREIGN KEY ("previous_phase_id") REFERENCES "phase";
+ALTER TABLE "phase" ADD CONSTRAINT "FKmk2svl3tyslsf5c6r4l1wumtx" FOREIGN KEY ("next_phase_id") REFERENCES "phase";
+ALTER TABLE "ticket_assignee_ids" ADD CONSTRAINT "FKgy6b10t531t662t7gef28ol0e" FOREIGN KEY ("ticket_id") REFERENCES "ticket";
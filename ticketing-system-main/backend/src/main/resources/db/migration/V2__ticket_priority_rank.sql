@@ -0,0 +1,17 @@
+-- Keyset pagination of the tickets sorts by the ordinal of the priority, the name does not sort LOW < MEDIUM < HIGH < URGENT.
+
+ALTER TABLE "ticket" ADD COLUMN "priority_rank" int4;
+
+UPDATE "ticket" SET "priority_rank" = CASE "priority"
+    WHEN 'LOW' THEN 0
+    WHEN 'MEDIUM' THEN 1
+    WHEN 'HIGH' THEN 2
+    WHEN 'URGENT' THEN 3
+END;
+
+CREATE INDEX idx_ticket_phase_creation ON "ticket" ("phase_id", "creation_time", "id");
+CREATE INDEX idx_ticket_phase_due ON "ticket" ("phase_id", "due_time", "id");
+CREATE INDEX idx_ticket_phase_priority ON "ticket" ("phase_id", "priority_rank", "id");
+CREATE INDEX idx_ticket_project_creation ON "ticket" ("project_id", "creation_time", "id");
+CREATE INDEX idx_ticket_project_due ON "ticket" ("project_id", "due_time", "id");
+CREATE INDEX idx_ticket_project_priority ON "ticket" ("project_id", "priority_rank", "id");
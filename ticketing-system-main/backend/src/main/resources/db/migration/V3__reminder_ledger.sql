@@ -0,0 +1,12 @@
+-- One row per reminder sent, so a reminder is not sent twice for the same ticket, recipient and period.
+
+CREATE TABLE "reminder_ledger_entry" (
+    "kind" varchar(16) NOT NULL,
+    "period" date NOT NULL,
+    "recipient_id" uuid NOT NULL,
+    "ticket_id" uuid NOT NULL,
+    PRIMARY KEY ("kind", "period", "recipient_id", "ticket_id")
+);
+
+CREATE INDEX idx_reminder_ledger_lookup ON "reminder_ledger_entry" ("kind", "period", "ticket_id");
+CREATE INDEX idx_reminder_ledger_period ON "reminder_ledger_entry" ("period");
@@ -0,0 +1,9 @@
+-- The resolution time in whole hours is stored with the ticket, so the analysis aggregates it in the database.
+
+ALTER TABLE "ticket" ADD COLUMN "resolution_hours" int8;
+
+UPDATE "ticket"
+SET "resolution_hours" = CAST(FLOOR((EXTRACT(EPOCH FROM "resolved_at") - EXTRACT(EPOCH FROM "creation_time")) / 3600) AS int8)
+WHERE "resolved_at" IS NOT NULL AND "creation_time" IS NOT NULL;
+
+CREATE INDEX idx_ticket_project_phase ON "ticket" ("project_id", "phase_id");
@@ -0,0 +1,36 @@
+-- Counters of the analysis, maintained on ticket events. Projects without a row are counted when they are first read.
+
+CREATE TABLE "project_statistics" (
+    "project_id" uuid NOT NULL,
+    "high_priority_tickets" int8 NOT NULL,
+    "low_priority_tickets" int8 NOT NULL,
+    "medium_priority_tickets" int8 NOT NULL,
+    "reconciled_at" timestamp,
+    "total_tickets" int8 NOT NULL,
+    "urgent_priority_tickets" int8 NOT NULL,
+    PRIMARY KEY ("project_id")
+);
+
+CREATE TABLE "phase_statistics" (
+    "phase_id" uuid NOT NULL,
+    "project_id" uuid,
+    "resolution_count" int8 NOT NULL,
+    "resolution_hours_sum" int8 NOT NULL,
+    "ticket_count" int8 NOT NULL,
+    "unassigned_tickets" int8 NOT NULL,
+    "urgent_tickets" int8 NOT NULL,
+    PRIMARY KEY ("phase_id")
+);
+
+CREATE TABLE "ticket_statistics_entry" (
+    "ticket_id" uuid NOT NULL,
+    "assigned" boolean NOT NULL,
+    "phase_id" uuid,
+    "priority" varchar(16),
+    "project_id" uuid,
+    "resolution_hours" int8,
+    PRIMARY KEY ("ticket_id")
+);
+
+CREATE INDEX idx_phase_statistics_project ON "phase_statistics" ("project_id");
+CREATE INDEX idx_ticket_statistics_entry_project ON "ticket_statistics_entry" ("project_id");
@@ -0,0 +1,11 @@
+-- Mergeable sketches of the resolution times per project, phase and priority.
+
+CREATE TABLE "resolution_time_sketch" (
+    "dimension" varchar(16) NOT NULL,
+    "dimension_value" varchar(36) NOT NULL,
+    "project_id" uuid NOT NULL,
+    "resolved_tickets" int8 NOT NULL,
+    "sketch" bytea,
+    "version" int8,
+    PRIMARY KEY ("dimension", "dimension_value", "project_id")
+);
@@ -0,0 +1,20 @@
+-- Daily ticket deltas per phase for the cumulative flow diagram.
+
+CREATE TABLE "daily_flow_snapshot" (
+    "day" date NOT NULL,
+    "phase_id" uuid NOT NULL,
+    "project_id" uuid NOT NULL,
+    "created_tickets" int8 NOT NULL,
+    "resolved_tickets" int8 NOT NULL,
+    "ticket_delta" int8 NOT NULL,
+    PRIMARY KEY ("day", "phase_id", "project_id")
+);
+
+CREATE INDEX idx_daily_flow_snapshot_project_day ON "daily_flow_snapshot" ("project_id", "day");
+
+-- only changes are recorded from now on, the tickets that already exist are counted into their phases on the day before
+INSERT INTO "daily_flow_snapshot" ("day", "phase_id", "project_id", "created_tickets", "resolved_tickets", "ticket_delta")
+SELECT CAST(CURRENT_DATE - INTERVAL '1' DAY AS date), "phase_id", "project_id", 0, 0, COUNT(*)
+FROM "ticket"
+WHERE "phase_id" IS NOT NULL AND "project_id" IS NOT NULL
+GROUP BY "phase_id", "project_id";
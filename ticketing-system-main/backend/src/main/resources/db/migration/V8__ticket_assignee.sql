@@ -0,0 +1,21 @@
+-- The assignees are stored as uuids instead of uuid strings, in the order of the list. The rows of the old element
+-- collection are copied over, null entries are skipped. The old table kept no order, the copies are numbered by assignee.
+
+CREATE TABLE "ticket_assignee" (
+    "ticket_id" uuid NOT NULL,
+    "assignee_id" uuid NOT NULL,
+    "assignee_order" int4 NOT NULL,
+    PRIMARY KEY ("ticket_id", "assignee_order")
+);
+
+INSERT INTO "ticket_assignee" ("ticket_id", "assignee_id", "assignee_order")
+SELECT "ticket_id", CAST(TRIM("assignee_ids") AS uuid), ROW_NUMBER() OVER (PARTITION BY "ticket_id" ORDER BY TRIM("assignee_ids")) - 1
+FROM "ticket_assignee_ids"
+WHERE "assignee_ids" IS NOT NULL;
+
+DROP TABLE "ticket_assignee_ids";
+
+CREATE INDEX idx_ticket_assignee_assignee_ticket ON "ticket_assignee" ("assignee_id", "ticket_id");
+CREATE INDEX idx_ticket_assignee_ticket ON "ticket_assignee" ("ticket_id");
+
+ALTER TABLE "ticket_assignee" ADD CONSTRAINT "FK9rlekse5g90v3w2q6f1myshyg" FOREIGN KEY ("ticket_id") REFERENCES "ticket";
@@ -0,0 +1,58 @@
+-- Indexes for the derived queries of the repositories. Finders that return a single row get a unique constraint.
+-- The consumed data tables only hold copies of events, their duplicates in a database created with baseline-on-migrate
+-- are removed first, keeping the row with the lowest id.
+
+-- membership
+CREATE INDEX idx_membership_user_state ON "membership" ("user_id", "state");
+CREATE INDEX idx_membership_project_role_state ON "membership" ("project_id", "role", "state");
+CREATE INDEX idx_membership_user_project ON "membership" ("user_id", "project_id");
+
+CREATE INDEX idx_user_data_of_membership_user ON "user_data_of_membership" ("user_id");
+CREATE INDEX idx_user_data_of_membership_email ON "user_data_of_membership" ("local_part", "domain");
+DELETE FROM "project_data_of_membership" d WHERE EXISTS (
+    SELECT 1 FROM "project_data_of_membership" o WHERE o."project_id" = d."project_id" AND o."id" < d."id"
+);
+ALTER TABLE "project_data_of_membership" ADD CONSTRAINT uk_project_data_of_membership_project UNIQUE ("project_id");
+
+-- notification
+CREATE INDEX idx_notification_recipient_read ON "notification" ("recipient_id", "is_read");
+
+CREATE INDEX idx_user_data_of_notification_user ON "user_data_of_notification" ("user_id");
+CREATE INDEX idx_user_data_of_notification_email ON "user_data_of_notification" ("local_part", "domain");
+
+-- phase
+CREATE INDEX idx_phase_project ON "phase" ("project_id");
+DELETE FROM "project_data_of_phase" d WHERE EXISTS (
+    SELECT 1 FROM "project_data_of_phase" o WHERE o."project_id" = d."project_id" AND o."id" < d."id"
+);
+ALTER TABLE "project_data_of_phase" ADD CONSTRAINT uk_project_data_of_phase_project UNIQUE ("project_id");
+
+-- project
+CREATE INDEX idx_user_data_of_project_user ON "user_data_of_project" ("user_id");
+CREATE INDEX idx_user_data_of_project_email ON "user_data_of_project" ("local_part", "domain");
+
+-- ticket, project and phase lookups are covered by the (project_id, ...) and (phase_id, ...) indexes
+CREATE INDEX idx_ticket_due ON "ticket" ("due_time");
+
+DELETE FROM "membership_data_of_ticket" d WHERE EXISTS (
+    SELECT 1 FROM "membership_data_of_ticket" o WHERE o."membership_id" = d."membership_id" AND o."id" < d."id"
+);
+ALTER TABLE "membership_data_of_ticket" ADD CONSTRAINT uk_membership_data_of_ticket_membership UNIQUE ("membership_id");
+CREATE INDEX idx_membership_data_of_ticket_user_project ON "membership_data_of_ticket" ("user_id", "project_id");
+CREATE INDEX idx_membership_data_of_ticket_project ON "membership_data_of_ticket" ("project_id");
+
+CREATE INDEX idx_phase_data_of_ticket_phase ON "phase_data_of_ticket" ("phase_id", "project_id");
+CREATE INDEX idx_phase_data_of_ticket_project ON "phase_data_of_ticket" ("project_id", "previous_phase_id");
+DELETE FROM "project_data_of_ticket" d WHERE EXISTS (
+    SELECT 1 FROM "project_data_of_ticket" o WHERE o."project_id" = d."project_id" AND o."id" < d."id"
+);
+ALTER TABLE "project_data_of_ticket" ADD CONSTRAINT uk_project_data_of_ticket_project UNIQUE ("project_id");
+
+CREATE INDEX idx_user_data_of_ticket_user ON "user_data_of_ticket" ("user_id");
+CREATE INDEX idx_user_data_of_ticket_email ON "user_data_of_ticket" ("local_part", "domain");
+
+-- user, duplicate accounts cannot be merged here, the unique constraint is the manual step in db/manual/unique_user_email.sql
+CREATE INDEX idx_user_email ON "user" ("local_part", "domain");
+
+-- analysis, the primary key of the sketches starts with the dimension
+CREATE INDEX idx_resolution_time_sketch_project ON "resolution_time_sketch" ("project_id");
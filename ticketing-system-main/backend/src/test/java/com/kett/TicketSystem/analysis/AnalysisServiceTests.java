@@ -0,0 +1,287 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.consumedData.ProjectDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.consumedData.UserDataOfTicket;
+import com.kett.TicketSystem.ticket.repository.ProjectDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import com.kett.TicketSystem.ticket.repository.UserDataOfTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AnalysisServiceTests {
+    private final AnalysisService analysisService;
+    private final TicketRepository ticketRepository;
+    private final PhaseRepository phaseRepository;
+    private final PhaseDomainService phaseDomainService;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final ResolutionTimeService resolutionTimeService;
+    private final ProjectStatisticsService projectStatisticsService;
+    private final TicketDomainService ticketDomainService;
+    private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
+    private final UserDataOfTicketRepository userDataOfTicketRepository;
+
+    private UUID projectId;
+    private UUID otherProjectId;
+    private UUID userId0;
+    private UUID userId1;
+    private UUID backlogId;
+    private UUID doneId;
+    private UUID otherDoneId;
+
+    @Autowired
+    public AnalysisServiceTests(
+            AnalysisService analysisService,
+            TicketRepository ticketRepository,
+            PhaseRepository phaseRepository,
+            PhaseDomainService phaseDomainService,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            ResolutionTimeService resolutionTimeService,
+            ProjectStatisticsService projectStatisticsService,
+            TicketDomainService ticketDomainService,
+            ProjectDataOfTicketRepository projectDataOfTicketRepository,
+            UserDataOfTicketRepository userDataOfTicketRepository
+    ) {
+        this.analysisService = analysisService;
+        this.ticketRepository = ticketRepository;
+        this.phaseRepository = phaseRepository;
+        this.phaseDomainService = phaseDomainService;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.resolutionTimeService = resolutionTimeService;
+        this.projectStatisticsService = projectStatisticsService;
+        this.ticketDomainService = ticketDomainService;
+        this.projectDataOfTicketRepository = projectDataOfTicketRepository;
+        this.userDataOfTicketRepository = userDataOfTicketRepository;
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        otherProjectId = UUID.randomUUID();
+        userId0 = UUID.randomUUID();
+        userId1 = UUID.randomUUID();
+
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(otherProjectId));
+        backlogId = phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null).getId();
+        doneId = phaseDomainService.createPhase(new Phase(projectId, "DONE"), backlogId).getId();
+        UUID otherBacklogId = phaseDomainService.createPhase(new Phase(otherProjectId, "BACKLOG"), null).getId();
+        otherDoneId = phaseDomainService.createPhase(new Phase(otherProjectId, "DONE"), otherBacklogId).getId();
+
+        Ticket resolved = new Ticket("resolved", "", null, projectId, doneId, List.of(userId0));
+        resolved.setPriority(Ticket.TicketPriority.URGENT);
+        resolved.setResolvedAt(resolved.getCreationTime().plusHours(5));
+        ticketRepository.save(resolved);
+
+        Ticket overdue = new Ticket("overdue", "", null, projectId, backlogId, List.of(userId0, userId1));
+        overdue.setPriority(Ticket.TicketPriority.URGENT);
+        ReflectionTestUtils.setField(overdue, "dueTime", LocalDateTime.now().minusDays(2));
+        ticketRepository.save(overdue);
+
+        Ticket dueSoon = new Ticket("due \"soon\"", "first line\nsecond, line", LocalDateTime.now().plusHours(2), projectId, backlogId, new ArrayList<>());
+        dueSoon.setPriority(Ticket.TicketPriority.LOW);
+        ticketRepository.save(dueSoon);
+
+        ticketRepository.save(new Ticket("foreign", "", null, otherProjectId, otherBacklogId, List.of(userId1)));
+        // counted up front, so that the reads are served from the stored statistics
+        projectStatisticsService.reconcileProject(projectId);
+        projectStatisticsService.reconcileProject(otherProjectId);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                        "user",
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_PROJECT_MEMBER_" + projectId))
+                )
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        ticketRepository.deleteAll();
+        phaseRepository.deleteAll();
+        projectDataOfPhaseRepository.deleteAll();
+        projectDataOfTicketRepository.deleteAll();
+        userDataOfTicketRepository.deleteAll();
+    }
+
+    @Test
+    public void ticketStatsTest() {
+        Map<String, Object> stats = analysisService.calculateTicketStats(projectId);
+        assertEquals(3, stats.get("totalTickets"));
+        assertEquals(2L, stats.get("openTickets"));
+        assertEquals(1L, stats.get("resolvedTickets"));
+        assertEquals(5.0, stats.get("avgResolutionTime"));
+        assertEquals(1L, stats.get("overdueTickets"));
+        assertEquals(1L, stats.get("Ticketsduein24"));
+        assertEquals(1L, stats.get("unassignedTickets"));
+        assertEquals(1L, stats.get("urgentTickets"));
+
+        // without a project id, all projects of the caller are covered
+        assertEquals(stats, analysisService.calculateTicketStats(null));
+    }
+
+    @Test
+    public void topUsersAndPriorityStatsTest() {
+        List<Map<String, Object>> topUsers = analysisService.getTopUsers(projectId);
+        assertEquals(2, topUsers.size());
+        assertEquals(userId0.toString(), topUsers.get(0).get("userId"));
+        assertEquals(2L, topUsers.get(0).get("ticketCount"));
+        assertEquals(userId1.toString(), topUsers.get(1).get("userId"));
+        assertEquals(1L, topUsers.get(1).get("ticketCount"));
+
+        assertEquals(Map.of("URGENT", 2L, "LOW", 1L), analysisService.getTicketStatsByPriority(projectId));
+    }
+
+    private String exportCsv(UUID projectId, LocalDateTime createdAfter, LocalDateTime createdBefore) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        analysisService.exportCsv(projectId, createdAfter, createdBefore).writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void exportCsvTest() throws IOException {
+        String csv = exportCsv(null, null, null);
+        String[] lines = csv.split("\r\n", -1);
+        assertEquals("Title,Description,Project Name,Assignee Name,Phase,Priority,Due Date,Created At,Resolved At", lines[0]);
+        assertTrue(csv.endsWith("\r\n"));
+
+        // one record per ticket of the caller's projects, multiple assignees merged into one field
+        assertTrue(csv.contains("resolved,,No Project,Unknown,DONE,URGENT,No Due Time,"));
+        assertTrue(csv.contains("overdue,,No Project,Unknown; Unknown,BACKLOG,URGENT,"));
+        assertTrue(csv.contains("\"due \"\"soon\"\"\",\"first line\nsecond, line\",No Project,Unassigned,BACKLOG,LOW,"));
+        assertFalse(csv.contains("foreign"));
+
+        assertEquals(csv, exportCsv(projectId, null, null));
+        assertTrue(exportCsv(projectId, LocalDateTime.now().plusMinutes(1), null).endsWith("Resolved At\r\n"));
+        assertTrue(exportCsv(projectId, null, LocalDateTime.now().minusMinutes(1)).endsWith("Resolved At\r\n"));
+        assertThrows(AccessDeniedException.class, () -> analysisService.exportCsv(otherProjectId, null, null));
+    }
+
+    @Test
+    public void statsAreScopedToProjectsOfCallerTest() {
+        assertThrows(AccessDeniedException.class, () -> analysisService.calculateTicketStats(otherProjectId));
+        assertThrows(AccessDeniedException.class, () -> analysisService.getTopUsers(otherProjectId));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user", null, List.of(new SimpleGrantedAuthority("ROLE_USER_" + userId0)))
+        );
+        assertEquals(0, analysisService.calculateTicketStats(null).get("totalTickets"));
+        assertTrue(analysisService.getTopUsers(null).isEmpty());
+        assertTrue(analysisService.getTicketStatsByPriority(null).isEmpty());
+    }
+
+    private void resolve(UUID projectId, UUID doneId, Ticket.TicketPriority priority, List<UUID> assigneeIds, long minutes) {
+        Ticket ticket = new Ticket("resolved", "", null, projectId, doneId, assigneeIds);
+        ticket.setPriority(priority);
+        ticket.setResolvedAt(ticket.getCreationTime().plusMinutes(minutes));
+        resolutionTimeService.recordResolution(ticketRepository.save(ticket));
+    }
+
+    private static double quantile(Map<String, Object> resolutionTimes, String quantile) {
+        return (double) resolutionTimes.get(quantile);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void resolutionTimesTest() {
+        for (int i = 1; i <= 100; i++) {
+            resolve(projectId, doneId, i > 90 ? Ticket.TicketPriority.URGENT : Ticket.TicketPriority.LOW, List.of(userId0), i * 60);
+        }
+        resolve(otherProjectId, otherDoneId, Ticket.TicketPriority.LOW, List.of(userId1), 30);
+        resolutionTimeService.flushPendingSketches();
+
+        Map<String, Object> resolutionTimes = analysisService.getResolutionTimes(projectId);
+        assertEquals(100L, resolutionTimes.get("count"));
+        // reported in hours, minutes are not truncated
+        assertEquals(50.0, quantile(resolutionTimes, "p50"), 0.5);
+        assertEquals(90.0, quantile(resolutionTimes, "p90"), 0.9);
+        assertEquals(99.0, quantile(resolutionTimes, "p99"), 1.0);
+
+        Map<String, Map<String, Object>> byPriority = (Map<String, Map<String, Object>>) resolutionTimes.get("byPriority");
+        assertEquals(Set.of("LOW", "URGENT"), byPriority.keySet());
+        assertEquals(10L, byPriority.get("URGENT").get("count"));
+        assertEquals(95.0, quantile(byPriority.get("URGENT"), "p50"), 1.0);
+        Map<String, Map<String, Object>> byAssignee = (Map<String, Map<String, Object>>) resolutionTimes.get("byAssignee");
+        assertEquals(Set.of(userId0.toString()), byAssignee.keySet());
+
+        // sketches of several projects are merged
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                        "user",
+                        null,
+                        List.of(
+                                new SimpleGrantedAuthority("ROLE_PROJECT_MEMBER_" + projectId),
+                                new SimpleGrantedAuthority("ROLE_PROJECT_ADMIN_" + otherProjectId)
+                        )
+                )
+        );
+        Map<String, Object> allResolutionTimes = analysisService.getResolutionTimes(null);
+        assertEquals(101L, allResolutionTimes.get("count"));
+        byAssignee = (Map<String, Map<String, Object>>) allResolutionTimes.get("byAssignee");
+        assertEquals(Set.of(userId0.toString(), userId1.toString()), byAssignee.keySet());
+        assertEquals(0.5, quantile(byAssignee.get(userId1.toString()), "p50"), 0.01);
+
+        assertThrows(AccessDeniedException.class, () -> analysisService.getResolutionTimes(UUID.randomUUID()));
+    }
+
+    @Test
+    public void ticketIsResolvedOnceTest() {
+        EmailAddress userEmail = EmailAddress.fromString("resolver@test.com");
+        userDataOfTicketRepository.save(new UserDataOfTicket(UUID.randomUUID(), userEmail));
+        projectDataOfTicketRepository.save(new ProjectDataOfTicket(projectId));
+        Ticket ticket = ticketDomainService.addTicket(
+                new Ticket("moved", "", null, projectId, backlogId, new ArrayList<>()), userEmail
+        );
+        ticketDomainService.patchTicket(ticket.getId(), null, null, null, doneId, null, null);
+        LocalDateTime resolvedAt = ticketRepository.findById(ticket.getId()).orElseThrow().getResolvedAt();
+        assertNotNull(resolvedAt);
+
+        // the same DONE phase again is no transition
+        ticketDomainService.patchTicket(ticket.getId(), null, null, null, doneId, null, null);
+        assertEquals(resolvedAt, ticketRepository.findById(ticket.getId()).orElseThrow().getResolvedAt());
+
+        resolutionTimeService.flushPendingSketches();
+        assertEquals(1L, analysisService.getResolutionTimes(projectId).get("count"));
+
+        // leaving DONE and coming back is a second resolution
+        ticketDomainService.patchTicket(ticket.getId(), null, null, null, backlogId, null, null);
+        assertNull(ticketRepository.findById(ticket.getId()).orElseThrow().getResolvedAt());
+        ticketDomainService.patchTicket(ticket.getId(), null, null, null, doneId, null, null);
+        resolutionTimeService.flushPendingSketches();
+        assertEquals(2L, analysisService.getResolutionTimes(projectId).get("count"));
+    }
+}
@@ -0,0 +1,163 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.events.TicketCreatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketPhaseUpdatedEvent;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CumulativeFlowServiceTests {
+    private final AnalysisService analysisService;
+    private final CumulativeFlowService cumulativeFlowService;
+    private final TicketRepository ticketRepository;
+    private final PhaseRepository phaseRepository;
+    private final PhaseDomainService phaseDomainService;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final DailyFlowSnapshotRepository dailyFlowSnapshotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private UUID projectId;
+    private UUID backlogId;
+    private UUID doneId;
+
+    @Autowired
+    public CumulativeFlowServiceTests(
+            AnalysisService analysisService,
+            CumulativeFlowService cumulativeFlowService,
+            TicketRepository ticketRepository,
+            PhaseRepository phaseRepository,
+            PhaseDomainService phaseDomainService,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            DailyFlowSnapshotRepository dailyFlowSnapshotRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.analysisService = analysisService;
+        this.cumulativeFlowService = cumulativeFlowService;
+        this.ticketRepository = ticketRepository;
+        this.phaseRepository = phaseRepository;
+        this.phaseDomainService = phaseDomainService;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.dailyFlowSnapshotRepository = dailyFlowSnapshotRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        Phase backlog = phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null);
+        Phase done = phaseDomainService.createPhase(new Phase(projectId, "DONE"), backlog.getId());
+        backlogId = backlog.getId();
+        doneId = done.getId();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                        "user",
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_PROJECT_MEMBER_" + projectId))
+                )
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        ticketRepository.deleteAll();
+        phaseRepository.deleteAll();
+        projectDataOfPhaseRepository.deleteAll();
+        dailyFlowSnapshotRepository.deleteAll();
+    }
+
+    private UUID createTicket() {
+        return transactionTemplate.execute(status -> {
+            Ticket ticket = ticketRepository.save(new Ticket("title", "description", null, projectId, backlogId, new ArrayList<>()));
+            eventPublisher.publishEvent(new TicketCreatedEvent(ticket.getId(), projectId, UUID.randomUUID()));
+            return ticket.getId();
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void cumulativeFlowTest() {
+        UUID resolvedTicketId = createTicket();
+        UUID deletedTicketId = createTicket();
+        createTicket();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Ticket ticket = ticketRepository.findById(resolvedTicketId).orElseThrow();
+            ticket.setPhaseId(doneId);
+            ticket.setResolvedAt(ticket.getCreationTime().plusHours(5));
+            eventPublisher.publishEvent(new TicketPhaseUpdatedEvent(resolvedTicketId, projectId, backlogId, doneId));
+        });
+        // patched into the phase it is in, not resolved again
+        eventPublisher.publishEvent(new TicketPhaseUpdatedEvent(resolvedTicketId, projectId, doneId, doneId));
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketRepository.removeById(deletedTicketId);
+            eventPublisher.publishEvent(new TicketDeletedEvent(deletedTicketId, projectId, backlogId));
+        });
+
+        // reads only see the stored snapshots
+        cumulativeFlowService.flushPendingSnapshots();
+        LocalDate today = LocalDate.now();
+        List<Map<String, Object>> flow = analysisService.getCumulativeFlow(projectId, today.minusDays(1), today);
+        assertEquals(2, flow.size());
+
+        assertEquals(today.minusDays(1).toString(), flow.get(0).get("day"));
+        assertTrue(((Map<String, Long>) flow.get(0).get("ticketsByPhase")).isEmpty());
+        assertEquals(0L, flow.get(0).get("createdTickets"));
+
+        assertEquals(today.toString(), flow.get(1).get("day"));
+        assertEquals(Map.of(backlogId.toString(), 1L, doneId.toString(), 1L), flow.get(1).get("ticketsByPhase"));
+        assertEquals(3L, flow.get(1).get("createdTickets"));
+        assertEquals(1L, flow.get(1).get("resolvedTickets"));
+        // the events of a day are compacted into one snapshot per phase
+        assertEquals(2, dailyFlowSnapshotRepository.count());
+
+        // counts are carried over days without changes, the range defaults to the last 30 days
+        List<Map<String, Object>> defaultFlow = analysisService.getCumulativeFlow(projectId, null, today.plusDays(3));
+        assertEquals(AnalysisService.DEFAULT_FLOW_DAYS, defaultFlow.size());
+        assertEquals(flow.get(1).get("ticketsByPhase"), defaultFlow.get(defaultFlow.size() - 1).get("ticketsByPhase"));
+        assertEquals(0L, defaultFlow.get(defaultFlow.size() - 1).get("createdTickets"));
+        assertEquals(AnalysisService.MAX_FLOW_DAYS, analysisService.getCumulativeFlow(projectId, today.minusYears(5), today).size());
+
+        // a range after the changes starts from the summed up days before it
+        List<Map<String, Object>> laterFlow = analysisService.getCumulativeFlow(projectId, today.plusDays(1), today.plusDays(2));
+        assertEquals(flow.get(1).get("ticketsByPhase"), laterFlow.get(0).get("ticketsByPhase"));
+        assertEquals(0L, laterFlow.get(0).get("createdTickets"));
+
+        assertThrows(AccessDeniedException.class, () -> analysisService.getCumulativeFlow(UUID.randomUUID(), null, null));
+    }
+}
@@ -0,0 +1,254 @@
+package com.kett.TicketSystem.analysis;
+
+import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.events.*;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ProjectStatisticsServiceTests {
+    private final ProjectStatisticsService projectStatisticsService;
+    private final ProjectStatisticsRepository projectStatisticsRepository;
+    private final TicketRepository ticketRepository;
+    private final PhaseRepository phaseRepository;
+    private final PhaseDomainService phaseDomainService;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private UUID projectId;
+    private UUID backlogId;
+    private UUID doneId;
+
+    @Autowired
+    public ProjectStatisticsServiceTests(
+            ProjectStatisticsService projectStatisticsService,
+            ProjectStatisticsRepository projectStatisticsRepository,
+            TicketRepository ticketRepository,
+            PhaseRepository phaseRepository,
+            PhaseDomainService phaseDomainService,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.projectStatisticsService = projectStatisticsService;
+        this.projectStatisticsRepository = projectStatisticsRepository;
+        this.ticketRepository = ticketRepository;
+        this.phaseRepository = phaseRepository;
+        this.phaseDomainService = phaseDomainService;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        Phase backlog = phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null);
+        Phase done = phaseDomainService.createPhase(new Phase(projectId, "DONE"), backlog.getId());
+        backlogId = backlog.getId();
+        doneId = done.getId();
+
+        // reading the statistics of a project for the first time stores its count in the background
+        assertEquals(0, getProjectStatistics().getTotalTickets());
+        await().until(() -> projectStatisticsRepository.existsById(projectId));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ticketRepository.deleteAll();
+        phaseRepository.deleteAll();
+        projectDataOfPhaseRepository.deleteAll();
+    }
+
+    private ProjectStatistics getProjectStatistics() {
+        return projectStatisticsService.getProjectStatistics(Set.of(projectId)).get(0);
+    }
+
+    private PhaseStatisticsSummary getPhaseStatistics() {
+        return projectStatisticsService.summarizePhaseStatistics(Set.of(projectId));
+    }
+
+    private UUID createUrgentTicket() {
+        return transactionTemplate.execute(status -> {
+            Ticket ticket = new Ticket("title", "description", null, projectId, backlogId, new ArrayList<>());
+            ticket.setPriority(Ticket.TicketPriority.URGENT);
+            ticketRepository.save(ticket);
+            eventPublisher.publishEvent(new TicketCreatedEvent(ticket.getId(), projectId, UUID.randomUUID()));
+            return ticket.getId();
+        });
+    }
+
+    @Test
+    public void ticketChangesAreCountedIncrementallyTest() {
+        UUID ticketId = createUrgentTicket();
+        assertEquals(1, getProjectStatistics().getTotalTickets());
+        assertEquals(1, getProjectStatistics().getUrgentPriorityTickets());
+        assertEquals(1, getPhaseStatistics().getUnassignedOpenTickets());
+        assertEquals(1, getPhaseStatistics().getUrgentOpenTickets());
+
+        UUID assigneeId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            Ticket ticket = ticketRepository.findById(ticketId).orElseThrow();
+            ticket.setPhaseId(doneId);
+            ticket.setResolvedAt(ticket.getCreationTime().plusHours(5));
+            ticket.setAssigneeIds(List.of(assigneeId));
+            eventPublisher.publishEvent(new TicketPhaseUpdatedEvent(ticketId, projectId, backlogId, doneId));
+            eventPublisher.publishEvent(new TicketAssignedEvent(ticketId, projectId, assigneeId));
+        });
+        PhaseStatisticsSummary phaseStatistics = getPhaseStatistics();
+        assertEquals(1, phaseStatistics.getResolvedTickets());
+        assertEquals(5.0, phaseStatistics.getAverageResolutionHours());
+        assertEquals(0, phaseStatistics.getUnassignedOpenTickets());
+        assertEquals(0, phaseStatistics.getUrgentOpenTickets());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketRepository.findById(ticketId).orElseThrow().setPriority(Ticket.TicketPriority.LOW);
+            eventPublisher.publishEvent(
+                    new TicketPriorityUpdatedEvent(ticketId, projectId, Ticket.TicketPriority.URGENT, Ticket.TicketPriority.LOW)
+            );
+        });
+        // handling an event again does not count the ticket twice
+        eventPublisher.publishEvent(new TicketAssignedEvent(ticketId, projectId, assigneeId));
+        assertEquals(1, getProjectStatistics().getTotalTickets());
+        assertEquals(0, getProjectStatistics().getUrgentPriorityTickets());
+        assertEquals(1, getProjectStatistics().getLowPriorityTickets());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketRepository.removeById(ticketId);
+            eventPublisher.publishEvent(new TicketDeletedEvent(ticketId, projectId, doneId));
+        });
+        assertEquals(0, getProjectStatistics().getTotalTickets());
+        assertEquals(0, getProjectStatistics().getLowPriorityTickets());
+        assertEquals(0, getPhaseStatistics().getResolvedTickets());
+        assertEquals(0.0, getPhaseStatistics().getAverageResolutionHours());
+    }
+
+    @Test
+    public void leavingTheProjectUnassignsTest() {
+        UUID ticketId = createUrgentTicket();
+        UUID assigneeId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketRepository.findById(ticketId).orElseThrow().setAssigneeIds(new ArrayList<>(List.of(assigneeId)));
+            eventPublisher.publishEvent(new TicketAssignedEvent(ticketId, projectId, assigneeId));
+        });
+        assertEquals(0, getPhaseStatistics().getUnassignedOpenTickets());
+        // the assignee stays on the tickets of other projects
+        UUID foreignTicketId = ticketRepository.save(
+                new Ticket("title", "description", null, UUID.randomUUID(), UUID.randomUUID(), new ArrayList<>(List.of(assigneeId)))
+        ).getId();
+
+        eventPublisher.publishEvent(new MembershipDeletedEvent(UUID.randomUUID(), projectId, assigneeId));
+        await().until(() -> getPhaseStatistics().getUnassignedOpenTickets() == 1);
+        assertTrue(ticketRepository.findById(ticketId).orElseThrow().getAssigneeIds().isEmpty());
+        assertEquals(List.of(foreignTicketId), ticketRepository.findByAssigneeIdsContaining(assigneeId).stream().map(Ticket::getId).toList());
+    }
+
+    @Test
+    public void reconciliationRepairsDriftTest() {
+        createUrgentTicket();
+        // changed without an event, so the statistics drift
+        ticketRepository.save(new Ticket("title", "description", null, projectId, backlogId, new ArrayList<>()));
+        assertEquals(1, getProjectStatistics().getTotalTickets());
+
+        projectStatisticsService.reconcileAllProjects();
+        ProjectStatistics projectStatistics = getProjectStatistics();
+        assertEquals(2, projectStatistics.getTotalTickets());
+        assertEquals(1, projectStatistics.getUrgentPriorityTickets());
+        assertEquals(1, projectStatistics.getMediumPriorityTickets());
+        assertNotNull(projectStatistics.getReconciledAt());
+        assertEquals(2, getPhaseStatistics().getUnassignedOpenTickets());
+    }
+
+    @Test
+    public void uncountedProjectIsCountedOnFirstReadTest() {
+        UUID uncountedProjectId = UUID.randomUUID();
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(uncountedProjectId));
+        Phase backlog = phaseDomainService.createPhase(new Phase(uncountedProjectId, "BACKLOG"), null);
+        Phase done = phaseDomainService.createPhase(new Phase(uncountedProjectId, "DONE"), backlog.getId());
+        Ticket urgent = new Ticket("title", "description", null, uncountedProjectId, backlog.getId(), new ArrayList<>());
+        urgent.setPriority(Ticket.TicketPriority.URGENT);
+        ticketRepository.save(urgent);
+        Ticket resolved = new Ticket("title", "description", null, uncountedProjectId, done.getId(), List.of(UUID.randomUUID()));
+        resolved.setResolvedAt(resolved.getCreationTime().plusHours(3));
+        ticketRepository.save(resolved);
+
+        ProjectStatistics projectStatistics = projectStatisticsService.getProjectStatistics(Set.of(uncountedProjectId)).get(0);
+        assertEquals(2, projectStatistics.getTotalTickets());
+        assertEquals(1, projectStatistics.getUrgentPriorityTickets());
+        // the counted project is summarized from its stored statistics, the uncounted one from its tickets
+        PhaseStatisticsSummary phaseStatistics = projectStatisticsService.summarizePhaseStatistics(Set.of(projectId, uncountedProjectId));
+        assertEquals(1, phaseStatistics.getResolvedTickets());
+        assertEquals(3.0, phaseStatistics.getAverageResolutionHours());
+        assertEquals(1, phaseStatistics.getUnassignedOpenTickets());
+        assertEquals(1, phaseStatistics.getUrgentOpenTickets());
+
+        await().until(() -> projectStatisticsRepository.existsById(uncountedProjectId));
+        assertEquals(2, projectStatisticsService.getProjectStatistics(Set.of(uncountedProjectId)).get(0).getTotalTickets());
+    }
+
+    @Test
+    public void reconciliationDoesNotOverwriteConcurrentTicketChangeTest() throws Exception {
+        createUrgentTicket();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // a ticket change that holds the lock of the project's statistics until it commits
+            Future<?> ticketChange = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                projectStatisticsRepository.findByIdForUpdate(projectId);
+                Ticket ticket = ticketRepository.save(new Ticket("title", "description", null, projectId, backlogId, new ArrayList<>()));
+                eventPublisher.publishEvent(new TicketCreatedEvent(ticket.getId(), projectId, UUID.randomUUID()));
+                locked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+            Future<?> reconciliation = executor.submit(() -> projectStatisticsService.reconcileProject(projectId));
+            Thread.sleep(300);
+            assertFalse(reconciliation.isDone());
+
+            release.countDown();
+            ticketChange.get(10, TimeUnit.SECONDS);
+            reconciliation.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, getProjectStatistics().getTotalTickets());
+        assertEquals(2, getPhaseStatistics().getUnassignedOpenTickets());
+    }
+}
@@ -0,0 +1,73 @@
+package com.kett.TicketSystem.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTests {
+    private static void assertWithinRelativeAccuracy(double expected, double actual) {
+        assertEquals(expected, actual, expected * QuantileSketch.RELATIVE_ACCURACY, "expected about " + expected + " but was " + actual);
+    }
+
+    @Test
+    public void quantilesAreWithinRelativeAccuracyTest() {
+        Random random = new Random(42);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            // resolution times between a minute and a few months, in seconds
+            values[i] = Math.floor(Math.exp(4 + random.nextDouble() * 12));
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, sketch.getCount());
+        for (double quantile : new double[] { 0.0, 0.5, 0.9, 0.99, 1.0 }) {
+            assertWithinRelativeAccuracy(values[(int) (quantile * (values.length - 1))], sketch.getQuantile(quantile));
+        }
+    }
+
+    @Test
+    public void mergedSketchEqualsSketchOfAllValuesTest() {
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+        for (int i = 0; i < 1000; i++) {
+            first.add(i);
+            second.add(i * 7);
+            all.add(i);
+            all.add(i * 7);
+        }
+
+        first.merge(second);
+        assertEquals(all.getCount(), first.getCount());
+        assertArrayEquals(all.toBytes(), first.toBytes());
+        assertEquals(all.getQuantile(0.9), first.getQuantile(0.9));
+    }
+
+    @Test
+    public void serializationTest() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0);
+        sketch.add(0.5);
+        for (int i = 1; i <= 10_000; i++) {
+            sketch.add(i * 60);
+        }
+
+        byte[] bytes = sketch.toBytes();
+        QuantileSketch restored = QuantileSketch.fromBytes(bytes);
+        assertEquals(sketch.getCount(), restored.getCount());
+        assertEquals(0, restored.getQuantile(0));
+        assertEquals(sketch.getQuantile(0.5), restored.getQuantile(0.5));
+        assertEquals(sketch.getQuantile(0.99), restored.getQuantile(0.99));
+        // a few hundred buckets for values spanning four orders of magnitude
+        assertTrue(bytes.length < 2048, "sketch takes " + bytes.length + " bytes");
+
+        assertEquals(0, QuantileSketch.fromBytes(null).getCount());
+        assertTrue(Double.isNaN(new QuantileSketch().getQuantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(-1));
+    }
+}
@@ -0,0 +1,150 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.membership.domain.Role;
+import com.kett.TicketSystem.membership.domain.events.MembershipAcceptedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipRoleUpdatedEvent;
+import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrincipalCacheTests {
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private Map<String, UUID> userIds;
+    private Map<String, Integer> loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    public void buildUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(2, Duration.ofMinutes(10), Clock.systemUTC(), meterRegistry);
+        userIds = new HashMap<>();
+        loads = new HashMap<>();
+        loader = email -> {
+            loads.merge(email, 1, Integer::sum);
+            UUID userId = userIds.computeIfAbsent(email, e -> UUID.randomUUID());
+            return new User(email, "password", List.of(new SimpleGrantedAuthority("ROLE_USER_" + userId)));
+        };
+    }
+
+    private double count(String name, String... tags) {
+        return meterRegistry.get(name).tags(tags).counter().count();
+    }
+
+    @Test
+    public void hitsAndMissesTest() {
+        UserDetails first = principalCache.get("a@b.com", loader);
+        UserDetails second = principalCache.get("a@b.com", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get("a@b.com"));
+        assertEquals(1, count("cache.gets", "result", "hit"));
+        assertEquals(1, count("cache.gets", "result", "miss"));
+    }
+
+    @Test
+    public void boundedSizeTest() {
+        principalCache.get("a@b.com", loader);
+        principalCache.get("b@b.com", loader);
+        principalCache.get("a@b.com", loader); // a is now more recently used than b
+        principalCache.get("c@b.com", loader);
+
+        assertEquals(2, principalCache.size());
+        assertEquals(1, count("cache.evictions"));
+        principalCache.get("a@b.com", loader);
+        assertEquals(1, loads.get("a@b.com"));
+        principalCache.get("b@b.com", loader);
+        assertEquals(2, loads.get("b@b.com"));
+    }
+
+    @Test
+    public void invalidationByEventsTest() {
+        principalCache.get("a@b.com", loader);
+        principalCache.get("b@b.com", loader);
+        UUID userIdA = userIds.get("a@b.com");
+        UUID userIdB = userIds.get("b@b.com");
+
+        principalCache.handleMembershipAcceptedEvent(new MembershipAcceptedEvent(UUID.randomUUID(), UUID.randomUUID(), userIdA));
+        principalCache.get("a@b.com", loader);
+        principalCache.get("b@b.com", loader);
+        assertEquals(2, loads.get("a@b.com"));
+        assertEquals(1, loads.get("b@b.com"));
+
+        principalCache.handleMembershipRoleUpdatedEvent(
+                new MembershipRoleUpdatedEvent(UUID.randomUUID(), UUID.randomUUID(), userIdB, Role.ADMIN)
+        );
+        principalCache.get("b@b.com", loader);
+        assertEquals(2, loads.get("b@b.com"));
+
+        principalCache.handleUserPatchedEvent(new UserPatchedEvent(userIdA, "A", EmailAddress.fromString("new@b.com")));
+        assertEquals(1, principalCache.size());
+    }
+
+    @Test
+    public void staleLoadIsNotCachedTest() {
+        principalCache.get("a@b.com", loader);
+        UUID userId = userIds.get("a@b.com");
+        principalCache.invalidate(userId);
+
+        // a membership change commits while the principal is being loaded
+        principalCache.get("a@b.com", email -> {
+            UserDetails userDetails = loader.apply(email);
+            principalCache.invalidate(userId);
+            return userDetails;
+        });
+        principalCache.get("a@b.com", loader);
+        assertEquals(3, loads.get("a@b.com"));
+    }
+
+    @Test
+    public void expiryTest() {
+        Instant start = Instant.parse("2024-01-01T10:00:00Z");
+        MutableClock clock = new MutableClock(start);
+        principalCache = new PrincipalCache(2, Duration.ofMinutes(10), clock, meterRegistry);
+
+        principalCache.get("a@b.com", loader);
+        clock.instant = start.plus(Duration.ofMinutes(11));
+        principalCache.get("a@b.com", loader);
+        assertEquals(2, loads.get("a@b.com"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
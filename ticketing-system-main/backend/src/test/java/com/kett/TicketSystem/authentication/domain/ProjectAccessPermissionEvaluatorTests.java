@@ -0,0 +1,129 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.membership.domain.Membership;
+import com.kett.TicketSystem.membership.domain.Role;
+import com.kett.TicketSystem.membership.repository.MembershipRepository;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.exceptions.NoTicketFoundException;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ProjectAccessPermissionEvaluatorTests {
+    private final ProjectAccessPermissionEvaluator permissionEvaluator;
+    private final TicketRepository ticketRepository;
+    private final MembershipRepository membershipRepository;
+
+    private UUID projectId;
+    private UUID userId;
+    private Ticket ticket;
+    private Membership membership;
+
+    @Autowired
+    public ProjectAccessPermissionEvaluatorTests(
+            ProjectAccessPermissionEvaluator permissionEvaluator,
+            TicketRepository ticketRepository,
+            MembershipRepository membershipRepository
+    ) {
+        this.permissionEvaluator = permissionEvaluator;
+        this.ticketRepository = ticketRepository;
+        this.membershipRepository = membershipRepository;
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        ticket = ticketRepository.save(new Ticket("title", "description", null, projectId, UUID.randomUUID(), new ArrayList<>()));
+        membership = membershipRepository.save(new Membership(projectId, userId, Role.MEMBER));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ticketRepository.deleteAll();
+        membershipRepository.deleteAll();
+    }
+
+    private Authentication authenticationWith(String... authorities) {
+        return new UsernamePasswordAuthenticationToken(
+                "user",
+                null,
+                Arrays.stream(authorities).map(SimpleGrantedAuthority::new).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void projectPermissionsTest() {
+        Authentication member = authenticationWith("ROLE_USER_" + userId, "ROLE_PROJECT_MEMBER_" + projectId);
+        Authentication admin = authenticationWith("ROLE_PROJECT_ADMIN_" + projectId);
+        Authentication stranger = authenticationWith("ROLE_PROJECT_ADMIN_" + UUID.randomUUID());
+
+        assertTrue(permissionEvaluator.hasPermission(member, ticket.getId(), "ticket", "PROJECT_MEMBER"));
+        assertFalse(permissionEvaluator.hasPermission(member, ticket.getId(), "ticket", "PROJECT_ADMIN"));
+        assertTrue(permissionEvaluator.hasPermission(admin, ticket.getId(), "ticket", "PROJECT_MEMBER"));
+        assertTrue(permissionEvaluator.hasPermission(admin, ticket.getId(), "ticket", "PROJECT_ADMIN"));
+        assertFalse(permissionEvaluator.hasPermission(stranger, ticket.getId(), "ticket", "PROJECT_MEMBER"));
+
+        assertTrue(permissionEvaluator.hasPermission(member, membership.getId(), "membership", "OWNER"));
+        assertFalse(permissionEvaluator.hasPermission(admin, membership.getId(), "membership", "OWNER"));
+        assertTrue(permissionEvaluator.hasPermission(admin, membership.getId(), "membership", "PROJECT_ADMIN"));
+
+        // one cached owner per resource, however often it is checked
+        assertEquals(2, permissionEvaluator.countCachedOwners());
+    }
+
+    @Test
+    public void unknownResourceTest() {
+        Authentication admin = authenticationWith("ROLE_PROJECT_ADMIN_" + projectId);
+        assertThrows(
+                NoTicketFoundException.class,
+                () -> permissionEvaluator.hasPermission(admin, UUID.randomUUID(), "ticket", "PROJECT_MEMBER")
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> permissionEvaluator.hasPermission(admin, ticket.getId(), "ticket", "SOMETHING")
+        );
+        assertEquals(1, permissionEvaluator.countCachedOwners());
+    }
+
+    @Test
+    public void deletedResourceIsEvictedTest() {
+        Authentication admin = authenticationWith("ROLE_PROJECT_ADMIN_" + projectId);
+        assertTrue(permissionEvaluator.hasPermission(admin, ticket.getId(), "ticket", "PROJECT_MEMBER"));
+        assertEquals(1, permissionEvaluator.countCachedOwners());
+
+        ticketRepository.deleteById(ticket.getId());
+        permissionEvaluator.handleTicketDeletedEvent(new TicketDeletedEvent(ticket.getId(), projectId, ticket.getPhaseId()));
+        assertEquals(0, permissionEvaluator.countCachedOwners());
+
+        // the owner is still memoized for the current request, a new request looks it up again
+        assertTrue(permissionEvaluator.hasPermission(admin, ticket.getId(), "ticket", "PROJECT_MEMBER"));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThrows(
+                NoTicketFoundException.class,
+                () -> permissionEvaluator.hasPermission(admin, ticket.getId(), "ticket", "PROJECT_MEMBER")
+        );
+    }
+}
@@ -0,0 +1,69 @@
+package com.kett.TicketSystem.authentication.domain.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Measures the token part of the per-request authentication cost: the former two-parse validation against
+ * a single parse without and with the verified token cache. Not run by surefire, start the main method
+ * from the IDE or with java on the test classpath.
+ */
+public class JwtAuthenticationBenchmark {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+    private static final int DISTINCT_TOKENS = 256;
+    // cycling through more tokens than the cache holds makes every lookup a miss
+    private static final int UNCACHEABLE_TOKENS = JwtTokenProvider.VERIFIED_TOKEN_CACHE_SIZE * 4;
+
+    public static void main(String[] args) {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+        List<String> tokens = generateTokens(jwtTokenProvider, DISTINCT_TOKENS);
+        List<String> uncacheableTokens = generateTokens(jwtTokenProvider, UNCACHEABLE_TOKENS);
+
+        String secretKey = "your_super_secret_key_that_should_be_very_long";
+        Key jwtKey = Keys.hmacShaKeyFor(Base64.getEncoder().encode(secretKey.getBytes()));
+        Consumer<String> twoParses = token -> {
+            Jwts.parserBuilder().setSigningKey(jwtKey).build().parseClaimsJws(token);
+            Claims claims = Jwts.parserBuilder().setSigningKey(jwtKey).build().parseClaimsJws(token).getBody();
+            consume(claims.getSubject());
+        };
+        Consumer<String> singleParse = token -> consume(jwtTokenProvider.parseToken(token).get().getEmail());
+
+        run("two parses (before)", tokens, twoParses);
+        run("single parse, cache miss", uncacheableTokens, singleParse);
+        run("single parse, cache hit", tokens, singleParse);
+    }
+
+    private static List<String> generateTokens(JwtTokenProvider jwtTokenProvider, int count) {
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(jwtTokenProvider.generateToken("user" + i + "@kett.com"));
+        }
+        return tokens;
+    }
+
+    private static void run(String name, List<String> tokens, Consumer<String> operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.accept(tokens.get(i % tokens.size()));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.accept(tokens.get(i % tokens.size()));
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-28s %8.0f ns/op%n", name, (double) elapsed / MEASURED_ITERATIONS);
+    }
+
+    private static int sink;
+
+    private static void consume(String value) {
+        sink += value.length();
+    }
+}
@@ -0,0 +1,93 @@
+package com.kett.TicketSystem.authentication.domain.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenProviderTests {
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    public void buildUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+    }
+
+    @Test
+    public void parseValidTokenTest() {
+        String token = jwtTokenProvider.generateToken("il@kett.com");
+
+        Optional<JwtClaims> claims = jwtTokenProvider.parseToken(token);
+        assertTrue(claims.isPresent());
+        assertEquals("il@kett.com", claims.get().getEmail());
+        assertEquals(claims.get().getIssuedAt().plus(1, ChronoUnit.DAYS), claims.get().getExpiresAt());
+        assertEquals(1, jwtTokenProvider.countVerifiedTokens());
+
+        // second parse is served from the verified token cache
+        assertSame(claims.get(), jwtTokenProvider.parseToken(token).get());
+        assertEquals("il@kett.com", jwtTokenProvider.getEmailFromToken(token));
+        assertTrue(jwtTokenProvider.validateToken(token));
+        assertEquals(1, jwtTokenProvider.countVerifiedTokens());
+    }
+
+    @Test
+    public void parseInvalidTokenTest() {
+        String token = jwtTokenProvider.generateToken("il@kett.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtTokenProvider.parseToken(tampered).isEmpty());
+        assertTrue(jwtTokenProvider.parseToken("not.a.token").isEmpty());
+        assertTrue(jwtTokenProvider.parseToken("").isEmpty());
+        assertTrue(jwtTokenProvider.parseToken(null).isEmpty());
+        assertFalse(jwtTokenProvider.validateToken(tampered));
+        assertEquals(0, jwtTokenProvider.countVerifiedTokens());
+    }
+
+    @Test
+    public void expiredTokenTest() {
+        Instant start = Instant.parse("2024-01-01T10:00:00Z");
+        JwtTokenProvider issuedTwoDaysAgo = new JwtTokenProvider(Clock.fixed(start.minus(Duration.ofDays(2)), ZoneOffset.UTC));
+        JwtTokenProvider now = new JwtTokenProvider(Clock.fixed(start, ZoneOffset.UTC));
+        assertTrue(now.parseToken(issuedTwoDaysAgo.generateToken("il@kett.com")).isEmpty());
+
+        // a cached token stops being accepted once it expires
+        MutableClock clock = new MutableClock(start);
+        JwtTokenProvider provider = new JwtTokenProvider(clock);
+        String token = provider.generateToken("il@kett.com");
+        assertTrue(provider.parseToken(token).isPresent());
+        clock.instant = start.plus(Duration.ofDays(2));
+        assertTrue(provider.parseToken(token).isEmpty());
+        assertEquals(0, provider.countVerifiedTokens());
+        assertTrue(new JwtClaims("il@kett.com", start, start.plusSeconds(1)).isExpiredAt(start.plusSeconds(1)));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.kett.TicketSystem.board.application;
+
+import com.kett.TicketSystem.analysis.CumulativeFlowService;
+import com.kett.TicketSystem.analysis.DailyFlowSnapshotRepository;
+import com.kett.TicketSystem.analysis.ResolutionTimeSketchRepository;
+import com.kett.TicketSystem.board.application.dto.BoardPhaseResponseDto;
+import com.kett.TicketSystem.board.application.dto.BoardResponseDto;
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
+import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.TicketPage;
+import com.kett.TicketSystem.ticket.domain.TicketQuery;
+import com.kett.TicketSystem.ticket.domain.TicketSummary;
+import com.kett.TicketSystem.ticket.domain.consumedData.MembershipDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.consumedData.ProjectDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.consumedData.UserDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import com.kett.TicketSystem.ticket.repository.MembershipDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.PhaseDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.ProjectDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import com.kett.TicketSystem.ticket.repository.UserDataOfTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BoardApplicationServiceTests {
+    private final BoardApplicationService boardApplicationService;
+    private final PhaseDomainService phaseDomainService;
+    private final TicketDomainService ticketDomainService;
+    private final PhaseRepository phaseRepository;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final TicketRepository ticketRepository;
+    private final PhaseDataOfTicketRepository phaseDataOfTicketRepository;
+    private final MembershipDataOfTicketRepository membershipDataOfTicketRepository;
+    private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
+    private final UserDataOfTicketRepository userDataOfTicketRepository;
+    private final CumulativeFlowService cumulativeFlowService;
+    private final DailyFlowSnapshotRepository dailyFlowSnapshotRepository;
+    private final ResolutionTimeSketchRepository resolutionTimeSketchRepository;
+
+    private UUID projectId;
+    private UUID backlogId;
+    private UUID doingId;
+    private UUID doneId;
+    private UUID assigneeId;
+    private EmailAddress userEmail;
+
+    @Autowired
+    public BoardApplicationServiceTests(
+            BoardApplicationService boardApplicationService,
+            PhaseDomainService phaseDomainService,
+            TicketDomainService ticketDomainService,
+            PhaseRepository phaseRepository,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            TicketRepository ticketRepository,
+            PhaseDataOfTicketRepository phaseDataOfTicketRepository,
+            MembershipDataOfTicketRepository membershipDataOfTicketRepository,
+            ProjectDataOfTicketRepository projectDataOfTicketRepository,
+            UserDataOfTicketRepository userDataOfTicketRepository,
+            CumulativeFlowService cumulativeFlowService,
+            DailyFlowSnapshotRepository dailyFlowSnapshotRepository,
+            ResolutionTimeSketchRepository resolutionTimeSketchRepository
+    ) {
+        this.boardApplicationService = boardApplicationService;
+        this.phaseDomainService = phaseDomainService;
+        this.ticketDomainService = ticketDomainService;
+        this.phaseRepository = phaseRepository;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.ticketRepository = ticketRepository;
+        this.phaseDataOfTicketRepository = phaseDataOfTicketRepository;
+        this.membershipDataOfTicketRepository = membershipDataOfTicketRepository;
+        this.projectDataOfTicketRepository = projectDataOfTicketRepository;
+        this.userDataOfTicketRepository = userDataOfTicketRepository;
+        this.cumulativeFlowService = cumulativeFlowService;
+        this.dailyFlowSnapshotRepository = dailyFlowSnapshotRepository;
+        this.resolutionTimeSketchRepository = resolutionTimeSketchRepository;
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        userEmail = EmailAddress.fromString("board@test.com");
+        userDataOfTicketRepository.save(new UserDataOfTicket(UUID.randomUUID(), userEmail));
+        projectDataOfTicketRepository.save(new ProjectDataOfTicket(projectId));
+        assigneeId = UUID.randomUUID();
+        membershipDataOfTicketRepository.save(new MembershipDataOfTicket(UUID.randomUUID(), assigneeId, projectId));
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        backlogId = phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null).getId();
+        doingId = phaseDomainService.createPhase(new Phase(projectId, "DOING"), backlogId).getId();
+        doneId = phaseDomainService.createPhase(new Phase(projectId, "DONE"), doingId).getId();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userEmail.toString(), null, List.of(new SimpleGrantedAuthority("ROLE_PROJECT_MEMBER_" + projectId))
+        ));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        // the ticket changes are recorded by the analysis as well
+        cumulativeFlowService.flushPendingSnapshots();
+        dailyFlowSnapshotRepository.deleteAll();
+        resolutionTimeSketchRepository.deleteAll();
+        ticketRepository.deleteAll();
+        phaseDataOfTicketRepository.deleteAll();
+        membershipDataOfTicketRepository.deleteAll();
+        projectDataOfTicketRepository.deleteAll();
+        userDataOfTicketRepository.deleteAll();
+        phaseRepository.deleteAll();
+        projectDataOfPhaseRepository.deleteAll();
+    }
+
+    private UUID addTicket(int i, UUID phaseId) {
+        UUID ticketId = ticketDomainService.addTicket(
+                new Ticket("ticket " + i, "description", null, projectId, null, new ArrayList<>(List.of(assigneeId))),
+                userEmail
+        ).getId();
+        if (!phaseId.equals(backlogId)) {
+            ticketDomainService.patchTicket(ticketId, null, null, null, phaseId, null, null);
+        }
+        return ticketId;
+    }
+
+    private static List<UUID> getTicketIds(BoardPhaseResponseDto boardPhase) {
+        return boardPhase.getTickets().stream().map(TicketResponseDto::getId).toList();
+    }
+
+    @Test
+    public void getBoardTest() {
+        Set<UUID> backlogTicketIds = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            backlogTicketIds.add(addTicket(i, backlogId));
+        }
+        UUID doingTicketId = addTicket(7, doingId);
+
+        BoardResponseDto board = boardApplicationService.getBoardByProjectId(projectId, 3);
+        assertEquals(projectId, board.getProjectId());
+        assertEquals(
+                List.of(backlogId, doingId, doneId),
+                board.getPhases().stream().map(boardPhase -> boardPhase.getPhase().getId()).toList()
+        );
+        assertEquals(doingId, board.getPhases().get(0).getPhase().getNextPhaseId());
+
+        BoardPhaseResponseDto backlog = board.getPhases().get(0);
+        assertEquals(7, backlog.getPhase().getTicketCount());
+        assertEquals(3, backlog.getTickets().size());
+        assertEquals(List.of(assigneeId), backlog.getTickets().get(0).getAssigneeIds());
+        assertNotNull(backlog.getNextCursor());
+
+        BoardPhaseResponseDto doing = board.getPhases().get(1);
+        assertEquals(1, doing.getPhase().getTicketCount());
+        assertEquals(List.of(doingTicketId), getTicketIds(doing));
+        assertNull(doing.getNextCursor());
+
+        BoardPhaseResponseDto done = board.getPhases().get(2);
+        assertEquals(0, done.getPhase().getTicketCount());
+        assertTrue(done.getTickets().isEmpty());
+        assertNull(done.getNextCursor());
+
+        // the cursor continues the phase with the ticket query
+        List<UUID> pagedTicketIds = new ArrayList<>(getTicketIds(backlog));
+        String cursor = backlog.getNextCursor();
+        while (cursor != null) {
+            TicketQuery ticketQuery = new TicketQuery()
+                    .withPhaseIds(List.of(backlogId))
+                    .withPageSize(3)
+                    .after(TicketCursor.decode(cursor));
+            TicketPage<TicketSummary> ticketPage = ticketDomainService.getTicketSummaryPage(ticketQuery);
+            ticketPage.getTickets().forEach(ticket -> pagedTicketIds.add(ticket.getId()));
+            cursor = ticketPage.hasNext() ? ticketPage.getNextCursor().encode() : null;
+        }
+        assertEquals(7, pagedTicketIds.size());
+        assertEquals(backlogTicketIds, new HashSet<>(pagedTicketIds));
+    }
+
+    @Test
+    public void getBoardWithInvalidTicketsPerPhaseTest() {
+        assertThrows(TicketException.class, () -> boardApplicationService.getBoardByProjectId(projectId, 0));
+        assertThrows(TicketException.class, () -> boardApplicationService.getBoardByProjectId(projectId, TicketDomainService.MAX_TICKETS_PER_PHASE + 1));
+    }
+
+    @Test
+    public void getBoardOfOtherProjectTest() {
+        assertThrows(AccessDeniedException.class, () -> boardApplicationService.getBoardByProjectId(UUID.randomUUID(), null));
+    }
+}
@@ -0,0 +1,186 @@
+package com.kett.TicketSystem.common.persistence;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.notification.domain.Notification;
+import com.kett.TicketSystem.notification.domain.NotificationDomainService;
+import com.kett.TicketSystem.notification.domain.consumedData.UserDataOfNotification;
+import com.kett.TicketSystem.notification.repository.NotificationRepository;
+import com.kett.TicketSystem.notification.repository.ReminderLedgerRepository;
+import com.kett.TicketSystem.notification.repository.UserDataOfNotificationRepository;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.hibernate.BaseSessionEventListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session.events.auto=" +
+        "com.kett.TicketSystem.common.persistence.JdbcBatchingTests$StatementCounter")
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class JdbcBatchingTests {
+    private final NotificationDomainService notificationDomainService;
+    private final NotificationRepository notificationRepository;
+    private final UserDataOfNotificationRepository userDataOfNotificationRepository;
+    private final ReminderLedgerRepository reminderLedgerRepository;
+    private final TicketRepository ticketRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private UUID projectId;
+
+    /**
+     * Counts the statements executed one by one and the executed jdbc batches of the sessions opened by the test thread.
+     */
+    public static class StatementCounter extends BaseSessionEventListener {
+        private static volatile Thread countedThread;
+        private static final AtomicInteger statements = new AtomicInteger();
+        private static final AtomicInteger batches = new AtomicInteger();
+
+        static void reset() {
+            countedThread = Thread.currentThread();
+            statements.set(0);
+            batches.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            if (Thread.currentThread() == countedThread) {
+                statements.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            if (Thread.currentThread() == countedThread) {
+                batches.incrementAndGet();
+            }
+        }
+    }
+
+    @Autowired
+    public JdbcBatchingTests(
+            NotificationDomainService notificationDomainService,
+            NotificationRepository notificationRepository,
+            UserDataOfNotificationRepository userDataOfNotificationRepository,
+            ReminderLedgerRepository reminderLedgerRepository,
+            TicketRepository ticketRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.notificationDomainService = notificationDomainService;
+        this.notificationRepository = notificationRepository;
+        this.userDataOfNotificationRepository = userDataOfNotificationRepository;
+        this.reminderLedgerRepository = reminderLedgerRepository;
+        this.ticketRepository = ticketRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        notificationRepository.deleteAll();
+        reminderLedgerRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userDataOfNotificationRepository.deleteAll();
+    }
+
+    private List<Ticket> newTickets(int count, LocalDateTime dueTime, List<UUID> assigneeIds) {
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // due times in the past are rejected by the domain, noon of today is in the past in the afternoon
+            Ticket ticket = new Ticket("ticket " + i, "description", null, projectId, UUID.randomUUID(), new ArrayList<>(assigneeIds));
+            ReflectionTestUtils.setField(ticket, "dueTime", dueTime);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    @Test
+    public void notificationsAreInsertedInBatchesTest() {
+        UUID recipientId = UUID.randomUUID();
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            notifications.add(new Notification(recipientId, "notification " + i));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            StatementCounter.reset();
+            notificationRepository.saveAll(notifications);
+            entityManager.flush();
+        });
+
+        // ids are generated in memory, so the inserts are the only statements: 50 + 50 + 20 rows
+        assertEquals(0, StatementCounter.statements.get());
+        assertEquals(3, StatementCounter.batches.get());
+        assertEquals(120, notificationRepository.findByRecipientId(recipientId).size());
+    }
+
+    @Test
+    public void ticketsAndAssigneesAreWrittenInBatchesTest() {
+        List<Ticket> tickets = newTickets(100, null, List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            StatementCounter.reset();
+            ticketRepository.saveAll(tickets);
+            entityManager.flush();
+        });
+
+        // ordered inserts group the 100 tickets and then their 200 assignee rows
+        assertEquals(0, StatementCounter.statements.get());
+        assertEquals(2 + 4, StatementCounter.batches.get());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Ticket> loaded = ticketRepository.findByProjectId(projectId);
+            assertEquals(100, loaded.size());
+            StatementCounter.reset();
+            loaded.forEach(ticket -> ticket.setTitle("renamed " + ticket.getTitle()));
+            entityManager.flush();
+        });
+
+        assertEquals(0, StatementCounter.statements.get());
+        assertEquals(2, StatementCounter.batches.get());
+    }
+
+    @Test
+    public void reminderJobWritesNotificationsAndLedgerInBatchesTest() {
+        List<UUID> assigneeIds = new ArrayList<>();
+        for (String localPart : List.of("zero", "one")) {
+            assigneeIds.add(userDataOfNotificationRepository.save(
+                    new UserDataOfNotification(UUID.randomUUID(), EmailAddress.fromString(localPart + "@batching.com"))
+            ).getUserId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ticketRepository.saveAll(newTickets(100, now.truncatedTo(ChronoUnit.DAYS).plusHours(12), assigneeIds));
+
+        StatementCounter.reset();
+        assertEquals(200, notificationDomainService.sendDueDateNotifications(now).getNotificationsWritten());
+
+        // 200 notifications and 200 ledger entries in batches of 100, the remaining statements are the chunk queries
+        assertEquals(4, StatementCounter.batches.get());
+        assertTrue(StatementCounter.statements.get() < 10, StatementCounter.statements.get() + " statements");
+        assertEquals(200, reminderLedgerRepository.count());
+    }
+}
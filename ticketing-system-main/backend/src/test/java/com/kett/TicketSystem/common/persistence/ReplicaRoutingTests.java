@@ -0,0 +1,137 @@
+package com.kett.TicketSystem.common.persistence;
+
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "ticketsystem.datasource.replica.url=" + ReplicaRoutingTests.REPLICA_URL,
+        "ticketsystem.datasource.replica.lag-query=SELECT seconds FROM replica_lag",
+        "ticketsystem.datasource.replica.max-lag=5s"
+})
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReplicaRoutingTests {
+    static final String REPLICA_URL = "jdbc:h2:mem:ticketing_replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private final PhaseRepository phaseRepository;
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    @Autowired
+    public ReplicaRoutingTests(
+            PhaseRepository phaseRepository,
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.phaseRepository = phaseRepository;
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // the replica is a second h2 database with the schema but without replication, so it never sees the writes
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "Purv");
+        Flyway.configure().dataSource(replica).load().migrate();
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        replicaJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+        replicaJdbcTemplate.update("DELETE FROM replica_lag");
+        replicaJdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+        replicaLagMonitor.checkReplicaLag();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        phaseRepository.deleteAll();
+    }
+
+    private UUID savePhase() {
+        return phaseRepository.save(new Phase(UUID.randomUUID(), "BACKLOG")).getId();
+    }
+
+    private boolean readsOnlyFindPhase(UUID phaseId) {
+        return Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status -> phaseRepository.findById(phaseId).isPresent()));
+    }
+
+    private void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(name, null, List.of()));
+    }
+
+    @Test
+    public void readOnlyTransactionsReadFromReplicaTest() {
+        assertTrue(replicaRoutingDataSource.isReplicaAvailable());
+        UUID phaseId = savePhase();
+
+        // without a principal, e.g. in event listeners and scheduled jobs, reading the own writes cannot be tracked
+        assertTrue(readsOnlyFindPhase(phaseId));
+
+        authenticate("reader@test.com");
+        assertFalse(readsOnlyFindPhase(phaseId));
+        // repository finders outside of a transaction run in read-only transactions of their own
+        assertTrue(phaseRepository.findById(phaseId).isEmpty());
+        assertTrue(Boolean.TRUE.equals(transactionTemplate.execute(status -> phaseRepository.findById(phaseId).isPresent())));
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimaryTest() {
+        UUID phaseId = savePhase();
+        authenticate("reader@test.com");
+
+        replicaJdbcTemplate.update("UPDATE replica_lag SET seconds = 60");
+        replicaLagMonitor.checkReplicaLag();
+        assertFalse(replicaRoutingDataSource.isReplicaAvailable());
+        assertTrue(readsOnlyFindPhase(phaseId));
+
+        replicaJdbcTemplate.update("UPDATE replica_lag SET seconds = 1");
+        replicaLagMonitor.checkReplicaLag();
+        assertFalse(readsOnlyFindPhase(phaseId));
+
+        // an unknown lag counts as too much lag
+        replicaJdbcTemplate.execute("DROP TABLE replica_lag");
+        replicaLagMonitor.checkReplicaLag();
+        assertTrue(readsOnlyFindPhase(phaseId));
+    }
+
+    @Test
+    public void callersReadTheirOwnWritesTest() {
+        authenticate("writer@test.com");
+        UUID phaseId = savePhase();
+        assertTrue(readsOnlyFindPhase(phaseId));
+
+        authenticate("reader@test.com");
+        assertFalse(readsOnlyFindPhase(phaseId));
+
+        // a read-only transaction is no write
+        assertFalse(readsOnlyFindPhase(phaseId));
+        authenticate("writer@test.com");
+        assertTrue(readsOnlyFindPhase(phaseId));
+    }
+}
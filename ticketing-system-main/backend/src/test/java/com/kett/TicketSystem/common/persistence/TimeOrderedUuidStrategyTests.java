@@ -0,0 +1,77 @@
+package com.kett.TicketSystem.common.persistence;
+
+import org.hibernate.MappingException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidStrategyTests {
+    // the order of the uuid bytes, as compared by postgres
+    private static int compareBytes(UUID a, UUID b) {
+        int mostSignificant = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return mostSignificant != 0 ? mostSignificant : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static Clock clockOf(AtomicLong millis) {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.get());
+            }
+        };
+    }
+
+    @Test
+    public void layoutTest() {
+        long now = System.currentTimeMillis();
+        UUID uuid = new TimeOrderedUuidStrategy(Clock.fixed(Instant.ofEpochMilli(now), ZoneOffset.UTC)).nextUuid();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(now, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void strictlyIncreasingTest() {
+        AtomicLong millis = new AtomicLong(System.currentTimeMillis());
+        TimeOrderedUuidStrategy strategy = new TimeOrderedUuidStrategy(clockOf(millis));
+
+        UUID previous = strategy.nextUuid();
+        for (int i = 0; i < 100_000; i++) {
+            // many ids per millisecond exhaust the counter, the clock also goes back once
+            if (i % 10_000 == 0) {
+                millis.addAndGet(1);
+            }
+            if (i == 50_000) {
+                millis.addAndGet(-5_000);
+            }
+            UUID next = strategy.nextUuid();
+            assertTrue(compareBytes(previous, next) < 0, previous + " is not before " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void createUuidStrategyTest() {
+        assertInstanceOf(TimeOrderedUuidStrategy.class, UuidIdentifierGenerator.createUuidStrategy("time-ordered"));
+        assertInstanceOf(RandomUuidStrategy.class, UuidIdentifierGenerator.createUuidStrategy("random"));
+        assertInstanceOf(RandomUuidStrategy.class, UuidIdentifierGenerator.createUuidStrategy(RandomUuidStrategy.class.getName()));
+        assertThrows(MappingException.class, () -> UuidIdentifierGenerator.createUuidStrategy("sequential"));
+        assertThrows(MappingException.class, () -> UuidIdentifierGenerator.createUuidStrategy(String.class.getName()));
+    }
+}
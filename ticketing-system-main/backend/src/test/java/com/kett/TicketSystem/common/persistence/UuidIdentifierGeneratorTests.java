@@ -0,0 +1,41 @@
+package com.kett.TicketSystem.common.persistence;
+
+import com.kett.TicketSystem.project.domain.Project;
+import com.kett.TicketSystem.project.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class UuidIdentifierGeneratorTests {
+    private final ProjectRepository projectRepository;
+
+    @Autowired
+    public UuidIdentifierGeneratorTests(ProjectRepository projectRepository) {
+        this.projectRepository = projectRepository;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    public void entitiesGetTimeOrderedIdsTest() {
+        UUID first = projectRepository.save(new Project("first", "")).getId();
+        UUID second = projectRepository.save(new Project("second", "")).getId();
+
+        assertEquals(7, first.version());
+        assertEquals(7, second.version());
+        assertTrue(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()) < 0);
+    }
+}
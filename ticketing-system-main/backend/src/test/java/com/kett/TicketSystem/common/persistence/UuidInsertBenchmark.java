@@ -0,0 +1,79 @@
+package com.kett.TicketSystem.common.persistence;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Measures insert throughput and the size of the primary key index with random and with time-ordered uuid keys,
+ * on an H2 file database and, if -Dbenchmark.postgres.url (plus .user and .password) is given, on postgres.
+ * Not run by surefire, start the main method from the IDE or with java on the test classpath.
+ */
+public class UuidInsertBenchmark {
+    private static final int WARMUP_ROWS = 50_000;
+    private static final int ROWS = 500_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("uuid-benchmark");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("benchmark"), "sa", "")) {
+            run("h2", connection, new RandomUuidStrategy(), "warmup", WARMUP_ROWS);
+            run("h2", connection, new RandomUuidStrategy(), "random", ROWS);
+            run("h2", connection, new TimeOrderedUuidStrategy(), "time-ordered", ROWS);
+        }
+
+        String postgresUrl = System.getProperty("benchmark.postgres.url");
+        if (postgresUrl != null) {
+            try (Connection connection = DriverManager.getConnection(
+                    postgresUrl, System.getProperty("benchmark.postgres.user"), System.getProperty("benchmark.postgres.password")
+            )) {
+                run("postgres", connection, new RandomUuidStrategy(), "warmup", WARMUP_ROWS);
+                run("postgres", connection, new RandomUuidStrategy(), "random", ROWS);
+                run("postgres", connection, new TimeOrderedUuidStrategy(), "time-ordered", ROWS);
+            }
+        }
+    }
+
+    private static void run(String database, Connection connection, UuidStrategy uuidStrategy, String name, int rows) throws SQLException {
+        String table = "uuid_benchmark_" + name.replace('-', '_');
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id uuid NOT NULL, title varchar(255), PRIMARY KEY (id))");
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (id, title) VALUES (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, uuidStrategy.nextUuid());
+                insert.setString(2, "ticket " + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        System.out.printf("%-9s %-13s %9.0f rows/s %8.1f MiB%n",
+                database, name, rows / (elapsed / 1e9), size(database, connection, table) / (1024.0 * 1024.0));
+    }
+
+    // postgres reports the primary key index alone, h2 the table together with its indexes
+    private static long size(String database, Connection connection, String table) throws SQLException {
+        String query = database.equals("postgres")
+                ? "SELECT pg_relation_size('" + table + "_pkey')"
+                : "SELECT DISK_SPACE_USED('" + table.toUpperCase() + "')";
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(query)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.kett.TicketSystem.common.reconciliation;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.project.domain.Project;
+import com.kett.TicketSystem.project.repository.ProjectRepository;
+import com.kett.TicketSystem.ticket.domain.consumedData.PhaseDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.consumedData.UserDataOfTicket;
+import com.kett.TicketSystem.ticket.repository.PhaseDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.ProjectDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.UserDataOfTicketRepository;
+import com.kett.TicketSystem.user.domain.User;
+import com.kett.TicketSystem.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// a chunk size of two walks every projection in several chunks
+@SpringBootTest(properties = {
+        "ticketsystem.reconciliation.chunk-size=2",
+        "ticketsystem.reconciliation.max-rows-per-second=1000000"
+})
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ProjectionReconcilerTests {
+    private static final List<String> PROJECTION_TABLES = List.of(
+            "project_data_of_ticket", "project_data_of_phase", "project_data_of_membership", "phase_data_of_ticket",
+            "membership_data_of_ticket", "user_data_of_ticket", "user_data_of_project", "user_data_of_membership",
+            "user_data_of_notification"
+    );
+
+    private final ProjectionReconciler projectionReconciler;
+    private final ReconciliationEndpoint reconciliationEndpoint;
+    private final PhaseDomainService phaseDomainService;
+    private final PhaseRepository phaseRepository;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final PhaseDataOfTicketRepository phaseDataOfTicketRepository;
+    private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
+    private final UserDataOfTicketRepository userDataOfTicketRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProjectionReconcilerTests(
+            ProjectionReconciler projectionReconciler,
+            ReconciliationEndpoint reconciliationEndpoint,
+            PhaseDomainService phaseDomainService,
+            PhaseRepository phaseRepository,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            ProjectRepository projectRepository,
+            UserRepository userRepository,
+            PhaseDataOfTicketRepository phaseDataOfTicketRepository,
+            ProjectDataOfTicketRepository projectDataOfTicketRepository,
+            UserDataOfTicketRepository userDataOfTicketRepository,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.projectionReconciler = projectionReconciler;
+        this.reconciliationEndpoint = reconciliationEndpoint;
+        this.phaseDomainService = phaseDomainService;
+        this.phaseRepository = phaseRepository;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.phaseDataOfTicketRepository = phaseDataOfTicketRepository;
+        this.projectDataOfTicketRepository = projectDataOfTicketRepository;
+        this.userDataOfTicketRepository = userDataOfTicketRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        phaseRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+        // the reconciler fills the consumed data of every module
+        PROJECTION_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM \"" + table + "\""));
+    }
+
+    private ReconciliationProgress getProgress(String projection) {
+        return reconciliationEndpoint
+                .progress()
+                .stream()
+                .filter(progress -> progress.getProjection().equals(projection))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private UUID createPhase() {
+        UUID projectId = UUID.randomUUID();
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        return phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null).getId();
+    }
+
+    @Test
+    public void ticketCountDriftIsRepairedWhenFoundTwiceTest() {
+        UUID phaseId = createPhase();
+        phaseRepository.findById(phaseId).ifPresent(phase -> {
+            phase.setTicketCount(5);
+            phaseRepository.save(phase);
+        });
+
+        projectionReconciler.reconcile();
+        assertEquals(5, phaseDomainService.getPhaseById(phaseId).getTicketCount());
+        ReconciliationProgress progress = getProgress(ProjectionReconciler.TICKET_COUNT);
+        assertFalse(progress.isRunning());
+        assertTrue(progress.getRowsChecked() >= 1);
+        assertTrue(progress.getLastRunDriftFound() >= 1);
+
+        projectionReconciler.reconcile();
+        assertEquals(0, phaseDomainService.getPhaseById(phaseId).getTicketCount());
+        assertTrue(getProgress(ProjectionReconciler.TICKET_COUNT).getLastRunDriftRepaired() >= 1);
+    }
+
+    @Test
+    public void consumedDataDriftIsRepairedTest() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(new User("user" + i, "reconcile" + i + "@test.com", "password")));
+        }
+        // correct, missing, outdated email, duplicated, and the projection of a user that does not exist
+        userDataOfTicketRepository.save(new UserDataOfTicket(users.get(0).getId(), users.get(0).getEmail()));
+        userDataOfTicketRepository.save(new UserDataOfTicket(users.get(2).getId(), EmailAddress.fromString("old@test.com")));
+        userDataOfTicketRepository.save(new UserDataOfTicket(users.get(3).getId(), users.get(3).getEmail()));
+        userDataOfTicketRepository.save(new UserDataOfTicket(users.get(3).getId(), users.get(3).getEmail()));
+        UUID deletedUserId = UUID.randomUUID();
+        userDataOfTicketRepository.save(new UserDataOfTicket(deletedUserId, EmailAddress.fromString("deleted@test.com")));
+
+        UUID projectId = projectRepository.save(new Project("project", "description")).getId();
+        UUID phaseId = createPhase();
+        PhaseDataOfTicket phaseData = phaseDataOfTicketRepository.findByPhaseId(phaseId).get(0);
+        Long rank = phaseData.getRank();
+        phaseData.setRank(rank + 1);
+        phaseDataOfTicketRepository.save(phaseData);
+
+        projectionReconciler.reconcile();
+        assertTrue(userDataOfTicketRepository.findByUserId(users.get(1).getId()).isEmpty());
+        assertEquals(1, userDataOfTicketRepository.findByUserId(deletedUserId).size());
+        assertTrue(getProgress("user_data_of_ticket").getLastRunDriftFound() >= 5);
+        assertEquals(0, getProgress("user_data_of_ticket").getLastRunDriftRepaired());
+
+        projectionReconciler.reconcile();
+        for (User user : users) {
+            List<UserDataOfTicket> userData = userDataOfTicketRepository.findByUserId(user.getId());
+            assertEquals(1, userData.size());
+            assertEquals(user.getEmail(), userData.get(0).getUserEmail());
+        }
+        assertTrue(userDataOfTicketRepository.findByUserId(deletedUserId).isEmpty());
+        assertNotNull(projectDataOfTicketRepository.findByProjectId(projectId));
+        assertEquals(rank, phaseDataOfTicketRepository.findByPhaseId(phaseId).get(0).getRank());
+        assertTrue(getProgress("user_data_of_ticket").getLastRunDriftRepaired() >= 5);
+
+        // nothing left to repair
+        projectionReconciler.reconcile();
+        assertEquals(0, getProgress("user_data_of_ticket").getLastRunDriftFound());
+        assertEquals(0, getProgress("project_data_of_ticket").getLastRunDriftFound());
+        assertEquals(0, getProgress("phase_data_of_ticket").getLastRunDriftFound());
+    }
+
+    @Test
+    public void differenceThatDisappearsIsNotRepairedTest() {
+        User user = userRepository.save(new User("late", "late@test.com", "password"));
+
+        projectionReconciler.reconcile();
+        assertTrue(userDataOfTicketRepository.findByUserId(user.getId()).isEmpty());
+
+        // the event arrives after the first run
+        userDataOfTicketRepository.save(new UserDataOfTicket(user.getId(), user.getEmail()));
+        projectionReconciler.reconcile();
+        assertEquals(1, userDataOfTicketRepository.findByUserId(user.getId()).size());
+    }
+}
@@ -24,11 +24,15 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -47,6 +51,7 @@ public class NotificationControllerTests {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final RestRequestHelper restMinion;
+    private final TransactionTemplate committingTransactionTemplate;
 
     private UUID userId0;
     private String userName0;
@@ -71,7 +76,8 @@ public class NotificationControllerTests {
             ApplicationEventPublisher eventPublisher,
             NotificationDomainService notificationDomainService,
             NotificationRepository notificationRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager) {
         this.mockMvc = mockMvc;
         this.objectMapper = objectMapper;
         this.eventPublisher = eventPublisher;
@@ -79,6 +85,8 @@ public class NotificationControllerTests {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.restMinion = new RestRequestHelper(mockMvc, objectMapper);
+        this.committingTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.committingTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @BeforeEach
@@ -127,8 +135,9 @@ public class NotificationControllerTests {
     @Test
     public void getNotificationsByQueryTest() throws Exception {
         eventPublisher.publishEvent(new UnacceptedProjectMembershipCreatedEvent(membershipId, userId0, projectId));
-        eventPublisher.publishEvent(new TicketAssignedEvent(ticketId, projectId, userId0));
-        eventPublisher.publishEvent(new TicketUnassignedEvent(ticketId, projectId, userId0));
+        publishCommitted(new TicketAssignedEvent(ticketId, projectId, userId0));
+        publishCommitted(new TicketUnassignedEvent(ticketId, projectId, userId0));
+        awaitNotifications(userId0, 3);
 
         MvcResult getByRecipientIdResult =
                 mockMvc.perform(
@@ -166,6 +175,7 @@ public class NotificationControllerTests {
     @Test
     public void getNotificationByIdTest() throws Exception {
         eventPublisher.publishEvent(new UnacceptedProjectMembershipCreatedEvent(membershipId, userId0, projectId));
+        awaitNotifications(userId0, 1);
 
         // find out notificationId
         MvcResult getByRecipientIdResult =
@@ -204,7 +214,8 @@ public class NotificationControllerTests {
 
     @Test
     public void getNotificationOfOtherUserByIdTest() throws Exception {
-        eventPublisher.publishEvent(new TicketAssignedEvent(ticketId, projectId, userId1));
+        publishCommitted(new TicketAssignedEvent(ticketId, projectId, userId1));
+        awaitNotifications(userId1, 1);
 
         // find out notificationId
         MvcResult getByRecipientIdResult =
@@ -229,7 +240,8 @@ public class NotificationControllerTests {
 
     @Test
     public void patchNotificationTest() throws Exception {
-        eventPublisher.publishEvent(new TicketAssignedEvent(ticketId, projectId, userId0));
+        publishCommitted(new TicketAssignedEvent(ticketId, projectId, userId0));
+        awaitNotifications(userId0, 1);
 
         // find out notificationId
         MvcResult getByRecipientIdResult =
@@ -274,7 +286,8 @@ public class NotificationControllerTests {
 
     @Test
     public void deleteNotificationTest() throws Exception {
-        eventPublisher.publishEvent(new TicketAssignedEvent(ticketId, projectId, userId0));
+        publishCommitted(new TicketAssignedEvent(ticketId, projectId, userId0));
+        awaitNotifications(userId0, 1);
 
         // find out notificationId
         MvcResult getByRecipientIdResult =
@@ -312,20 +325,11 @@ public class NotificationControllerTests {
 
     @Test
     public void consumeHandleTicketAssignedEvent() throws Exception {
-        eventPublisher
-                .publishEvent(
-                        new TicketAssignedEvent(
-                                ticketId,
-                                projectId,
-                                userId0
-                        )
-                );
-
-        // TODO: find more stable alternative for testing
-        // shame: give services time to handle event
-        Thread.sleep(100);
-
-        List<Notification> notifications = notificationDomainService.getNotificationsByRecipientId(userId0);
+        publishCommitted(new TicketAssignedEvent(ticketId, projectId, userId0));
+
+        awaitNotifications(userId0, 1);
+
+        List<Notification> notifications = notificationRepository.findByRecipientId(userId0);
         assertEquals(1, notifications.size());
         Notification notification = notifications.get(0);
         assertEquals(userId0, notification.getRecipientId());
@@ -335,20 +339,11 @@ public class NotificationControllerTests {
 
     @Test
     public void consumeUnacceptedProjectMembershipCreatedEvent() throws Exception {
-        eventPublisher
-                .publishEvent(
-                        new UnacceptedProjectMembershipCreatedEvent(
-                                membershipId,
-                                userId0,
-                                projectId
-                        )
-                );
-
-        // TODO: find more stable alternative for testing
-        // shame: give services time to handle event
-        Thread.sleep(100);
-
-        List<Notification> notifications = notificationDomainService.getNotificationsByRecipientId(userId0);
+        eventPublisher.publishEvent(new UnacceptedProjectMembershipCreatedEvent(membershipId, userId0, projectId));
+
+        awaitNotifications(userId0, 1);
+
+        List<Notification> notifications = notificationRepository.findByRecipientId(userId0);
         assertEquals(1, notifications.size());
         Notification notification = notifications.get(0);
         assertEquals(userId0, notification.getRecipientId());
@@ -358,24 +353,24 @@ public class NotificationControllerTests {
 
     @Test
     public void consumeTicketUnassignedEvent() throws Exception {
-        eventPublisher
-                .publishEvent(
-                        new TicketUnassignedEvent(
-                                ticketId,
-                                projectId,
-                                userId0
-                        )
-                );
-
-        // TODO: find more stable alternative for testing
-        // shame: give services time to handle event
-        Thread.sleep(100);
-
-        List<Notification> notifications = notificationDomainService.getNotificationsByRecipientId(userId0);
+        publishCommitted(new TicketUnassignedEvent(ticketId, projectId, userId0));
+
+        awaitNotifications(userId0, 1);
+
+        List<Notification> notifications = notificationRepository.findByRecipientId(userId0);
         assertEquals(1, notifications.size());
         Notification notification = notifications.get(0);
         assertEquals(userId0, notification.getRecipientId());
         assertEquals(false, notification.getIsRead());
         assertTrue(notification.getContent().contains(ticketId.toString()));
     }
+
+    // the ticket listeners run after commit, like in production the events have to be published in a committed transaction
+    private void publishCommitted(Object event) {
+        committingTransactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
+    }
+
+    private void awaitNotifications(UUID recipientId, int count) {
+        await().until(() -> notificationRepository.findByRecipientId(recipientId).size() == count);
+    }
 }
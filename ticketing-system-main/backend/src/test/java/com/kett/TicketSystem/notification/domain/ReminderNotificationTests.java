@@ -0,0 +1,230 @@
+package com.kett.TicketSystem.notification.domain;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.membership.domain.Membership;
+import com.kett.TicketSystem.membership.domain.Role;
+import com.kett.TicketSystem.membership.domain.State;
+import com.kett.TicketSystem.membership.repository.MembershipRepository;
+import com.kett.TicketSystem.notification.domain.consumedData.UserDataOfNotification;
+import com.kett.TicketSystem.notification.repository.NotificationRepository;
+import com.kett.TicketSystem.notification.repository.ReminderLedgerRepository;
+import com.kett.TicketSystem.notification.repository.UserDataOfNotificationRepository;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.project.domain.Project;
+import com.kett.TicketSystem.project.repository.ProjectRepository;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReminderNotificationTests {
+    private final NotificationDomainService notificationDomainService;
+    private final NotificationRepository notificationRepository;
+    private final UserDataOfNotificationRepository userDataOfNotificationRepository;
+    private final TicketRepository ticketRepository;
+    private final ProjectRepository projectRepository;
+    private final ReminderLedgerRepository reminderLedgerRepository;
+    private final PhaseRepository phaseRepository;
+    private final PhaseDomainService phaseDomainService;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final MembershipRepository membershipRepository;
+
+    private LocalDateTime now;
+    private UUID projectId;
+    private UUID userId0;
+    private UUID userId1;
+
+    @Autowired
+    public ReminderNotificationTests(
+            NotificationDomainService notificationDomainService,
+            NotificationRepository notificationRepository,
+            UserDataOfNotificationRepository userDataOfNotificationRepository,
+            TicketRepository ticketRepository,
+            ProjectRepository projectRepository,
+            ReminderLedgerRepository reminderLedgerRepository,
+            PhaseRepository phaseRepository,
+            PhaseDomainService phaseDomainService,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            MembershipRepository membershipRepository
+    ) {
+        this.notificationDomainService = notificationDomainService;
+        this.notificationRepository = notificationRepository;
+        this.userDataOfNotificationRepository = userDataOfNotificationRepository;
+        this.ticketRepository = ticketRepository;
+        this.projectRepository = projectRepository;
+        this.reminderLedgerRepository = reminderLedgerRepository;
+        this.phaseRepository = phaseRepository;
+        this.phaseDomainService = phaseDomainService;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.membershipRepository = membershipRepository;
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        now = LocalDateTime.now();
+        projectId = projectRepository.save(new Project("Reminder Project", "tickets due today")).getId();
+        userId0 = userDataOfNotificationRepository.save(
+                new UserDataOfNotification(UUID.randomUUID(), EmailAddress.fromString("zero@reminder.com"))
+        ).getUserId();
+        userId1 = userDataOfNotificationRepository.save(
+                new UserDataOfNotification(UUID.randomUUID(), EmailAddress.fromString("one@reminder.com"))
+        ).getUserId();
+        notificationRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        notificationRepository.deleteAll();
+        reminderLedgerRepository.deleteAll();
+        ticketRepository.deleteAll();
+        membershipRepository.deleteAll();
+        userDataOfNotificationRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    private Ticket saveTicket(String title, LocalDateTime dueTime, List<UUID> assigneeIds) {
+        return saveTicket(title, dueTime, UUID.randomUUID(), assigneeIds);
+    }
+
+    private Ticket saveTicket(String title, LocalDateTime dueTime, UUID phaseId, List<UUID> assigneeIds) {
+        // due times in the past are rejected by the domain, noon of today is in the past in the afternoon
+        Ticket ticket = new Ticket(title, "description", null, projectId, phaseId, new ArrayList<>(assigneeIds));
+        ReflectionTestUtils.setField(ticket, "dueTime", dueTime);
+        return ticketRepository.save(ticket);
+    }
+
+    private void saveOverdueTicket(String title, LocalDateTime dueTime, UUID phaseId, List<UUID> assigneeIds) {
+        // the ticket becomes overdue behind the back of the domain
+        saveTicket(title, dueTime, phaseId, assigneeIds);
+    }
+
+    @Test
+    public void sendDueDateNotificationsTest() {
+        LocalDateTime noon = now.truncatedTo(ChronoUnit.DAYS).plusHours(12);
+        UUID unknownUserId = UUID.randomUUID();
+
+        saveTicket("due today", noon, List.of(userId0, userId1));
+        saveTicket("due today with stranger", noon, List.of(userId1, unknownUserId));
+        saveTicket("due tomorrow", noon.plusDays(1), List.of(userId0));
+        saveTicket("unassigned", noon, List.of());
+        Ticket done = saveTicket("done", noon, List.of(userId0));
+        done.setStatus(Ticket.TicketStatus.DONE);
+        ticketRepository.save(done);
+
+        ReminderRunStatistics statistics = notificationDomainService.sendDueDateNotifications(now);
+
+        assertEquals(2, statistics.getTicketsScanned());
+        assertEquals(3, statistics.getNotificationsWritten());
+        assertEquals(1, statistics.getRecipientsSkipped());
+        assertEquals(0, statistics.getAlreadyReminded());
+        assertEquals(1, notificationRepository.findByRecipientId(userId0).size());
+        assertEquals(2, notificationRepository.findByRecipientId(userId1).size());
+        assertTrue(notificationRepository.findByRecipientId(unknownUserId).isEmpty());
+        assertEquals(
+                "Reminder: Today is the due date for ticket (due today) in project Reminder Project.",
+                notificationRepository.findByRecipientId(userId0).get(0).getContent()
+        );
+    }
+
+    @Test
+    public void sendDueDateNotificationsInChunksTest() {
+        LocalDateTime noon = now.truncatedTo(ChronoUnit.DAYS).plusHours(12);
+        int ticketCount = NotificationDomainService.REMINDER_CHUNK_SIZE / 2 + 1;
+        for (int i = 0; i < ticketCount; i++) {
+            saveTicket("ticket " + i, noon, List.of(userId0, userId1));
+        }
+
+        ReminderRunStatistics statistics = notificationDomainService.sendDueDateNotifications(now);
+
+        assertEquals(2, statistics.getChunks());
+        assertEquals(ticketCount, statistics.getTicketsScanned());
+        assertEquals(2L * ticketCount, statistics.getNotificationsWritten());
+        assertEquals(ticketCount, notificationRepository.findByRecipientId(userId0).size());
+        assertEquals(ticketCount, notificationRepository.findByRecipientId(userId1).size());
+    }
+
+    @Test
+    public void dueDateRemindersAreSentOncePerDayTest() {
+        LocalDateTime noon = now.truncatedTo(ChronoUnit.DAYS).plusHours(12);
+        saveTicket("due today", noon, List.of(userId0, userId1));
+
+        assertEquals(2, notificationDomainService.sendDueDateNotifications(now).getNotificationsWritten());
+
+        ReminderRunStatistics secondRun = notificationDomainService.sendDueDateNotifications(now.plusHours(1));
+        assertEquals(0, secondRun.getNotificationsWritten());
+        assertEquals(2, secondRun.getAlreadyReminded());
+        assertEquals(1, notificationRepository.findByRecipientId(userId0).size());
+        assertEquals(2, reminderLedgerRepository.count());
+    }
+
+    @Test
+    public void sendOverdueNotificationsToAdminTest() {
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        Phase backlog = phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null);
+        Phase done = phaseDomainService.createPhase(new Phase(projectId, "DONE"), backlog.getId());
+        Membership admin = new Membership(projectId, userId0, Role.ADMIN);
+        admin.setState(State.ACCEPTED);
+        membershipRepository.save(admin);
+        membershipRepository.save(new Membership(projectId, userId1, Role.MEMBER));
+
+        LocalDateTime yesterday = now.truncatedTo(ChronoUnit.DAYS).minusHours(12);
+        saveOverdueTicket("overdue", yesterday, backlog.getId(), List.of(userId1));
+        saveOverdueTicket("overdue but done", yesterday, done.getId(), List.of(userId1));
+        saveOverdueTicket("overdue but unassigned", yesterday, backlog.getId(), List.of());
+        saveTicket("not yet due", now.plusDays(1), backlog.getId(), List.of(userId1));
+
+        ReminderRunStatistics firstRun = notificationDomainService.sendOverdueNotificationsToAdmin(now);
+        assertEquals(1, firstRun.getTicketsScanned());
+        assertEquals(1, firstRun.getNotificationsWritten());
+        assertEquals(
+                "Alert: Ticket (overdue) in project Reminder Project passed its due date (" + yesterday.toLocalDate() + ") and remains unresolved.",
+                notificationRepository.findByRecipientId(userId0).get(0).getContent()
+        );
+        assertTrue(notificationRepository.findByRecipientId(userId1).isEmpty());
+
+        // the same day only once, the next day again
+        ReminderRunStatistics secondRun = notificationDomainService.sendOverdueNotificationsToAdmin(now.plusHours(1));
+        assertEquals(0, secondRun.getNotificationsWritten());
+        assertEquals(1, secondRun.getAlreadyReminded());
+        ReminderRunStatistics nextDayRun = notificationDomainService.sendOverdueNotificationsToAdmin(now.plusDays(1));
+        assertEquals(1, nextDayRun.getNotificationsWritten());
+        assertEquals(2, notificationRepository.findByRecipientId(userId0).size());
+    }
+
+    @Test
+    public void purgeReminderLedgerTest() {
+        LocalDate today = LocalDate.now();
+        LocalDate expired = today.minusDays(NotificationDomainService.REMINDER_LEDGER_RETENTION_DAYS + 1);
+        UUID ticketId = UUID.randomUUID();
+        reminderLedgerRepository.save(new ReminderLedgerEntry(ticketId, userId0, ReminderKind.OVERDUE, today));
+        reminderLedgerRepository.save(new ReminderLedgerEntry(ticketId, userId0, ReminderKind.OVERDUE, expired));
+
+        notificationDomainService.purgeReminderLedger();
+
+        List<ReminderLedgerEntry> remaining = reminderLedgerRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals(today, remaining.get(0).getPeriod());
+    }
+}
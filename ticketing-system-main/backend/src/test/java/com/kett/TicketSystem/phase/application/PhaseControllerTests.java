@@ -112,6 +112,8 @@ public class PhaseControllerTests {
         buildUpProjectName = "toss a coin to your witcher";
         buildUpProjectDescription = "50ct please";
         buildUpProjectId = restMinion.postProject(jwt, buildUpProjectName, buildUpProjectDescription);
+        // the BACKLOG phase of a new project is created asynchronously
+        await().until(() -> !phaseRepository.findByProjectId(buildUpProjectId).isEmpty());
 
         differentProjectName = "Stormcloaks";
         differentProjectDescription = "Not the Imperial Legion.";
@@ -147,6 +149,10 @@ public class PhaseControllerTests {
         userRepository.deleteAll();
     }
 
+    private List<UUID> getPhaseIdsByProjectId(UUID projectId) {
+        return phaseDomainService.getPhasesByProjectId(projectId).stream().map(Phase::getId).toList();
+    }
+
     @Test
     public void getPhaseByIdTest() throws Exception {
         UUID phaseId = restMinion.postPhase(jwt, buildUpProjectId, phaseName0, null);
@@ -171,7 +177,7 @@ public class PhaseControllerTests {
         UUID phaseId = restMinion.postPhase(jwt, buildUpProjectId, phaseName0, null);
         List<Phase> phases = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
 
-        // defaultPhase + new phase = 2
+        // new phase first + defaultPhase = 2
         MvcResult getResult =
                 mockMvc.perform(
                                 get("/phases")
@@ -183,14 +189,14 @@ public class PhaseControllerTests {
                         .andExpect(jsonPath("$[0].id").value(phases.get(0).getId().toString()))
                         .andExpect(jsonPath("$[0].projectId").value(phases.get(0).getProjectId().toString()))
                         .andExpect(jsonPath("$[0].name").value(phases.get(0).getName()))
-                        .andExpect(jsonPath("$[0].previousPhaseId").value(phases.get(0).getPreviousPhase().getId().toString()))
-                        .andExpect(jsonPath("$[0].nextPhaseId").isEmpty())
+                        .andExpect(jsonPath("$[0].previousPhaseId").isEmpty())
+                        .andExpect(jsonPath("$[0].nextPhaseId").value(phases.get(1).getId().toString()))
                         .andExpect(jsonPath("$[0].ticketCount").value(phases.get(0).getTicketCount()))
                         .andExpect(jsonPath("$[1].id").value(phases.get(1).getId().toString()))
                         .andExpect(jsonPath("$[1].projectId").value(phases.get(1).getProjectId().toString()))
                         .andExpect(jsonPath("$[1].name").value(phases.get(1).getName()))
-                        .andExpect(jsonPath("$[1].previousPhaseId").isEmpty())
-                        .andExpect(jsonPath("$[1].nextPhaseId").value(phases.get(1).getNextPhase().getId().toString()))
+                        .andExpect(jsonPath("$[1].previousPhaseId").value(phases.get(0).getId().toString()))
+                        .andExpect(jsonPath("$[1].nextPhaseId").isEmpty())
                         .andExpect(jsonPath("$[1].ticketCount").value(phases.get(1).getTicketCount()))
                         .andReturn();
     }
@@ -223,14 +229,14 @@ public class PhaseControllerTests {
         PhaseCreatedEvent phaseCreatedEvent = (PhaseCreatedEvent) eventCatcher.getEvent();
         assertEquals(phaseId0, phaseCreatedEvent.getPhaseId());
         assertEquals(phasePostDto0.getProjectId(), phaseCreatedEvent.getProjectId());
+        assertEquals(phaseDomainService.getPhaseById(phaseId0).getRank(), phaseCreatedEvent.getRank());
 
         // test instance
         Phase phase0 = phaseDomainService.getPhaseById(phaseId0);
         assertEquals(phaseId0, phase0.getId());
         assertEquals(phasePostDto0.getProjectId(), phase0.getProjectId());
         assertEquals(phasePostDto0.getName(), phase0.getName());
-        assertNull(phase0.getPreviousPhase());
-        assertEquals(nextPhaseId, phase0.getNextPhase().getId());
+        assertEquals(List.of(phaseId0, nextPhaseId), getPhaseIdsByProjectId(buildUpProjectId));
 
         // post to second place
         eventCatcher.catchEventOfType(PhaseCreatedEvent.class);
@@ -263,8 +269,7 @@ public class PhaseControllerTests {
         assertEquals(phaseId1, phase1.getId());
         assertEquals(phasePostDto1.getProjectId(), phase1.getProjectId());
         assertEquals(phasePostDto1.getName(), phase1.getName());
-        assertEquals(phasePostDto1.getPreviousPhaseId(), phase1.getPreviousPhase().getId());
-        assertEquals(nextPhaseId, phase1.getNextPhase().getId());
+        assertEquals(List.of(phaseId0, phaseId1, nextPhaseId), getPhaseIdsByProjectId(buildUpProjectId));
     }
 
     @Test
@@ -276,26 +281,15 @@ public class PhaseControllerTests {
         List<Phase> initialPhases = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
         assertEquals(3, initialPhases.size());
 
-        assertEquals("BACKLOG", initialPhases.get(0).getName());
-        UUID backlogId = initialPhases.get(0).getId();
-        assertFalse(initialPhases.get(0).isFirst());
-        assertTrue(initialPhases.get(0).isLast());
-        assertEquals(initialPhases.get(1).getId(), initialPhases.get(0).getPreviousPhase().getId());
-        assertNull(initialPhases.get(0).getNextPhase());
-
+        // phases are ordered by rank: phaseName0 was posted to the first place last
+        assertEquals(phaseName0, initialPhases.get(0).getName());
+        UUID phaseId0 = initialPhases.get(0).getId();
         assertEquals(phaseName1, initialPhases.get(1).getName());
         UUID phaseId1 = initialPhases.get(1).getId();
-        assertFalse(initialPhases.get(1).isFirst());
-        assertFalse(initialPhases.get(1).isLast());
-        assertEquals(initialPhases.get(2).getId(), initialPhases.get(1).getPreviousPhase().getId());
-        assertEquals(initialPhases.get(0).getId(), initialPhases.get(1).getNextPhase().getId());
-
-        assertEquals(phaseName0, initialPhases.get(2).getName());
-        UUID phaseId0 = initialPhases.get(2).getId();
-        assertTrue(initialPhases.get(2).isFirst());
-        assertFalse(initialPhases.get(2).isLast());
-        assertNull(initialPhases.get(2).getPreviousPhase());
-        assertEquals(initialPhases.get(1).getId(), initialPhases.get(2).getNextPhase().getId());
+        assertEquals("BACKLOG", initialPhases.get(2).getName());
+        UUID backlogId = initialPhases.get(2).getId();
+        assertTrue(initialPhases.get(0).getRank() < initialPhases.get(1).getRank());
+        assertTrue(initialPhases.get(1).getRank() < initialPhases.get(2).getRank());
 
         // delete middle -> phaseId1
         eventCatcher.catchEventOfType(PhaseDeletedEvent.class);
@@ -319,14 +313,8 @@ public class PhaseControllerTests {
         // test other phases after delete
         List<Phase> phasesAfterFirstDelete = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
         assertEquals(2, phasesAfterFirstDelete.size());
-        assertEquals(backlogId, phasesAfterFirstDelete.get(0).getId());
-        assertTrue(phasesAfterFirstDelete.get(0).isLast());
-        assertEquals(phasesAfterFirstDelete.get(0).getPreviousPhase().getId(), phasesAfterFirstDelete.get(1).getId());
-        assertNull(phasesAfterFirstDelete.get(0).getNextPhase());
-        assertEquals(phaseId0, phasesAfterFirstDelete.get(1).getId());
-        assertTrue(phasesAfterFirstDelete.get(1).isFirst());
-        assertEquals(phasesAfterFirstDelete.get(1).getNextPhase().getId(), phasesAfterFirstDelete.get(0).getId());
-        assertNull(phasesAfterFirstDelete.get(1).getPreviousPhase());
+        assertEquals(phaseId0, phasesAfterFirstDelete.get(0).getId());
+        assertEquals(backlogId, phasesAfterFirstDelete.get(1).getId());
 
         // delete last -> backlogId
         eventCatcher.catchEventOfType(PhaseDeletedEvent.class);
@@ -351,10 +339,6 @@ public class PhaseControllerTests {
         List<Phase> phasesAfterSecondDelete = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
         assertEquals(1, phasesAfterSecondDelete.size());
         assertEquals(phaseId0, phasesAfterSecondDelete.get(0).getId());
-        assertTrue(phasesAfterSecondDelete.get(0).isFirst());
-        assertTrue(phasesAfterSecondDelete.get(0).isLast());
-        assertNull(phasesAfterSecondDelete.get(0).getPreviousPhase());
-        assertNull(phasesAfterSecondDelete.get(0).getNextPhase());
 
         // delete remaining phase -> phaseId0
         eventCatcher.catchEventOfType(PhaseDeletedEvent.class);
@@ -412,26 +396,15 @@ public class PhaseControllerTests {
         List<Phase> initialPhases = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
         assertEquals(3, initialPhases.size());
 
-        assertEquals("BACKLOG", initialPhases.get(0).getName());
-        UUID backlogId = initialPhases.get(0).getId();
-        assertFalse(initialPhases.get(0).isFirst());
-        assertTrue(initialPhases.get(0).isLast());
-        assertEquals(initialPhases.get(1).getId(), initialPhases.get(0).getPreviousPhase().getId());
-        assertNull(initialPhases.get(0).getNextPhase());
-
+        // phases are ordered by rank: phaseName0 was posted to the first place last
+        assertEquals(phaseName0, initialPhases.get(0).getName());
+        UUID phaseId0 = initialPhases.get(0).getId();
         assertEquals(phaseName1, initialPhases.get(1).getName());
         UUID phaseId1 = initialPhases.get(1).getId();
-        assertFalse(initialPhases.get(1).isFirst());
-        assertFalse(initialPhases.get(1).isLast());
-        assertEquals(initialPhases.get(2).getId(), initialPhases.get(1).getPreviousPhase().getId());
-        assertEquals(initialPhases.get(0).getId(), initialPhases.get(1).getNextPhase().getId());
-
-        assertEquals(phaseName0, initialPhases.get(2).getName());
-        UUID phaseId0 = initialPhases.get(2).getId();
-        assertTrue(initialPhases.get(2).isFirst());
-        assertFalse(initialPhases.get(2).isLast());
-        assertNull(initialPhases.get(2).getPreviousPhase());
-        assertEquals(initialPhases.get(1).getId(), initialPhases.get(2).getNextPhase().getId());
+        assertEquals("BACKLOG", initialPhases.get(2).getName());
+        UUID backlogId = initialPhases.get(2).getId();
+        assertTrue(initialPhases.get(0).getRank() < initialPhases.get(1).getRank());
+        assertTrue(initialPhases.get(1).getRank() < initialPhases.get(2).getRank());
 
         // move first to last
         PhasePutPositionDto phasePutPositionDto = new PhasePutPositionDto(backlogId);
@@ -444,31 +417,11 @@ public class PhaseControllerTests {
                         .andExpect(status().isNoContent())
                         .andReturn();
 
-        // test initial state
+        // test state after put
         List<Phase> phasesAfterPut = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
         assertEquals(3, phasesAfterPut.size());
-
-        assertEquals("BACKLOG", phasesAfterPut.get(0).getName());
-        assertFalse(phasesAfterPut.get(0).isFirst());
-        assertFalse(phasesAfterPut.get(0).isLast());
-        assertEquals(phasesAfterPut.get(1).getId(), phasesAfterPut.get(0).getPreviousPhase().getId());
-        assertEquals(phaseId1, phasesAfterPut.get(0).getPreviousPhase().getId());
-        assertEquals(phasesAfterPut.get(2).getId(), phasesAfterPut.get(0).getNextPhase().getId());
-        assertEquals(phaseId0, phasesAfterPut.get(0).getNextPhase().getId());
-
-        assertEquals(phaseName1, phasesAfterPut.get(1).getName());
-        assertTrue(phasesAfterPut.get(1).isFirst());
-        assertFalse(phasesAfterPut.get(1).isLast());
-        assertNull(phasesAfterPut.get(1).getPreviousPhase());
-        assertEquals(phasesAfterPut.get(0).getId(), phasesAfterPut.get(1).getNextPhase().getId());
-        assertEquals(backlogId, phasesAfterPut.get(1).getNextPhase().getId());
-
-        assertEquals(phaseName0, phasesAfterPut.get(2).getName());
-        assertFalse(phasesAfterPut.get(2).isFirst());
-        assertTrue(phasesAfterPut.get(2).isLast());
-        assertEquals(phasesAfterPut.get(0).getId(), phasesAfterPut.get(2).getPreviousPhase().getId());
-        assertEquals(backlogId, phasesAfterPut.get(2).getPreviousPhase().getId());
-        assertNull(phasesAfterPut.get(2).getNextPhase());
+        assertEquals(List.of(phaseId1, backlogId, phaseId0), phasesAfterPut.stream().map(Phase::getId).toList());
+        assertTrue(phasesAfterPut.get(1).getRank() < phasesAfterPut.get(2).getRank());
     }
 
     @Test
@@ -488,33 +441,10 @@ public class PhaseControllerTests {
         List<Phase> phases = phaseDomainService.getPhasesByProjectId(tempProjectId);
         assertEquals(4, phases.size());
 
-        assertEquals("DONE", phases.get(0).getName());
-        UUID doneId = phases.get(0).getId();
-        assertFalse(phases.get(0).isFirst());
-        assertTrue(phases.get(0).isLast());
-        assertEquals(phases.get(1).getId(), phases.get(0).getPreviousPhase().getId());
-        assertNull(phases.get(0).getNextPhase());
-
-        assertEquals("REVIEW", phases.get(1).getName());
-        UUID reviewId = phases.get(1).getId();
-        assertFalse(phases.get(1).isFirst());
-        assertFalse(phases.get(1).isLast());
-        assertEquals(phases.get(2).getId(), phases.get(1).getPreviousPhase().getId());
-        assertEquals(phases.get(0).getId(), phases.get(1).getNextPhase().getId());
-
-        assertEquals("DOING", phases.get(2).getName());
-        UUID doingId = phases.get(2).getId();
-        assertFalse(phases.get(2).isFirst());
-        assertFalse(phases.get(2).isLast());
-        assertEquals(phases.get(3).getId(), phases.get(2).getPreviousPhase().getId());
-        assertEquals(phases.get(1).getId(), phases.get(2).getNextPhase().getId());
-
-        assertEquals("BACKLOG", phases.get(3).getName());
-        UUID backlogId = phases.get(3).getId();
-        assertTrue(phases.get(3).isFirst());
-        assertFalse(phases.get(3).isLast());
-        assertNull(phases.get(3).getPreviousPhase());
-        assertEquals(phases.get(2).getId(), phases.get(3).getNextPhase().getId());
+        assertEquals(
+                List.of("BACKLOG", "ASSIGNED", "REVIEW", "DONE"),
+                phases.stream().map(Phase::getName).toList()
+        );
     }
 
     @Test
@@ -536,10 +466,7 @@ public class PhaseControllerTests {
 
         assertEquals("BACKLOG", phases.get(0).getName());
         assertEquals(phases.get(0).getId(), phaseCreatedEvent.getPhaseId());
-        assertTrue(phases.get(0).isFirst());
-        assertTrue(phases.get(0).isLast());
-        assertNull(phases.get(0).getPreviousPhase());
-        assertNull(phases.get(0).getNextPhase());
+        assertEquals(phases.get(0).getRank(), phaseCreatedEvent.getRank());
     }
 
     @Test
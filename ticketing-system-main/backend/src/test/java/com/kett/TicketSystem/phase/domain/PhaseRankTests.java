@@ -0,0 +1,168 @@
+package com.kett.TicketSystem.phase.domain;
+
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.domain.exceptions.LastPhaseException;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.ticket.repository.PhaseDataOfTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PhaseRankTests {
+    private final PhaseDomainService phaseDomainService;
+    private final PhaseRepository phaseRepository;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final PhaseDataOfTicketRepository phaseDataOfTicketRepository;
+
+    private UUID projectId;
+    private UUID backlogId;
+    private UUID doneId;
+
+    @Autowired
+    public PhaseRankTests(
+            PhaseDomainService phaseDomainService,
+            PhaseRepository phaseRepository,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            PhaseDataOfTicketRepository phaseDataOfTicketRepository
+    ) {
+        this.phaseDomainService = phaseDomainService;
+        this.phaseRepository = phaseRepository;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.phaseDataOfTicketRepository = phaseDataOfTicketRepository;
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        backlogId = phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null).getId();
+        doneId = phaseDomainService.createPhase(new Phase(projectId, "DONE"), backlogId).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        phaseDataOfTicketRepository.deleteAll();
+        phaseRepository.deleteAll();
+        projectDataOfPhaseRepository.deleteAll();
+    }
+
+    private List<UUID> getPhaseIds() {
+        return phaseDomainService.getPhasesByProjectId(projectId).stream().map(Phase::getId).toList();
+    }
+
+    private Map<UUID, Long> getRanks() {
+        return phaseDomainService
+                .getPhasesByProjectId(projectId)
+                .stream()
+                .collect(Collectors.toMap(Phase::getId, Phase::getRank));
+    }
+
+    @Test
+    public void createPhaseOrdersByRankTest() {
+        UUID firstId = phaseDomainService.createPhase(new Phase(projectId, "FIRST"), null).getId();
+        UUID reviewId = phaseDomainService.createPhase(new Phase(projectId, "REVIEW"), backlogId).getId();
+        UUID lastId = phaseDomainService.createPhase(new Phase(projectId, "LAST"), doneId).getId();
+
+        assertEquals(List.of(firstId, backlogId, reviewId, doneId, lastId), getPhaseIds());
+        assertEquals(firstId, phaseDomainService.getFirstPhaseByProjectId(projectId).orElseThrow().getId());
+        assertEquals(firstId, phaseDataOfTicketRepository.findFirstByProjectIdOrderByRank(projectId).orElseThrow().getPhaseId());
+    }
+
+    @Test
+    public void createPhasesBetweenSameNeighboursTest() {
+        // every phase halves the gap after backlog until the ranks have to be spread out again
+        List<UUID> expectedPhaseIds = new ArrayList<>(List.of(backlogId, doneId));
+        for (int i = 0; i < 25; i++) {
+            expectedPhaseIds.add(1, phaseDomainService.createPhase(new Phase(projectId, "PHASE" + i), backlogId).getId());
+        }
+
+        List<Phase> phases = phaseDomainService.getPhasesByProjectId(projectId);
+        assertEquals(expectedPhaseIds, phases.stream().map(Phase::getId).toList());
+        for (int i = 1; i < phases.size(); i++) {
+            assertTrue(phases.get(i - 1).getRank() < phases.get(i).getRank());
+        }
+
+        // the ticket module follows the spread out ranks
+        phases.forEach(phase -> assertEquals(
+                phase.getRank(),
+                phaseDataOfTicketRepository.findByPhaseId(phase.getId()).get(0).getRank()
+        ));
+    }
+
+    @Test
+    public void patchPhasePositionUpdatesOnlyMovedPhaseTest() {
+        UUID reviewId = phaseDomainService.createPhase(new Phase(projectId, "REVIEW"), backlogId).getId();
+        Map<UUID, Long> ranksBefore = getRanks();
+
+        // move first to last
+        phaseDomainService.patchPhasePosition(backlogId, doneId);
+        Map<UUID, Long> ranksAfter = getRanks();
+        assertEquals(List.of(reviewId, doneId, backlogId), getPhaseIds());
+        assertEquals(ranksBefore.get(reviewId), ranksAfter.get(reviewId));
+        assertEquals(ranksBefore.get(doneId), ranksAfter.get(doneId));
+        assertEquals(reviewId, phaseDataOfTicketRepository.findFirstByProjectIdOrderByRank(projectId).orElseThrow().getPhaseId());
+
+        // move last to first and back into the middle
+        phaseDomainService.patchPhasePosition(backlogId, null);
+        assertEquals(List.of(backlogId, reviewId, doneId), getPhaseIds());
+        phaseDomainService.patchPhasePosition(backlogId, reviewId);
+        assertEquals(List.of(reviewId, backlogId, doneId), getPhaseIds());
+        assertEquals(ranksBefore.get(reviewId), getRanks().get(reviewId));
+        assertEquals(ranksBefore.get(doneId), getRanks().get(doneId));
+    }
+
+    @Test
+    public void patchPhasePositionIntoFullGapTest() {
+        // twenty phases after backlog use up the gap between backlog and its next phase
+        List<UUID> expectedPhaseIds = new ArrayList<>(List.of(backlogId));
+        for (int i = 0; i < 20; i++) {
+            expectedPhaseIds.add(1, phaseDomainService.createPhase(new Phase(projectId, "PHASE" + i), backlogId).getId());
+        }
+
+        // the moved phase holds a rank while the others are spread out again
+        phaseDomainService.patchPhasePosition(doneId, backlogId);
+        expectedPhaseIds.add(1, doneId);
+
+        List<Phase> phases = phaseDomainService.getPhasesByProjectId(projectId);
+        assertEquals(expectedPhaseIds, phases.stream().map(Phase::getId).toList());
+        for (int i = 1; i < phases.size(); i++) {
+            assertTrue(phases.get(i - 1).getRank() < phases.get(i).getRank());
+        }
+    }
+
+    @Test
+    public void rankIsUniquePerProjectTest() {
+        Phase phase = new Phase(projectId, "REVIEW");
+        phase.setRank(phaseDomainService.getPhaseById(doneId).getRank());
+        assertThrows(DataIntegrityViolationException.class, () -> phaseRepository.saveAndFlush(phase));
+
+        // other projects may use the same rank
+        Phase otherPhase = new Phase(UUID.randomUUID(), "REVIEW");
+        otherPhase.setRank(phaseDomainService.getPhaseById(doneId).getRank());
+        phaseRepository.saveAndFlush(otherPhase);
+    }
+
+    @Test
+    public void deleteLastPhaseOfProjectTest() {
+        phaseDomainService.deleteById(doneId);
+        assertEquals(List.of(backlogId), getPhaseIds());
+        assertThrows(LastPhaseException.class, () -> phaseDomainService.deleteById(backlogId));
+    }
+}
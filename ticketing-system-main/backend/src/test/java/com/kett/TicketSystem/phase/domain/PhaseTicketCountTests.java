@@ -0,0 +1,209 @@
+package com.kett.TicketSystem.phase.domain;
+
+import com.kett.TicketSystem.analysis.CumulativeFlowService;
+import com.kett.TicketSystem.analysis.DailyFlowSnapshotRepository;
+import com.kett.TicketSystem.analysis.ResolutionTimeSketchRepository;
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.domain.exceptions.PhaseException;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.consumedData.ProjectDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.consumedData.UserDataOfTicket;
+import com.kett.TicketSystem.ticket.repository.PhaseDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.ProjectDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import com.kett.TicketSystem.ticket.repository.UserDataOfTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PhaseTicketCountTests {
+    private static final int THREADS = 8;
+
+    private final PhaseDomainService phaseDomainService;
+    private final TicketDomainService ticketDomainService;
+    private final PhaseRepository phaseRepository;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final TicketRepository ticketRepository;
+    private final PhaseDataOfTicketRepository phaseDataOfTicketRepository;
+    private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
+    private final UserDataOfTicketRepository userDataOfTicketRepository;
+    private final CumulativeFlowService cumulativeFlowService;
+    private final DailyFlowSnapshotRepository dailyFlowSnapshotRepository;
+    private final ResolutionTimeSketchRepository resolutionTimeSketchRepository;
+
+    private UUID projectId;
+    private UUID backlogId;
+    private UUID doneId;
+    private EmailAddress userEmail;
+
+    @Autowired
+    public PhaseTicketCountTests(
+            PhaseDomainService phaseDomainService,
+            TicketDomainService ticketDomainService,
+            PhaseRepository phaseRepository,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            TicketRepository ticketRepository,
+            PhaseDataOfTicketRepository phaseDataOfTicketRepository,
+            ProjectDataOfTicketRepository projectDataOfTicketRepository,
+            UserDataOfTicketRepository userDataOfTicketRepository,
+            CumulativeFlowService cumulativeFlowService,
+            DailyFlowSnapshotRepository dailyFlowSnapshotRepository,
+            ResolutionTimeSketchRepository resolutionTimeSketchRepository
+    ) {
+        this.phaseDomainService = phaseDomainService;
+        this.ticketDomainService = ticketDomainService;
+        this.phaseRepository = phaseRepository;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.ticketRepository = ticketRepository;
+        this.phaseDataOfTicketRepository = phaseDataOfTicketRepository;
+        this.projectDataOfTicketRepository = projectDataOfTicketRepository;
+        this.userDataOfTicketRepository = userDataOfTicketRepository;
+        this.cumulativeFlowService = cumulativeFlowService;
+        this.dailyFlowSnapshotRepository = dailyFlowSnapshotRepository;
+        this.resolutionTimeSketchRepository = resolutionTimeSketchRepository;
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        userEmail = EmailAddress.fromString("counter@test.com");
+        userDataOfTicketRepository.save(new UserDataOfTicket(UUID.randomUUID(), userEmail));
+        projectDataOfTicketRepository.save(new ProjectDataOfTicket(projectId));
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(projectId));
+        backlogId = phaseDomainService.createPhase(new Phase(projectId, "BACKLOG"), null).getId();
+        doneId = phaseDomainService.createPhase(new Phase(projectId, "DONE"), backlogId).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // the ticket changes are recorded by the analysis as well
+        cumulativeFlowService.flushPendingSnapshots();
+        dailyFlowSnapshotRepository.deleteAll();
+        resolutionTimeSketchRepository.deleteAll();
+        ticketRepository.deleteAll();
+        phaseDataOfTicketRepository.deleteAll();
+        projectDataOfTicketRepository.deleteAll();
+        userDataOfTicketRepository.deleteAll();
+        phaseRepository.deleteAll();
+        projectDataOfPhaseRepository.deleteAll();
+    }
+
+    private UUID addTicket(int i) {
+        return ticketDomainService.addTicket(
+                new Ticket("ticket " + i, "description", null, projectId, null, new ArrayList<>()), userEmail
+        ).getId();
+    }
+
+    private void moveTicket(UUID ticketId, UUID phaseId) {
+        ticketDomainService.patchTicket(ticketId, null, null, null, phaseId, null, null);
+    }
+
+    private static <T> List<T> runInParallel(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int getTicketCount(UUID phaseId) {
+        return phaseDomainService.getPhaseById(phaseId).getTicketCount();
+    }
+
+    @Test
+    public void concurrentTicketChangesKeepExactCountsTest() throws Exception {
+        List<Callable<UUID>> creations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int index = i;
+            creations.add(() -> addTicket(index));
+        }
+        List<UUID> ticketIds = runInParallel(creations);
+        assertEquals(2000, getTicketCount(backlogId));
+
+        // moves, deletions and creations at the same time
+        List<Callable<UUID>> changes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID ticketId = ticketIds.get(i);
+            changes.add(() -> {
+                moveTicket(ticketId, doneId);
+                return ticketId;
+            });
+        }
+        for (int i = 1500; i < 1800; i++) {
+            UUID ticketId = ticketIds.get(i);
+            changes.add(() -> {
+                ticketDomainService.deleteTicketById(ticketId);
+                return ticketId;
+            });
+        }
+        for (int i = 2000; i < 2500; i++) {
+            int index = i;
+            changes.add(() -> addTicket(index));
+        }
+        runInParallel(changes);
+        assertEquals(1200, getTicketCount(backlogId));
+        assertEquals(1000, getTicketCount(doneId));
+
+        // moves in both directions at the same time
+        List<Callable<UUID>> moves = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID doneTicketId = ticketIds.get(i);
+            UUID backlogTicketId = ticketIds.get(1000 + i);
+            moves.add(() -> {
+                moveTicket(doneTicketId, backlogId);
+                return doneTicketId;
+            });
+            moves.add(() -> {
+                moveTicket(backlogTicketId, doneId);
+                return backlogTicketId;
+            });
+        }
+        runInParallel(moves);
+        assertEquals(1200, getTicketCount(backlogId));
+        assertEquals(1000, getTicketCount(doneId));
+        assertEquals(1200, ticketRepository.findByPhaseId(backlogId).size());
+        assertEquals(1000, ticketRepository.findByPhaseId(doneId).size());
+    }
+
+    @Test
+    public void ticketCountDoesNotGoNegativeTest() {
+        UUID ticketId = addTicket(0);
+        moveTicket(ticketId, doneId);
+        assertEquals(0, getTicketCount(backlogId));
+        assertEquals(1, getTicketCount(doneId));
+
+        phaseRepository.findById(doneId).ifPresent(phase -> {
+            phase.setTicketCount(0);
+            phaseRepository.save(phase);
+        });
+        assertThrows(PhaseException.class, () -> ticketDomainService.deleteTicketById(ticketId));
+        assertEquals(0, getTicketCount(doneId));
+        assertTrue(ticketRepository.existsById(ticketId));
+    }
+}
@@ -292,6 +292,60 @@ private String jwt2;
                         .andReturn();
     }
 
+    @Test
+    public void getTicketsByProjectIdPaginatedQueryTest() throws Exception {
+        UUID ticketId0 = restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, new ArrayList<>()
+        );
+        UUID ticketId1 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "second", "second ticket", dateOfTomorrow.plusDays(2), new ArrayList<>()
+        );
+        UUID ticketId2 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "third", "third ticket", dateOfTomorrow.plusDays(1), new ArrayList<>()
+        );
+
+        MvcResult firstPageResult =
+                mockMvc.perform(
+                                get("/tickets")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .queryParam("project-id", buildUpProjectId.toString())
+                                        .queryParam("sort", "due-time")
+                                        .queryParam("page-size", "2")
+                                        .header("Authorization", jwt0))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(2))
+                        .andExpect(jsonPath("$[0].id").value(ticketId0.toString()))
+                        .andExpect(jsonPath("$[1].id").value(ticketId2.toString()))
+                        .andReturn();
+        String nextCursor = firstPageResult.getResponse().getHeader(TicketController.NEXT_CURSOR_HEADER);
+        assertNotNull(nextCursor);
+
+        MvcResult secondPageResult =
+                mockMvc.perform(
+                                get("/tickets")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .queryParam("project-id", buildUpProjectId.toString())
+                                        .queryParam("sort", "due-time")
+                                        .queryParam("page-size", "2")
+                                        .queryParam("cursor", nextCursor)
+                                        .header("Authorization", jwt0))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].id").value(ticketId1.toString()))
+                        .andReturn();
+        assertNull(secondPageResult.getResponse().getHeader(TicketController.NEXT_CURSOR_HEADER));
+
+        // a cursor of a different sort order is rejected
+        mockMvc.perform(
+                        get("/tickets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("sort", "priority")
+                                .queryParam("cursor", nextCursor)
+                                .header("Authorization", jwt0))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getTicketByAssigneeIdQueryTest() throws Exception {
         List<UUID> assigneeIds = new ArrayList<>();
@@ -340,10 +394,62 @@ private String jwt2;
                         .andReturn();
     }
 
+    @Test
+    public void getTicketsByCombinedQueryTest() throws Exception {
+        List<UUID> assigneeIds = new ArrayList<>();
+        assigneeIds.add(userId1);
+
+        UUID ticketId0 = restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, assigneeIds
+        );
+        restMinion.postTicket(
+                jwt0, buildUpProjectId, "unassigned", "nobody works on this", dateOfTomorrow, new ArrayList<>()
+        );
+        UUID backlogId = ticketDomainService.getTicketById(ticketId0).getPhaseId();
+
+        mockMvc.perform(
+                        get("/tickets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("phase-id", backlogId.toString())
+                                .queryParam("assignee-id", userId1.toString())
+                                .queryParam("status", "OPEN")
+                                .queryParam("priority", "MEDIUM", "HIGH")
+                                .queryParam("due-before", dateOfTomorrow.plusHours(1).toString())
+                                .header("Authorization", jwt0))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ticketId0.toString()));
+
+        // users outside the project may not query its phases, nor the tickets of other assignees
+        mockMvc.perform(
+                        get("/tickets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("phase-id", backlogId.toString())
+                                .queryParam("assignee-id", userId2.toString())
+                                .header("Authorization", jwt2))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(
+                        get("/tickets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("assignee-id", userId1.toString())
+                                .header("Authorization", jwt2))
+                .andExpect(status().isForbidden());
+
+        // filters without a scope are rejected
+        mockMvc.perform(
+                        get("/tickets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("status", "OPEN")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void postTicketTest() throws Exception {
         eventCatcher.catchEventOfType(TicketCreatedEvent.class);
-        TicketPostDto ticketPostDto = new TicketPostDto();
+        TicketPostDto ticketPostDto = new TicketPostDto(
+                buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, List.of(userId0, userId1), null
+        );
         MvcResult postResult0 =
                 mockMvc.perform(
                                 post("/tickets")
@@ -374,7 +480,7 @@ private String jwt2;
         assertEquals(ticketId, ticket.getId());
         assertEquals(ticketPostDto.getTitle(), ticket.getTitle());
         assertEquals(ticketPostDto.getDescription(), ticket.getDescription());
-        assertEquals(ticketPostDto.getAssigneeIds(), ticket.getAssigneeIds());
+        assertEquals(ticketPostDto.getAssigneeIds(), new ArrayList<>(ticket.getAssigneeIds()));
         assertEquals(ticketPostDto.getDueTime(), ticket.getDueTime());
         assertTrue(ticket.getCreationTime().isBefore(LocalDateTime.now()));
     }
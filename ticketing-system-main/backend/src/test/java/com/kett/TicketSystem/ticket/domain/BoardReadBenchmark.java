@@ -0,0 +1,118 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.TicketSystemApplication;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long concurrent board reads (the phases and the ticket pages of a project, read inside the transaction
+ * like the controllers do) hold a pooled connection, in read-write and in read-only transactions.
+ * Not run by surefire, start the main method from the IDE or with java on the test classpath.
+ */
+public class BoardReadBenchmark {
+    private static final int TICKETS = 1_000;
+    private static final int THREADS = 16;
+    private static final int WARMUP_READS = 500;
+    private static final int READS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketSystemApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN", "logging.level.com.kett.TicketSystem=WARN")
+                .run(args)) {
+            UUID projectId = seed(context);
+            TicketDomainService ticketDomainService = context.getBean(TicketDomainService.class);
+            PhaseDomainService phaseDomainService = context.getBean(PhaseDomainService.class);
+            Timer connectionUsage = context.getBean(MeterRegistry.class).get("hikaricp.connections.usage").timer();
+
+            for (boolean readOnly : new boolean[] { false, true, false, true, false, true }) {
+                TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+                transactionTemplate.setReadOnly(readOnly);
+                Runnable boardRead = () -> transactionTemplate.executeWithoutResult(status -> {
+                    int size = 0;
+                    for (Phase phase : phaseDomainService.getPhasesByProjectId(projectId)) {
+                        size += phase.getName().length();
+                    }
+                    TicketCursor cursor = null;
+                    do {
+                        TicketQuery ticketQuery = new TicketQuery().withProjectId(projectId).withPageSize(TicketQuery.MAX_PAGE_SIZE).after(cursor);
+                        TicketPage<TicketSummary> ticketPage = ticketDomainService.getTicketSummaryPage(ticketQuery);
+                        for (TicketSummary ticket : ticketPage.getTickets()) {
+                            size += ticket.getTitle().length() + ticket.getAssigneeIds().size();
+                        }
+                        cursor = ticketPage.getNextCursor();
+                    } while (cursor != null);
+                    if (size == 0) {
+                        throw new IllegalStateException("empty board");
+                    }
+                });
+
+                run(boardRead, WARMUP_READS);
+                long count = connectionUsage.count();
+                double totalMillis = connectionUsage.totalTime(TimeUnit.MILLISECONDS);
+                long start = System.nanoTime();
+                run(boardRead, READS);
+                double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+                System.out.printf("%-10s %8.0f reads/s   connection held %6.2f ms on average%n",
+                        readOnly ? "read-only" : "read-write",
+                        READS / elapsedSeconds,
+                        (connectionUsage.totalTime(TimeUnit.MILLISECONDS) - totalMillis) / (connectionUsage.count() - count));
+            }
+        }
+    }
+
+    private static UUID seed(ConfigurableApplicationContext context) {
+        UUID projectId = UUID.randomUUID();
+        PhaseDomainService phaseDomainService = context.getBean(PhaseDomainService.class);
+        context.getBean(ProjectDataOfPhaseRepository.class).save(new ProjectDataOfPhase(projectId));
+        List<UUID> phaseIds = new ArrayList<>();
+        for (String name : List.of("BACKLOG", "TODO", "DOING", "REVIEW", "DONE")) {
+            UUID previousPhaseId = phaseIds.isEmpty() ? null : phaseIds.get(phaseIds.size() - 1);
+            phaseIds.add(phaseDomainService.createPhase(new Phase(projectId, name), previousPhaseId).getId());
+        }
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(new Ticket(
+                    "ticket " + i, "description " + i, null, projectId, phaseIds.get(i % phaseIds.size()),
+                    new ArrayList<>(List.of(UUID.randomUUID(), UUID.randomUUID()))
+            ));
+        }
+        context.getBean(TicketRepository.class).saveAll(tickets);
+        return projectId;
+    }
+
+    private static void run(Runnable boardRead, int reads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < reads; i++) {
+                futures.add(executor.submit(boardRead));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.TicketSystemApplication;
+import com.kett.TicketSystem.common.DtoMapper;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Measures latency and allocated heap of listing all tickets of a 50k-ticket project page by page, mapped to
+ * response dtos like the ticket controller does: read as managed entities against read as summaries.
+ * The ticket domain service only reads summaries, the entities are paged by creation time with a query of the benchmark.
+ * Not run by surefire, start the main method from the IDE or with java on the test classpath.
+ */
+public class TicketListingBenchmark {
+    private static final int TICKETS = 50_000;
+    private static final int PAGE_SIZE = TicketQuery.MAX_PAGE_SIZE;
+    private static final int WARMUP_LISTINGS = 3;
+    private static final int LISTINGS = 5;
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketSystemApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN", "logging.level.com.kett.TicketSystem=WARN")
+                .run(args)) {
+            UUID projectId = seed(context);
+            TicketDomainService ticketDomainService = context.getBean(TicketDomainService.class);
+            DtoMapper dtoMapper = context.getBean(DtoMapper.class);
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            transactionTemplate.setReadOnly(true);
+
+            Runnable listEntities = () -> {
+                Ticket last = null;
+                do {
+                    Ticket after = last;
+                    last = transactionTemplate.execute(status -> {
+                        List<Ticket> tickets = findEntityPage(entityManager, projectId, after);
+                        tickets.forEach(dtoMapper::mapTicketToTicketResponseDto);
+                        return tickets.size() < PAGE_SIZE ? null : tickets.get(tickets.size() - 1);
+                    });
+                } while (last != null);
+            };
+            Runnable listSummaries = () -> {
+                TicketCursor cursor = null;
+                do {
+                    TicketQuery ticketQuery = new TicketQuery().withProjectId(projectId).withPageSize(PAGE_SIZE).after(cursor);
+                    cursor = transactionTemplate.execute(status -> {
+                        TicketPage<TicketSummary> ticketPage = ticketDomainService.getTicketSummaryPage(ticketQuery);
+                        dtoMapper.mapTicketPageToTicketPageResponseDto(ticketPage);
+                        return ticketPage.getNextCursor();
+                    });
+                } while (cursor != null);
+            };
+
+            for (int i = 0; i < 2; i++) {
+                run("entities", listEntities);
+                run("summaries", listSummaries);
+            }
+        }
+    }
+
+    // keyset page on (creationTime, id), the default order of the ticket listing
+    private static List<Ticket> findEntityPage(EntityManager entityManager, UUID projectId, Ticket after) {
+        String afterCondition = after == null ? "" :
+                "AND (t.creationTime > :creationTime OR (t.creationTime = :creationTime AND t.id > :id)) ";
+        var query = entityManager
+                .createQuery("SELECT t FROM Ticket t WHERE t.projectId = :projectId " + afterCondition +
+                        "ORDER BY t.creationTime, t.id", Ticket.class)
+                .setParameter("projectId", projectId)
+                .setMaxResults(PAGE_SIZE);
+        if (after != null) {
+            query.setParameter("creationTime", after.getCreationTime()).setParameter("id", after.getId());
+        }
+        return query.getResultList();
+    }
+
+    private static UUID seed(ConfigurableApplicationContext context) {
+        UUID projectId = UUID.randomUUID();
+        UUID phaseId = UUID.randomUUID();
+        TicketRepository ticketRepository = context.getBean(TicketRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int chunk = 0; chunk < TICKETS; chunk += 1_000) {
+            int first = chunk;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Ticket> tickets = new ArrayList<>();
+                for (int i = first; i < first + 1_000; i++) {
+                    tickets.add(new Ticket(
+                            "ticket " + i, "description " + i, null, projectId, phaseId,
+                            new ArrayList<>(List.of(UUID.randomUUID(), UUID.randomUUID()))
+                    ));
+                }
+                ticketRepository.saveAll(tickets);
+            });
+        }
+        return projectId;
+    }
+
+    private static void run(String name, Runnable listAll) {
+        for (int i = 0; i < WARMUP_LISTINGS; i++) {
+            listAll.run();
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < LISTINGS; i++) {
+            listAll.run();
+        }
+        double elapsedMillis = (System.nanoTime() - start) / 1e6;
+        allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytes;
+
+        int pages = (TICKETS + PAGE_SIZE - 1) / PAGE_SIZE;
+        System.out.printf("%-10s %8.2f ms per page %10.0f KiB allocated per page%n",
+                name,
+                elapsedMillis / LISTINGS / pages,
+                allocatedBytes / 1024.0 / LISTINGS / pages);
+    }
+}
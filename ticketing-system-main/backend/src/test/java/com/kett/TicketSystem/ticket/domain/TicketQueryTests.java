@@ -0,0 +1,246 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.exceptions.NoTicketFoundException;
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TicketQueryTests {
+    private final TicketRepository ticketRepository;
+    private final TicketDomainService ticketDomainService;
+
+    private UUID projectId;
+    private UUID otherProjectId;
+    private UUID phaseId;
+    private List<Ticket> projectTickets;
+
+    @Autowired
+    public TicketQueryTests(TicketRepository ticketRepository, TicketDomainService ticketDomainService) {
+        this.ticketRepository = ticketRepository;
+        this.ticketDomainService = ticketDomainService;
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        otherProjectId = UUID.randomUUID();
+        phaseId = UUID.randomUUID();
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+
+        projectTickets = new ArrayList<>();
+        Ticket.TicketPriority[] priorities = Ticket.TicketPriority.values();
+        for (int i = 0; i < 11; i++) {
+            LocalDateTime dueTime = (i % 3 == 0) ? null : tomorrow.plusHours(i % 4);
+            Ticket ticket = new Ticket("ticket " + i, "description " + i, dueTime, projectId, phaseId, new ArrayList<>());
+            ticket.setPriority(priorities[i % priorities.length]);
+            projectTickets.add(ticketRepository.save(ticket));
+        }
+        ticketRepository.save(new Ticket("foreign", "ticket", tomorrow, otherProjectId, UUID.randomUUID(), new ArrayList<>()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ticketRepository.deleteAll();
+        projectTickets = null;
+    }
+
+    @Test
+    public void pageThroughByCreationTimeTest() {
+        assertPagesAreCompleteAndOrdered(TicketSortKey.CREATION_TIME, false, TicketSummary::getCreationTime);
+        assertPagesAreCompleteAndOrdered(TicketSortKey.CREATION_TIME, true, TicketSummary::getCreationTime);
+    }
+
+    @Test
+    public void pageThroughByDueTimeTest() {
+        assertPagesAreCompleteAndOrdered(TicketSortKey.DUE_TIME, false, TicketSummary::getDueTime);
+        assertPagesAreCompleteAndOrdered(TicketSortKey.DUE_TIME, true, TicketSummary::getDueTime);
+    }
+
+    @Test
+    public void pageThroughByPriorityTest() {
+        assertPagesAreCompleteAndOrdered(TicketSortKey.PRIORITY, false, TicketSummary::getPriorityRank);
+        assertPagesAreCompleteAndOrdered(TicketSortKey.PRIORITY, true, TicketSummary::getPriorityRank);
+    }
+
+    @Test
+    public void cursorRoundTripTest() {
+        TicketSummary ticket = summaryOf(projectTickets.get(1));
+        TicketCursor cursor = TicketCursor.after(ticket, TicketSortKey.DUE_TIME, true);
+        TicketCursor decodedCursor = TicketCursor.decode(cursor.encode());
+
+        assertEquals(TicketSortKey.DUE_TIME, decodedCursor.getSortKey());
+        assertTrue(decodedCursor.isDescending());
+        assertEquals(ticket.getDueTime(), decodedCursor.getValue());
+        assertEquals(ticket.getId(), decodedCursor.getId());
+    }
+
+    @Test
+    public void summariesMatchTicketsTest() {
+        // the assignees are not in the order of their ids, the summaries keep the order of the list
+        List<UUID> assigneeIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            assigneeIds.add(UUID.randomUUID());
+        }
+        assigneeIds.sort(Comparator.reverseOrder());
+        for (int i = 0; i < projectTickets.size(); i += 3) {
+            Ticket ticket = projectTickets.get(i);
+            ticket.setAssigneeIds(new ArrayList<>(assigneeIds));
+            projectTickets.set(i, ticketRepository.save(ticket));
+        }
+
+        TicketCursor cursor = null;
+        do {
+            TicketQuery ticketQuery = new TicketQuery().withProjectId(projectId).withPageSize(4).after(cursor);
+            TicketPage<TicketSummary> summaryPage = ticketDomainService.getTicketSummaryPage(ticketQuery);
+            for (TicketSummary summary : summaryPage.getTickets()) {
+                Ticket ticket = ticketRepository.findById(summary.getId()).orElseThrow();
+                assertEquals(ticket.getTitle(), summary.getTitle());
+                assertEquals(ticket.getDescription(), summary.getDescription());
+                assertEquals(ticket.getCreationTime(), summary.getCreationTime());
+                assertEquals(ticket.getDueTime(), summary.getDueTime());
+                assertEquals(ticket.getPhaseId(), summary.getPhaseId());
+                assertEquals(ticket.getPriority(), summary.getPriority());
+                assertEquals(new ArrayList<>(ticket.getAssigneeIds()), summary.getAssigneeIds());
+            }
+            cursor = summaryPage.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(assigneeIds, summaryOf(projectTickets.get(0)).getAssigneeIds());
+        assertEquals(assigneeIds, new ArrayList<>(ticketRepository.findById(projectTickets.get(0).getId()).orElseThrow().getAssigneeIds()));
+    }
+
+    @Test
+    public void invalidQueryTest() {
+        assertThrows(TicketException.class, () -> TicketCursor.decode("not a cursor"));
+        assertThrows(TicketException.class, () -> TicketSortKey.fromString("title"));
+        assertThrows(TicketException.class, () -> new TicketQuery().withPageSize(0));
+        assertThrows(TicketException.class, () -> new TicketQuery().withPageSize(TicketQuery.MAX_PAGE_SIZE + 1));
+
+        TicketCursor dueTimeCursor = TicketCursor.after(summaryOf(projectTickets.get(1)), TicketSortKey.DUE_TIME, false);
+        assertThrows(TicketException.class, () -> new TicketQuery().after(dueTimeCursor));
+        assertThrows(NoTicketFoundException.class, () -> ticketDomainService.getTicketSummaryPage(new TicketQuery().withProjectId(UUID.randomUUID())));
+    }
+
+    @Test
+    public void combinedFiltersTest() {
+        UUID assigneeId0 = UUID.randomUUID();
+        UUID assigneeId1 = UUID.randomUUID();
+        for (int i = 0; i < projectTickets.size(); i++) {
+            Ticket ticket = projectTickets.get(i);
+            if (i % 2 == 0) {
+                ticket.setAssigneeIds(new ArrayList<>(List.of(assigneeId0, assigneeId1)));
+            }
+            if (i == 4) {
+                ticket.setStatus(Ticket.TicketStatus.DONE);
+            }
+            projectTickets.set(i, ticketRepository.save(ticket));
+        }
+
+        TicketQuery ticketQuery = new TicketQuery()
+                .withProjectId(projectId)
+                .withPhaseIds(List.of(phaseId))
+                .withAssigneeIds(List.of(assigneeId0, assigneeId1))
+                .withPriorities(List.of(Ticket.TicketPriority.LOW, Ticket.TicketPriority.HIGH))
+                .withStatuses(List.of(Ticket.TicketStatus.OPEN));
+        List<Ticket> expected = projectTickets
+                .stream()
+                .filter(ticket -> ticket.getAssigneeIds().contains(assigneeId0))
+                .filter(ticket -> ticket.getPriority() == Ticket.TicketPriority.LOW || ticket.getPriority() == Ticket.TicketPriority.HIGH)
+                .filter(ticket -> ticket.getStatus() == Ticket.TicketStatus.OPEN)
+                .toList();
+        assertFalse(expected.isEmpty());
+        assertEquals(ids(expected), summaryIds(ticketDomainService.getTicketSummaryPage(ticketQuery).getTickets()));
+
+        LocalDateTime dueAfter = LocalDateTime.now().plusDays(1).plusMinutes(30);
+        LocalDateTime dueBefore = dueAfter.plusHours(2);
+        List<Ticket> expectedDue = projectTickets
+                .stream()
+                .filter(ticket -> ticket.getDueTime() != null)
+                .filter(ticket -> !ticket.getDueTime().isBefore(dueAfter) && !ticket.getDueTime().isAfter(dueBefore))
+                .toList();
+        TicketQuery dueQuery = new TicketQuery().withProjectId(projectId).withDueTimeBetween(dueAfter, dueBefore);
+        assertEquals(ids(expectedDue), summaryIds(ticketDomainService.getTicketSummaryPage(dueQuery).getTickets()));
+
+        TicketQuery textQuery = new TicketQuery().withProjectId(projectId).withText("DESCRIPTION 1");
+        assertEquals(
+                Set.of(projectTickets.get(1).getId(), projectTickets.get(10).getId()),
+                summaryIds(ticketDomainService.getTicketSummaryPage(textQuery).getTickets())
+        );
+
+        // wildcards are matched literally
+        TicketQuery wildcardQuery = new TicketQuery().withProjectId(projectId).withText("%");
+        assertThrows(NoTicketFoundException.class, () -> ticketDomainService.getTicketSummaryPage(wildcardQuery));
+
+        assertThrows(TicketException.class, () -> new TicketQuery().withDueTimeBetween(dueBefore, dueAfter));
+    }
+
+    private TicketSummary summaryOf(Ticket ticket) {
+        return ticketRepository.findSummariesByIdIn(List.of(ticket.getId())).get(0);
+    }
+
+    private Set<UUID> ids(List<Ticket> tickets) {
+        Set<UUID> ids = new HashSet<>();
+        tickets.forEach(ticket -> assertTrue(ids.add(ticket.getId()), "ticket delivered twice"));
+        return ids;
+    }
+
+    private Set<UUID> summaryIds(List<TicketSummary> tickets) {
+        Set<UUID> ids = new HashSet<>();
+        tickets.forEach(ticket -> assertTrue(ids.add(ticket.getId()), "ticket delivered twice"));
+        return ids;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void assertPagesAreCompleteAndOrdered(TicketSortKey sortKey, boolean descending, Function<TicketSummary, Comparable> sortValue) {
+        List<TicketSummary> delivered = new ArrayList<>();
+        TicketCursor cursor = null;
+        do {
+            TicketQuery ticketQuery = new TicketQuery()
+                    .withProjectId(projectId)
+                    .sortedBy(sortKey, descending)
+                    .withPageSize(4)
+                    .after(cursor);
+            TicketPage<TicketSummary> ticketPage = ticketDomainService.getTicketSummaryPage(ticketQuery);
+            assertTrue(ticketPage.getTickets().size() <= 4);
+            delivered.addAll(ticketPage.getTickets());
+            cursor = ticketPage.hasNext() ? TicketCursor.decode(ticketPage.getNextCursor().encode()) : null;
+        } while (cursor != null);
+
+        Set<UUID> deliveredIds = new HashSet<>();
+        delivered.forEach(ticket -> assertTrue(deliveredIds.add(ticket.getId()), "ticket delivered twice"));
+        Set<UUID> expectedIds = new HashSet<>();
+        projectTickets.forEach(ticket -> expectedIds.add(ticket.getId()));
+        assertEquals(expectedIds, deliveredIds);
+
+        boolean reachedNulls = false;
+        Comparable previous = null;
+        for (TicketSummary ticket : delivered) {
+            Comparable current = sortValue.apply(ticket);
+            if (current == null) {
+                reachedNulls = true;
+                continue;
+            }
+            assertFalse(reachedNulls, "tickets without sort value must come last");
+            if (previous != null) {
+                int comparison = previous.compareTo(current);
+                assertTrue(descending ? comparison >= 0 : comparison <= 0);
+            }
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.kett.TicketSystem.ticket.domain.search;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.phase.domain.PhaseDomainService;
+import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
+import com.kett.TicketSystem.phase.repository.PhaseRepository;
+import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.consumedData.ProjectDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.consumedData.UserDataOfTicket;
+import com.kett.TicketSystem.ticket.domain.events.TicketContentUpdatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketCreatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
+import com.kett.TicketSystem.ticket.repository.ProjectDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import com.kett.TicketSystem.ticket.repository.UserDataOfTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({ "test" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TicketSearchIndexTests {
+    private final TicketRepository ticketRepository;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketDomainService ticketDomainService;
+    private final PhaseDomainService phaseDomainService;
+    private final PhaseRepository phaseRepository;
+    private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
+    private final UserDataOfTicketRepository userDataOfTicketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private UUID projectId;
+    private UUID otherProjectId;
+    private Ticket titleMatch;
+    private Ticket descriptionMatch;
+    private Ticket unrelated;
+    private Ticket foreignMatch;
+
+    @Autowired
+    public TicketSearchIndexTests(
+            TicketRepository ticketRepository,
+            TicketSearchIndex ticketSearchIndex,
+            TicketDomainService ticketDomainService,
+            PhaseDomainService phaseDomainService,
+            PhaseRepository phaseRepository,
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            ProjectDataOfTicketRepository projectDataOfTicketRepository,
+            UserDataOfTicketRepository userDataOfTicketRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.ticketDomainService = ticketDomainService;
+        this.phaseDomainService = phaseDomainService;
+        this.phaseRepository = phaseRepository;
+        this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.projectDataOfTicketRepository = projectDataOfTicketRepository;
+        this.userDataOfTicketRepository = userDataOfTicketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @BeforeEach
+    public void buildUp() {
+        projectId = UUID.randomUUID();
+        otherProjectId = UUID.randomUUID();
+
+        titleMatch = createTicket("Login page crashes", "the page shows a stack trace", projectId);
+        descriptionMatch = createTicket("Broken button", "clicking it crashes the login dialog sometimes", projectId);
+        unrelated = createTicket("Update dependencies", "bump library versions", projectId);
+        foreignMatch = createTicket("Login crashes too", "same problem elsewhere", otherProjectId);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ticketRepository.deleteAll();
+        phaseRepository.deleteAll();
+        projectDataOfPhaseRepository.deleteAll();
+        projectDataOfTicketRepository.deleteAll();
+        userDataOfTicketRepository.deleteAll();
+    }
+
+    private Ticket createTicket(String title, String description, UUID projectId) {
+        Ticket ticket = ticketRepository.save(new Ticket(title, description, null, projectId, UUID.randomUUID(), new ArrayList<>()));
+        ticketSearchIndex.handleTicketCreatedEvent(new TicketCreatedEvent(ticket.getId(), projectId, UUID.randomUUID()));
+        return ticket;
+    }
+
+    @Test
+    public void searchRanksTitleMatchesFirstTest() {
+        List<UUID> result = ticketSearchIndex.search("LOGIN crashes", Set.of(projectId), 10);
+        assertEquals(List.of(titleMatch.getId(), descriptionMatch.getId()), result);
+
+        List<UUID> limited = ticketSearchIndex.search("login crashes", Set.of(projectId), 1);
+        assertEquals(List.of(titleMatch.getId()), limited);
+
+        assertTrue(ticketSearchIndex.search("the", Set.of(projectId), 10).isEmpty());
+        assertTrue(ticketSearchIndex.search("   ", Set.of(projectId), 10).isEmpty());
+    }
+
+    @Test
+    public void searchIsScopedToProjectsTest() {
+        assertEquals(List.of(foreignMatch.getId()), ticketSearchIndex.search("login", Set.of(otherProjectId), 10));
+        assertEquals(3, ticketSearchIndex.search("login", Set.of(projectId, otherProjectId), 10).size());
+        assertTrue(ticketSearchIndex.search("login", Set.of(UUID.randomUUID()), 10).isEmpty());
+    }
+
+    @Test
+    public void indexFollowsTicketEventsTest() {
+        ticketSearchIndex.handleTicketContentUpdatedEvent(
+                new TicketContentUpdatedEvent(unrelated.getId(), projectId, "Upgrade dependencies", "fixes the login crash")
+        );
+        assertEquals(
+                Set.of(titleMatch.getId(), descriptionMatch.getId(), unrelated.getId()),
+                Set.copyOf(ticketSearchIndex.search("login", Set.of(projectId), 10))
+        );
+        assertTrue(ticketSearchIndex.search("bump", Set.of(projectId), 10).isEmpty());
+
+        ticketSearchIndex.handleTicketDeletedEvent(new TicketDeletedEvent(titleMatch.getId(), projectId, titleMatch.getPhaseId()));
+        assertFalse(ticketSearchIndex.search("login", Set.of(projectId), 10).contains(titleMatch.getId()));
+
+        ticketSearchIndex.handleProjectDeletedEvent(new ProjectDeletedEvent(otherProjectId));
+        assertTrue(ticketSearchIndex.search("login", Set.of(otherProjectId), 10).isEmpty());
+    }
+
+    @Test
+    public void rebuildFromRepositoryTest() {
+        ticketSearchIndex.removeProject(projectId);
+        ticketSearchIndex.removeProject(otherProjectId);
+        assertTrue(ticketSearchIndex.search("login", Set.of(projectId), 10).isEmpty());
+
+        ticketSearchIndex.rebuild();
+        assertTrue(ticketSearchIndex.isReady());
+        assertEquals(List.of(titleMatch.getId(), descriptionMatch.getId()), ticketSearchIndex.search("login crashes", Set.of(projectId), 10));
+        assertTrue(ticketSearchIndex.estimateMemoryInBytes() > 0);
+    }
+
+    @Test
+    public void rolledBackChangesAreNotIndexedTest() {
+        UUID boardProjectId = UUID.randomUUID();
+        EmailAddress userEmail = EmailAddress.fromString("searcher@test.com");
+        userDataOfTicketRepository.save(new UserDataOfTicket(UUID.randomUUID(), userEmail));
+        projectDataOfTicketRepository.save(new ProjectDataOfTicket(boardProjectId));
+        projectDataOfPhaseRepository.save(new ProjectDataOfPhase(boardProjectId));
+        phaseDomainService.createPhase(new Phase(boardProjectId, "BACKLOG"), null);
+        UUID ticketId = ticketDomainService.addTicket(
+                new Ticket("Update dependencies", "bump library versions", null, boardProjectId, null, new ArrayList<>()), userEmail
+        ).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketDomainService.addTicket(
+                    new Ticket("Login lost", "never committed", null, boardProjectId, null, new ArrayList<>()), userEmail
+            );
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketDomainService.patchTicket(ticketId, "Login", "rolled back", null, null, null, null);
+            status.setRollbackOnly();
+        });
+        assertTrue(ticketSearchIndex.search("login", Set.of(boardProjectId), 10).isEmpty());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketDomainService.deleteTicketById(ticketId);
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(ticketId), ticketSearchIndex.search("bump", Set.of(boardProjectId), 10));
+
+        ticketDomainService.deleteTicketById(ticketId);
+        assertTrue(ticketSearchIndex.search("bump", Set.of(boardProjectId), 10).isEmpty());
+    }
+
+    @Test
+    public void deleteDuringRebuildIsNotUndoneTest() {
+        // the delete arrives while a rebuild runs, the rebuild read the ticket before it was deleted
+        ReflectionTestUtils.setField(ticketSearchIndex, "rebuilding", true);
+        ticketSearchIndex.handleTicketDeletedEvent(new TicketDeletedEvent(titleMatch.getId(), projectId, titleMatch.getPhaseId()));
+        ticketSearchIndex.rebuild();
+
+        assertEquals(List.of(descriptionMatch.getId()), ticketSearchIndex.search("login crashes", Set.of(projectId), 10));
+    }
+}
@@ -89,41 +89,8 @@ export const useAnalysisStore = defineStore("analysis", () => {
         throw new Error(`API responded with status: ${response.status}`);
       }
 
-      const text = await response.data.text();
-      console.log("🔍 Raw CSV Response:", text);
-
-      const rows = text.split("\n").map(row => row.trim()).filter(row => row !== "");
-      const headers = rows.shift().split(",");
-
-      const tickets = rows.map(row => {
-        const values = row.split(",");
-        return headers.reduce((obj, header, index) => {
-          obj[header.trim()] = values[index] ? values[index].trim() : "N/A";
-          return obj;
-        }, {});
-      });
-
-      console.log("🔍 Parsed JSON:", tickets);
-
-      // ✅ Generate new CSV with required columns
-      let csvContent = "Title,Description,Project Name,Assignee Name,Phase,Priority,Due Date,Created At,Resolved At\n";
-
-      tickets.forEach(ticket => {
-        const ticketName = ticket["Title"] || "No Title";
-        const ticketdescription = ticket["Description"] || "No Description";
-        const projectName = ticket["Project Name"] || "Unknown Project"
-        const assigneeName = ticket["Assignee Name"] || "Unassigned";
-        const phase = ticket["Phase"] || "Unknown";
-        const Priority = ticket["Priority"] || "Unknown";
-        const dueDate = ticket["Due Date"] || "N/A";
-        const createdAt = ticket["Created At"] || "N/A";
-        const resolvedAt = ticket["Resolved At"] || "Not Resolved";
-
-        csvContent += `"${ticketName}","${ticketdescription}","${projectName}","${assigneeName}","${phase}","${Priority}","${dueDate}","${createdAt}","${resolvedAt}"\n`;
-      });
-
-      // ✅ Download the file
-      const blob = new Blob([csvContent], { type: "text/csv" });
+      // the backend already sends a quoted csv, download it as is
+      const blob = new Blob([response.data], { type: "text/csv" });
       const link = document.createElement("a");
       link.href = URL.createObjectURL(blob);
       link.download = "Ticket-Analysis.csv";
@@ -217,8 +217,16 @@ export const useFetchAgent = defineStore("fetchAgent", () => {
 
   const getTicketsByProjectId = async (projectId) => {
     try {
-      const response = await axios.get(ticketsPath + '?project-id=' + projectId, getConfig());
-      return { isSuccessful: true, data: response.data };
+      // the tickets are served page by page, follow the cursor until the last page
+      const tickets = [];
+      let cursor = null;
+      do {
+        const cursorParam = cursor ? '&cursor=' + encodeURIComponent(cursor) : '';
+        const response = await axios.get(ticketsPath + '?project-id=' + projectId + cursorParam, getConfig());
+        tickets.push(...response.data);
+        cursor = response.headers['x-next-cursor'];
+      } while (cursor);
+      return { isSuccessful: true, data: tickets };
     } catch (error) {
       await handleError(error);
       return { isSuccessful: false, data: error };